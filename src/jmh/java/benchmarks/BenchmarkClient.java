@@ -0,0 +1,57 @@
+package benchmarks;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+
+import io.restassured.specification.RequestSpecification;
+import io.restassured.specification.ResponseSpecification;
+import tests.clients.BaseApiClient;
+import tests.clients.ExchangeLoggingFilter;
+
+/**
+ * BaseApiClient used by the benchmarks
+ * 
+ * Logs to a discarding stream so that logging cost is measured without terminal I/O,
+ * and exposes the request/response specifications for the micro benchmarks.
+ */
+public class BenchmarkClient extends BaseApiClient {
+    private static final PrintStream DISCARD = new PrintStream(OutputStream.nullOutputStream());
+
+    /**
+     * Creates a benchmark client
+     * 
+     * @param baseUri The base URI of the benchmark server
+     * @param loggingMode Logging mode setting ("off", "on-failure", "sampled:N" or "always")
+     */
+    public BenchmarkClient(String baseUri, String loggingMode) {
+        super("benchmark", baseUri, ExchangeLoggingFilter.fromSetting(loggingMode, 4096, DISCARD));
+    }
+
+    /**
+     * Gets the default request specification of this client
+     * 
+     * @return The request specification
+     */
+    public RequestSpecification requestSpec() {
+        return requestSpec;
+    }
+
+    /**
+     * Creates a request with a body, set the way the client's post and put methods set it
+     * 
+     * @param body The request body, an object serialized to JSON or a PreparedBody
+     * @return The request specification
+     */
+    public RequestSpecification requestWithBody(Object body) {
+        return withBody(customRequest(), body);
+    }
+
+    /**
+     * Gets the default response specification of this client
+     * 
+     * @return The response specification
+     */
+    public ResponseSpecification responseSpec() {
+        return responseSpec;
+    }
+}
@@ -0,0 +1,126 @@
+package benchmarks;
+
+import static io.restassured.RestAssured.given;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import tests.clients.PreparedBody;
+import tests.models.PostData;
+
+/**
+ * Client-side overhead of the individual steps of a BaseApiClient call
+ * 
+ * Each benchmark isolates one step that runs on top of the network round trip.
+ * The response used by the validation and extraction benchmarks is fetched once
+ * from the in-process server during setup.
+ * 
+ * Run with: mvn -P benchmark test-compile exec:exec -Djmh.include=ClientOverheadBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ClientOverheadBenchmark {
+
+    @Param({"10", "100"})
+    public int postCount;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final PostData postData = new PostData("benchmark title", "benchmark body", 1);
+    private final PreparedBody preparedPostData = PreparedBody.json(postData);
+
+    private LocalHttpServer server;
+    private BenchmarkClient client;
+    private Response postsResponse;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        server = new LocalHttpServer(postCount);
+        client = new BenchmarkClient(server.getBaseUri(), "off");
+        postsResponse = client.get("/posts");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        server.close();
+    }
+
+    /**
+     * given(requestSpec) - merging the client's default spec into a new request
+     */
+    @Benchmark
+    public RequestSpecification specMerge() {
+        return given(client.requestSpec());
+    }
+
+    /**
+     * PostData body serialization as done by RestAssured when body(Object) is called
+     */
+    @Benchmark
+    public RequestSpecification serializePostDataRestAssured() {
+        return given(client.requestSpec()).contentType("application/json").body(postData);
+    }
+
+    /**
+     * PostData body serialization with a shared Jackson ObjectMapper, for comparison
+     */
+    @Benchmark
+    public byte[] serializePostDataJackson() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(postData);
+    }
+
+    /**
+     * The same request with a PreparedBody, set up as BaseApiClient.post does - the body was serialized
+     * once, during setup, and its bytes are passed on without copying
+     */
+    @Benchmark
+    public RequestSpecification serializePostDataPrepared() {
+        return client.requestWithBody(preparedPostData);
+    }
+
+    /**
+     * responseSpec validation of an already received response
+     */
+    @Benchmark
+    public Response responseSpecValidation() {
+        return postsResponse.then().spec(client.responseSpec()).extract().response();
+    }
+
+    /**
+     * jsonPath() extraction of a single field from an already received response
+     */
+    @Benchmark
+    public String jsonPathExtraction() {
+        return postsResponse.jsonPath().getString("[0].title");
+    }
+
+    /**
+     * jsonPath() list extraction, as used for collection size checks
+     */
+    @Benchmark
+    public int jsonPathListSize() {
+        return postsResponse.jsonPath().getList("$").size();
+    }
+}
@@ -0,0 +1,79 @@
+package benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.restassured.response.Response;
+import tests.clients.PreparedBody;
+import tests.models.PostData;
+
+/**
+ * Full BaseApiClient get/post round trips against the in-process server
+ * 
+ * Parameterized by logging mode, so the cost of the logging filters shows up as the
+ * difference to the "off" baseline.
+ * 
+ * Run with: mvn -P benchmark test-compile exec:exec -Djmh.include=ClientRoundTripBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ClientRoundTripBenchmark {
+
+    @Param({"off", "on-failure", "sampled:100", "always"})
+    public String loggingMode;
+
+    private final PostData postData = new PostData("benchmark title", "benchmark body", 1);
+    private final PreparedBody preparedPostData = PreparedBody.json(postData);
+
+    private LocalHttpServer server;
+    private BenchmarkClient client;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        server = new LocalHttpServer(100);
+        client = new BenchmarkClient(server.getBaseUri(), loggingMode);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        server.close();
+    }
+
+    @Benchmark
+    public Response getPost() {
+        return client.get("/posts/1");
+    }
+
+    @Benchmark
+    public Response getPosts() {
+        return client.get("/posts");
+    }
+
+    @Benchmark
+    public Response createPost() {
+        return client.post("/posts", postData);
+    }
+
+    @Benchmark
+    public Response createPostPrepared() {
+        return client.post("/posts", preparedPostData);
+    }
+}
@@ -0,0 +1,90 @@
+package benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Minimal in-process HTTP server used by the benchmarks
+ * 
+ * Serves fixed JSON payloads so that the measured time is dominated by client-side work
+ * (spec merging, serialization, validation, logging) rather than by the network.
+ * 
+ * Routes:
+ * - GET /posts - array of posts
+ * - GET /posts/{id} - single post
+ * - POST /posts - echoes the request body with status 201
+ */
+public class LocalHttpServer implements AutoCloseable {
+    private static final byte[] POST = """
+        {"userId":1,"id":1,"title":"sunt aut facere repellat provident","body":"quia et suscipit suscipit recusandae"}"""
+        .getBytes(StandardCharsets.UTF_8);
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final byte[] posts;
+
+    /**
+     * Starts a server on an ephemeral loopback port
+     * 
+     * @param postCount Number of posts returned by GET /posts
+     * @throws IOException if the server cannot be started
+     */
+    public LocalHttpServer(int postCount) throws IOException {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 1; i <= postCount; i++) {
+            if (i > 1) {
+                sb.append(',');
+            }
+            sb.append("{\"userId\":").append((i - 1) / 10 + 1)
+                .append(",\"id\":").append(i)
+                .append(",\"title\":\"title ").append(i)
+                .append("\",\"body\":\"body of post ").append(i).append("\"}");
+        }
+        this.posts = sb.append(']').toString().getBytes(StandardCharsets.UTF_8);
+
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        this.server.setExecutor(executor);
+        this.server.createContext("/posts", this::handlePosts);
+        this.server.start();
+    }
+
+    /**
+     * Gets the base URI of the running server
+     * 
+     * @return Base URI such as http://127.0.0.1:54321
+     */
+    public String getBaseUri() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    private void handlePosts(HttpExchange exchange) throws IOException {
+        try (exchange; InputStream in = exchange.getRequestBody()) {
+            byte[] requestBody = in.readAllBytes();
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            switch (exchange.getRequestMethod()) {
+                case "GET" -> send(exchange, 200, "/posts".equals(exchange.getRequestURI().getPath()) ? posts : POST);
+                case "POST" -> send(exchange, 201, requestBody);
+                default -> exchange.sendResponseHeaders(405, -1);
+            }
+        }
+    }
+
+    private void send(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.sendResponseHeaders(status, body.length);
+        exchange.getResponseBody().write(body);
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
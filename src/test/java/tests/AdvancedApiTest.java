@@ -4,11 +4,22 @@ import io.restassured.response.Response;
 import org.junit.jupiter.api.Test;
 import tests.models.PostData;
 import tests.utils.TestDataLoader;
+import tests.utils.AssertionBatch;
 import tests.utils.CustomAssertions;
 import static io.restassured.RestAssured.given;
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class AdvancedApiTest extends BaseTest {
+    // Compiled once, reusable for any number of /posts responses
+    private static final AssertionBatch FIRST_POST_CHECKS = CustomAssertions.batch()
+        .size("$", greaterThan(0))
+        .field("[0].userId", notNullValue())
+        .field("[0].id", notNullValue())
+        .field("[0].title", not(emptyOrNullString()))
+        .field("[0].body", not(emptyOrNullString()))
+        .build();
 
     @Test
     public void testPostWithSchemaValidation() {
@@ -17,6 +28,7 @@ public class AdvancedApiTest extends BaseTest {
 
         // Perform POST request
         Response response = given()
+            .baseUri(getServiceBaseUri("jsonplaceholder"))
             .header("Content-Type", "application/json")
             .body(postData)
             .when()
@@ -30,22 +42,41 @@ public class AdvancedApiTest extends BaseTest {
         CustomAssertions.assertFieldValue(response, "body", equalTo(postData.getBody()));
         CustomAssertions.assertFieldValue(response, "userId", equalTo(postData.getUserId()));
         CustomAssertions.assertFieldValue(response, "id", notNullValue());
+        CustomAssertions.assertJsonSchema(response, "schemas/post_schema.json");
     }
 
     @Test
     public void testGetWithAdvancedAssertions() {
         // Perform GET request
         Response response = given()
+            .baseUri(getServiceBaseUri("jsonplaceholder"))
             .when()
             .get("/posts");
 
         // Custom assertions
         CustomAssertions.assertResponseTime(response, 5000); // Increased timeout for external API
         CustomAssertions.assertContentType(response, "application/json");
-        CustomAssertions.assertArraySize(response, "$", greaterThan(0));
-        CustomAssertions.assertFieldValue(response, "[0].userId", notNullValue());
-        CustomAssertions.assertFieldValue(response, "[0].id", notNullValue());
-        CustomAssertions.assertFieldValue(response, "[0].title", not(emptyOrNullString()));
-        CustomAssertions.assertFieldValue(response, "[0].body", not(emptyOrNullString()));
+        FIRST_POST_CHECKS.check(response);
+    }
+
+    @Test
+    public void testAssertionBatchReportsAllFailures() {
+        Response response = given()
+            .baseUri(getServiceBaseUri("jsonplaceholder"))
+            .when()
+            .get("/posts/1");
+
+        AssertionBatch checks = CustomAssertions.batch()
+            .field("id", equalTo(1))
+            .field("userId", equalTo(-1))
+            .field("title", nullValue())
+            .field("missing", notNullValue())
+            .build();
+
+        AssertionError error = assertThrows(AssertionError.class, () -> checks.check(response));
+        assertTrue(error.getMessage().startsWith("3 of 4 assertions failed"), error.getMessage());
+        assertTrue(error.getMessage().contains("userId"), error.getMessage());
+        assertTrue(error.getMessage().contains("title"), error.getMessage());
+        assertTrue(error.getMessage().contains("missing"), error.getMessage());
     }
 } 
\ No newline at end of file
@@ -0,0 +1,146 @@
+package tests;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolutionException;
+import org.junit.jupiter.api.extension.ParameterResolver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import tests.clients.BaseApiClient;
+import tests.clients.ClientFactory;
+import tests.stub.JsonPlaceholderStubServer;
+import tests.utils.ConfigManager;
+import tests.utils.TestDataLoader;
+
+/**
+ * JUnit 5 extension that provides the shared API clients to test classes
+ * 
+ * Any constructor, test or lifecycle method parameter whose type is a client class registered
+ * through an ApiClientProvider (JsonPlaceholderClient, UserApiClient, ...) is resolved with the
+ * factory's shared, thread-safe client of that service, or null if the service is not configured.
+ * 
+ * Each test class holds a reference-counted lease on the clients it was given
+ * ({@link ClientFactory#acquireClient(String)}) and releases it when the class has finished,
+ * so a class finishing never drops clients another class is still using - test classes can
+ * run in parallel (see junit-platform.properties).
+ * 
+ * Before the first test class runs, the embedded JSONPlaceholder stub is started when
+ * service.jsonplaceholder.stub is enabled, and with test.data.preload enabled, the testdata
+ * directory is read and parsed once up front.
+ * 
+ * Tests that use a service declare a lock on it, so that a test changing a service (e.g. its
+ * configuration) can take it exclusively:
+ * 
+ * @ResourceLock(value = ApiClientsExtension.JSONPLACEHOLDER, mode = ResourceAccessMode.READ)
+ * 
+ * Test classes also read-lock {@link #CONFIG}. Configuring a service with
+ * ConfigManager.setServiceSettings only touches that service and needs no more than that;
+ * a test that reloads or replaces the whole configuration locks CONFIG for READ_WRITE.
+ */
+public class ApiClientsExtension implements BeforeAllCallback, ParameterResolver {
+    private static final Logger logger = LoggerFactory.getLogger(ApiClientsExtension.class);
+
+    /** Resource lock of the JSONPlaceholder service */
+    public static final String JSONPLACEHOLDER = "service:jsonplaceholder";
+    /** Resource lock of the User service */
+    public static final String USER = "service:user";
+    /** Resource lock of the Payment service */
+    public static final String PAYMENT = "service:payment";
+    /** Resource lock of the Notification service */
+    public static final String NOTIFICATION = "service:notification";
+    /** Resource lock of the configuration as a whole */
+    public static final String CONFIG = "config";
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(ApiClientsExtension.class);
+
+    // Embedded JSONPlaceholder stub - shared by all test classes, stopped when the JVM exits
+    private static JsonPlaceholderStubServer jsonPlaceholderStub;
+    private static boolean testDataPreloaded;
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        startStubs();
+        preloadTestData();
+    }
+
+    @Override
+    public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        Class<?> type = parameterContext.getParameter().getType();
+        return BaseApiClient.class.isAssignableFrom(type)
+            && ClientFactory.getServiceName(type.asSubclass(BaseApiClient.class)) != null;
+    }
+
+    @Override
+    public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        Class<? extends BaseApiClient> type = parameterContext.getParameter().getType().asSubclass(BaseApiClient.class);
+        String serviceName = ClientFactory.getServiceName(type);
+        if (!ClientFactory.isServiceAvailable(serviceName)) {
+            logger.warn("Service '{}' is not configured - {} will be null", serviceName, type.getSimpleName());
+            return null;
+        }
+        try {
+            return type.cast(leases(extensionContext).acquire(serviceName));
+        } catch (RuntimeException e) {
+            throw new ParameterResolutionException("Failed to create the client of service '" + serviceName + "'", e);
+        }
+    }
+
+    /**
+     * Gets the leases of the test class the context belongs to
+     */
+    private static Leases leases(ExtensionContext context) {
+        ExtensionContext classContext = context;
+        while (classContext.getTestMethod().isPresent()) {
+            classContext = classContext.getParent().orElseThrow();
+        }
+        return classContext.getStore(NAMESPACE).getOrComputeIfAbsent(Leases.class);
+    }
+
+    /**
+     * Starts the embedded stubs of the services configured to use them
+     */
+    private static synchronized void startStubs() {
+        if (jsonPlaceholderStub == null && ConfigManager.isServiceStubbed("jsonplaceholder")) {
+            jsonPlaceholderStub = JsonPlaceholderStubServer.start(ConfigManager.getServiceStubSize("jsonplaceholder"));
+            ConfigManager.setServiceBaseUrl("jsonplaceholder", jsonPlaceholderStub.getBaseUri());
+            Runtime.getRuntime().addShutdownHook(new Thread(jsonPlaceholderStub::close));
+        }
+    }
+
+    /**
+     * Reads and parses the test data directory once per JVM when test.data.preload is enabled
+     */
+    private static synchronized void preloadTestData() {
+        if (!testDataPreloaded && Boolean.parseBoolean(ConfigManager.getProperty("test.data.preload", "false"))) {
+            TestDataLoader.preload();
+            testDataPreloaded = true;
+        }
+    }
+
+    /**
+     * The client leases of one test class, released by JUnit when the class has finished
+     */
+    static final class Leases implements ExtensionContext.Store.CloseableResource {
+        private final Set<String> services = new HashSet<>();
+
+        synchronized BaseApiClient acquire(String serviceName) {
+            if (services.contains(serviceName)) {
+                return ClientFactory.getClient(serviceName);
+            }
+            BaseApiClient client = ClientFactory.acquireClient(serviceName);
+            services.add(serviceName);
+            return client;
+        }
+
+        @Override
+        public synchronized void close() {
+            services.forEach(ClientFactory::releaseClient);
+            services.clear();
+        }
+    }
+}
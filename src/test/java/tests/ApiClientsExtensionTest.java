@@ -0,0 +1,98 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.parallel.ResourceAccessMode;
+import org.junit.jupiter.api.parallel.ResourceLock;
+
+import tests.clients.BaseApiClient;
+import tests.clients.ClientFactory;
+import tests.clients.UserApiClient;
+import tests.utils.ConfigManager;
+
+/**
+ * API Clients Extension Test Suite
+ * 
+ * Checks that client leases are reference-counted: a client stays in the factory while any
+ * holder has a lease on it, each test class takes a single lease per service, and the lease
+ * is released when JUnit closes the class's store, and that a client is replaced when its
+ * service moves to another base URL. Locks the User service, so no other test class holds a
+ * lease on it meanwhile.
+ */
+@ExtendWith(ApiClientsExtension.class)
+@ResourceLock(value = ApiClientsExtension.USER, mode = ResourceAccessMode.READ_WRITE)
+public class ApiClientsExtensionTest {
+    private static final String SERVICE = "user";
+
+    // Client resolved for the nested class, checked once that class has finished
+    private static UserApiClient nestedClient;
+
+    @Test
+    public void testClientStaysUntilLastLeaseIsReleased() {
+        BaseApiClient first = ClientFactory.acquireClient(SERVICE);
+        BaseApiClient second = ClientFactory.acquireClient(SERVICE);
+        assertSame(first, second, "Holders share one client");
+
+        ClientFactory.releaseClient(SERVICE);
+        assertSame(first, ClientFactory.getClient(SERVICE), "The client is still leased once");
+
+        ClientFactory.releaseClient(SERVICE);
+        assertNotSame(first, ClientFactory.getClient(SERVICE), "The last release drops the client");
+        assertThrows(IllegalStateException.class, () -> ClientFactory.releaseClient(SERVICE));
+    }
+
+    @Test
+    public void testClassTakesOneLeasePerService() {
+        ApiClientsExtension.Leases leases = new ApiClientsExtension.Leases();
+        BaseApiClient first = leases.acquire(SERVICE);
+        assertSame(first, leases.acquire(SERVICE));
+
+        leases.close();
+
+        assertNotSame(first, ClientFactory.getClient(SERVICE), "Closing released the only lease");
+        assertThrows(IllegalStateException.class, () -> ClientFactory.releaseClient(SERVICE),
+            "Resolving the client twice should not have taken a second lease");
+    }
+
+    @Test
+    public void testNewBaseUrlReplacesCachedClient() {
+        // What happens when a service is pointed at its stub after its client was created
+        String baseUrl = ConfigManager.getServiceBaseUrl(SERVICE);
+        BaseApiClient before = ClientFactory.getClient(SERVICE);
+        try {
+            ConfigManager.setServiceBaseUrl(SERVICE, "http://localhost:1");
+            BaseApiClient after = ClientFactory.getClient(SERVICE);
+            assertNotSame(before, after);
+            assertEquals("http://localhost:1", after.getBaseUri());
+        } finally {
+            ConfigManager.setServiceBaseUrl(SERVICE, baseUrl);
+        }
+        assertEquals(baseUrl, ClientFactory.getClient(SERVICE).getBaseUri());
+    }
+
+    @AfterAll
+    public static void nestedClassReleasedItsLease() {
+        assertNotNull(nestedClient, "The nested class should have run");
+        assertNotSame(nestedClient, ClientFactory.getUserApiClient(),
+            "The lease should have been released when the nested class's store was closed");
+    }
+
+    @Nested
+    public class ResolvedClients {
+
+        @Test
+        public void testResolvesTheSharedClient(UserApiClient client) {
+            assertSame(client, ClientFactory.getUserApiClient());
+            assertThrows(IllegalStateException.class, () -> ClientFactory.releaseClient("unknown-service"));
+            nestedClient = client;
+        }
+    }
+}
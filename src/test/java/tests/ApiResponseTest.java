@@ -0,0 +1,57 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import io.restassured.builder.ResponseBuilder;
+import tests.clients.ApiResponse;
+
+/**
+ * API Response Test Suite
+ * 
+ * Checks field access on typed responses: dotted paths, and that the typed getters reject
+ * missing values and values of another type instead of returning 0 or false.
+ */
+public class ApiResponseTest {
+    private static final ApiResponse<JsonNode> RESPONSE = ApiResponse.of(new ResponseBuilder()
+        .setStatusCode(200)
+        .setContentType("application/json")
+        .setBody("{\"id\": 7, \"big\": 3000000000, \"price\": 9.5, \"code\": \"42\", \"active\": true,"
+            + " \"empty\": null, \"items\": [{\"name\": \"first\"}, {\"name\": \"second\"}]}")
+        .build());
+
+    @Test
+    public void testReadsDottedPaths() {
+        assertEquals("second", RESPONSE.getString("items[1].name"));
+        assertEquals(2, RESPONSE.getSize("items"));
+        assertEquals(7, RESPONSE.getSize("$"));
+        assertNull(RESPONSE.get("empty"));
+        assertNull(RESPONSE.getString("items[5].name"));
+    }
+
+    @Test
+    public void testTypedGettersReturnMatchingValues() {
+        assertEquals(7, RESPONSE.getInt("id"));
+        assertEquals(3_000_000_000L, RESPONSE.getLong("big"));
+        assertEquals(7L, RESPONSE.getLong("id"));
+        assertTrue(RESPONSE.getBoolean("active"));
+    }
+
+    @Test
+    public void testTypedGettersRejectOtherValues() {
+        assertThrows(IllegalArgumentException.class, () -> RESPONSE.getInt("missing"));
+        assertThrows(IllegalArgumentException.class, () -> RESPONSE.getInt("empty"));
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class, () -> RESPONSE.getInt("code"));
+        assertEquals("Value at path 'code' is not an int: \"42\"", error.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> RESPONSE.getInt("price"), "Fractions are not truncated");
+        assertThrows(IllegalArgumentException.class, () -> RESPONSE.getInt("big"), "Values beyond int range do not wrap");
+        assertThrows(IllegalArgumentException.class, () -> RESPONSE.getLong("items"));
+        assertThrows(IllegalArgumentException.class, () -> RESPONSE.getBoolean("id"));
+    }
+}
@@ -33,6 +33,7 @@ public class AuthTest extends BaseTest {
     @Test
     public void testBasicAuth() {
         given()
+            .baseUri(getServiceBaseUri("jsonplaceholder"))
             .auth().basic("user", "pass") // Basic Auth credentials (dummy values)
             .log().all()                  // Log request details for debugging
         .when()
@@ -58,6 +59,7 @@ public class AuthTest extends BaseTest {
         String token = "dummy_token";     // Dummy token for demonstration
 
         given()
+            .baseUri(getServiceBaseUri("jsonplaceholder"))
             .header("Authorization", "Bearer " + token)  // Add Bearer token to request header
             .log().all()                                 // Log request details
         .when()
@@ -81,6 +83,7 @@ public class AuthTest extends BaseTest {
     @Test
     public void testApiKeyAuthInHeader() {
         given()
+            .baseUri(getServiceBaseUri("jsonplaceholder"))
             .header("x-api-key", "dummy_key")  // Add API key to custom header
             .log().all()                       // Log request details
         .when()
@@ -104,6 +107,7 @@ public class AuthTest extends BaseTest {
     @Test
     public void testApiKeyAuthInUrl() {
         given()
+            .baseUri(getServiceBaseUri("jsonplaceholder"))
             .queryParam("api_key", "dummy_key")  // Add API key as query parameter
             .log().all()                         // Log request details
         .when()
@@ -1,7 +1,9 @@
 package tests;
 
-import org.junit.jupiter.api.AfterAll;
-import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.parallel.ResourceAccessMode;
+import org.junit.jupiter.api.parallel.ResourceLock;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -14,78 +16,43 @@ import tests.clients.UserApiClient;
 /**
  * Base test class for API testing
  * 
- * This class provides common setup and teardown for API tests using the client pattern.
- * It initializes API clients and provides convenient access to them for subclasses.
+ * This class provides common setup for API tests using the client pattern.
+ * It gets the shared API clients from {@link ApiClientsExtension} before each test
+ * and provides convenient access to them for subclasses.
  * 
  * Instead of using global baseUri, tests should use the specific client methods:
  * - jsonPlaceholderClient for JSONPlaceholder API tests
  * - userApiClient for User API tests
  * - paymentApiClient for Payment API tests
  * - notificationApiClient for Notification API tests
+ * 
+ * The clients are instance fields and are never cleared while a test class runs, so
+ * subclasses can run in parallel with each other. All services and the configuration are
+ * locked for reading; a test that changes a service declares a READ_WRITE lock on it and
+ * runs alone.
  */
+@ExtendWith(ApiClientsExtension.class)
+@ResourceLock(value = ApiClientsExtension.CONFIG, mode = ResourceAccessMode.READ)
+@ResourceLock(value = ApiClientsExtension.JSONPLACEHOLDER, mode = ResourceAccessMode.READ)
+@ResourceLock(value = ApiClientsExtension.USER, mode = ResourceAccessMode.READ)
+@ResourceLock(value = ApiClientsExtension.PAYMENT, mode = ResourceAccessMode.READ)
+@ResourceLock(value = ApiClientsExtension.NOTIFICATION, mode = ResourceAccessMode.READ)
 public class BaseTest {
     protected static final Logger logger = LoggerFactory.getLogger(BaseTest.class);
     
-    // API Clients - accessible to subclasses
-    protected static JsonPlaceholderClient jsonPlaceholderClient;
-    protected static UserApiClient userApiClient;
-    protected static PaymentApiClient paymentApiClient;
-    protected static NotificationApiClient notificationApiClient;
-
-    @BeforeAll
-    public static void setup() {
-        logger.info("Setting up API clients for tests");
-        
-        // Initialize API clients through the factory
-        try {
-            // Always initialize JSONPlaceholder client (it's our main test API)
-            jsonPlaceholderClient = ClientFactory.getJsonPlaceholderClient();
-            logger.info("JsonPlaceholder client initialized");
-            
-            // Initialize other clients if they are configured
-            if (ClientFactory.isServiceAvailable("user")) {
-                userApiClient = ClientFactory.getUserApiClient();
-                logger.info("User API client initialized");
-            } else {
-                logger.warn("User API service is not configured - client will be null");
-            }
-            
-            if (ClientFactory.isServiceAvailable("payment")) {
-                paymentApiClient = ClientFactory.getPaymentApiClient();
-                logger.info("Payment API client initialized");
-            } else {
-                logger.warn("Payment API service is not configured - client will be null");
-            }
-            
-            if (ClientFactory.isServiceAvailable("notification")) {
-                notificationApiClient = ClientFactory.getNotificationApiClient();
-                logger.info("Notification API client initialized");
-            } else {
-                logger.warn("Notification API service is not configured - client will be null");
-            }
-            
-        } catch (Exception e) {
-            logger.error("Failed to initialize API clients: {}", e.getMessage());
-            throw new RuntimeException("Failed to setup API clients", e);
-        }
-        
-        logger.info("API clients setup completed");
-    }
+    // API Clients - accessible to subclasses (null if the service is not configured)
+    protected JsonPlaceholderClient jsonPlaceholderClient;
+    protected UserApiClient userApiClient;
+    protected PaymentApiClient paymentApiClient;
+    protected NotificationApiClient notificationApiClient;
 
-    @AfterAll
-    public static void cleanup() {
-        logger.info("Cleaning up API clients");
-        
-        // Clear all cached clients
-        ClientFactory.clearClients();
-        
-        // Reset client references
-        jsonPlaceholderClient = null;
-        userApiClient = null;
-        paymentApiClient = null;
-        notificationApiClient = null;
-        
-        logger.info("API clients cleanup completed");
+    @BeforeEach
+    public void setupClients(JsonPlaceholderClient jsonPlaceholderClient, UserApiClient userApiClient,
+                             PaymentApiClient paymentApiClient, NotificationApiClient notificationApiClient) {
+        this.jsonPlaceholderClient = jsonPlaceholderClient;
+        this.userApiClient = userApiClient;
+        this.paymentApiClient = paymentApiClient;
+        this.notificationApiClient = notificationApiClient;
     }
     
     /**
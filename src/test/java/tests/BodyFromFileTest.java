@@ -5,13 +5,10 @@ import static org.hamcrest.Matchers.emptyOrNullString;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.notNullValue;
 
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Paths;
-
 import org.junit.jupiter.api.Test;
 
 import io.restassured.http.ContentType;
+import tests.utils.TestDataLoader;
 
 /**
  * Body From File Test Suite
@@ -41,15 +38,14 @@ public class BodyFromFileTest extends BaseTest {
      * - Request should be successful (201 Created)
      * - Response should contain all required fields
      * - Field values should not be null or empty
-     * 
-     * @throws IOException if there's an error reading the JSON file
      */
     @Test
-    public void testPostWithJsonBody() throws IOException {
-        // Load JSON data from file
-        String requestBody = readJsonFile("src/test/resources/testdata/post_data.json");
+    public void testPostWithJsonBody() {
+        // Load JSON data from file (read once per JVM and cached by the loader)
+        String requestBody = TestDataLoader.loadFileContent("post_data.json");
 
         given()
+            .baseUri(getServiceBaseUri("jsonplaceholder"))
             .contentType(ContentType.JSON)     // Set content type to JSON
             .body(requestBody)                 // Set request body from file
             .log().all()                       // Log request details for debugging
@@ -63,15 +59,4 @@ public class BodyFromFileTest extends BaseTest {
             .body("userId", notNullValue())             // Verify userId is present
             .body("id", notNullValue());                // Verify id is present
     }
-
-    /**
-     * Helper method to read JSON file content
-     * 
-     * @param path The path to the JSON file
-     * @return The content of the file as a String
-     * @throws IOException if there's an error reading the file
-     */
-    private String readJsonFile(String path) throws IOException {
-        return new String(Files.readAllBytes(Paths.get(path)));
-    }
 }
@@ -0,0 +1,82 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import io.restassured.response.Response;
+import tests.clients.BaseApiClient;
+import tests.clients.Bulkhead;
+import tests.clients.CallRejectedException;
+import tests.clients.CircuitBreaker;
+import tests.clients.ClientFactory;
+import tests.stub.MockHttpServer;
+
+/**
+ * Bulkhead Test Suite
+ * 
+ * Holds the only slot of a bulkhead with a slow call and checks that other calls are
+ * rejected, or wait for the slot when the bulkhead allows it, and that the slot is
+ * released when the call completes.
+ */
+public class BulkheadTest extends MockServerTest {
+
+    @BeforeAll
+    public void addRoutes() {
+        server.route("/ok", (request, exchange) -> MockHttpServer.send(exchange, 200, "{}"));
+        server.route("/slow", (request, exchange) -> {
+            Thread.sleep(300);
+            MockHttpServer.send(exchange, 200, "{}");
+        });
+    }
+
+    @Test
+    public void testRejectsCallsWhenFullAndReleasesSlot() throws InterruptedException {
+        BaseApiClient client = client("bulkhead-reject", "bulkhead.maxConcurrent", "1", "bulkhead.maxWaitMs", "0");
+        Bulkhead bulkhead = ClientFactory.getBulkhead("bulkhead-reject");
+
+        CompletableFuture<Response> slow = holdSlot(client, bulkhead);
+        int sent = server.count("/ok");
+        assertThrows(CallRejectedException.class, () -> client.get("/ok"));
+        assertEquals(sent, server.count("/ok"), "Rejected call should not be sent");
+
+        slow.join();
+        assertEquals(200, client.get("/ok").getStatusCode());
+
+        Bulkhead.Stats stats = bulkhead.getStats();
+        assertEquals(0, stats.inFlight());
+        assertEquals(2, stats.calls());
+        assertEquals(1, stats.rejected());
+        // A full bulkhead says nothing about the health of the service
+        assertEquals(CircuitBreaker.State.CLOSED, ClientFactory.getCircuitBreaker("bulkhead-reject").getState());
+    }
+
+    @Test
+    public void testWaitsForReleasedSlot() throws InterruptedException {
+        BaseApiClient client = client("bulkhead-wait", "bulkhead.maxConcurrent", "1", "bulkhead.maxWaitMs", "2000");
+        Bulkhead bulkhead = ClientFactory.getBulkhead("bulkhead-wait");
+
+        CompletableFuture<Response> slow = holdSlot(client, bulkhead);
+        assertEquals(200, client.get("/ok").getStatusCode());
+
+        assertEquals(200, slow.join().getStatusCode(), "The waiting call got the slot once it was released");
+        assertEquals(0, bulkhead.getStats().rejected());
+        assertEquals(2, bulkhead.getStats().calls());
+    }
+
+    /**
+     * Starts a slow call and waits until it holds the bulkhead's only slot
+     */
+    private static CompletableFuture<Response> holdSlot(BaseApiClient client, Bulkhead bulkhead)
+            throws InterruptedException {
+        CompletableFuture<Response> slow = client.getAsync("/slow");
+        while (bulkhead.getStats().inFlight() == 0) {
+            Thread.sleep(1);
+        }
+        return slow;
+    }
+}
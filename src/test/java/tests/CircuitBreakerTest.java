@@ -0,0 +1,150 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import io.restassured.response.Response;
+import tests.clients.BaseApiClient;
+import tests.clients.CallRejectedException;
+import tests.clients.CircuitBreaker;
+import tests.clients.ClientFactory;
+import tests.stub.MockHttpServer;
+
+/**
+ * Circuit Breaker Test Suite
+ * 
+ * Opens breakers with small windows on failed and slow calls, and checks how half-open probes
+ * decide whether a breaker closes again - including calls whose outcome arrives after the
+ * breaker has changed state. Every test uses a service of its own, so breakers start closed.
+ */
+public class CircuitBreakerTest extends MockServerTest {
+
+    @BeforeAll
+    public void addRoutes() {
+        server.route("/ok", (request, exchange) -> MockHttpServer.send(exchange, 200, "{}"));
+        server.route("/down", (request, exchange) -> MockHttpServer.send(exchange, 503, "{}"));
+        server.route("/slow", (request, exchange) -> {
+            Thread.sleep(150);
+            MockHttpServer.send(exchange, 200, "{}");
+        });
+        server.route("/slow-probe", (request, exchange) -> {
+            Thread.sleep(500);
+            MockHttpServer.send(exchange, 200, "{}");
+        });
+        server.route("/slow-down", (request, exchange) -> {
+            Thread.sleep(600);
+            MockHttpServer.send(exchange, 503, "{}");
+        });
+    }
+
+    @Test
+    public void testOpensOnFailureRate() {
+        BaseApiClient client = client("breaker-failures",
+            "breaker.windowSize", "4", "breaker.minCalls", "4", "breaker.failureRate", "50");
+        CircuitBreaker breaker = ClientFactory.getCircuitBreaker("breaker-failures");
+
+        client.get("/ok");
+        client.get("/ok");
+        assertThrows(AssertionError.class, () -> client.get("/down"));
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState(), "1 of 3 calls failed");
+        assertThrows(AssertionError.class, () -> client.get("/down"));
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState(), "2 of 4 calls failed");
+
+        int sent = server.count("/ok");
+        assertThrows(CallRejectedException.class, () -> client.get("/ok"));
+        assertEquals(sent, server.count("/ok"), "Open breaker should not send the call");
+
+        CircuitBreaker.Stats stats = breaker.getStats();
+        assertEquals(50.0, stats.failureRate());
+        assertEquals(1, stats.rejected());
+        assertEquals(1, stats.timesOpened());
+    }
+
+    @Test
+    public void testOpensOnSlowCallRate() {
+        BaseApiClient client = client("breaker-slow", "breaker.windowSize", "2", "breaker.minCalls", "2",
+            "breaker.slowCallMs", "100", "breaker.slowCallRate", "50");
+        CircuitBreaker breaker = ClientFactory.getCircuitBreaker("breaker-slow");
+
+        client.get("/ok");
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        client.get("/slow");
+
+        CircuitBreaker.Stats stats = breaker.getStats();
+        assertEquals(CircuitBreaker.State.OPEN, stats.state());
+        assertEquals(0.0, stats.failureRate());
+        assertEquals(50.0, stats.slowCallRate());
+    }
+
+    @Test
+    public void testSuccessfulProbesCloseBreaker() throws InterruptedException {
+        BaseApiClient client = client("breaker-recovers", "breaker.windowSize", "2", "breaker.minCalls", "2",
+            "breaker.openMs", "200", "breaker.halfOpenCalls", "2");
+        CircuitBreaker breaker = ClientFactory.getCircuitBreaker("breaker-recovers");
+        open(client, breaker);
+
+        Thread.sleep(250);
+        client.get("/ok");
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState(), "One of two probes recorded");
+        client.get("/ok");
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(1, breaker.getStats().timesOpened());
+    }
+
+    @Test
+    public void testFailedProbesReopenBreaker() throws InterruptedException {
+        BaseApiClient client = client("breaker-reopens", "breaker.windowSize", "2", "breaker.minCalls", "2",
+            "breaker.openMs", "200", "breaker.halfOpenCalls", "2");
+        CircuitBreaker breaker = ClientFactory.getCircuitBreaker("breaker-reopens");
+        open(client, breaker);
+
+        Thread.sleep(250);
+        client.get("/ok");
+        assertThrows(AssertionError.class, () -> client.get("/down"));
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState(), "Half of the probes failed");
+        assertEquals(2, breaker.getStats().timesOpened());
+        assertThrows(CallRejectedException.class, () -> client.get("/ok"));
+    }
+
+    @Test
+    public void testProbeSlotsAndLateOutcomes() throws InterruptedException {
+        BaseApiClient client = client("breaker-late", "breaker.windowSize", "2", "breaker.minCalls", "2",
+            "breaker.openMs", "300", "breaker.halfOpenCalls", "1");
+        CircuitBreaker breaker = ClientFactory.getCircuitBreaker("breaker-late");
+
+        // Started while closed, fails only once the breaker is half-open
+        CompletableFuture<Response> late = client.getAsync("/slow-down");
+        open(client, breaker);
+
+        Thread.sleep(350);
+        CompletableFuture<Response> probe = client.getAsync("/slow-probe");
+        while (breaker.getState() != CircuitBreaker.State.HALF_OPEN) {
+            Thread.sleep(1);
+        }
+        // The only probe slot is taken
+        assertThrows(CallRejectedException.class, () -> client.get("/ok"));
+
+        assertThrows(Exception.class, late::join);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState(),
+            "A call started before the breaker opened must not count as a probe");
+        probe.join();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(1, breaker.getStats().timesOpened());
+    }
+
+    /**
+     * Opens a breaker with a window of two calls by failing both
+     */
+    private static void open(BaseApiClient client, CircuitBreaker breaker) {
+        assertThrows(AssertionError.class, () -> client.get("/down"));
+        assertThrows(AssertionError.class, () -> client.get("/down"));
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+}
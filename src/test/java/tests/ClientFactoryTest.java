@@ -0,0 +1,76 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.ResourceAccessMode;
+import org.junit.jupiter.api.parallel.ResourceLock;
+
+import tests.clients.ApiClientProvider;
+import tests.clients.BaseApiClient;
+import tests.clients.ClientFactory;
+import tests.clients.JsonPlaceholderClient;
+import tests.clients.NotificationApiClient;
+import tests.clients.PaymentApiClient;
+import tests.clients.UserApiClient;
+import tests.utils.ConfigManager;
+
+/**
+ * Client Factory Test Suite
+ * 
+ * Checks that the client providers listed in META-INF/services are discovered, that the factory
+ * lists their services and maps client types back to them, and that services or transports
+ * without a provider are rejected.
+ */
+@ResourceLock(value = ApiClientsExtension.CONFIG, mode = ResourceAccessMode.READ)
+public class ClientFactoryTest {
+
+    @Test
+    public void testDiscoversRegisteredProviders() {
+        List<String> registered = ServiceLoader.load(ApiClientProvider.class).stream()
+            .map(provider -> provider.get().serviceName())
+            .toList();
+
+        assertEquals(List.of("jsonplaceholder", "user", "payment", "notification"), registered);
+        assertArrayEquals(registered.toArray(), ClientFactory.getAvailableServices(),
+            "Every provider from META-INF/services should be available, in registration order");
+    }
+
+    @Test
+    public void testMapsClientTypesToServices() {
+        assertEquals("jsonplaceholder", ClientFactory.getServiceName(JsonPlaceholderClient.class));
+        assertEquals("user", ClientFactory.getServiceName(UserApiClient.class));
+        assertEquals("payment", ClientFactory.getServiceName(PaymentApiClient.class));
+        assertEquals("notification", ClientFactory.getServiceName(NotificationApiClient.class));
+        assertNull(ClientFactory.getServiceName(BaseApiClient.class), "No provider creates plain clients");
+    }
+
+    @Test
+    public void testRejectsUnknownServices() {
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+            () -> ClientFactory.getClient("factory-unknown"));
+        assertTrue(error.getMessage().contains("factory-unknown"), error.getMessage());
+
+        assertThrows(IllegalArgumentException.class, () -> ClientFactory.acquireClient("factory-unknown"));
+        assertThrows(IllegalStateException.class, () -> ClientFactory.releaseClient("factory-unknown"),
+            "A failed acquire should not leave a lease behind");
+    }
+
+    @Test
+    public void testRejectsUnknownTransports() {
+        ConfigManager.setServiceSettings("factory-transport", Map.of("transport", "carrier-pigeon"));
+
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+            () -> ClientFactory.getTransport("factory-transport"));
+        assertTrue(error.getMessage().contains("restassured"), "Registered transports should be listed: "
+            + error.getMessage());
+    }
+}
@@ -0,0 +1,208 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.github.luben.zstd.Zstd;
+import com.sun.net.httpserver.HttpExchange;
+
+import io.restassured.response.Response;
+import tests.clients.BaseApiClient;
+import tests.clients.ClientFactory;
+import tests.clients.CompressionFilter;
+import tests.stub.MockHttpServer;
+
+/**
+ * Compression Filter Test Suite
+ * 
+ * Requests responses in each coding from a server that honors Accept-Encoding and checks
+ * the decoded bodies and the byte counts of the filter's statistics, including raw deflate
+ * and responses without a body, and that large request bodies are sent gzip-compressed.
+ * Bodies sent and received uncompressed are counted as well.
+ */
+public class CompressionFilterTest extends MockServerTest {
+    private static final String BODY = "{\"items\":[" + "{\"name\":\"compressible\",\"value\":42},".repeat(200) + "{}]}";
+
+    @BeforeAll
+    public void addRoutes() {
+        server.route("/content", (request, exchange) -> sendEncoded(request, exchange, false));
+        server.route("/content-raw", (request, exchange) -> sendEncoded(request, exchange, true));
+        // Encoded, but without a body to decode
+        Map.of("/head", 200, "/no-content", 204, "/not-modified", 304).forEach((path, status) ->
+            server.route(path, (request, exchange) -> {
+                exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+                MockHttpServer.send(exchange, status, new byte[0]);
+            }));
+        server.route("/upload", (request, exchange) -> MockHttpServer.send(exchange, 201, "{}"));
+    }
+
+    @Test
+    public void testDecodesGzip() {
+        testDecodes("compress-gzip", "gzip", "/content");
+    }
+
+    @Test
+    public void testDecodesZlibDeflate() {
+        testDecodes("compress-deflate", "deflate", "/content");
+    }
+
+    @Test
+    public void testDecodesRawDeflate() {
+        // Some servers send "deflate" without the zlib wrapper
+        testDecodes("compress-raw-deflate", "deflate", "/content-raw");
+    }
+
+    @Test
+    public void testDecodesZstd() {
+        BaseApiClient client = client("compress-zstd-probe", "compression.accept", "zstd");
+        client.get("/upload");
+        String accepted = server.requests("/upload").get(server.count("/upload") - 1).header("Accept-Encoding");
+        assumeTrue("zstd".equals(accepted), "zstd native library not available on this platform");
+
+        testDecodes("compress-zstd", "zstd", "/content");
+    }
+
+    @Test
+    public void testLeavesEmptyBodiesAlone() {
+        TestClient client = testClient("compress-empty", "compression.accept", "gzip");
+        CompressionFilter filter = ClientFactory.getCompressionFilter("compress-empty");
+
+        Response head = client.customRequest().head("/head");
+        Response noContent = client.customRequest().get("/no-content");
+        Response notModified = client.customRequest().get("/not-modified");
+
+        assertEquals(200, head.getStatusCode());
+        assertEquals(204, noContent.getStatusCode());
+        assertEquals(304, notModified.getStatusCode());
+        for (Response response : List.of(head, noContent, notModified)) {
+            assertEquals("", response.asString());
+            assertNull(response.getHeader("Content-Encoding"), "Decoded responses are no longer encoded");
+        }
+        CompressionFilter.Stats stats = filter.getStats();
+        assertEquals(0, stats.decodedResponses(), "There was nothing to decode");
+        assertEquals(0, stats.responseBytes());
+        assertEquals(0, stats.responseWireBytes());
+        assertEquals(3, stats.plainResponses());
+        assertEquals(0, stats.plainResponseBytes());
+        assertEquals(0.0, stats.compressedShare());
+    }
+
+    @Test
+    public void testCompressesRequestBodiesAboveMinBytes() throws IOException {
+        BaseApiClient client = client("compress-request", "compression.accept", "",
+            "compression.request", "true", "compression.request.minBytes", "1024");
+        CompressionFilter filter = ClientFactory.getCompressionFilter("compress-request");
+        int sent = server.count("/upload");
+
+        client.post("/upload", Map.of("note", "short"));
+        String large = "x".repeat(4000);
+        client.post("/upload", Map.of("note", large));
+
+        List<MockHttpServer.RecordedRequest> requests = server.requests("/upload").subList(sent, sent + 2);
+        MockHttpServer.RecordedRequest small = requests.get(0);
+        assertNull(small.header("Content-Encoding"), "Bodies below minBytes are sent as they are");
+        assertEquals("{\"note\":\"short\"}", small.bodyAsString());
+        assertNull(small.header("Accept-Encoding"), "An empty accept list asks for uncompressed responses");
+
+        MockHttpServer.RecordedRequest compressed = requests.get(1);
+        assertEquals("gzip", compressed.header("Content-Encoding"));
+        byte[] content = new GZIPInputStream(new ByteArrayInputStream(compressed.body())).readAllBytes();
+        assertEquals("{\"note\":\"" + large + "\"}", new String(content, StandardCharsets.UTF_8));
+
+        CompressionFilter.Stats stats = filter.getStats();
+        assertEquals(1, stats.compressedRequests());
+        assertEquals(content.length, stats.requestBytes());
+        assertEquals(compressed.body().length, stats.requestWireBytes());
+        assertTrue(stats.savings() > 0.9, "Savings were " + stats.savings());
+        assertEquals(1, stats.plainRequests(), "The short body went out uncompressed");
+        assertEquals(small.body().length, stats.plainRequestBytes());
+        assertEquals(2, stats.plainResponses(), "Both responses came back uncompressed");
+        assertEquals(4, stats.plainResponseBytes());
+        // One compressed request body out of two request bodies and two responses
+        assertEquals(0.25, stats.compressedShare());
+        long uncompressed = content.length + small.body().length + 4;
+        long wire = compressed.body().length + small.body().length + 4;
+        assertEquals((double) uncompressed / wire, stats.compressionRatio(), 1e-9);
+    }
+
+    /**
+     * Requests the body in one coding and checks the decoded body and the byte counts
+     */
+    private void testDecodes(String serviceName, String coding, String path) {
+        BaseApiClient client = client(serviceName, "compression.accept", coding);
+        CompressionFilter filter = ClientFactory.getCompressionFilter(serviceName);
+
+        Response response = client.get(path);
+
+        assertEquals(coding, server.requests(path).get(server.count(path) - 1).header("Accept-Encoding"));
+        assertEquals(BODY, response.asString());
+        assertEquals(201, response.jsonPath().getList("items").size());
+        assertNull(response.getHeader("Content-Encoding"), "Decoded responses are no longer encoded");
+        assertTrue(response.getContentType().startsWith("application/json"), response.getContentType());
+
+        long wireBytes = Long.parseLong(response.getHeader("X-Wire-Length"));
+        assertTrue(wireBytes < BODY.length() / 4, coding + " should shrink the body, was " + wireBytes + " bytes");
+        CompressionFilter.Stats stats = filter.getStats();
+        assertEquals(1, stats.decodedResponses());
+        assertEquals(BODY.length(), stats.responseBytes());
+        assertEquals(wireBytes, stats.responseWireBytes());
+        assertEquals(0, stats.compressedRequests());
+        assertEquals(0, stats.plainRequests(), "GET requests have no body to count");
+        assertEquals(0, stats.plainResponses());
+        assertEquals(1.0, stats.compressedShare());
+        assertEquals((double) BODY.length() / wireBytes, stats.compressionRatio(), 1e-9);
+    }
+
+    /**
+     * Sends BODY in the first coding of the request's Accept-Encoding the server knows, or uncompressed
+     * The number of bytes sent is reported in X-Wire-Length
+     */
+    private static void sendEncoded(MockHttpServer.RecordedRequest request, HttpExchange exchange, boolean rawDeflate)
+            throws IOException {
+        byte[] body = BODY.getBytes(StandardCharsets.UTF_8);
+        String accepted = request.header("Accept-Encoding");
+        String coding = accepted == null ? null : Arrays.stream(accepted.split(","))
+            .map(String::trim)
+            .filter(name -> name.equals("gzip") || name.equals("deflate") || name.equals("zstd"))
+            .findFirst()
+            .orElse(null);
+        if (coding != null) {
+            body = encode(body, coding, rawDeflate);
+            exchange.getResponseHeaders().set("Content-Encoding", coding);
+        }
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.getResponseHeaders().set("X-Wire-Length", String.valueOf(body.length));
+        MockHttpServer.send(exchange, 200, body);
+    }
+
+    private static byte[] encode(byte[] body, String coding, boolean rawDeflate) throws IOException {
+        if (coding.equals("zstd")) {
+            return Zstd.compress(body);
+        }
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        try (OutputStream out = coding.equals("gzip")
+                ? new GZIPOutputStream(encoded)
+                : new DeflaterOutputStream(encoded, new Deflater(Deflater.DEFAULT_COMPRESSION, rawDeflate))) {
+            out.write(body);
+        }
+        return encoded.toByteArray();
+    }
+}
@@ -0,0 +1,133 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.api.parallel.ResourceAccessMode;
+import org.junit.jupiter.api.parallel.ResourceLock;
+
+import tests.utils.ConfigManager;
+import tests.utils.ServiceConfig;
+
+/**
+ * Config Manager Test Suite
+ * 
+ * Checks the precedence of the configuration sources, that the watched configuration file is
+ * reloaded and listeners are told when it changes, and that runtime overrides of one service
+ * leave the rest of the configuration alone. Switches to a copy of config.properties in a
+ * temporary directory, so it locks the configuration for writing.
+ */
+@ResourceLock(value = ApiClientsExtension.CONFIG, mode = ResourceAccessMode.READ_WRITE)
+public class ConfigManagerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @AfterEach
+    public void restoreConfigFile() {
+        ConfigManager.stopHotReload();
+        System.clearProperty("path");
+        System.clearProperty("service.config-file.timeout");
+        ConfigManager.setConfigFile(null);
+    }
+
+    @Test
+    public void testSourcesOverrideEachOtherInOrder() throws IOException {
+        // PATH is set in every environment and cannot be changed from inside the JVM
+        String environmentPath = System.getenv("PATH");
+        assumeTrue(environmentPath != null, "PATH is not set");
+        Path file = writeConfig("path=from-file",
+            "service.config-file.timeout=1000",
+            "service.config-file.pool.max=7");
+
+        ConfigManager.setConfigFile(file);
+        assertEquals(environmentPath, ConfigManager.getProperty("path", null), "The environment beats the file");
+        assertEquals(1000, ConfigManager.getServiceTimeout("config-file"));
+        assertEquals(7, ConfigManager.getServicePoolMax("config-file"));
+
+        System.setProperty("path", "from-system");
+        System.setProperty("service.config-file.timeout", "2000");
+        ConfigManager.reload();
+        assertEquals("from-system", ConfigManager.getProperty("path", null), "System properties beat the environment");
+        assertEquals(2000, ConfigManager.getServiceTimeout("config-file"), "System properties beat the file");
+
+        ConfigManager.setServiceSettings("config-file", Map.of("timeout", "3000"));
+        assertEquals(3000, ConfigManager.getServiceTimeout("config-file"), "Runtime overrides beat system properties");
+        ConfigManager.reload();
+        assertEquals(3000, ConfigManager.getServiceTimeout("config-file"), "Runtime overrides survive reloads");
+        assertEquals(7, ConfigManager.getServicePoolMax("config-file"), "Settings without overrides come from the file");
+    }
+
+    @Test
+    public void testHotReloadNotifiesListenersOfFileChanges() throws Exception {
+        Path file = writeConfig("service.config-watched.timeout=1000");
+        ConfigManager.setConfigFile(file);
+        CountDownLatch reloaded = new CountDownLatch(1);
+        Runnable listener = reloaded::countDown;
+        ConfigManager.addReloadListener(listener);
+        try {
+            assertTrue(ConfigManager.startHotReload());
+            assertEquals(1000, ConfigManager.getServiceTimeout("config-watched"));
+
+            Files.writeString(file, "service.config-watched.timeout=2500\n", StandardOpenOption.APPEND);
+
+            // Polling watch services (e.g. on macOS) only look every few seconds
+            assertTrue(reloaded.await(30, TimeUnit.SECONDS), "The reload listener was not called");
+            assertEquals(2500, ConfigManager.getServiceTimeout("config-watched"));
+        } finally {
+            ConfigManager.removeReloadListener(listener);
+        }
+    }
+
+    @Test
+    public void testServiceSettingsOnlyRecompileThatService() {
+        ConfigManager.setServiceSettings("config-other", Map.of("timeout", "1234"));
+        ServiceConfig other = ConfigManager.getServiceConfig("config-other");
+        ServiceConfig payment = ConfigManager.getServiceConfig("payment");
+        List<String> changed = new ArrayList<>();
+        Consumer<String> listener = changed::add;
+        ConfigManager.addServiceListener(listener);
+        try {
+            ConfigManager.setServiceSettings("config-scoped", Map.of("timeout", "4321", "pool.perRoute", "3"));
+        } finally {
+            ConfigManager.removeServiceListener(listener);
+        }
+
+        ServiceConfig scoped = ConfigManager.getServiceConfig("config-scoped");
+        assertEquals(4321, scoped.timeout());
+        assertEquals(3, scoped.poolPerRoute());
+        assertSame(other, ConfigManager.getServiceConfig("config-other"), "Other services are not recompiled");
+        assertSame(payment, ConfigManager.getServiceConfig("payment"));
+        assertEquals(List.of("config-scoped"), changed, "Only listeners of the changed service are told");
+    }
+
+    /**
+     * Writes config.properties followed by extra settings to the temporary directory, so other
+     * settings keep their usual values while the copy is in use
+     */
+    private Path writeConfig(String... extraSettings) throws IOException {
+        Path file = tempDir.resolve("config.properties");
+        try (InputStream defaults = getClass().getClassLoader().getResourceAsStream("config.properties")) {
+            Files.write(file, defaults.readAllBytes());
+        }
+        Files.writeString(file, "\n" + String.join("\n", extraSettings) + "\n", StandardOpenOption.APPEND);
+        return file;
+    }
+}
@@ -0,0 +1,115 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import io.restassured.response.Response;
+import tests.clients.BaseApiClient;
+import tests.clients.ClientFactory;
+import tests.clients.ConnectionPool;
+import tests.stub.MockHttpServer;
+
+/**
+ * Connection Pool Test Suite
+ * 
+ * Sends sequential and concurrent requests through pooled clients and checks that connections
+ * are reused, that no more than maxPerRoute connections are opened or used at once, that no
+ * caller is left waiting for a permit, and that resizing the pool lowers the permit count.
+ */
+public class ConnectionPoolTest extends MockServerTest {
+    // Highest number of requests the server was handling at once, by path
+    private final Map<String, AtomicInteger> maxInFlight = new ConcurrentHashMap<>();
+
+    @BeforeAll
+    public void addRoutes() {
+        server.route("/ok", (request, exchange) -> MockHttpServer.send(exchange, 200, "{}"));
+        for (String path : List.of("/slow-concurrent", "/slow-resized")) {
+            AtomicInteger inFlight = new AtomicInteger();
+            AtomicInteger max = new AtomicInteger();
+            maxInFlight.put(path, max);
+            server.route(path, (request, exchange) -> {
+                max.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(50);
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+                MockHttpServer.send(exchange, 200, "{}");
+            });
+        }
+    }
+
+    @Test
+    public void testReusesConnectionsAcrossRequests() {
+        BaseApiClient client = client("pool-reuse");
+
+        for (int i = 0; i < 20; i++) {
+            client.get("/ok");
+        }
+
+        ConnectionPool.Stats stats = ClientFactory.getPoolStats("pool-reuse");
+        assertEquals(20, stats.requests());
+        assertEquals(1, stats.connectionsOpened(), "Sequential requests should share one connection");
+        assertTrue(stats.reuseRatio() > 0.9, "Reuse ratio was " + stats.reuseRatio());
+        assertEquals(0, stats.leased());
+    }
+
+    @Test
+    public void testConcurrentRequestsStayWithinMaxPerRoute() {
+        BaseApiClient client = client("pool-concurrent", "pool.perRoute", "4");
+
+        sendConcurrently(client, "/slow-concurrent", 40);
+
+        ConnectionPool.Stats stats = ClientFactory.getPoolStats("pool-concurrent");
+        assertEquals(40, stats.requests());
+        assertTrue(stats.connectionsOpened() <= 4, "Opened " + stats.connectionsOpened() + " connections");
+        assertTrue(stats.reuseRatio() > 0.8, "Reuse ratio was " + stats.reuseRatio());
+        assertTrue(maxInFlight.get("/slow-concurrent").get() <= 4,
+            maxInFlight.get("/slow-concurrent").get() + " requests were in flight at once");
+        assertEquals(0, stats.pending(), "No caller should still be waiting for a permit");
+        assertEquals(0, stats.leased());
+    }
+
+    @Test
+    public void testResizeLowersPermits() {
+        BaseApiClient client = client("pool-resized", "pool.perRoute", "4");
+        ConnectionPool pool = ClientFactory.getConnectionPool("pool-resized");
+
+        pool.resize(50, 2);
+
+        assertTrue(pool.tryAcquirePermit());
+        assertTrue(pool.tryAcquirePermit());
+        assertFalse(pool.tryAcquirePermit(), "Only two permits are left after resizing");
+        pool.releasePermit();
+        pool.releasePermit();
+
+        sendConcurrently(client, "/slow-resized", 10);
+        assertTrue(maxInFlight.get("/slow-resized").get() <= 2,
+            maxInFlight.get("/slow-resized").get() + " requests were in flight at once");
+        assertEquals(0, pool.getStats().pending());
+    }
+
+    /**
+     * Sends GET requests to a path at once and waits until they have all succeeded
+     */
+    private static void sendConcurrently(BaseApiClient client, String path, int count) {
+        List<CompletableFuture<Response>> calls = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            calls.add(client.getAsync(path));
+        }
+        for (CompletableFuture<Response> call : calls) {
+            assertEquals(200, call.join().getStatusCode());
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package tests;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+
+import tests.clients.PreparedBody;
+import tests.models.PostData;
+import tests.utils.DataFeeder;
+import tests.utils.FeederSource;
+
+/**
+ * Data-Driven Test Suite
+ * 
+ * Feeds records from NDJSON and CSV files in the testdata directory into tests.
+ * Records are read lazily, so the same approach works for files far larger than the heap.
+ */
+public class DataDrivenTest extends BaseTest {
+
+    @ParameterizedTest
+    @FeederSource(value = "posts.ndjson", type = PostData.class)
+    public void testCreatePostFromNdjson(PostData post) {
+        jsonPlaceholderClient.createPost(post).then()
+            .statusCode(201)
+            .body("title", equalTo(post.getTitle()))
+            .body("userId", equalTo(post.getUserId()))
+            .body("id", notNullValue());
+    }
+
+    @ParameterizedTest
+    @FeederSource(value = "posts.csv", type = PostData.class)
+    public void testCreatePostFromCsv(PostData post) {
+        jsonPlaceholderClient.createPost(post).then()
+            .statusCode(201)
+            .body("title", equalTo(post.getTitle()))
+            .body("body", equalTo(post.getBody()))
+            .body("userId", equalTo(post.getUserId()));
+    }
+
+    @Test
+    public void testPreparedBodyIsReusedAcrossRequests() {
+        PostData post = new PostData("Prepared once", "Sent many times", 3);
+        PreparedBody body = PreparedBody.json(post);
+        assertEquals("application/json", body.contentType());
+
+        for (int i = 0; i < 3; i++) {
+            jsonPlaceholderClient.createPost(body).then()
+                .statusCode(201)
+                .body("title", equalTo(post.getTitle()))
+                .body("body", equalTo(post.getBody()))
+                .body("userId", equalTo(post.getUserId()));
+        }
+        jsonPlaceholderClient.updatePost(1, body).then()
+            .statusCode(200)
+            .body("title", equalTo(post.getTitle()));
+    }
+
+    @Test
+    public void testUniqueFeederHandsOutEachRecordOnce() {
+        try (DataFeeder<PostData> posts = DataFeeder.open("posts.ndjson", PostData.class, DataFeeder.Mode.UNIQUE)) {
+            // 10 records shared by 4 concurrent virtual users
+            List<CompletableFuture<Set<String>>> users = IntStream.range(0, 4)
+                .mapToObj(user -> CompletableFuture.supplyAsync(() -> {
+                    Set<String> titles = new HashSet<>();
+                    try {
+                        while (true) {
+                            titles.add(posts.next().getTitle());
+                        }
+                    } catch (NoSuchElementException exhausted) {
+                        return titles;
+                    }
+                }))
+                .collect(Collectors.toList());
+
+            Set<String> all = new HashSet<>();
+            int total = 0;
+            for (CompletableFuture<Set<String>> user : users) {
+                Set<String> titles = user.join();
+                total += titles.size();
+                all.addAll(titles);
+            }
+            assertEquals(10, total, "Every record should be handed out exactly once");
+            assertEquals(10, all.size());
+            assertThrows(NoSuchElementException.class, posts::next);
+        }
+    }
+
+    @Test
+    public void testCircularAndRandomFeedersNeverRunOut() {
+        try (DataFeeder<PostData> circular = DataFeeder.open("posts.csv", PostData.class, DataFeeder.Mode.CIRCULAR);
+             DataFeeder<PostData> random = DataFeeder.open("posts.csv", PostData.class, DataFeeder.Mode.RANDOM)) {
+            List<String> titles = circular.stream().limit(7).map(PostData::getTitle).collect(Collectors.toList());
+            assertEquals("Weekly report", titles.get(0));
+            assertEquals("Release notes, v2", titles.get(1));
+            assertEquals("Weekly report", titles.get(5), "Circular feeder should start over after the last record");
+
+            Set<String> known = Set.of("Weekly report", "Release notes, v2", "Team update", "Incident review",
+                "Roadmap draft");
+            for (int i = 0; i < 100; i++) {
+                assertTrue(known.contains(random.next().getTitle()));
+            }
+        }
+    }
+
+    @Test
+    public void testRandomFeederPicksRecordsUniformly(@TempDir Path dir) throws IOException {
+        // Every other line is 100 times longer than its neighbours, so picking by byte offset would skew
+        // the counts; 70 records span three index checkpoints
+        int records = 70;
+        StringBuilder lines = new StringBuilder();
+        for (int i = 0; i < records; i++) {
+            String padding = i % 2 == 0 ? "" : "x".repeat(2000);
+            lines.append("{\"title\":\"post-").append(i).append("\",\"body\":\"").append(padding).append("\"}\n");
+            if (i == 40) {
+                lines.append("\n  \n");
+            }
+        }
+        Path file = dir.resolve("uneven.ndjson");
+        Files.writeString(file, lines);
+
+        int draws = 70_000;
+        Map<String, Integer> counts = new HashMap<>();
+        try (DataFeeder<PostData> random = DataFeeder.open(file, PostData.class, DataFeeder.Mode.RANDOM)) {
+            for (int i = 0; i < draws; i++) {
+                counts.merge(random.next().getTitle(), 1, Integer::sum);
+            }
+        }
+
+        assertEquals(records, counts.size(), "Every record should be picked: " + counts);
+        int expected = draws / records;
+        counts.forEach((title, count) -> assertTrue(Math.abs(count - expected) < expected * 0.15,
+            title + " was picked " + count + " times, expected about " + expected + ": " + counts));
+    }
+}
@@ -0,0 +1,104 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import tests.clients.BaseApiClient;
+import tests.metrics.EndpointMetrics;
+import tests.stub.MockHttpServer;
+import tests.utils.CustomAssertions;
+
+/**
+ * Endpoint Metrics Test Suite
+ * 
+ * Checks how request paths are grouped into templates, that the histograms of an endpoint
+ * are merged across IDs and methods when read, that the API clients record their calls, and
+ * that the latency and throughput assertions pass and fail on the recorded values.
+ */
+public class EndpointMetricsTest extends MockServerTest {
+
+    @BeforeAll
+    public void addRoutes() {
+        for (String path : new String[] {"/items/1", "/items/2"}) {
+            server.route(path, (request, exchange) -> MockHttpServer.send(exchange, 200, "{}"));
+        }
+    }
+
+    @Test
+    public void testToTemplateReplacesIdSegments() {
+        assertEquals("/posts/{id}", EndpointMetrics.toTemplate("/posts/1"));
+        assertEquals("/posts/{id}/comments", EndpointMetrics.toTemplate("/posts/42/comments?page=2"));
+        assertEquals("/users/{id}/orders",
+            EndpointMetrics.toTemplate("/users/550e8400-e29b-41d4-a716-446655440000/orders"));
+        assertEquals("/tokens/{id}", EndpointMetrics.toTemplate("/tokens/a1b2c3d4e5f6g7h8i9"));
+        // Short or digit-free segments are names, not IDs
+        assertEquals("/v2/status", EndpointMetrics.toTemplate("/v2/status"));
+        assertEquals("/payment-methods-and-preferences", EndpointMetrics.toTemplate("/payment-methods-and-preferences"));
+        assertEquals("/posts", EndpointMetrics.toTemplate("/posts?userId=1"));
+    }
+
+    @Test
+    public void testMergesHistogramsOfAnEndpoint() {
+        String service = "metrics-merge";
+        record(service, "GET", "/posts/1", 10);
+        record(service, "GET", "/posts/2", 20);
+        record(service, "DELETE", "/posts/3", 30);
+        record("metrics-other", "GET", "/posts/4", 40);
+
+        EndpointMetrics.EndpointStats get = EndpointMetrics.getStats(service, "GET /posts/{id}");
+        assertEquals(2, get.count(), "Both IDs are the same endpoint");
+        assertEquals(20, get.percentileMillis(100), 0.1);
+
+        EndpointMetrics.EndpointStats all = EndpointMetrics.getStats(service, "/posts/7");
+        assertEquals(3, all.count(), "A path without a method combines all methods");
+        assertEquals(10, all.percentileMillis(0), 0.1);
+        assertEquals(30, all.percentileMillis(100), 0.1);
+
+        // Reading folds the recorded interval in; later recordings add to it
+        record(service, "GET", "/posts/5", 50);
+        assertEquals(3, EndpointMetrics.getStats(service, "GET /posts/{id}").count());
+        assertEquals(0, EndpointMetrics.getStats(service, "GET /comments").count());
+    }
+
+    @Test
+    public void testClientsRecordTheirCalls() {
+        BaseApiClient client = client("metrics-client");
+
+        client.get("/items/1");
+        client.get("/items/2?full=true");
+
+        EndpointMetrics.EndpointStats stats = EndpointMetrics.getStats("metrics-client", "GET /items/{id}");
+        assertEquals(2, stats.count());
+        assertTrue(stats.percentileMillis(100) > 0);
+    }
+
+    @Test
+    public void testLatencyAndThroughputAssertions() {
+        String service = "metrics-assert";
+        for (int millis = 1; millis <= 100; millis++) {
+            record(service, "GET", "/search", millis);
+        }
+
+        CustomAssertions.assertP99Below(service, "GET /search", 150);
+        assertThrows(AssertionError.class, () -> CustomAssertions.assertP99Below(service, "GET /search", 50));
+        CustomAssertions.assertPercentileBelow(service, "/search", 50, 60);
+        assertThrows(AssertionError.class, () -> CustomAssertions.assertPercentileBelow(service, "/search", 50, 40));
+
+        // 100 calls started within the last 100 ms
+        CustomAssertions.assertThroughputAbove(service, "/search", 100);
+        assertThrows(AssertionError.class, () -> CustomAssertions.assertThroughputAbove(service, "/search", 1_000_000));
+
+        assertThrows(AssertionError.class, () -> CustomAssertions.assertP99Below(service, "/unused", 1000),
+            "An endpoint without calls cannot pass");
+    }
+
+    private static void record(String service, String method, String path, long millis) {
+        EndpointMetrics.record(service, method, path, TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+}
@@ -0,0 +1,75 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import io.restassured.response.Response;
+import tests.clients.BaseApiClient;
+import tests.clients.ExchangeLoggingFilter;
+import tests.clients.PaymentApiClient;
+
+/**
+ * Exchange Logging Test Suite
+ * 
+ * Checks that on-failure logging prints the buffered exchange when a client's response check
+ * fails, for the generic HTTP methods as well as for the endpoint methods of the service clients,
+ * which print failed exchanges but return the response instead of failing the check.
+ * Runs against the embedded JSONPlaceholder stub, which answers unknown routes with 404.
+ */
+public class ExchangeLoggingTest extends BaseTest {
+
+    @Test
+    public void testFailedEndpointCallPrintsBufferedExchange() {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ExchangeLoggingFilter loggingFilter = onFailure(output);
+        PaymentApiClient payments = new PaymentApiClient(jsonPlaceholderClient.getBaseUri(), loggingFilter);
+
+        // The stub has no payments resource; endpoint methods return failed responses to the caller
+        Response response = payments.processPayment(Map.of("amount", 42));
+        assertEquals(404, response.getStatusCode());
+
+        String printed = output.toString(StandardCharsets.UTF_8);
+        assertTrue(printed.contains("Request method:\tPOST"), printed);
+        assertTrue(printed.contains("/payments"), printed);
+        assertTrue(printed.contains("\"amount\":42"), "Request body should be printed: " + printed);
+        assertTrue(printed.contains("404"), "Response status should be printed: " + printed);
+
+        // The exchange was dropped after printing, so it is not printed again
+        output.reset();
+        loggingFilter.logFailure();
+        assertEquals("", output.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testSuccessfulCallDropsBufferedExchange() {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ExchangeLoggingFilter loggingFilter = onFailure(output);
+        BaseApiClient client = new BaseApiClient("logging-test", jsonPlaceholderClient.getBaseUri(), loggingFilter) {
+            // Generic client with an on-failure logging filter
+        };
+
+        client.get("/posts/1");
+        // Nothing is left on this thread for a later failure to print
+        loggingFilter.logFailure();
+        assertEquals("", output.toString(StandardCharsets.UTF_8));
+
+        assertThrows(AssertionError.class, () -> client.get("/posts/0"));
+        String printed = output.toString(StandardCharsets.UTF_8);
+        assertTrue(printed.contains("Request method:\tGET"), printed);
+        assertTrue(printed.contains("/posts/0"), printed);
+        assertTrue(printed.contains("404"), printed);
+    }
+
+    private static ExchangeLoggingFilter onFailure(ByteArrayOutputStream output) {
+        return ExchangeLoggingFilter.fromSetting("on-failure", 4096,
+            new PrintStream(output, true, StandardCharsets.UTF_8));
+    }
+}
@@ -1,21 +1,14 @@
 package tests;
 
-import io.restassured.RestAssured;
 import io.restassured.response.Response;
-import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import tests.models.PostData;
 import tests.utils.TestDataLoader;
 import static io.restassured.RestAssured.given;
+import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 
-public class FileBasedTest {
-    private static final String BASE_URL = "https://jsonplaceholder.typicode.com";
-
-    @BeforeAll
-    public static void setup() {
-        RestAssured.baseURI = BASE_URL;
-    }
+public class FileBasedTest extends BaseTest {
 
     @Test
     public void testPostWithJsonData() {
@@ -24,6 +17,7 @@ public class FileBasedTest {
 
         // Perform POST request with loaded data
         Response response = given()
+            .baseUri(getServiceBaseUri("jsonplaceholder"))
             .header("Content-Type", "application/json")
             .body(postData)
             .when()
@@ -44,6 +38,7 @@ public class FileBasedTest {
 
         // Perform POST request with raw content
         Response response = given()
+            .baseUri(getServiceBaseUri("jsonplaceholder"))
             .header("Content-Type", "text/plain")
             .body(rawContent)
             .when()
@@ -61,6 +56,7 @@ public class FileBasedTest {
 
         // Perform GET request
         Response response = given()
+            .baseUri(getServiceBaseUri("jsonplaceholder"))
             .when()
             .get("/posts/1");
 
@@ -69,4 +65,18 @@ public class FileBasedTest {
             .statusCode(200)
             .body("userId", equalTo(expectedData.getUserId()));
     }
+
+    @Test
+    public void testLoadedDataIsNotShared() {
+        // Load the same file twice and change the first copy
+        PostData first = TestDataLoader.loadJsonData("post_data.json", PostData.class);
+        String title = first.getTitle();
+        first.setTitle("changed by another test");
+
+        PostData second = TestDataLoader.loadJsonData("post_data.json", PostData.class);
+
+        // Verify the second load is a fresh instance with the file's data
+        assertThat(second, not(sameInstance(first)));
+        assertThat(second.getTitle(), equalTo(title));
+    }
 } 
\ No newline at end of file
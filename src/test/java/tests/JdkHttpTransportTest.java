@@ -0,0 +1,239 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyStore;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.sun.net.httpserver.HttpsConfigurator;
+import com.sun.net.httpserver.HttpsServer;
+
+import io.restassured.http.Cookie;
+import io.restassured.response.Response;
+import tests.clients.BaseApiClient;
+import tests.clients.ClientFactory;
+import tests.clients.JdkHttpTransport;
+import tests.stub.MockHttpServer;
+
+/**
+ * JDK HttpClient Transport Test Suite
+ * 
+ * Sends requests through clients configured with transport=jdk and checks what the server
+ * receives (method, query, headers, cookies, body and its charset), how the response is mapped
+ * back, including cookie attributes, that HTTPS works with certificates issued for other hosts,
+ * and that form requests are handed on to RestAssured's own stack - on the first attempt and on
+ * retries.
+ */
+public class JdkHttpTransportTest extends MockServerTest {
+    private static final String LATIN_1 = "text/plain; charset=ISO-8859-1";
+
+    @BeforeAll
+    public void addRoutes() {
+        server.route("/echo", (request, exchange) -> {
+            exchange.getResponseHeaders().add("X-Reply", "first");
+            exchange.getResponseHeaders().add("X-Reply", "second");
+            exchange.getResponseHeaders().set("Set-Cookie", "session=server-session; Path=/");
+            int status = "POST".equals(request.method()) ? 201 : 200;
+            MockHttpServer.send(exchange, status, "{\"method\":\"" + request.method() + "\",\"text\":\"café\"}");
+        });
+        server.route("/cookies", (request, exchange) -> {
+            exchange.getResponseHeaders().add("Set-Cookie",
+                "session=abc=def; Path=/api; Domain=example.com; Max-Age=60; Secure; HttpOnly; SameSite=Strict");
+            exchange.getResponseHeaders().add("Set-Cookie", "theme=dark; Expires=Wed, 21 Oct 2037 07:28:00 GMT");
+            exchange.getResponseHeaders().add("Set-Cookie", "no-value-pair; Path=/");
+            MockHttpServer.send(exchange, 200, "{}");
+        });
+        server.route("/latin1", (request, exchange) -> {
+            exchange.getResponseHeaders().set("Content-Type", LATIN_1);
+            MockHttpServer.send(exchange, 200, "naïve".getBytes(StandardCharsets.ISO_8859_1));
+        });
+        server.route("/form", (request, exchange) ->
+            MockHttpServer.send(exchange, request.index() == 0 ? 503 : 200, "{}"));
+    }
+
+    @Test
+    public void testGetWithQueryHeadersAndCookies() {
+        TestClient client = testClient("jdk-get", "transport", "jdk");
+        JdkHttpTransport.Stats before = stats("jdk-get");
+
+        Response response = client.validate(client.customRequest()
+            .queryParam("q", "a b")
+            .queryParam("page", 2)
+            .header("X-Test", "yes")
+            .cookie("session", "abc")
+            .cookie("theme", "dark")
+            .get("/echo"));
+
+        MockHttpServer.RecordedRequest request = lastRequest("/echo");
+        assertEquals("GET", request.method());
+        assertEquals("q=a b&page=2", URI.create(request.uri()).getQuery());
+        assertEquals("yes", request.header("X-Test"));
+        assertEquals("session=abc; theme=dark", request.header("Cookie"));
+        assertTrue(request.header("User-Agent").startsWith("Java-http-client"),
+            "Sent by the JDK client, was " + request.header("User-Agent"));
+        assertEquals(0, request.body().length);
+
+        assertEquals(200, response.getStatusCode());
+        assertEquals("HTTP/1.1 200", response.getStatusLine());
+        assertEquals(List.of("first", "second"), response.getHeaders().getValues("X-Reply"));
+        assertEquals("server-session", response.getCookie("session"));
+        assertEquals("application/json; charset=utf-8", response.getContentType());
+        assertEquals("GET", response.jsonPath().getString("method"));
+        assertEquals("café", response.jsonPath().getString("text"));
+
+        JdkHttpTransport.Stats after = stats("jdk-get");
+        assertEquals(before.requests() + 1, after.requests());
+        assertEquals(before.delegated(), after.delegated());
+    }
+
+    @Test
+    public void testParsesCookieAttributes() {
+        TestClient client = testClient("jdk-cookies", "transport", "jdk");
+
+        Response response = client.validate(client.customRequest().get("/cookies"));
+
+        assertEquals(2, response.getDetailedCookies().size(), "Headers without name=value are skipped");
+        Cookie session = response.getDetailedCookie("session");
+        assertEquals("abc=def", session.getValue());
+        assertEquals("/api", session.getPath());
+        assertEquals("example.com", session.getDomain());
+        assertEquals(60, session.getMaxAge());
+        assertTrue(session.isSecured());
+        assertTrue(session.isHttpOnly());
+        assertEquals("Strict", session.getSameSite());
+        Cookie theme = response.getDetailedCookie("theme");
+        assertEquals("dark", theme.getValue());
+        assertEquals(new Date(2139722880000L), theme.getExpiryDate());
+        assertFalse(theme.isSecured());
+    }
+
+    @Test
+    public void testTrustsCertificatesForOtherHosts(@TempDir Path tempDir) throws Exception {
+        // Self-signed and issued for another host, so it fails both certificate and host name checks
+        Path keyStore = tempDir.resolve("server.p12");
+        Process keytool = new ProcessBuilder(Path.of(System.getProperty("java.home"), "bin", "keytool").toString(),
+            "-genkeypair", "-keyalg", "EC", "-alias", "server", "-dname", "CN=other.example",
+            "-validity", "1", "-storetype", "PKCS12", "-keystore", keyStore.toString(), "-storepass", "changeit")
+            .redirectErrorStream(true)
+            .start();
+        assertTrue(keytool.waitFor(60, TimeUnit.SECONDS), "keytool did not finish");
+        assertEquals(0, keytool.exitValue(), new String(keytool.getInputStream().readAllBytes()));
+
+        HttpsServer https = HttpsServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        https.setHttpsConfigurator(new HttpsConfigurator(serverContext(keyStore)));
+        https.createContext("/secure", exchange -> MockHttpServer.send(exchange, 200, "{\"secure\":true}"));
+        https.start();
+        try {
+            configure("jdk-https", "transport", "jdk");
+            TestClient client = new TestClient("jdk-https",
+                "https://127.0.0.1:" + https.getAddress().getPort());
+
+            Response response = client.validate(client.customRequest().get("/secure"));
+
+            assertTrue(response.jsonPath().getBoolean("secure"));
+            assertEquals(1, stats("jdk-https").requests());
+        } finally {
+            https.stop(0);
+        }
+    }
+
+    @Test
+    public void testPostJsonBody() {
+        BaseApiClient client = client("jdk-post", "transport", "jdk");
+
+        Response response = client.post("/echo", Map.of("name", "café"));
+
+        MockHttpServer.RecordedRequest request = lastRequest("/echo");
+        assertEquals("POST", request.method());
+        assertTrue(request.header("Content-Type").startsWith("application/json"), request.header("Content-Type"));
+        assertEquals("{\"name\":\"café\"}", request.bodyAsString());
+        assertEquals(String.valueOf(request.body().length), request.header("Content-Length"));
+        assertEquals(201, response.getStatusCode());
+        assertEquals("POST", response.jsonPath().getString("method"));
+        assertEquals(1, stats("jdk-post").requests());
+    }
+
+    @Test
+    public void testEncodesAndDecodesDeclaredCharset() {
+        TestClient client = testClient("jdk-charset", "transport", "jdk");
+
+        Response response = client.validate(client.customRequest()
+            .contentType(LATIN_1)
+            .body("café")
+            .post("/latin1"));
+
+        MockHttpServer.RecordedRequest request = lastRequest("/latin1");
+        assertEquals(LATIN_1, request.header("Content-Type"));
+        assertArrayEquals("café".getBytes(StandardCharsets.ISO_8859_1), request.body());
+        assertEquals(LATIN_1, response.getContentType());
+        assertEquals("naïve", response.asString());
+        assertEquals(1, stats("jdk-charset").requests());
+    }
+
+    @Test
+    public void testFormRequestsFallBackToRestAssured() {
+        // PUT is retried, so the second attempt is sent with Transport#send instead of the filter chain
+        TestClient client = testClient("jdk-form", "transport", "jdk", "retry.maxAttempts", "2");
+        int sent = server.count("/form");
+
+        Response response = client.validate(client.customRequest()
+            .formParam("name", "value")
+            .put("/form"));
+
+        assertEquals(200, response.getStatusCode());
+        List<MockHttpServer.RecordedRequest> requests = server.requests("/form");
+        assertEquals(sent + 2, requests.size(), "The 503 should have been retried");
+        for (MockHttpServer.RecordedRequest request : requests.subList(sent, requests.size())) {
+            assertEquals("PUT", request.method());
+            assertTrue(request.header("Content-Type").startsWith("application/x-www-form-urlencoded"),
+                request.header("Content-Type"));
+            assertEquals("name=value", request.bodyAsString());
+            assertTrue(request.header("User-Agent").startsWith("Apache-HttpClient"),
+                "Sent by RestAssured's stack, was " + request.header("User-Agent"));
+        }
+        JdkHttpTransport.Stats stats = stats("jdk-form");
+        assertEquals(0, stats.requests());
+        assertEquals(2, stats.delegated(), "Both attempts should be handed on");
+    }
+
+    private static SSLContext serverContext(Path keyStoreFile) throws Exception {
+        KeyStore keyStore = KeyStore.getInstance("PKCS12");
+        try (InputStream input = Files.newInputStream(keyStoreFile)) {
+            keyStore.load(input, "changeit".toCharArray());
+        }
+        KeyManagerFactory keyManagers = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+        keyManagers.init(keyStore, "changeit".toCharArray());
+        SSLContext context = SSLContext.getInstance("TLS");
+        context.init(keyManagers.getKeyManagers(), null, null);
+        return context;
+    }
+
+    private static JdkHttpTransport.Stats stats(String serviceName) {
+        return ((JdkHttpTransport) ClientFactory.getTransport(serviceName)).getStats();
+    }
+
+    private MockHttpServer.RecordedRequest lastRequest(String path) {
+        List<MockHttpServer.RecordedRequest> requests = server.requests(path);
+        return requests.get(requests.size() - 1);
+    }
+}
@@ -0,0 +1,64 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.fge.jsonschema.core.report.ProcessingReport;
+
+import tests.utils.CustomAssertions;
+import tests.utils.JsonSchemaRegistry;
+
+/**
+ * JSON Schema Registry Test Suite
+ * 
+ * Checks that a schema is compiled once and then shared, that validation reports where a
+ * document breaks the schema, and how a schema missing from the classpath fails.
+ */
+public class JsonSchemaRegistryTest {
+    private static final String POST_SCHEMA = "schemas/post_schema.json";
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    public void testCompilesEachSchemaOnce() {
+        assertSame(JsonSchemaRegistry.get(POST_SCHEMA), JsonSchemaRegistry.get(POST_SCHEMA));
+        assertSame(JsonSchemaRegistry.get(POST_SCHEMA), JsonSchemaRegistry.get("/" + POST_SCHEMA),
+            "A leading slash names the same classpath location");
+    }
+
+    @Test
+    public void testReportsFailingLocations() throws Exception {
+        JsonNode valid = mapper.readTree("{\"id\": 1, \"title\": \"Title\", \"body\": \"Body\", \"userId\": 1}");
+        JsonNode invalidId = mapper.readTree("{\"id\": 0, \"title\": \"Title\", \"body\": \"Body\", \"userId\": 1}");
+        JsonNode incomplete = mapper.readTree("{\"id\": 1, \"title\": \"Title\", \"body\": \"Body\"}");
+
+        assertTrue(JsonSchemaRegistry.validate(POST_SCHEMA, valid).isSuccess());
+        ProcessingReport report = JsonSchemaRegistry.validate(POST_SCHEMA, invalidId);
+        assertFalse(report.isSuccess());
+        assertTrue(JsonSchemaRegistry.describe(report).startsWith("/id: "), JsonSchemaRegistry.describe(report));
+
+        // Missing properties are reported at the object that lacks them
+        String errors = JsonSchemaRegistry.describe(JsonSchemaRegistry.validate(POST_SCHEMA, incomplete));
+        assertTrue(errors.startsWith("/: ") && errors.contains("userId"), errors);
+        AssertionError error = assertThrows(AssertionError.class,
+            () -> CustomAssertions.assertJsonSchema(incomplete, POST_SCHEMA));
+        assertTrue(error.getMessage().contains(errors), error.getMessage());
+    }
+
+    @Test
+    public void testMissingSchemaFailsOnEveryLookup() {
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+            () -> JsonSchemaRegistry.get("schemas/missing_schema.json"));
+        assertEquals("Schema not found on the classpath: schemas/missing_schema.json", error.getMessage());
+
+        // Failures are not cached, so the schema is looked up again if it appears later
+        assertThrows(IllegalArgumentException.class, () -> JsonSchemaRegistry.validate("schemas/missing_schema.json",
+            mapper.createObjectNode()));
+    }
+}
@@ -0,0 +1,99 @@
+package tests;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import tests.clients.JsonPlaceholderClient;
+import tests.stub.JsonPlaceholderStubServer;
+
+/**
+ * Large Dataset Test Suite
+ *
+ * Runs against an embedded JSONPlaceholder stub with 100k posts (500k comments, 10k users)
+ * to exercise large-payload paths that the real service's 100 posts never reach.
+ */
+public class LargeDatasetTest {
+    private static final int POST_COUNT = 100_000;
+
+    private static JsonPlaceholderStubServer stub;
+    private static JsonPlaceholderClient jsonPlaceholderClient;
+
+    @BeforeAll
+    public static void startStub() {
+        stub = JsonPlaceholderStubServer.start(POST_COUNT);
+        jsonPlaceholderClient = new JsonPlaceholderClient(stub.getBaseUri());
+    }
+
+    @AfterAll
+    public static void stopStub() {
+        stub.close();
+    }
+
+    @Test
+    public void testGetAllPostsReturnsWholeDataset() {
+        given()
+            .baseUri(stub.getBaseUri())
+        .when()
+            .get("/posts")
+        .then()
+            .statusCode(200)
+            .body("size()", equalTo(POST_COUNT))
+            .body("[99999].id", equalTo(POST_COUNT));
+    }
+
+    @Test
+    public void testNestedRoutesAtTheEndOfTheDataset() {
+        int lastUser = stub.getCount("users");
+
+        given()
+            .baseUri(stub.getBaseUri())
+        .when()
+            .get("/users/" + lastUser + "/posts")
+        .then()
+            .statusCode(200)
+            .body("$", hasSize(10))
+            .body("userId", everyItem(equalTo(lastUser)));
+
+        given()
+            .baseUri(stub.getBaseUri())
+            .queryParam("postId", POST_COUNT)
+        .when()
+            .get("/comments")
+        .then()
+            .statusCode(200)
+            .body("$", hasSize(5))
+            .body("postId", everyItem(equalTo(POST_COUNT)));
+    }
+
+    @Test
+    public void testStreamAllCommentsWithoutBuffering() {
+        // 500k comments through the client's whole filter chain, parsed while they arrive
+        try (Stream<JsonNode> comments = jsonPlaceholderClient.streamAllComments(JsonNode.class)) {
+            long lastPostComments = comments
+                .filter(comment -> comment.get("postId").asInt() == POST_COUNT)
+                .count();
+            assertEquals(5, lastPostComments);
+        }
+    }
+
+    @Test
+    public void testUnknownItemReturnsNotFound() {
+        given()
+            .baseUri(stub.getBaseUri())
+        .when()
+            .get("/posts/" + (POST_COUNT + 1))
+        .then()
+            .statusCode(404);
+    }
+}
@@ -0,0 +1,81 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import tests.clients.BaseApiClient;
+import tests.load.LoadProfile;
+import tests.load.LoadResult;
+import tests.load.LoadRunner;
+import tests.load.Operation;
+import tests.stub.MockHttpServer;
+
+/**
+ * Load Runner Test Suite
+ * 
+ * Runs short open-model workloads against a local server and checks the number of arrivals
+ * the profiles produce, and that latencies are measured from the intended start, so requests
+ * queued behind a saturated resource report the time they waited.
+ */
+public class LoadRunnerTest extends MockServerTest {
+
+    @BeforeAll
+    public void addRoutes() {
+        server.route("/ok", (request, exchange) -> MockHttpServer.send(exchange, 200, "{}"));
+        server.route("/slow", (request, exchange) -> {
+            Thread.sleep(100);
+            MockHttpServer.send(exchange, 200, "{}");
+        });
+    }
+
+    @Test
+    public void testOpenModelIssuesRateTimesDurationArrivals() {
+        // Only arrivals are counted here, so calls slowed down by a busy machine must not open the breaker
+        BaseApiClient client = client("load-arrivals", "breaker.slowCallMs", "60000");
+        LoadRunner runner = new LoadRunner(Operation.of("ok", () -> client.get("/ok")));
+        int sent = server.count("/ok");
+
+        LoadResult constant = runner.runOpen(LoadProfile.constant(100), Duration.ofSeconds(1));
+        assertEquals(100, constant.getTotalRequests(), "100 per second for one second");
+        assertEquals(0, constant.getTotalFailures(), constant.summary());
+
+        // 50 per second for the first half, 100 per second for the second
+        LoadResult step = runner.runOpen(LoadProfile.step(50, 50, Duration.ofMillis(500), 2), Duration.ofSeconds(1));
+        assertEquals(75, step.getTotalRequests());
+        assertEquals(0, step.getTotalFailures(), step.summary());
+
+        assertEquals(sent + 175, server.count("/ok"));
+    }
+
+    @Test
+    public void testLatencyIncludesQueueingDelay() {
+        // One call at a time: arrivals every 50 ms queue up behind 100 ms calls
+        BaseApiClient client = client("load-queueing", "bulkhead.maxConcurrent", "1", "bulkhead.maxWaitMs", "10000");
+        LoadRunner runner = new LoadRunner(Operation.of("slow", () -> client.get("/slow")));
+
+        LoadResult result = runner.runOpen(LoadProfile.constant(20), Duration.ofMillis(500));
+
+        assertEquals(10, result.getTotalRequests());
+        assertEquals(0, result.getTotalFailures());
+        assertTrue(result.getLatencyMillis(0) >= 95, "Every call takes 100 ms, fastest was " + result.getLatencyMillis(0));
+        // The last of ten serialized calls finishes after 1 s but was due at 450 ms
+        double slowest = result.getLatencyMillis(100);
+        assertTrue(slowest >= 500, "Slowest call should include its wait for the bulkhead, was " + slowest + " ms");
+    }
+
+    @Test
+    public void testStepProfileRejectsInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> LoadProfile.step(10, 10, Duration.ofSeconds(1), 0));
+        assertThrows(IllegalArgumentException.class, () -> LoadProfile.step(10, 10, Duration.ZERO, 3));
+        assertThrows(IllegalArgumentException.class, () -> LoadProfile.step(10, 10, Duration.ofSeconds(-1), 3));
+
+        LoadProfile single = LoadProfile.step(10, 10, Duration.ofSeconds(1), 1);
+        assertEquals(10, single.ratePerSecond(Duration.ofSeconds(5).toNanos()), "A single step holds the start rate");
+    }
+}
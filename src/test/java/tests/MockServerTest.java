@@ -0,0 +1,104 @@
+package tests;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.parallel.ResourceAccessMode;
+import org.junit.jupiter.api.parallel.ResourceLock;
+
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import tests.clients.BaseApiClient;
+import tests.clients.ClientFactory;
+import tests.stub.MockHttpServer;
+import tests.utils.ConfigManager;
+
+/**
+ * Base test class for client-side behavior tests against a scripted local server
+ * 
+ * Each test class gets a {@link MockHttpServer} of its own, started before its first test;
+ * subclasses add their routes in a @BeforeAll method of their own. Clients are created for
+ * services that the test configures itself, so per-service components (filters, breakers,
+ * budgets, pools) start fresh and test classes can run in parallel. Configuring a service
+ * only recompiles that service's settings, so the configuration is only locked for reading.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@ResourceLock(value = ApiClientsExtension.CONFIG, mode = ResourceAccessMode.READ)
+public abstract class MockServerTest {
+    protected MockHttpServer server;
+
+    @BeforeAll
+    public void startServer() {
+        server = MockHttpServer.start();
+    }
+
+    @AfterAll
+    public void stopServer() {
+        server.close();
+    }
+
+    /**
+     * Configures a service and creates a client for it on the mock server
+     * Logging is off and retry delays are short unless the settings say otherwise
+     * 
+     * @param serviceName A service name not used by other tests
+     * @param settings Pairs of keys relative to the service and values (e.g. "retry.maxAttempts", "3")
+     * @return The client
+     */
+    protected BaseApiClient client(String serviceName, String... settings) {
+        configure(serviceName, settings);
+        return ClientFactory.createCustomClient(serviceName, server.getBaseUri());
+    }
+
+    /**
+     * Configures a service without creating a client, for tests that create their own
+     * Logging is off and retry delays are short unless the settings say otherwise
+     * 
+     * @param serviceName A service name not used by other tests
+     * @param settings Pairs of keys relative to the service and values (e.g. "retry.maxAttempts", "3")
+     */
+    protected void configure(String serviceName, String... settings) {
+        Map<String, String> values = new HashMap<>(Map.of(
+            "logging", "off", "retry.baseDelayMs", "10", "retry.maxDelayMs", "20"));
+        for (int i = 0; i < settings.length; i += 2) {
+            values.put(settings[i], settings[i + 1]);
+        }
+        ConfigManager.setServiceSettings(serviceName, values);
+    }
+
+    /**
+     * Configures a service and creates a {@link TestClient} for it on the mock server
+     * 
+     * @param serviceName A service name not used by other tests
+     * @param settings Pairs of keys relative to the service and values (e.g. "retry.maxAttempts", "3")
+     * @return The client
+     */
+    protected TestClient testClient(String serviceName, String... settings) {
+        configure(serviceName, settings);
+        return new TestClient(serviceName, server.getBaseUri());
+    }
+
+    /**
+     * Client that lets tests build requests the endpoint methods don't cover
+     * Responses of {@link #customRequest()} are only checked when passed to {@link #validate(Response)}
+     */
+    protected static final class TestClient extends BaseApiClient {
+
+        TestClient(String serviceName, String baseUri) {
+            super(serviceName, baseUri);
+        }
+
+        @Override
+        public RequestSpecification customRequest() {
+            return super.customRequest();
+        }
+
+        @Override
+        public Response validate(Response response) {
+            return super.validate(response);
+        }
+    }
+}
@@ -3,13 +3,20 @@ package tests;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.condition.EnabledIf;
 
+import com.fasterxml.jackson.databind.JsonNode;
+
 import io.restassured.response.Response;
+import tests.clients.ApiResponse;
 import tests.clients.ClientFactory;
 import tests.models.PostData;
 import tests.utils.TestDataLoader;
@@ -50,8 +57,9 @@ public class MultiApiTest extends BaseTest {
             .body("name", notNullValue())
             .body("email", notNullValue());
         
-        String userName = userResponse.jsonPath().getString("name");
-        String userEmail = userResponse.jsonPath().getString("email");
+        ApiResponse<JsonNode> user = ApiResponse.of(userResponse);
+        String userName = user.getString("name");
+        String userEmail = user.getString("email");
         logger.info("Retrieved user: {} ({})", userName, userEmail);
         
         // Step 2: Create a post on behalf of the user
@@ -119,16 +127,22 @@ public class MultiApiTest extends BaseTest {
      * Test that demonstrates parallel API calls to different services
      * 
      * This test shows how to make concurrent calls to different APIs
-     * and aggregate the results.
+     * and aggregate the results. The calls run on the clients' async executor,
+     * so the whole fan-out takes about as long as the slowest call.
      */
     @Test
     public void testParallelApiCalls() {
         logger.info("Testing parallel API calls to different services");
         
-        // Make multiple calls to JSONPlaceholder API
-        Response postsResponse = jsonPlaceholderClient.getAllPosts();
-        Response usersResponse = jsonPlaceholderClient.getAllUsers();
-        Response todosResponse = jsonPlaceholderClient.getAllTodos();
+        // Fire all calls to JSONPlaceholder API at once and wait for them together
+        CompletableFuture<Response> postsFuture = jsonPlaceholderClient.getAllPostsAsync();
+        CompletableFuture<Response> usersFuture = jsonPlaceholderClient.getAllUsersAsync();
+        CompletableFuture<Response> todosFuture = jsonPlaceholderClient.getAllTodosAsync();
+        CompletableFuture.allOf(postsFuture, usersFuture, todosFuture).join();
+        
+        Response postsResponse = postsFuture.join();
+        Response usersResponse = usersFuture.join();
+        Response todosResponse = todosFuture.join();
         
         // Verify all responses
         postsResponse.then()
@@ -144,9 +158,9 @@ public class MultiApiTest extends BaseTest {
             .body("size()", greaterThan(0));
         
         // Log response sizes
-        int postsCount = postsResponse.jsonPath().getList("$").size();
-        int usersCount = usersResponse.jsonPath().getList("$").size();
-        int todosCount = todosResponse.jsonPath().getList("$").size();
+        int postsCount = ApiResponse.of(postsResponse).getSize("$");
+        int usersCount = ApiResponse.of(usersResponse).getSize("$");
+        int todosCount = ApiResponse.of(todosResponse).getSize("$");
         
         logger.info("Retrieved {} posts, {} users, {} todos", postsCount, usersCount, todosCount);
         
@@ -200,6 +214,23 @@ public class MultiApiTest extends BaseTest {
         logger.info("Conditional API usage test completed");
     }
     
+    /**
+     * Test that demonstrates typed responses
+     * 
+     * The body is parsed once and bound to PostData; field access afterwards
+     * reads the cached tree instead of parsing the body again.
+     */
+    @Test
+    public void testTypedResponse() {
+        ApiResponse<PostData> post = jsonPlaceholderClient.getPost(1, PostData.class);
+        
+        assertEquals(200, post.getStatusCode());
+        assertEquals(1, post.getInt("id"));
+        assertEquals(post.getString("title"), post.getBody().getTitle());
+        assertEquals(post.getInt("userId"), post.getBody().getUserId());
+        assertSame(post.getBody(), post.getBody(), "Body should be bound only once");
+    }
+    
     /**
      * Test that runs only when all services are configured
      * 
@@ -0,0 +1,168 @@
+package tests;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import io.restassured.http.ContentType;
+import tests.clients.BaseApiClient;
+import tests.clients.NotificationBatcher;
+import tests.stub.MockHttpServer;
+
+/**
+ * Notification Batcher Test Suite
+ * 
+ * Sends notifications through batchers backed by a local bulk endpoint and checks when
+ * bulk requests are sent, that every caller gets the result at its own index, and that
+ * all callers of a batch fail together when the bulk request does.
+ */
+public class NotificationBatcherTest extends MockServerTest {
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeAll
+    public void addRoutes() {
+        server.route("/notifications/bulk", (request, exchange) ->
+            MockHttpServer.send(exchange, 200, results(request, 0)));
+        server.route("/notifications/bulk-short", (request, exchange) ->
+            MockHttpServer.send(exchange, 200, results(request, 1)));
+        server.route("/notifications/bulk-error", (request, exchange) ->
+            MockHttpServer.send(exchange, 500, "{\"error\":\"unavailable\"}"));
+    }
+
+    @Test
+    public void testSendsBatchWhenFull() throws Exception {
+        BaseApiClient client = client("batch-size");
+        try (NotificationBatcher batcher = batcher(client, "/notifications/bulk", 3, Duration.ofSeconds(30))) {
+            List<CompletableFuture<JsonNode>> results = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                results.add(batcher.send(Map.of("message", "message-" + i)));
+            }
+
+            for (int i = 0; i < 3; i++) {
+                JsonNode result = results.get(i).get(5, TimeUnit.SECONDS);
+                assertEquals("message-" + i, result.path("message").asText(), "Result " + i + " belongs to call " + i);
+                assertEquals(i, result.path("index").asInt());
+            }
+            assertEquals(1, batcher.getBulkRequests());
+            assertEquals(3, batcher.getNotifications());
+            JsonNode sent = objectMapper.readTree(lastRequest("/notifications/bulk").body());
+            assertEquals(3, sent.path("notifications").size());
+        }
+    }
+
+    @Test
+    public void testSendsPartialBatchAfterMaxDelay() throws Exception {
+        BaseApiClient client = client("batch-delay");
+        try (NotificationBatcher batcher = batcher(client, "/notifications/bulk", 100, Duration.ofMillis(200))) {
+            long start = System.nanoTime();
+            CompletableFuture<JsonNode> first = batcher.send(Map.of("message", "first"));
+            CompletableFuture<JsonNode> second = batcher.send(Map.of("message", "second"));
+            assertFalse(first.isDone(), "The batch is neither full nor due");
+
+            assertEquals("first", first.get(5, TimeUnit.SECONDS).path("message").asText());
+            assertEquals("second", second.get(5, TimeUnit.SECONDS).path("message").asText());
+            long waitedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            assertTrue(waitedMillis >= 190, "Sent after " + waitedMillis + " ms");
+            assertEquals(1, batcher.getBulkRequests());
+        }
+    }
+
+    @Test
+    public void testFailsAllCallsOnErrorStatus() {
+        // A sender that does not check the status itself, so the batcher has to
+        try (NotificationBatcher batcher = new NotificationBatcher(
+                body -> CompletableFuture.supplyAsync(() -> given().baseUri(server.getBaseUri())
+                    .contentType(ContentType.JSON).body(body).post("/notifications/bulk-error")),
+                2, Duration.ofSeconds(30))) {
+            CompletableFuture<JsonNode> first = batcher.send(Map.of("message", "first"));
+            CompletableFuture<JsonNode> second = batcher.send(Map.of("message", "second"));
+
+            for (CompletableFuture<JsonNode> result : List.of(first, second)) {
+                CompletionException failure = assertThrows(CompletionException.class, result::join);
+                assertInstanceOf(IllegalStateException.class, failure.getCause());
+                assertTrue(failure.getCause().getMessage().contains("500"), failure.getCause().getMessage());
+            }
+        }
+    }
+
+    @Test
+    public void testFailsAllCallsOnMismatchedResultCount() {
+        BaseApiClient client = client("batch-mismatch");
+        try (NotificationBatcher batcher = batcher(client, "/notifications/bulk-short", 3, Duration.ofSeconds(30))) {
+            List<CompletableFuture<JsonNode>> results = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                results.add(batcher.send(Map.of("message", "message-" + i)));
+            }
+
+            for (CompletableFuture<JsonNode> result : results) {
+                CompletionException failure = assertThrows(CompletionException.class, result::join,
+                    "Two results for three notifications cannot be matched up");
+                assertInstanceOf(IllegalStateException.class, failure.getCause());
+            }
+        }
+    }
+
+    @Test
+    public void testCloseSendsQueuedNotificationsAndRejectsNewOnes() throws Exception {
+        BaseApiClient client = client("batch-close");
+        NotificationBatcher batcher = batcher(client, "/notifications/bulk", 100, Duration.ofSeconds(30));
+        CompletableFuture<JsonNode> queued = batcher.send(Map.of("message", "queued"));
+
+        batcher.close();
+
+        assertEquals("queued", queued.get(5, TimeUnit.SECONDS).path("message").asText());
+        assertThrows(IllegalStateException.class, () -> batcher.send(Map.of("message", "late")));
+        assertEquals(1, batcher.getNotifications());
+    }
+
+    /**
+     * Creates a batcher that posts its bulk requests to the given path through the client
+     */
+    private static NotificationBatcher batcher(BaseApiClient client, String path, int maxBatchSize, Duration maxDelay) {
+        return new NotificationBatcher(body -> client.postAsync(path, body), maxBatchSize, maxDelay);
+    }
+
+    /**
+     * Answers a bulk request with one result per notification, echoing its message and index
+     * 
+     * @param request The bulk request
+     * @param missing Number of results to leave out at the end
+     * @return The bulk response body
+     */
+    private static String results(MockHttpServer.RecordedRequest request, int missing) throws IOException {
+        JsonNode notifications = objectMapper.readTree(request.body()).path("notifications");
+        ObjectNode body = objectMapper.createObjectNode();
+        ArrayNode results = body.putArray("results");
+        for (int i = 0; i < notifications.size() - missing; i++) {
+            results.addObject()
+                .put("index", i)
+                .put("message", notifications.get(i).path("message").asText());
+        }
+        return body.toString();
+    }
+
+    private MockHttpServer.RecordedRequest lastRequest(String path) {
+        List<MockHttpServer.RecordedRequest> requests = server.requests(path);
+        return requests.get(requests.size() - 1);
+    }
+}
@@ -0,0 +1,142 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import tests.clients.BaseApiClient;
+import tests.clients.CallRejectedException;
+import tests.clients.ClientFactory;
+import tests.clients.RateLimiter;
+import tests.stub.MockHttpServer;
+
+/**
+ * Rate Limiter Test Suite
+ * 
+ * Checks the spacing and bursts of the token bucket, fail-fast rejection, Retry-After parsing,
+ * and that an async call takes exactly one token however many requests its filters send.
+ */
+public class RateLimiterTest extends MockServerTest {
+
+    @BeforeAll
+    public void addRoutes() {
+        server.route("/ok", (request, exchange) -> MockHttpServer.send(exchange, 200, "{}"));
+        server.route("/cached", (request, exchange) -> {
+            exchange.getResponseHeaders().set("Cache-Control", "max-age=60");
+            MockHttpServer.send(exchange, 200, "{}");
+        });
+        server.route("/flaky", (request, exchange) ->
+            MockHttpServer.send(exchange, request.index() == 0 ? 503 : 200, "{}"));
+    }
+
+    @Test
+    public void testSpacesRequestsEvenlyAtLimit() {
+        // 20 per second: one token every 50 ms
+        RateLimiter limiter = new RateLimiter("rate-spacing", 20, 1, false);
+
+        long previous = System.nanoTime();
+        limiter.acquire();
+        long first = System.nanoTime();
+        assertTrue(first - previous < TimeUnit.MILLISECONDS.toNanos(25), "The first token is free at once");
+        for (int i = 0; i < 5; i++) {
+            limiter.acquire();
+        }
+        // Measured over all five tokens: a single gap can shrink after a late wake-up
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - first);
+        assertTrue(elapsedMillis >= 245 && elapsedMillis < 1000,
+            "Five tokens should take 250 ms, took " + elapsedMillis + " ms");
+        assertEquals(6, limiter.getStats().permits());
+    }
+
+    @Test
+    public void testAllowsBurstAfterIdle() throws InterruptedException {
+        RateLimiter limiter = new RateLimiter("rate-burst", 20, 3, false);
+        for (int round = 0; round < 2; round++) {
+            assertTrue(limiter.tryAcquire());
+            assertTrue(limiter.tryAcquire());
+            assertTrue(limiter.tryAcquire());
+            assertFalse(limiter.tryAcquire(), "A burst holds at most 3 tokens");
+            // Idle long enough to refill the bucket, and longer - it still holds only 3
+            Thread.sleep(300);
+        }
+        assertEquals(6, limiter.getStats().permits());
+        assertEquals(2, limiter.getStats().rejected());
+    }
+
+    @Test
+    public void testRejectsCallsOverLimitInFailMode() {
+        BaseApiClient client = client("rate-fail", "rate.limit", "1", "rate.mode", "fail");
+        int sent = server.count("/ok");
+
+        assertEquals(200, client.get("/ok").getStatusCode());
+        assertThrows(CallRejectedException.class, () -> client.get("/ok"));
+
+        assertEquals(sent + 1, server.count("/ok"), "The rejected call should not be sent");
+        RateLimiter.Stats stats = ClientFactory.getRateLimiter("rate-fail").getStats();
+        assertEquals(1, stats.permits());
+        assertEquals(1, stats.rejected());
+    }
+
+    @Test
+    public void testParsesRetryAfterSecondsAndHttpDate() {
+        assertEquals(TimeUnit.SECONDS.toNanos(120), RateLimiter.parseRetryAfter("120"));
+        assertEquals(TimeUnit.SECONDS.toNanos(5), RateLimiter.parseRetryAfter(" 5 "));
+        assertEquals(0, RateLimiter.parseRetryAfter("-5"));
+
+        String inThirtySeconds = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now(ZoneOffset.UTC).plusSeconds(30));
+        long delay = RateLimiter.parseRetryAfter(inThirtySeconds);
+        assertTrue(delay > TimeUnit.SECONDS.toNanos(28) && delay <= TimeUnit.SECONDS.toNanos(30),
+            "Delay until " + inThirtySeconds + " was " + delay + " ns");
+        assertEquals(0, RateLimiter.parseRetryAfter("Wed, 21 Oct 2015 07:28:00 GMT"), "A past date means no delay");
+
+        assertEquals(0, RateLimiter.parseRetryAfter(null));
+        assertEquals(0, RateLimiter.parseRetryAfter("soon"));
+    }
+
+    @Test
+    public void testAsyncCallTakesOneTokenOnCacheHitAndRetry() {
+        BaseApiClient client = client("rate-async", "rate.limit", "50", "cache", "true", "retry.maxAttempts", "2");
+        RateLimiter limiter = ClientFactory.getRateLimiter("rate-async");
+        int cachedBefore = server.count("/cached");
+        int flakyBefore = server.count("/flaky");
+
+        client.getAsync("/cached").join();
+        client.getAsync("/cached").join();
+        assertEquals(cachedBefore + 1, server.count("/cached"), "Second call should be served by the cache");
+        assertEquals(2, limiter.getStats().permits());
+
+        assertEquals(200, client.getAsync("/flaky").join().getStatusCode());
+        assertEquals(flakyBefore + 2, server.count("/flaky"), "The call should have been retried");
+        assertEquals(3, limiter.getStats().permits(), "One token per call");
+    }
+
+    @Test
+    public void testPrepaidTokenBelongsToItsOwnLimiter() {
+        BaseApiClient outer = client("rate-outer", "rate.limit", "1", "rate.mode", "fail");
+        BaseApiClient inner = client("rate-inner", "rate.limit", "1", "rate.mode", "fail");
+        RateLimiter outerLimiter = ClientFactory.getRateLimiter("rate-outer");
+        RateLimiter innerLimiter = ClientFactory.getRateLimiter("rate-inner");
+
+        // Like an async call whose client first logs in through another rate-limited service
+        outerLimiter.acquireAsync().join();
+        int status = outerLimiter.withPermit(() -> {
+            inner.get("/ok");
+            return outer.get("/ok").getStatusCode();
+        });
+
+        assertEquals(200, status, "The outer call should use the token taken for it");
+        assertEquals(1, outerLimiter.getStats().permits());
+        assertEquals(0, outerLimiter.getStats().rejected());
+        assertEquals(1, innerLimiter.getStats().permits(), "The nested call is charged to its own limiter");
+        assertThrows(CallRejectedException.class, () -> inner.get("/ok"), "The inner limiter's only token is used up");
+    }
+}
@@ -0,0 +1,120 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import io.restassured.response.Response;
+import tests.clients.BaseApiClient;
+import tests.clients.ClientFactory;
+import tests.clients.ResilienceFilter;
+import tests.stub.MockHttpServer;
+
+/**
+ * Resilience Filter Test Suite
+ * 
+ * Checks retries, the retry budget, backoff and hedged requests against a scripted local
+ * server. Every test configures a service of its own, so filters, budgets and connection
+ * pools start fresh.
+ */
+public class ResilienceFilterTest extends MockServerTest {
+
+    @BeforeAll
+    public void addRoutes() {
+        server.route("/ok", (request, exchange) -> MockHttpServer.send(exchange, 200, "{}"));
+        server.route("/down", (request, exchange) -> MockHttpServer.send(exchange, 503, "{}"));
+        server.route("/flaky", (request, exchange) ->
+            MockHttpServer.send(exchange, request.index() < 2 ? 503 : 200, "{}"));
+        // The first request to each slow route takes long enough for a hedge to be sent
+        for (String path : new String[] {"/slow", "/slow-pooled"}) {
+            server.route(path, (request, exchange) -> {
+                if (request.index() == 0) {
+                    Thread.sleep(2000);
+                }
+                MockHttpServer.send(exchange, 200, "{\"attempt\":" + request.index() + "}");
+            });
+        }
+    }
+
+    @Test
+    public void testRetriesTransientStatusUntilSuccess() {
+        BaseApiClient client = client("resilience-retry", "retry.maxAttempts", "3");
+
+        assertEquals(200, client.get("/flaky").getStatusCode());
+
+        assertEquals(3, server.count("/flaky"));
+        assertEquals(2, ClientFactory.getResilienceFilter("resilience-retry").getStats().retries());
+    }
+
+    @Test
+    public void testRetryBudgetLimitsRetries() {
+        // Without deposits the budget holds a single retry
+        BaseApiClient client = client("resilience-budget", "retry.maxAttempts", "5",
+            "retry.budget.ratio", "0", "retry.budget.minPerSecond", "0");
+        int before = server.count("/down");
+
+        assertThrows(AssertionError.class, () -> client.get("/down"));
+        assertEquals(before + 2, server.count("/down"), "One retry should be paid from the budget");
+        assertThrows(AssertionError.class, () -> client.get("/down"));
+        assertEquals(before + 3, server.count("/down"), "The empty budget should refuse further retries");
+
+        ResilienceFilter.Stats stats = ClientFactory.getResilienceFilter("resilience-budget").getStats();
+        assertEquals(1, stats.retries());
+        assertEquals(2, stats.budgetRejections());
+    }
+
+    @Test
+    public void testBackoffDoesNotHoldConnectionPermit() throws InterruptedException {
+        // One connection permit, and a failing call that backs off up to 200 ms four times
+        BaseApiClient client = client("resilience-backoff", "pool.perRoute", "1", "retry.maxAttempts", "5",
+            "retry.baseDelayMs", "200", "retry.maxDelayMs", "200");
+        int before = server.count("/down");
+        CompletableFuture<Response> failing = client.getAsync("/down");
+        while (server.count("/down") == before) {
+            Thread.sleep(1);
+        }
+
+        // Sent while the failing call waits between attempts, so it must get the permit
+        assertEquals(200, client.get("/ok").getStatusCode());
+        assertFalse(failing.isDone(), "The other call should still be backing off");
+
+        assertThrows(Exception.class, failing::join);
+        assertEquals(4, ClientFactory.getResilienceFilter("resilience-backoff").getStats().retries());
+    }
+
+    @Test
+    public void testHedgedRequestWinsOverSlowRequest() {
+        BaseApiClient client = client("resilience-hedge", "hedge", "true", "hedge.delayMs", "50");
+
+        long start = System.nanoTime();
+        Response response = client.get("/slow");
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        assertEquals(1, response.jsonPath().getInt("attempt"), "The hedged request should answer first");
+        assertTrue(elapsed.toMillis() < 1500, "Call should not wait for the slow request: " + elapsed);
+        ResilienceFilter.Stats stats = ClientFactory.getResilienceFilter("resilience-hedge").getStats();
+        assertEquals(1, stats.hedges());
+        assertEquals(1, stats.hedgeWins());
+    }
+
+    @Test
+    public void testNoHedgeWithoutFreeConnectionPermit() {
+        // The slow request holds the only permit, so the hedge is not sent. The long delay gives the
+        // original request time to take the permit even when a busy machine schedules it late
+        BaseApiClient client = client("resilience-hedge-pooled", "hedge", "true", "hedge.delayMs", "1000",
+            "pool.perRoute", "1");
+
+        Response response = client.get("/slow-pooled");
+
+        assertEquals(0, response.jsonPath().getInt("attempt"));
+        assertEquals(1, server.count("/slow-pooled"));
+        assertEquals(0, ClientFactory.getResilienceFilter("resilience-hedge-pooled").getStats().hedges());
+    }
+}
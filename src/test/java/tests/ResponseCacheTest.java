@@ -0,0 +1,216 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import io.restassured.response.Response;
+import tests.clients.BaseApiClient;
+import tests.clients.ClientFactory;
+import tests.clients.ResponseCache;
+import tests.stub.MockHttpServer;
+
+/**
+ * Response Cache Test Suite
+ * 
+ * Turns the cache on for test services and checks hits, misses and ETag revalidation,
+ * the handling of Cache-Control no-store, max-age and Age, Vary, and LRU eviction by size.
+ */
+public class ResponseCacheTest extends MockServerTest {
+    private static final String BODY = "{\"data\":\"" + "x".repeat(1500) + "\"}";
+
+    @BeforeAll
+    public void addRoutes() {
+        for (String path : List.of("/fresh", "/a", "/b", "/c")) {
+            server.route(path, (request, exchange) -> {
+                exchange.getResponseHeaders().set("Cache-Control", "max-age=60");
+                MockHttpServer.send(exchange, 200, BODY);
+            });
+        }
+        server.route("/validated", (request, exchange) -> {
+            exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+            exchange.getResponseHeaders().set("ETag", "\"v1\"");
+            if ("\"v1\"".equals(request.header("If-None-Match"))) {
+                MockHttpServer.send(exchange, 304, new byte[0]);
+            } else {
+                MockHttpServer.send(exchange, 200, "{\"version\":1}");
+            }
+        });
+        server.route("/no-store", (request, exchange) -> {
+            exchange.getResponseHeaders().set("Cache-Control", "no-store, max-age=60");
+            MockHttpServer.send(exchange, 200, "{}");
+        });
+        server.route("/short", (request, exchange) -> {
+            exchange.getResponseHeaders().set("Cache-Control", "max-age=1");
+            MockHttpServer.send(exchange, 200, "{}");
+        });
+        server.route("/vary", (request, exchange) -> {
+            exchange.getResponseHeaders().set("Cache-Control", "max-age=60");
+            exchange.getResponseHeaders().set("Vary", "Accept-Language");
+            MockHttpServer.send(exchange, 200, "{\"language\":\"" + request.header("Accept-Language") + "\"}");
+        });
+        server.route("/vary-encoding", (request, exchange) -> {
+            // Accept-Encoding is added by the compression filter, after the cache has looked
+            exchange.getResponseHeaders().set("Cache-Control", "max-age=60");
+            exchange.getResponseHeaders().set("Vary", "Accept-Encoding");
+            MockHttpServer.send(exchange, 200, "{}");
+        });
+        server.route("/vary-all", (request, exchange) -> {
+            exchange.getResponseHeaders().set("Cache-Control", "max-age=60");
+            exchange.getResponseHeaders().set("Vary", "*");
+            MockHttpServer.send(exchange, 200, "{}");
+        });
+        server.route("/aged", (request, exchange) -> {
+            // Already as old as its max-age when it arrives
+            exchange.getResponseHeaders().set("Cache-Control", "max-age=60");
+            exchange.getResponseHeaders().set("Age", "60");
+            MockHttpServer.send(exchange, 200, "{}");
+        });
+    }
+
+    @Test
+    public void testServesFreshResponseFromCache() {
+        BaseApiClient client = client("cache-fresh", "cache", "true");
+
+        Response first = client.get("/fresh");
+        Response second = client.get("/fresh");
+
+        assertEquals(1, server.count("/fresh"));
+        assertEquals(first.asString(), second.asString());
+        assertEquals("max-age=60", second.getHeader("Cache-Control"));
+        ResponseCache.Stats stats = ClientFactory.getResponseCache("cache-fresh").getStats();
+        assertEquals(1, stats.hits());
+        assertEquals(1, stats.misses());
+        assertEquals(0, stats.revalidations());
+        assertEquals(1, stats.entries());
+    }
+
+    @Test
+    public void testRevalidatesWithEtag() {
+        BaseApiClient client = client("cache-revalidate", "cache", "true");
+
+        client.get("/validated");
+        Response revalidated = client.get("/validated");
+
+        List<MockHttpServer.RecordedRequest> requests = server.requests("/validated");
+        assertEquals(2, requests.size(), "no-cache responses are revalidated on every use");
+        assertNull(requests.get(0).header("If-None-Match"));
+        assertEquals("\"v1\"", requests.get(1).header("If-None-Match"));
+        assertEquals(200, revalidated.getStatusCode(), "A 304 is answered with the cached response");
+        assertEquals(1, revalidated.jsonPath().getInt("version"));
+        ResponseCache.Stats stats = ClientFactory.getResponseCache("cache-revalidate").getStats();
+        assertEquals(0, stats.hits());
+        assertEquals(1, stats.misses());
+        assertEquals(1, stats.revalidations());
+    }
+
+    @Test
+    public void testDoesNotStoreNoStoreResponses() {
+        BaseApiClient client = client("cache-no-store", "cache", "true");
+
+        client.get("/no-store");
+        client.get("/no-store");
+
+        assertEquals(2, server.count("/no-store"));
+        ResponseCache.Stats stats = ClientFactory.getResponseCache("cache-no-store").getStats();
+        assertEquals(2, stats.misses());
+        assertEquals(0, stats.entries());
+    }
+
+    @Test
+    public void testMaxAgeLimitsFreshness() throws InterruptedException {
+        BaseApiClient client = client("cache-max-age", "cache", "true");
+
+        client.get("/short");
+        client.get("/short");
+        assertEquals(1, server.count("/short"), "Fresh for one second");
+        Thread.sleep(1100);
+        client.get("/short");
+        assertEquals(2, server.count("/short"), "Stale after max-age");
+
+        client.get("/aged");
+        client.get("/aged");
+        assertEquals(2, server.count("/aged"), "Age uses up max-age, and there is no validator");
+
+        ResponseCache.Stats stats = ClientFactory.getResponseCache("cache-max-age").getStats();
+        assertEquals(1, stats.hits());
+        assertEquals(4, stats.misses());
+    }
+
+    @Test
+    public void testServesVaryingResponsesOnlyToMatchingRequests() {
+        TestClient client = testClient("cache-vary", "cache", "true");
+
+        assertEquals("de", language(client, "de"));
+        assertEquals("de", language(client, "de"));
+        assertEquals(1, server.count("/vary"));
+
+        assertEquals("en", language(client, "en"), "Another language must not get the cached response");
+        assertEquals(2, server.count("/vary"));
+        assertEquals("en", language(client, "en"));
+        assertEquals("de", language(client, "de"), "The English response replaced the German one");
+        assertEquals(3, server.count("/vary"));
+
+        ResponseCache.Stats stats = ClientFactory.getResponseCache("cache-vary").getStats();
+        assertEquals(2, stats.hits());
+        assertEquals(3, stats.misses());
+        assertEquals(1, stats.entries());
+    }
+
+    @Test
+    public void testVaryComparesRequestHeadersAsTheCacheSawThem() {
+        BaseApiClient client = client("cache-vary-encoding", "cache", "true");
+
+        client.get("/vary-encoding");
+        client.get("/vary-encoding");
+
+        assertEquals(1, server.count("/vary-encoding"));
+        assertEquals(1, ClientFactory.getResponseCache("cache-vary-encoding").getStats().hits());
+    }
+
+    @Test
+    public void testDoesNotStoreVaryStar() {
+        BaseApiClient client = client("cache-vary-all", "cache", "true");
+
+        client.get("/vary-all");
+        client.get("/vary-all");
+
+        assertEquals(2, server.count("/vary-all"));
+        assertEquals(0, ClientFactory.getResponseCache("cache-vary-all").getStats().entries());
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsedByMaxBytes() {
+        // Room for two of the 1.5 KB responses, not three
+        BaseApiClient client = client("cache-evict", "cache", "true", "cache.maxBytes", "5000");
+        ResponseCache cache = ClientFactory.getResponseCache("cache-evict");
+
+        client.get("/a");
+        client.get("/b");
+        assertEquals(2, cache.getStats().entries());
+        client.get("/a");
+        client.get("/c");
+
+        ResponseCache.Stats stats = cache.getStats();
+        assertEquals(2, stats.entries());
+        assertEquals(1, stats.evictions());
+        assertTrue(stats.bytes() <= 5000, "Cache holds " + stats.bytes() + " bytes");
+
+        int aSent = server.count("/a");
+        int bSent = server.count("/b");
+        client.get("/a");
+        client.get("/b");
+        assertEquals(aSent, server.count("/a"), "/a was used recently and should be kept");
+        assertEquals(bSent + 1, server.count("/b"), "/b was least recently used and should be evicted");
+    }
+
+    private static String language(TestClient client, String language) {
+        return client.validate(client.customRequest().header("Accept-Language", language).get("/vary"))
+            .jsonPath().getString("language");
+    }
+}
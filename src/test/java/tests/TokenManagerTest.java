@@ -0,0 +1,127 @@
+package tests;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import tests.clients.BaseApiClient;
+import tests.clients.BearerTokenFilter;
+import tests.clients.TokenManager;
+import tests.stub.MockHttpServer;
+
+/**
+ * Token Manager Test Suite
+ * 
+ * Sends concurrent requests through the bearer token filter and checks that they share
+ * a single login, and that a token is refreshed in the background before it expires.
+ */
+public class TokenManagerTest extends MockServerTest {
+    private static final int CALLERS = 16;
+
+    @BeforeAll
+    public void addRoutes() {
+        server.route("/auth/login", (request, exchange) -> {
+            // Slow enough for every caller to find the token missing
+            Thread.sleep(200);
+            MockHttpServer.send(exchange, 200, "{\"accessToken\":\"token-" + request.index()
+                + "\",\"refreshToken\":\"refresh-" + request.index() + "\"}");
+        });
+        server.route("/auth/refresh", (request, exchange) ->
+            MockHttpServer.send(exchange, 200, "{\"accessToken\":\"refreshed-" + request.index() + "\"}"));
+        server.route("/protected", (request, exchange) -> {
+            String authorization = request.header("Authorization");
+            boolean bearer = authorization != null && authorization.startsWith("Bearer ");
+            MockHttpServer.send(exchange, bearer ? 200 : 401, "{}");
+        });
+    }
+
+    @Test
+    public void testConcurrentCallersShareOneLogin() throws Exception {
+        try (TokenManager tokens = tokenManager("token-concurrent", Duration.ofMinutes(5), Duration.ofSeconds(30))) {
+            BearerTokenFilter filter = new BearerTokenFilter(tokens);
+            int logins = server.count("/auth/login");
+            int sent = server.count("/protected");
+            CountDownLatch start = new CountDownLatch(1);
+            List<CompletableFuture<Integer>> calls = new ArrayList<>();
+            ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+            try {
+                for (int i = 0; i < CALLERS; i++) {
+                    calls.add(CompletableFuture.supplyAsync(() -> {
+                        try {
+                            start.await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        return given().baseUri(server.getBaseUri()).filter(filter).get("/protected").getStatusCode();
+                    }, executor));
+                }
+                start.countDown();
+                for (CompletableFuture<Integer> call : calls) {
+                    assertEquals(200, call.join());
+                }
+            } finally {
+                executor.shutdown();
+            }
+
+            assertEquals(logins + 1, server.count("/auth/login"), "Only one caller should log in");
+            assertEquals(1, tokens.getLoginCount());
+            assertEquals(0, tokens.getRefreshCount());
+            List<MockHttpServer.RecordedRequest> requests = server.requests("/protected");
+            for (MockHttpServer.RecordedRequest request : requests.subList(sent, requests.size())) {
+                assertEquals("Bearer " + tokens.getToken(), request.header("Authorization"));
+            }
+        }
+    }
+
+    @Test
+    public void testRefreshesTokenBeforeExpiry() throws InterruptedException {
+        // The login response has no expiry, so the token lives for one second and is refreshed 300 ms early
+        try (TokenManager tokens = tokenManager("token-refresh", Duration.ofSeconds(1), Duration.ofMillis(300))) {
+            int logins = server.count("/auth/login");
+            int refreshes = server.count("/auth/refresh");
+            String loggedIn = tokens.renew().join().accessToken();
+
+            long deadline = System.currentTimeMillis() + 3000;
+            while (tokens.getRefreshCount() == 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+
+            assertEquals(1, tokens.getRefreshCount(), "The token should be refreshed in the background");
+            assertEquals(1, tokens.getLoginCount());
+            assertEquals(logins + 1, server.count("/auth/login"));
+            List<MockHttpServer.RecordedRequest> requests = server.requests("/auth/refresh");
+            assertEquals(refreshes + 1, requests.size());
+            String refreshToken = "refresh" + loggedIn.substring("token".length());
+            assertTrue(requests.get(refreshes).bodyAsString().contains(refreshToken),
+                "Refresh should send " + refreshToken + ": " + requests.get(refreshes).bodyAsString());
+
+            // Closing stops the refresh scheduled for the new token
+            tokens.close();
+            Thread.sleep(1000);
+            assertEquals(1, tokens.getRefreshCount());
+        }
+    }
+
+    /**
+     * Creates a token manager that logs in and refreshes through a client on the mock server
+     */
+    private TokenManager tokenManager(String serviceName, Duration lifetime, Duration refreshAhead) {
+        BaseApiClient client = client(serviceName);
+        return new TokenManager(
+            () -> client.post("/auth/login", Map.of("username", "user", "password", "secret")),
+            refreshToken -> client.post("/auth/refresh", Map.of("refreshToken", refreshToken)),
+            lifetime, refreshAhead);
+    }
+}
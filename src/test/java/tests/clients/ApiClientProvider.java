@@ -0,0 +1,44 @@
+package tests.clients;
+
+/**
+ * Service provider interface for API clients
+ * 
+ * ClientFactory discovers providers with {@link java.util.ServiceLoader}, so a new service
+ * plugs in by implementing this interface and listing the implementation in
+ * META-INF/services/tests.clients.ApiClientProvider - the factory itself does not change.
+ * 
+ * Example:
+ * public static class Provider implements ApiClientProvider {
+ *     public String serviceName() { return "orders"; }
+ *     public Class<? extends BaseApiClient> clientType() { return OrderApiClient.class; }
+ *     public BaseApiClient create() { return new OrderApiClient(); }
+ * }
+ */
+public interface ApiClientProvider {
+
+    /**
+     * Gets the name of the service the client talks to
+     * Used as the registry key and for configuration lookup (service.<name>.*)
+     * 
+     * @return The service name
+     */
+    String serviceName();
+
+    /**
+     * Gets the type of the clients this provider creates
+     * Lets the client be looked up by type, e.g. when it is injected into a test
+     * 
+     * @return The client class
+     */
+    default Class<? extends BaseApiClient> clientType() {
+        return BaseApiClient.class;
+    }
+
+    /**
+     * Creates a new client instance
+     * Called at most once per service until the factory's clients are cleared
+     * 
+     * @return The client
+     */
+    BaseApiClient create();
+}
@@ -0,0 +1,294 @@
+package tests.clients;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import io.restassured.response.Response;
+import io.restassured.response.ValidatableResponse;
+
+/**
+ * Typed view of a response whose body is parsed at most once
+ * 
+ * Calling response.jsonPath() repeatedly parses the body again on every call. This wrapper
+ * parses it on first access and keeps the result: the JSON tree for field access and the
+ * bound body object for {@link #getBody()}. Later accesses are field reads and a JSON
+ * pointer lookup in the cached tree.
+ * 
+ * Binding uses one pre-built, thread-safe Jackson ObjectReader per body type, shared by all
+ * responses. Field paths use the dotted JsonPath syntax for simple paths ("name",
+ * "address.city", "[0].id", "items[2].name", "$" for the root) and are compiled to JSON
+ * pointers once per distinct path. Only the first 1024 distinct paths are cached, so paths
+ * built from data (e.g. "items[" + i + "].id") cannot grow the cache without limit.
+ * 
+ * Usage:
+ * ApiResponse<PostData> post = jsonPlaceholderClient.getPost(1, PostData.class);
+ * String title = post.getBody().getTitle();
+ * int id = post.getInt("id");
+ * 
+ * @param <T> The type the body is bound to
+ */
+public final class ApiResponse<T> {
+    private static final ObjectMapper objectMapper = new ObjectMapper()
+        .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private static final ClassValue<ObjectReader> readers = new ClassValue<>() {
+        @Override
+        protected ObjectReader computeValue(Class<?> type) {
+            return objectMapper.readerFor(type);
+        }
+    };
+
+    private static final int MAX_CACHED_POINTERS = 1024;
+    private static final Map<String, JsonPointer> pointers = new ConcurrentHashMap<>();
+
+    private final Response response;
+    private final Class<T> bodyType;
+    // Parsed lazily; a race between threads at worst parses twice and keeps either result
+    private volatile JsonNode json;
+    private volatile T body;
+
+    private ApiResponse(Response response, Class<T> bodyType) {
+        this.response = response;
+        this.bodyType = bodyType;
+    }
+
+    /**
+     * Wraps a response with its body bound to the given type
+     * 
+     * @param response The response to wrap
+     * @param bodyType The type to bind the body to
+     * @return The typed response
+     */
+    public static <T> ApiResponse<T> of(Response response, Class<T> bodyType) {
+        return new ApiResponse<>(response, bodyType);
+    }
+
+    /**
+     * Wraps a response for field access only
+     * 
+     * @param response The response to wrap
+     * @return The typed response with the JSON tree as body
+     */
+    public static ApiResponse<JsonNode> of(Response response) {
+        return new ApiResponse<>(response, JsonNode.class);
+    }
+
+    /**
+     * Gets the body bound to the body type, parsing it on first call
+     * 
+     * @return The body object
+     */
+    @SuppressWarnings("unchecked")
+    public T getBody() {
+        T result = body;
+        if (result == null) {
+            if (bodyType == JsonNode.class) {
+                result = (T) getJson();
+            } else {
+                try {
+                    JsonNode tree = json;
+                    // Bind from the tree when it already exists instead of parsing the text again
+                    result = tree != null
+                        ? readers.get(bodyType).readValue(tree)
+                        : readers.get(bodyType).readValue(response.asByteArray());
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Failed to bind response body to " + bodyType.getName(), e);
+                }
+            }
+            body = result;
+        }
+        return result;
+    }
+
+    /**
+     * Gets the body as a JSON tree, parsing it on first call
+     * 
+     * @return The root node
+     */
+    public JsonNode getJson() {
+        JsonNode result = json;
+        if (result == null) {
+            try {
+                result = objectMapper.readTree(response.asByteArray());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to parse response body", e);
+            }
+            json = result;
+        }
+        return result;
+    }
+
+    /**
+     * Gets the node at a path
+     * 
+     * @param path Dotted path (e.g. "address.city" or "[0].id")
+     * @return The node, or null if there is no value at the path
+     */
+    public JsonNode get(String path) {
+        JsonNode node = getJson().at(pointer(path));
+        return node.isMissingNode() || node.isNull() ? null : node;
+    }
+
+    /**
+     * Gets a value as a string
+     * 
+     * @param path Dotted path
+     * @return The value, or null if there is no value at the path
+     */
+    public String getString(String path) {
+        JsonNode node = get(path);
+        return node == null ? null : node.asText();
+    }
+
+    /**
+     * Gets a value as an int
+     * 
+     * @param path Dotted path
+     * @return The value
+     * @throws IllegalArgumentException if there is no value at the path or it is not an integer within int range
+     */
+    public int getInt(String path) {
+        JsonNode node = required(path);
+        if (!node.isIntegralNumber() || !node.canConvertToInt()) {
+            throw notA("an int", path, node);
+        }
+        return node.intValue();
+    }
+
+    /**
+     * Gets a value as a long
+     * 
+     * @param path Dotted path
+     * @return The value
+     * @throws IllegalArgumentException if there is no value at the path or it is not an integer within long range
+     */
+    public long getLong(String path) {
+        JsonNode node = required(path);
+        if (!node.isIntegralNumber() || !node.canConvertToLong()) {
+            throw notA("a long", path, node);
+        }
+        return node.longValue();
+    }
+
+    /**
+     * Gets a value as a boolean
+     * 
+     * @param path Dotted path
+     * @return The value
+     * @throws IllegalArgumentException if there is no value at the path or it is not a boolean
+     */
+    public boolean getBoolean(String path) {
+        JsonNode node = required(path);
+        if (!node.isBoolean()) {
+            throw notA("a boolean", path, node);
+        }
+        return node.booleanValue();
+    }
+
+    /**
+     * Gets the number of elements of an array (or fields of an object)
+     * 
+     * @param path Dotted path, "$" for the root
+     * @return The size, 0 if there is no value at the path
+     */
+    public int getSize(String path) {
+        JsonNode node = get(path);
+        return node == null ? 0 : node.size();
+    }
+
+    /**
+     * Gets the status code
+     * 
+     * @return The HTTP status code
+     */
+    public int getStatusCode() {
+        return response.getStatusCode();
+    }
+
+    /**
+     * Gets a response header
+     * 
+     * @param name The header name
+     * @return The header value, or null if absent
+     */
+    public String getHeader(String name) {
+        return response.getHeader(name);
+    }
+
+    /**
+     * Starts RestAssured validation of the underlying response
+     * 
+     * @return ValidatableResponse for the wrapped response
+     */
+    public ValidatableResponse then() {
+        return response.then();
+    }
+
+    /**
+     * Gets the underlying RestAssured response
+     * 
+     * @return The wrapped response
+     */
+    public Response getResponse() {
+        return response;
+    }
+
+    private JsonNode required(String path) {
+        JsonNode node = get(path);
+        if (node == null) {
+            throw new IllegalArgumentException("No value at path '" + path + "'");
+        }
+        return node;
+    }
+
+    private static IllegalArgumentException notA(String type, String path, JsonNode node) {
+        return new IllegalArgumentException("Value at path '" + path + "' is not " + type + ": " + node);
+    }
+
+    /**
+     * Gets the JSON pointer for a dotted path, compiling it on first use
+     * Once the cache is full, new paths are compiled on every call
+     * 
+     * @param path Dotted path (e.g. "items[2].name", "$" for the root)
+     * @return The compiled pointer (e.g. "/items/2/name")
+     */
+    public static JsonPointer pointer(String path) {
+        JsonPointer pointer = pointers.get(path);
+        if (pointer == null) {
+            pointer = compile(path);
+            if (pointers.size() < MAX_CACHED_POINTERS) {
+                pointers.putIfAbsent(path, pointer);
+            }
+        }
+        return pointer;
+    }
+
+    private static JsonPointer compile(String path) {
+        String p = path.startsWith("$") ? path.substring(1) : path;
+        StringBuilder pointer = new StringBuilder(p.length() + 8);
+        for (String segment : p.split("\\.")) {
+            int bracket = segment.indexOf('[');
+            String field = bracket < 0 ? segment : segment.substring(0, bracket);
+            if (!field.isEmpty()) {
+                pointer.append('/').append(field.replace("~", "~0").replace("/", "~1"));
+            }
+            while (bracket >= 0) {
+                int end = segment.indexOf(']', bracket);
+                if (end < 0) {
+                    throw new IllegalArgumentException("Unclosed '[' in path '" + path + "'");
+                }
+                pointer.append('/').append(segment, bracket + 1, end);
+                bracket = segment.indexOf('[', end);
+            }
+        }
+        return JsonPointer.compile(pointer.toString());
+    }
+}
@@ -0,0 +1,66 @@
+package tests.clients;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import io.restassured.path.json.JsonPath;
+import io.restassured.response.Response;
+
+/**
+ * An access token with its refresh token and expiry
+ * 
+ * @param accessToken The bearer token sent to the services
+ * @param refreshToken Token for /auth/refresh (null if the service did not issue one)
+ * @param expiresAt Time after which the access token is no longer accepted
+ */
+public record AuthToken(String accessToken, String refreshToken, Instant expiresAt) {
+
+    /**
+     * Reads a token from a login or refresh response
+     * 
+     * Accepts camelCase and snake_case field names (accessToken/access_token/token,
+     * refreshToken/refresh_token, expiresIn/expires_in in seconds).
+     * 
+     * @param response The login or refresh response
+     * @param defaultLifetime Lifetime used when the response has no expiry
+     * @return The token
+     */
+    public static AuthToken from(Response response, Duration defaultLifetime) {
+        JsonPath json = response.jsonPath();
+        String accessToken = firstNonNull(json, "accessToken", "access_token", "token");
+        if (accessToken == null) {
+            throw new IllegalStateException("Authentication response contains no access token (status "
+                + response.getStatusCode() + ")");
+        }
+        String expiresIn = firstNonNull(json, "expiresIn", "expires_in");
+        Duration lifetime = expiresIn != null ? Duration.ofSeconds(Long.parseLong(expiresIn)) : defaultLifetime;
+        return new AuthToken(accessToken, firstNonNull(json, "refreshToken", "refresh_token"),
+            Instant.now().plus(lifetime));
+    }
+
+    /**
+     * Checks if the token expires within the given time
+     * 
+     * @param margin The time from now
+     * @return true if the token is expired or expires within the margin
+     */
+    public boolean expiresWithin(Duration margin) {
+        return !Instant.now().plus(margin).isBefore(expiresAt);
+    }
+
+    private static String firstNonNull(JsonPath json, String... paths) {
+        for (String path : paths) {
+            String value = json.getString(path);
+            if (value != null) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        // Keep tokens out of logs
+        return "AuthToken[expiresAt=" + expiresAt + ", refreshable=" + (refreshToken != null) + "]";
+    }
+}
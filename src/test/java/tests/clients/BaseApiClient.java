@@ -4,16 +4,30 @@ import static io.restassured.RestAssured.given;
 import static org.hamcrest.Matchers.anyOf;
 import static org.hamcrest.Matchers.is;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.hamcrest.Matcher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import io.restassured.builder.RequestSpecBuilder;
 import io.restassured.builder.ResponseSpecBuilder;
-import io.restassured.filter.log.RequestLoggingFilter;
-import io.restassured.filter.log.ResponseLoggingFilter;
+import io.restassured.config.DecoderConfig;
+import io.restassured.config.RestAssuredConfig;
 import io.restassured.response.Response;
 import io.restassured.specification.RequestSpecification;
 import io.restassured.specification.ResponseSpecification;
+import tests.metrics.LatencyRecordingFilter;
+import tests.utils.ConfigManager;
+import tests.utils.JsonArrayStream;
 
 /**
  * Base API Client class that provides common functionality for all API clients
@@ -24,13 +38,20 @@ import io.restassured.specification.ResponseSpecification;
  * - Basic HTTP methods (GET, POST, PUT, DELETE)
  * - Authentication handling
  * - Error handling
+ * - Non-blocking variants of the HTTP methods (getAsync, postAsync, ...)
  */
 public abstract class BaseApiClient {
+    // Shared default executor for async calls - one virtual thread per request
+    private static final ExecutorService DEFAULT_ASYNC_EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+    private static final Matcher<Integer> SUCCESS_STATUS = anyOf(is(200), is(201), is(204));
+
     protected final Logger logger = LoggerFactory.getLogger(this.getClass());
     protected final RequestSpecification requestSpec;
     protected final ResponseSpecification responseSpec;
+    protected final ExchangeLoggingFilter loggingFilter;
     protected final String baseUri;
     protected final String serviceName;
+    private volatile Executor asyncExecutor = DEFAULT_ASYNC_EXECUTOR;
 
     /**
      * Constructor for BaseApiClient
@@ -39,8 +60,22 @@ public abstract class BaseApiClient {
      * @param baseUri The base URI for this API client
      */
     protected BaseApiClient(String serviceName, String baseUri) {
+        this(serviceName, baseUri, ExchangeLoggingFilter.fromSetting(
+            ConfigManager.getServiceLoggingMode(serviceName),
+            ConfigManager.getServiceLoggingMaxBodySize(serviceName)));
+    }
+
+    /**
+     * Constructor for BaseApiClient with an explicit logging filter
+     * 
+     * @param serviceName The name of the service (used for configuration lookup)
+     * @param baseUri The base URI for this API client
+     * @param loggingFilter The request/response logging filter to use instead of the configured one
+     */
+    protected BaseApiClient(String serviceName, String baseUri, ExchangeLoggingFilter loggingFilter) {
         this.serviceName = serviceName;
         this.baseUri = baseUri;
+        this.loggingFilter = loggingFilter;
         this.requestSpec = createRequestSpecification();
         this.responseSpec = createResponseSpecification();
         
@@ -50,16 +85,45 @@ public abstract class BaseApiClient {
     /**
      * Creates the request specification for this client
      * Can be overridden by subclasses for custom configuration
+     * Requests go through the service's shared keep-alive connection pool
+     * and are logged according to the service's logging mode.
+     * Every exchange is recorded in the per-endpoint latency histograms.
+     * With service.<name>.cache=true, GET responses are served from the service's response cache.
+     * Calls are rejected while the service's circuit breaker is open or its bulkhead is full.
+     * With service.<name>.rate.limit, requests are paced by the service's rate limiter.
+     * Responses are requested compressed and decoded by the service's compression filter, which
+     * also compresses large request bodies with service.<name>.compression.request=true.
+     * Idempotent requests are retried and GETs hedged according to service.<name>.retry.* and hedge.*.
+     * Requests are sent by the service's transport (service.<name>.transport), which runs after all other filters
      * 
      * @return RequestSpecification configured for this client
      */
     protected RequestSpecification createRequestSpecification() {
-        return new RequestSpecBuilder()
+        ConnectionPool connectionPool = ClientFactory.getConnectionPool(serviceName);
+        RequestSpecBuilder builder = new RequestSpecBuilder()
             .setBaseUri(baseUri)
             .setRelaxedHTTPSValidation()
-            .addFilter(new RequestLoggingFilter())
-            .addFilter(new ResponseLoggingFilter())
-            .build();
+            .setConfig(RestAssuredConfig.config()
+                .httpClient(connectionPool.httpClientConfig())
+                .decoderConfig(DecoderConfig.decoderConfig().noContentDecoders()))
+            .addFilter(ClientFactory.getCircuitBreaker(serviceName))
+            .addFilter(ClientFactory.getBulkhead(serviceName))
+            .addFilter(new LatencyRecordingFilter(serviceName))
+            .addFilter(connectionPool.permitFilter())
+            .addFilter(ClientFactory.getCompressionFilter(serviceName))
+            .addFilter(ClientFactory.getResilienceFilter(serviceName))
+            .addFilter(ClientFactory.getTransport(serviceName));
+        if (loggingFilter.getMode() != ExchangeLoggingFilter.Mode.OFF) {
+            builder.addFilter(loggingFilter);
+        }
+        if (Boolean.parseBoolean(ConfigManager.getServiceConfig(serviceName).get("cache", "false"))) {
+            builder.addFilter(ClientFactory.getResponseCache(serviceName));
+        }
+        RateLimiter rateLimiter = ClientFactory.getRateLimiter(serviceName);
+        if (rateLimiter.isLimited()) {
+            builder.addFilter(rateLimiter);
+        }
+        return builder.build();
     }
 
     /**
@@ -70,7 +134,7 @@ public abstract class BaseApiClient {
      */
     protected ResponseSpecification createResponseSpecification() {
         return new ResponseSpecBuilder()
-            .expectStatusCode(anyOf(is(200), is(201), is(204)))
+            .expectStatusCode(SUCCESS_STATUS)
             .build();
     }
 
@@ -82,53 +146,90 @@ public abstract class BaseApiClient {
      */
     public Response get(String endpoint) {
         logger.debug("GET request to: {}{}", baseUri, endpoint);
-        return given(requestSpec)
+        return validate(given(requestSpec)
+            .when()
+            .get(endpoint));
+    }
+
+    /**
+     * Performs a GET request and wraps the response for typed access
+     * The body is parsed once, on first access, and bound with a cached reader for the type
+     * 
+     * @param endpoint The endpoint path (will be appended to baseUri)
+     * @param bodyType The type to bind the body to
+     * @return Typed response
+     */
+    public <T> ApiResponse<T> get(String endpoint, Class<T> bodyType) {
+        return ApiResponse.of(get(endpoint), bodyType);
+    }
+
+    /**
+     * Performs a GET request and streams the elements of the JSON array in the response
+     * The body is parsed element by element while the stream is consumed and is never
+     * buffered as a whole (logging prints headers only, the response cache is bypassed).
+     * Close the stream, e.g. with try-with-resources, to release the connection.
+     * 
+     * @param endpoint The endpoint path (will be appended to baseUri)
+     * @param elementType The type to bind each array element to
+     * @return Stream of the array elements
+     */
+    public <T> Stream<T> getStream(String endpoint, Class<T> elementType) {
+        logger.debug("GET (streamed) request to: {}{}", baseUri, endpoint);
+        Response response = StreamedResponses.send(() -> given(requestSpec)
             .when()
-            .get(endpoint)
-            .then()
-            .spec(responseSpec)
-            .extract()
-            .response();
+            .get(endpoint));
+        InputStream body = response.asInputStream();
+        try {
+            validateStatus(response);
+            return JsonArrayStream.stream(body, elementType);
+        } catch (RuntimeException | AssertionError e) {
+            try {
+                body.close();
+            } catch (IOException closeFailure) {
+                e.addSuppressed(closeFailure);
+            }
+            throw e;
+        }
     }
 
     /**
      * Performs a POST request to the specified endpoint
      * 
      * @param endpoint The endpoint path
-     * @param body The request body
+     * @param body The request body, an object serialized to JSON or a {@link PreparedBody}
      * @return Response object
      */
     public Response post(String endpoint, Object body) {
         logger.debug("POST request to: {}{}", baseUri, endpoint);
-        return given(requestSpec)
-            .header("Content-Type", "application/json")
-            .body(body)
+        return validate(withBody(given(requestSpec), body)
             .when()
-            .post(endpoint)
-            .then()
-            .spec(responseSpec)
-            .extract()
-            .response();
+            .post(endpoint));
     }
 
     /**
-     * Performs a PUT request to the specified endpoint
+     * Performs a POST request and wraps the response for typed access
      * 
      * @param endpoint The endpoint path
      * @param body The request body
+     * @param bodyType The type to bind the response body to
+     * @return Typed response
+     */
+    public <T> ApiResponse<T> post(String endpoint, Object body, Class<T> bodyType) {
+        return ApiResponse.of(post(endpoint, body), bodyType);
+    }
+
+    /**
+     * Performs a PUT request to the specified endpoint
+     * 
+     * @param endpoint The endpoint path
+     * @param body The request body, an object serialized to JSON or a {@link PreparedBody}
      * @return Response object
      */
     public Response put(String endpoint, Object body) {
         logger.debug("PUT request to: {}{}", baseUri, endpoint);
-        return given(requestSpec)
-            .header("Content-Type", "application/json")
-            .body(body)
+        return validate(withBody(given(requestSpec), body)
             .when()
-            .put(endpoint)
-            .then()
-            .spec(responseSpec)
-            .extract()
-            .response();
+            .put(endpoint));
     }
 
     /**
@@ -139,13 +240,158 @@ public abstract class BaseApiClient {
      */
     public Response delete(String endpoint) {
         logger.debug("DELETE request to: {}{}", baseUri, endpoint);
-        return given(requestSpec)
+        return validate(given(requestSpec)
             .when()
-            .delete(endpoint)
-            .then()
-            .spec(responseSpec)
-            .extract()
-            .response();
+            .delete(endpoint));
+    }
+
+    /**
+     * Sets the body of a request
+     * A PreparedBody is sent as is with its own content type; other objects are serialized to JSON
+     * Endpoint methods of subclasses set their request bodies with this method
+     * 
+     * @param request The request to set the body of
+     * @param body The request body, an object serialized to JSON or a {@link PreparedBody}
+     * @return The same request
+     */
+    protected static RequestSpecification withBody(RequestSpecification request, Object body) {
+        if (body instanceof PreparedBody prepared) {
+            return request.header("Content-Type", prepared.contentType()).body(prepared.content());
+        }
+        return request.header("Content-Type", "application/json").body(body);
+    }
+
+    /**
+     * Checks a response against this client's response specification
+     * With on-failure logging, the buffered exchange is printed only when the check fails
+     * 
+     * @param response The response to check
+     * @return The same response
+     */
+    protected Response validate(Response response) {
+        try {
+            return response.then().spec(responseSpec).extract().response();
+        } catch (AssertionError e) {
+            loggingFilter.logFailure();
+            throw e;
+        } finally {
+            loggingFilter.clear();
+        }
+    }
+
+    /**
+     * Completes an exchange without checking its response, for endpoint methods that leave
+     * status checks to their callers
+     * With on-failure logging, the buffered exchange is printed when the status is not a
+     * success status, and dropped either way
+     * 
+     * @param response The response
+     * @return The same response, whatever its status
+     */
+    protected Response completeExchange(Response response) {
+        try {
+            if (!SUCCESS_STATUS.matches(response.getStatusCode())) {
+                loggingFilter.logFailure();
+            }
+            return response;
+        } finally {
+            loggingFilter.clear();
+        }
+    }
+
+    /**
+     * Checks only the status code of a response, leaving its body unread
+     * Used for streamed responses: validating a full response specification buffers the body
+     * 
+     * @param response The response to check
+     */
+    private void validateStatus(Response response) {
+        try {
+            response.then().statusCode(SUCCESS_STATUS);
+        } catch (AssertionError e) {
+            loggingFilter.logFailure();
+            throw e;
+        } finally {
+            loggingFilter.clear();
+        }
+    }
+
+    /**
+     * Performs a GET request asynchronously
+     * 
+     * @param endpoint The endpoint path (will be appended to baseUri)
+     * @return Future completed with the Response
+     */
+    public CompletableFuture<Response> getAsync(String endpoint) {
+        return async(() -> get(endpoint));
+    }
+
+    /**
+     * Performs a POST request asynchronously
+     * 
+     * @param endpoint The endpoint path
+     * @param body The request body
+     * @return Future completed with the Response
+     */
+    public CompletableFuture<Response> postAsync(String endpoint, Object body) {
+        return async(() -> post(endpoint, body));
+    }
+
+    /**
+     * Performs a PUT request asynchronously
+     * 
+     * @param endpoint The endpoint path
+     * @param body The request body
+     * @return Future completed with the Response
+     */
+    public CompletableFuture<Response> putAsync(String endpoint, Object body) {
+        return async(() -> put(endpoint, body));
+    }
+
+    /**
+     * Performs a DELETE request asynchronously
+     * 
+     * @param endpoint The endpoint path
+     * @return Future completed with the Response
+     */
+    public CompletableFuture<Response> deleteAsync(String endpoint) {
+        return async(() -> delete(endpoint));
+    }
+
+    /**
+     * Runs a blocking call on this client's async executor
+     * Subclasses use this to expose async variants of their endpoint methods
+     * If the service is rate limited, the call is started once its token is free,
+     * without a thread waiting for it
+     * 
+     * @param call The blocking call to run
+     * @return Future completed with the call result (or exceptionally with its failure)
+     */
+    protected <T> CompletableFuture<T> async(Supplier<T> call) {
+        RateLimiter rateLimiter = ClientFactory.getRateLimiter(serviceName);
+        if (!rateLimiter.isLimited() || rateLimiter.isFailFast()) {
+            return CompletableFuture.supplyAsync(call, asyncExecutor);
+        }
+        return rateLimiter.acquireAsync().thenApplyAsync(permit -> rateLimiter.withPermit(call), asyncExecutor);
+    }
+
+    /**
+     * Sets the executor used by the async methods
+     * By default all clients share a virtual-thread-per-task executor
+     * 
+     * @param asyncExecutor The executor to run async calls on
+     */
+    public void setAsyncExecutor(Executor asyncExecutor) {
+        this.asyncExecutor = Objects.requireNonNull(asyncExecutor, "asyncExecutor");
+    }
+
+    /**
+     * Gets the executor used by the async methods
+     * 
+     * @return The async executor
+     */
+    public Executor getAsyncExecutor() {
+        return asyncExecutor;
     }
 
     /**
@@ -169,6 +415,9 @@ public abstract class BaseApiClient {
     /**
      * Creates a custom request specification for one-off requests
      * This allows for request-specific configuration without affecting the default spec
+     * Pass the response to {@link #validate(Response)}, which checks it, or to
+     * {@link #completeExchange(Response)}, which does not; both print or drop the exchange
+     * buffered by on-failure logging
      * 
      * @return New RequestSpecification based on the default but customizable
      */
@@ -0,0 +1,62 @@
+package tests.clients;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * RestAssured filter that sets the Authorization header to a bearer token
+ * 
+ * The token is looked up for every request, so renewed tokens (or reloaded configuration)
+ * take effect immediately. When the service answers 401, the rejected token is reported
+ * so that the next request uses a fresh one.
+ * 
+ * Runs before all other filters, so logging shows the header that was actually sent.
+ */
+public class BearerTokenFilter implements OrderedFilter {
+    private final Supplier<String> token;
+    private final Consumer<String> onUnauthorized;
+
+    /**
+     * Creates a filter with a token source
+     * 
+     * @param token Supplies the access token for each request
+     * @param onUnauthorized Called with the rejected token on 401 responses (may be null)
+     */
+    public BearerTokenFilter(Supplier<String> token, Consumer<String> onUnauthorized) {
+        this.token = token;
+        this.onUnauthorized = onUnauthorized;
+    }
+
+    /**
+     * Creates a filter that takes its tokens from a token manager
+     * 
+     * @param tokenManager The token manager
+     */
+    public BearerTokenFilter(TokenManager tokenManager) {
+        this(tokenManager::getToken, tokenManager::invalidate);
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        String accessToken = token.get();
+        requestSpec.replaceHeader("Authorization", "Bearer " + accessToken);
+        Response response = ctx.next(requestSpec, responseSpec);
+        if (response.getStatusCode() == 401 && onUnauthorized != null) {
+            onUnauthorized.accept(accessToken);
+        }
+        return response;
+    }
+
+    @Override
+    public int getOrder() {
+        return HIGHEST_PRECEDENCE;
+    }
+}
@@ -0,0 +1,121 @@
+package tests.clients;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * Caps the number of concurrent in-flight calls to a single service, applied as a RestAssured filter
+ * 
+ * A call that finds maxConcurrent calls in flight waits up to maxWait for one of them to finish
+ * and is otherwise rejected with a {@link CallRejectedException}. When one service slows down,
+ * at most maxConcurrent threads are held by its calls; the others fail fast and threads stay
+ * available for calls to the other services. A call holds its slot from the first attempt to
+ * the last, including the backoff between retries; a hedged request takes a slot of its own
+ * and is only sent when one is free (see {@link ResilienceFilter}).
+ * 
+ * Configured with service.<name>.bulkhead.maxConcurrent and bulkhead.maxWaitMs,
+ * see {@link ClientFactory#getBulkhead(String)}.
+ */
+public class Bulkhead implements OrderedFilter {
+    private final String serviceName;
+    private final int maxConcurrent;
+    private final long maxWaitNanos;
+    private final Semaphore permits;
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * Creates a bulkhead
+     * 
+     * @param serviceName The name of the service
+     * @param maxConcurrent Maximum number of calls in flight
+     * @param maxWaitMillis How long a call may wait for a free slot (0 to reject immediately)
+     */
+    public Bulkhead(String serviceName, int maxConcurrent, long maxWaitMillis) {
+        if (maxConcurrent < 1) {
+            throw new IllegalArgumentException("Bulkhead must allow at least 1 call, was: " + maxConcurrent);
+        }
+        this.serviceName = serviceName;
+        this.maxConcurrent = maxConcurrent;
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+        this.permits = new Semaphore(maxConcurrent);
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        if (!acquire()) {
+            rejected.increment();
+            throw new CallRejectedException(serviceName, "bulkhead full, " + maxConcurrent + " calls in flight");
+        }
+        calls.increment();
+        try {
+            return ctx.next(requestSpec, responseSpec);
+        } finally {
+            permits.release();
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        // Right after the circuit breaker, before latency recording and connection permits
+        return HIGHEST_PRECEDENCE + 4;
+    }
+
+    /**
+     * Gets a snapshot of the bulkhead statistics
+     * 
+     * @return Current bulkhead statistics
+     */
+    public Stats getStats() {
+        return new Stats(maxConcurrent, maxConcurrent - permits.availablePermits(), calls.sum(), rejected.sum());
+    }
+
+    /**
+     * Takes a slot for an extra request of a call already in flight (e.g. a hedged request),
+     * without waiting and without counting it as a call
+     * 
+     * @return true if a slot was taken and must be given back with {@link #release()}
+     */
+    public boolean tryAcquire() {
+        return permits.tryAcquire();
+    }
+
+    /**
+     * Gives back a slot taken with {@link #tryAcquire()}
+     */
+    public void release() {
+        permits.release();
+    }
+
+    private boolean acquire() {
+        if (maxWaitNanos <= 0) {
+            return permits.tryAcquire();
+        }
+        try {
+            return permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Snapshot of bulkhead statistics
+     * 
+     * @param maxConcurrent Maximum number of calls in flight
+     * @param inFlight Calls currently in flight
+     * @param calls Calls let through
+     * @param rejected Calls rejected because the bulkhead was full
+     */
+    public record Stats(int maxConcurrent, int inFlight, long calls, long rejected) {
+    }
+}
@@ -0,0 +1,34 @@
+package tests.clients;
+
+/**
+ * Thrown when a call to a service is rejected without being sent
+ * 
+ * Raised by the service's {@link CircuitBreaker} while it is open and by its {@link Bulkhead}
+ * when the maximum number of calls is already in flight, so a slow or failing dependency
+ * fails fast instead of holding the caller's thread.
+ */
+public class CallRejectedException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private final String serviceName;
+
+    /**
+     * Creates the exception
+     * 
+     * @param serviceName The name of the service the call was meant for
+     * @param reason Why the call was rejected
+     */
+    public CallRejectedException(String serviceName, String reason) {
+        super("Call to service '" + serviceName + "' rejected: " + reason);
+        this.serviceName = serviceName;
+    }
+
+    /**
+     * Gets the name of the service the call was meant for
+     * 
+     * @return The service name
+     */
+    public String getServiceName() {
+        return serviceName;
+    }
+}
@@ -0,0 +1,242 @@
+package tests.clients;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import tests.utils.ServiceConfig;
+
+/**
+ * Circuit breaker for the requests of a single service, applied as a RestAssured filter
+ * 
+ * The outcomes of the last breaker.windowSize calls are kept. A call fails when it throws or
+ * gets a 5xx response, and is slow when it takes at least breaker.slowCallMs. Once
+ * breaker.minCalls calls are recorded and the share of failed calls reaches breaker.failureRate
+ * percent, or the share of slow calls reaches breaker.slowCallRate percent, the breaker opens:
+ * for breaker.openMs every call is rejected with a {@link CallRejectedException} without
+ * being sent. Afterwards the breaker is half-open and lets breaker.halfOpenCalls probe calls
+ * through; if their failure and slow rates stay below the thresholds it closes again,
+ * otherwise it opens for another breaker.openMs.
+ * 
+ * Runs after authentication and the response cache, so cached responses are served while
+ * the breaker is open, after the {@link RateLimiter}, so waiting for a token is not a slow call,
+ * and before retries: a call retried by the {@link ResilienceFilter}
+ * counts once, with its final outcome. Calls rejected by the {@link Bulkhead} are not
+ * counted - a full bulkhead says nothing about the health of the service.
+ * 
+ * Configured per service with service.<name>.breaker.*, see {@link ClientFactory#getCircuitBreaker(String)}.
+ */
+public class CircuitBreaker implements OrderedFilter {
+    private static final Logger logger = LoggerFactory.getLogger(CircuitBreaker.class);
+
+    /**
+     * Breaker states
+     */
+    public enum State {
+        /** Calls are sent and their outcomes recorded */
+        CLOSED,
+        /** Calls are rejected */
+        OPEN,
+        /** A limited number of probe calls decides whether the breaker closes */
+        HALF_OPEN
+    }
+
+    private final String serviceName;
+    private final int windowSize;
+    private final int minCalls;
+    private final int failureRateThreshold;
+    private final int slowCallRateThreshold;
+    private final long slowCallNanos;
+    private final long openNanos;
+    private final int halfOpenCalls;
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder timesOpened = new LongAdder();
+
+    // Checked without locking while closed; transitions happen under the lock
+    private volatile State state = State.CLOSED;
+    private long openedNanos;
+
+    // Ring of the outcomes recorded while closed, or of the probes while half-open
+    private final boolean[] failed;
+    private final boolean[] slow;
+    private int next;
+    private int recorded;
+    private int failures;
+    private int slowCalls;
+    private int probesStarted;
+
+    /**
+     * Creates the breaker of a service
+     * 
+     * @param config The configuration of the service
+     */
+    public CircuitBreaker(ServiceConfig config) {
+        this.serviceName = config.name();
+        this.windowSize = Integer.parseInt(config.get("breaker.windowSize", "50"));
+        this.minCalls = Math.min(windowSize, Integer.parseInt(config.get("breaker.minCalls", "20")));
+        this.failureRateThreshold = Integer.parseInt(config.get("breaker.failureRate", "50"));
+        this.slowCallRateThreshold = Integer.parseInt(config.get("breaker.slowCallRate", "80"));
+        this.slowCallNanos = TimeUnit.MILLISECONDS.toNanos(Long.parseLong(config.get("breaker.slowCallMs", "3000")));
+        this.openNanos = TimeUnit.MILLISECONDS.toNanos(Long.parseLong(config.get("breaker.openMs", "10000")));
+        this.halfOpenCalls = Integer.parseInt(config.get("breaker.halfOpenCalls", "5"));
+        if (windowSize < 1 || minCalls < 1 || halfOpenCalls < 1) {
+            throw new IllegalArgumentException("Circuit breaker of service '" + serviceName
+                + "' needs a window, minimum and probe count of at least 1");
+        }
+        this.failed = new boolean[Math.max(windowSize, halfOpenCalls)];
+        this.slow = new boolean[failed.length];
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        boolean probe = acquire();
+        calls.increment();
+        long start = System.nanoTime();
+        Response response;
+        try {
+            response = ctx.next(requestSpec, responseSpec);
+        } catch (CallRejectedException e) {
+            release(probe);
+            throw e;
+        } catch (RuntimeException | Error e) {
+            record(probe, true, System.nanoTime() - start >= slowCallNanos);
+            throw e;
+        }
+        record(probe, response.getStatusCode() >= 500, System.nanoTime() - start >= slowCallNanos);
+        return response;
+    }
+
+    @Override
+    public int getOrder() {
+        // After the response cache and rate limiter, before the bulkhead and latency recording
+        return HIGHEST_PRECEDENCE + 3;
+    }
+
+    /**
+     * Gets the current state of the breaker
+     * 
+     * @return The breaker state
+     */
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * Gets a snapshot of the breaker statistics
+     * 
+     * @return Current breaker statistics
+     */
+    public synchronized Stats getStats() {
+        return new Stats(state, rate(failures), rate(slowCalls), calls.sum(), rejected.sum(), timesOpened.sum());
+    }
+
+    /**
+     * Lets a call through or rejects it
+     * 
+     * @return true if the call is a half-open probe
+     */
+    private boolean acquire() {
+        if (state == State.CLOSED) {
+            return false;
+        }
+        synchronized (this) {
+            if (state == State.OPEN && System.nanoTime() - openedNanos >= openNanos) {
+                transition(State.HALF_OPEN);
+            }
+            if (state == State.HALF_OPEN && probesStarted < halfOpenCalls) {
+                probesStarted++;
+                return true;
+            }
+            if (state == State.CLOSED) {
+                return false;
+            }
+        }
+        rejected.increment();
+        throw new CallRejectedException(serviceName, "circuit breaker is " + state);
+    }
+
+    /**
+     * Hands back the slot of a probe that was never sent
+     */
+    private synchronized void release(boolean probe) {
+        if (probe && state == State.HALF_OPEN) {
+            probesStarted--;
+        }
+    }
+
+    private synchronized void record(boolean probe, boolean isFailure, boolean isSlow) {
+        if (state == State.OPEN || probe != (state == State.HALF_OPEN)) {
+            // Started before the last transition - its outcome describes the old state
+            return;
+        }
+        int capacity = probe ? halfOpenCalls : windowSize;
+        if (recorded == capacity) {
+            failures -= failed[next] ? 1 : 0;
+            slowCalls -= slow[next] ? 1 : 0;
+        } else {
+            recorded++;
+        }
+        failed[next] = isFailure;
+        slow[next] = isSlow;
+        failures += isFailure ? 1 : 0;
+        slowCalls += isSlow ? 1 : 0;
+        next = (next + 1) % capacity;
+
+        boolean tripped = rate(failures) >= failureRateThreshold || rate(slowCalls) >= slowCallRateThreshold;
+        if (probe) {
+            if (recorded == halfOpenCalls) {
+                transition(tripped ? State.OPEN : State.CLOSED);
+            }
+        } else if (recorded >= minCalls && tripped) {
+            transition(State.OPEN);
+        }
+    }
+
+    private void transition(State target) {
+        if (target == State.OPEN) {
+            openedNanos = System.nanoTime();
+            timesOpened.increment();
+            logger.warn("Circuit breaker of service '{}' opened: {}% failed, {}% slow of the last {} calls",
+                serviceName, Math.round(rate(failures)), Math.round(rate(slowCalls)), recorded);
+        } else {
+            logger.info("Circuit breaker of service '{}' is {}", serviceName, target);
+        }
+        state = target;
+        if (target == State.OPEN) {
+            // Keep the rates that opened the breaker for getStats()
+            return;
+        }
+        next = 0;
+        recorded = 0;
+        failures = 0;
+        slowCalls = 0;
+        probesStarted = 0;
+    }
+
+    private double rate(int count) {
+        return recorded == 0 ? 0.0 : 100.0 * count / recorded;
+    }
+
+    /**
+     * Snapshot of circuit breaker statistics
+     * 
+     * @param state The current state
+     * @param failureRate Percentage of failed calls in the current window (while open: the window that opened it)
+     * @param slowCallRate Percentage of slow calls in the current window (while open: the window that opened it)
+     * @param calls Calls let through
+     * @param rejected Calls rejected while the breaker was open or out of probes
+     * @param timesOpened How often the breaker opened
+     */
+    public record Stats(State state, double failureRate, double slowCallRate, long calls, long rejected, long timesOpened) {
+    }
+}
@@ -1,12 +1,22 @@
 package tests.clients;
 
+import java.time.Duration;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import io.restassured.filter.Filter;
 import tests.utils.ConfigManager;
+import tests.utils.ServiceConfig;
 
 /**
  * Factory class for creating and managing API clients
@@ -14,18 +24,62 @@ import tests.utils.ConfigManager;
  * This class provides a centralized way to create and manage API clients.
  * It uses the singleton pattern to ensure only one instance of each client exists,
  * and provides methods to retrieve clients for different services.
+ * Clients are discovered through {@link ApiClientProvider} implementations registered
+ * with ServiceLoader and created lazily on first use; after that, lookups are plain
+ * ConcurrentHashMap reads without locking.
+ * It also owns one pooled keep-alive connection manager per service, shared by
+ * every client of that service. Pool sizes and timeouts follow configuration reloads.
+ * Requests are sent by the transport selected with service.<name>.transport, discovered
+ * through {@link TransportProvider} implementations the same way as clients.
+ * Every service is isolated by its own circuit breaker and bulkhead, so a slow or failing
+ * dependency fails fast instead of tying up the callers of all services.
  * 
  * Usage:
  * - ClientFactory.getJsonPlaceholderClient()
  * - ClientFactory.getUserApiClient()
  * - ClientFactory.getPaymentApiClient()
  * - ClientFactory.getNotificationApiClient()
+ * - ClientFactory.getClient("orders", OrderApiClient.class) for services added through a provider
+ * - ClientFactory.acquireClient("orders") / releaseClient("orders") for reference-counted use
  */
 public class ClientFactory {
     private static final Logger logger = LoggerFactory.getLogger(ClientFactory.class);
     
     // Singleton instances of clients
-    private static final Map<String, BaseApiClient> clients = new HashMap<>();
+    private static final Map<String, BaseApiClient> clients = new ConcurrentHashMap<>();
+    
+    // Number of holders of each client taken with acquireClient, guarded by itself
+    private static final Map<String, Integer> clientLeases = new HashMap<>();
+    
+    // Shared connection pools, one per service
+    private static final Map<String, ConnectionPool> connectionPools = new ConcurrentHashMap<>();
+    
+    // Transports sending the requests, one per service
+    private static final Map<String, Transport> transports = new ConcurrentHashMap<>();
+    
+    // Retry and hedging filters, one per service
+    private static final Map<String, ResilienceFilter> resilienceFilters = new ConcurrentHashMap<>();
+    
+    // Circuit breakers and bulkheads, one per service
+    private static final Map<String, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+    private static final Map<String, Bulkhead> bulkheads = new ConcurrentHashMap<>();
+    
+    // Rate limiters, one per service
+    private static final Map<String, RateLimiter> rateLimiters = new ConcurrentHashMap<>();
+    
+    // Request and response compression filters, one per service
+    private static final Map<String, CompressionFilter> compressionFilters = new ConcurrentHashMap<>();
+    
+    // Response caches of the services that enable them, one per service
+    private static final Map<String, ResponseCache> responseCaches = new ConcurrentHashMap<>();
+    
+    // Token manager backed by the User API, created on first use
+    private static volatile TokenManager tokenManager;
+    
+    static {
+        ConfigManager.addReloadListener(ClientFactory::applyConfiguration);
+        ConfigManager.addServiceListener(ClientFactory::applyConfiguration);
+    }
     
     // Private constructor to prevent instantiation
     private ClientFactory() {
@@ -38,7 +92,7 @@ public class ClientFactory {
      * @return JsonPlaceholderClient instance
      */
     public static JsonPlaceholderClient getJsonPlaceholderClient() {
-        return (JsonPlaceholderClient) getOrCreateClient("jsonplaceholder", JsonPlaceholderClient.class);
+        return getClient("jsonplaceholder", JsonPlaceholderClient.class);
     }
     
     /**
@@ -47,7 +101,7 @@ public class ClientFactory {
      * @return UserApiClient instance
      */
     public static UserApiClient getUserApiClient() {
-        return (UserApiClient) getOrCreateClient("user", UserApiClient.class);
+        return getClient("user", UserApiClient.class);
     }
     
     /**
@@ -56,7 +110,7 @@ public class ClientFactory {
      * @return PaymentApiClient instance
      */
     public static PaymentApiClient getPaymentApiClient() {
-        return (PaymentApiClient) getOrCreateClient("payment", PaymentApiClient.class);
+        return getClient("payment", PaymentApiClient.class);
     }
     
     /**
@@ -65,37 +119,116 @@ public class ClientFactory {
      * @return NotificationApiClient instance
      */
     public static NotificationApiClient getNotificationApiClient() {
-        return (NotificationApiClient) getOrCreateClient("notification", NotificationApiClient.class);
+        return getClient("notification", NotificationApiClient.class);
     }
     
     /**
-     * Generic method to get or create a client
+     * Gets the client of a service, creating it on first use
      * 
      * @param serviceName The name of the service
-     * @param clientClass The class of the client to create
+     * @param clientClass The expected client type
      * @return The client instance
      */
-    private static BaseApiClient getOrCreateClient(String serviceName, Class<? extends BaseApiClient> clientClass) {
-        if (!clients.containsKey(serviceName)) {
-            synchronized (ClientFactory.class) {
-                if (!clients.containsKey(serviceName)) {
-                    if (!ConfigManager.isServiceConfigured(serviceName)) {
-                        logger.warn("Service '{}' is not configured in properties file", serviceName);
-                        throw new IllegalStateException("Service '" + serviceName + "' is not configured");
-                    }
-                    
-                    try {
-                        BaseApiClient client = clientClass.getDeclaredConstructor().newInstance();
-                        clients.put(serviceName, client);
-                        logger.info("Created new {} client for service '{}'", clientClass.getSimpleName(), serviceName);
-                    } catch (Exception e) {
-                        logger.error("Failed to create client for service '{}': {}", serviceName, e.getMessage());
-                        throw new RuntimeException("Failed to create client for service: " + serviceName, e);
-                    }
-                }
+    public static <T extends BaseApiClient> T getClient(String serviceName, Class<T> clientClass) {
+        return clientClass.cast(getClient(serviceName));
+    }
+    
+    /**
+     * Gets the client of a service, creating it on first use
+     * Once created, the client is returned without taking any lock
+     * 
+     * @param serviceName The name of the service
+     * @return The client instance
+     */
+    public static BaseApiClient getClient(String serviceName) {
+        String key = serviceName.toLowerCase();
+        BaseApiClient client = clients.get(key);
+        return client != null ? client : clients.computeIfAbsent(key, ClientFactory::createClient);
+    }
+    
+    /**
+     * Takes a reference-counted lease on the client of a service, creating the client on first use
+     * Every call must be matched by a {@link #releaseClient(String)} call; the client is
+     * dropped from the factory when its last lease is released
+     * 
+     * @param serviceName The name of the service
+     * @return The client instance
+     */
+    public static BaseApiClient acquireClient(String serviceName) {
+        String key = serviceName.toLowerCase();
+        synchronized (clientLeases) {
+            clientLeases.merge(key, 1, Integer::sum);
+        }
+        try {
+            return getClient(key);
+        } catch (RuntimeException e) {
+            releaseClient(key);
+            throw e;
+        }
+    }
+    
+    /**
+     * Releases a lease taken with {@link #acquireClient(String)}
+     * Unlike {@link #clearClients()}, this only drops the client once no one else holds it
+     * 
+     * @param serviceName The name of the service
+     */
+    public static void releaseClient(String serviceName) {
+        String key = serviceName.toLowerCase();
+        synchronized (clientLeases) {
+            Integer leases = clientLeases.get(key);
+            if (leases == null) {
+                throw new IllegalStateException("Client of service '" + key + "' is not acquired");
+            }
+            if (leases > 1) {
+                clientLeases.put(key, leases - 1);
+                return;
             }
+            clientLeases.remove(key);
+            clients.remove(key);
+        }
+        logger.info("Released the last lease on the client of service '{}'", key);
+    }
+    
+    /**
+     * Gets the name of the service whose provider creates clients of a type
+     * 
+     * @param clientClass The client type (see {@link ApiClientProvider#clientType()})
+     * @return The service name, or null if no provider creates that type
+     */
+    public static String getServiceName(Class<? extends BaseApiClient> clientClass) {
+        for (ApiClientProvider provider : Providers.BY_SERVICE.values()) {
+            if (provider.clientType() == clientClass) {
+                return provider.serviceName().toLowerCase();
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Creates the client of a service through its provider
+     * 
+     * @param serviceName The name of the service
+     * @return The new client
+     */
+    private static BaseApiClient createClient(String serviceName) {
+        ApiClientProvider provider = Providers.BY_SERVICE.get(serviceName);
+        if (provider == null) {
+            throw new IllegalArgumentException("No API client provider registered for service '" + serviceName + "'");
+        }
+        if (!ConfigManager.isServiceConfigured(serviceName)) {
+            logger.warn("Service '{}' is not configured in properties file", serviceName);
+            throw new IllegalStateException("Service '" + serviceName + "' is not configured");
+        }
+        
+        try {
+            BaseApiClient client = provider.create();
+            logger.info("Created new {} client for service '{}'", client.getClass().getSimpleName(), serviceName);
+            return client;
+        } catch (RuntimeException e) {
+            logger.error("Failed to create client for service '{}': {}", serviceName, e.getMessage());
+            throw new RuntimeException("Failed to create client for service: " + serviceName, e);
         }
-        return clients.get(serviceName);
     }
     
     /**
@@ -111,20 +244,226 @@ public class ClientFactory {
     /**
      * Gets all available service names
      * 
-     * @return Array of available service names
+     * @return Array of the service names of all registered client providers
      */
     public static String[] getAvailableServices() {
-        return new String[]{"jsonplaceholder", "user", "payment", "notification"};
+        return Providers.BY_SERVICE.keySet().toArray(new String[0]);
     }
     
     /**
      * Clears all cached clients (useful for testing)
+     * Tests running in parallel should use {@link #acquireClient(String)} and
+     * {@link #releaseClient(String)} instead, which leave clients in use alone
      */
     public static void clearClients() {
-        synchronized (ClientFactory.class) {
-            clients.clear();
-            logger.info("Cleared all cached API clients");
+        clients.clear();
+        logger.info("Cleared all cached API clients");
+    }
+    
+    /**
+     * Gets the shared connection pool for a service, creating it on first use
+     * Pool limits come from service.<name>.pool.max and service.<name>.pool.perRoute
+     * 
+     * @param serviceName The name of the service
+     * @return The connection pool for the service
+     */
+    public static ConnectionPool getConnectionPool(String serviceName) {
+        return connectionPools.computeIfAbsent(serviceName.toLowerCase(), name -> {
+            ServiceConfig config = ConfigManager.getServiceConfig(name);
+            return new ConnectionPool(name, config.poolMax(), config.poolPerRoute(), config.timeout());
+        });
+    }
+    
+    /**
+     * Applies the current configuration to the existing connection pools and clients
+     */
+    private static void applyConfiguration() {
+        Set<String> services = new HashSet<>(connectionPools.keySet());
+        services.addAll(clients.keySet());
+        services.forEach(ClientFactory::applyConfiguration);
+    }
+    
+    /**
+     * Applies the current configuration of one service to its pool and cached client
+     * A client on a base URL that is no longer configured (e.g. before the service was pointed
+     * at its stub) is dropped, so the next lookup creates one on the new URL
+     * 
+     * @param serviceName The lower-case name of the service
+     */
+    private static void applyConfiguration(String serviceName) {
+        ServiceConfig config = ConfigManager.getServiceConfig(serviceName);
+        ConnectionPool pool = connectionPools.get(serviceName);
+        if (pool != null) {
+            pool.resize(config.poolMax(), config.poolPerRoute());
+            pool.setTimeout(config.timeout());
+        }
+        clients.computeIfPresent(serviceName,
+            (name, client) -> Objects.equals(client.baseUri, config.baseUrl()) ? client : null);
+    }
+    
+    /**
+     * Gets the connection pool statistics for a service
+     * 
+     * @param serviceName The name of the service
+     * @return Pool statistics (leased, available, pending, reuse ratio)
+     */
+    public static ConnectionPool.Stats getPoolStats(String serviceName) {
+        return getConnectionPool(serviceName).getStats();
+    }
+    
+    /**
+     * Gets the shared transport for a service, creating it on first use
+     * The transport is named by service.<name>.transport: "restassured" (the default, RestAssured's
+     * HTTP/1.1 stack over the service's connection pool), "jdk" (java.net.http.HttpClient with
+     * HTTP/2) or the name of any other registered {@link TransportProvider}
+     * 
+     * @param serviceName The name of the service
+     * @return The transport for the service
+     */
+    public static Transport getTransport(String serviceName) {
+        return transports.computeIfAbsent(serviceName.toLowerCase(), name -> {
+            ServiceConfig config = ConfigManager.getServiceConfig(name);
+            String transportName = config.get("transport", RestAssuredTransport.NAME).trim().toLowerCase();
+            TransportProvider provider = Providers.TRANSPORTS.get(transportName);
+            if (provider == null) {
+                throw new IllegalArgumentException("Unknown transport '" + transportName + "' for service '" + name
+                    + "', registered transports: " + Providers.TRANSPORTS.keySet());
+            }
+            return provider.create(config);
+        });
+    }
+    
+    /**
+     * Gets the shared retry and hedging filter for a service, creating it on first use
+     * Configured with service.<name>.retry.maxAttempts (default 1, no retries), retry.baseDelayMs (50),
+     * retry.maxDelayMs (1000), retry.budget.ratio (0.1), retry.budget.minPerSecond (10),
+     * hedge (false), hedge.delayMs (50) and hedge.minSamples (20)
+     * 
+     * @param serviceName The name of the service
+     * @return The resilience filter for the service
+     */
+    public static ResilienceFilter getResilienceFilter(String serviceName) {
+        return resilienceFilters.computeIfAbsent(serviceName.toLowerCase(),
+            name -> new ResilienceFilter(ConfigManager.getServiceConfig(name), getTransport(name),
+                getConnectionPool(name), getBulkhead(name)));
+    }
+    
+    /**
+     * Gets the shared circuit breaker for a service, creating it on first use
+     * Configured with service.<name>.breaker.windowSize (default 50), breaker.minCalls (20),
+     * breaker.failureRate (50, percent), breaker.slowCallRate (80, percent), breaker.slowCallMs (3000),
+     * breaker.openMs (10000) and breaker.halfOpenCalls (5)
+     * 
+     * @param serviceName The name of the service
+     * @return The circuit breaker for the service
+     */
+    public static CircuitBreaker getCircuitBreaker(String serviceName) {
+        return circuitBreakers.computeIfAbsent(serviceName.toLowerCase(),
+            name -> new CircuitBreaker(ConfigManager.getServiceConfig(name)));
+    }
+    
+    /**
+     * Gets the shared bulkhead for a service, creating it on first use
+     * Configured with service.<name>.bulkhead.maxConcurrent (default twice pool.max)
+     * and bulkhead.maxWaitMs (default 0, reject at once)
+     * 
+     * @param serviceName The name of the service
+     * @return The bulkhead for the service
+     */
+    public static Bulkhead getBulkhead(String serviceName) {
+        return bulkheads.computeIfAbsent(serviceName.toLowerCase(), name -> {
+            ServiceConfig config = ConfigManager.getServiceConfig(name);
+            return new Bulkhead(name,
+                Integer.parseInt(config.get("bulkhead.maxConcurrent", String.valueOf(2 * config.poolMax()))),
+                Long.parseLong(config.get("bulkhead.maxWaitMs", "0")));
+        });
+    }
+    
+    /**
+     * Gets the shared rate limiter for a service, creating it on first use
+     * Configured with service.<name>.rate.limit (requests per second, default 0 - no limit),
+     * rate.burst (default 1) and rate.mode ("block", the default, or "fail")
+     * 
+     * @param serviceName The name of the service
+     * @return The rate limiter for the service
+     */
+    public static RateLimiter getRateLimiter(String serviceName) {
+        return rateLimiters.computeIfAbsent(serviceName.toLowerCase(),
+            name -> new RateLimiter(ConfigManager.getServiceConfig(name)));
+    }
+    
+    /**
+     * Gets the shared compression filter for a service, creating it on first use
+     * Configured with service.<name>.compression.accept (default "zstd, gzip, deflate", empty to
+     * request uncompressed responses), compression.request (default false) and
+     * compression.request.minBytes (default 1024)
+     * 
+     * @param serviceName The name of the service
+     * @return The compression filter for the service
+     */
+    public static CompressionFilter getCompressionFilter(String serviceName) {
+        return compressionFilters.computeIfAbsent(serviceName.toLowerCase(),
+            name -> new CompressionFilter(ConfigManager.getServiceConfig(name)));
+    }
+    
+    /**
+     * Gets the shared response cache for a service, creating it on first use
+     * Limits come from service.<name>.cache.maxEntries (default 256) and
+     * service.<name>.cache.maxBytes (default 16 MB)
+     * 
+     * @param serviceName The name of the service
+     * @return The response cache for the service
+     */
+    public static ResponseCache getResponseCache(String serviceName) {
+        return responseCaches.computeIfAbsent(serviceName.toLowerCase(), name -> {
+            ServiceConfig config = ConfigManager.getServiceConfig(name);
+            return new ResponseCache(name,
+                Integer.parseInt(config.get("cache.maxEntries", "256")),
+                Long.parseLong(config.get("cache.maxBytes", String.valueOf(16 * 1024 * 1024))));
+        });
+    }
+    
+    /**
+     * Gets the shared token manager that authenticates through the User API
+     * Credentials come from service.user.auth.username/password (or auth.username/password);
+     * service.user.auth.tokenLifetime and service.user.auth.refreshAhead are in seconds
+     * 
+     * @return The token manager
+     */
+    public static TokenManager getTokenManager() {
+        TokenManager manager = tokenManager;
+        if (manager == null) {
+            synchronized (ClientFactory.class) {
+                manager = tokenManager;
+                if (manager == null) {
+                    ServiceConfig user = ConfigManager.getServiceConfig("user");
+                    manager = TokenManager.forUserApi(
+                        getUserApiClient(),
+                        user.authUsername() != null ? user.authUsername() : ConfigManager.getAuthUsername(),
+                        user.authPassword() != null ? user.authPassword() : ConfigManager.getAuthPassword(),
+                        Duration.ofSeconds(Long.parseLong(user.get("auth.tokenLifetime", "300"))),
+                        Duration.ofSeconds(Long.parseLong(user.get("auth.refreshAhead", "30"))));
+                    tokenManager = manager;
+                }
+            }
         }
+        return manager;
+    }
+    
+    /**
+     * Creates the filter that authenticates requests to a service
+     * With service.<name>.auth.source=login the bearer token comes from {@link #getTokenManager()},
+     * otherwise (static, the default) it is service.<name>.auth.token
+     * 
+     * @param serviceName The name of the service
+     * @return Filter setting the Authorization header
+     */
+    public static Filter getAuthFilter(String serviceName) {
+        if ("login".equalsIgnoreCase(ConfigManager.getServiceConfig(serviceName).get("auth.source", "static"))) {
+            // Resolved on first request - the user client must not be created while another client is
+            return new BearerTokenFilter(() -> getTokenManager().getToken(), token -> getTokenManager().invalidate(token));
+        }
+        return new BearerTokenFilter(() -> ConfigManager.getServiceAuthToken(serviceName), null);
     }
     
     /**
@@ -152,4 +491,37 @@ public class ClientFactory {
             // Anonymous implementation of abstract BaseApiClient
         };
     }
-} 
\ No newline at end of file
+    
+    /**
+     * Registered client and transport providers, loaded on first use (initialization-on-demand holder)
+     */
+    private static final class Providers {
+        static final Map<String, ApiClientProvider> BY_SERVICE = load();
+        static final Map<String, TransportProvider> TRANSPORTS = loadTransports();
+        
+        private static Map<String, ApiClientProvider> load() {
+            Map<String, ApiClientProvider> providers = new LinkedHashMap<>();
+            for (ApiClientProvider provider : ServiceLoader.load(ApiClientProvider.class)) {
+                ApiClientProvider previous = providers.putIfAbsent(provider.serviceName().toLowerCase(), provider);
+                if (previous != null) {
+                    logger.warn("Ignoring {} - service '{}' is already provided by {}", provider.getClass().getName(),
+                        provider.serviceName(), previous.getClass().getName());
+                }
+            }
+            logger.info("Discovered API client providers for services: {}", providers.keySet());
+            return Collections.unmodifiableMap(providers);
+        }
+        
+        private static Map<String, TransportProvider> loadTransports() {
+            Map<String, TransportProvider> providers = new LinkedHashMap<>();
+            for (TransportProvider provider : ServiceLoader.load(TransportProvider.class)) {
+                TransportProvider previous = providers.putIfAbsent(provider.name().toLowerCase(), provider);
+                if (previous != null) {
+                    logger.warn("Ignoring {} - transport '{}' is already provided by {}", provider.getClass().getName(),
+                        provider.name(), previous.getClass().getName());
+                }
+            }
+            return Collections.unmodifiableMap(providers);
+        }
+    }
+}
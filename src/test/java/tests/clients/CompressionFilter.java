@@ -0,0 +1,371 @@
+package tests.clients;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.luben.zstd.ZstdInputStream;
+import com.github.luben.zstd.util.Native;
+
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import tests.utils.ServiceConfig;
+
+/**
+ * Request and response compression for a single service, applied as a RestAssured filter
+ * 
+ * Responses: requests advertise the codings in compression.accept (default "zstd, gzip, deflate";
+ * zstd only where its native library loads) with Accept-Encoding, and compressed responses are
+ * decoded here while the body is read, without first buffering the compressed bytes. Streamed
+ * responses stay streamed: the caller reads through the decoder. RestAssured's own decoders are
+ * switched off for the service's clients, so every transport - and every retried or hedged
+ * attempt - is decoded the same way.
+ * 
+ * Requests: with compression.request=true, bodies of at least compression.request.minBytes
+ * (default 1024) are sent gzip-compressed with Content-Encoding: gzip. The server must accept
+ * compressed request bodies, so this is opt-in per service.
+ * 
+ * Compressed and uncompressed sizes of every exchange are logged at debug level and summed up
+ * in {@link #getStats()}, which also counts the request and response bodies that went over the
+ * wire without compression, so the share of compressed exchanges and the overall compression
+ * ratio can be told. Runs before retries and the transport, so filters that run earlier
+ * (logging, caching, latency recording) see uncompressed bodies.
+ * 
+ * Configured per service with service.<name>.compression.*, see {@link ClientFactory#getCompressionFilter(String)}.
+ */
+public class CompressionFilter implements OrderedFilter {
+    private static final Logger logger = LoggerFactory.getLogger(CompressionFilter.class);
+
+    private static final boolean ZSTD_AVAILABLE = loadZstd();
+
+    private final String serviceName;
+    private final String acceptEncoding;
+    private final boolean compressRequests;
+    private final int requestMinBytes;
+    private final LongAdder compressedRequests = new LongAdder();
+    private final LongAdder requestBytes = new LongAdder();
+    private final LongAdder requestWireBytes = new LongAdder();
+    private final LongAdder plainRequests = new LongAdder();
+    private final LongAdder plainRequestBytes = new LongAdder();
+    private final LongAdder decodedResponses = new LongAdder();
+    private final LongAdder responseBytes = new LongAdder();
+    private final LongAdder responseWireBytes = new LongAdder();
+    private final LongAdder plainResponses = new LongAdder();
+    private final LongAdder plainResponseBytes = new LongAdder();
+
+    /**
+     * Creates the filter of a service
+     * 
+     * @param config The configuration of the service
+     */
+    public CompressionFilter(ServiceConfig config) {
+        this.serviceName = config.name();
+        this.acceptEncoding = supportedCodings(config.get("compression.accept", "zstd, gzip, deflate"));
+        this.compressRequests = Boolean.parseBoolean(config.get("compression.request", "false"));
+        this.requestMinBytes = Integer.parseInt(config.get("compression.request.minBytes", "1024"));
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        if (!acceptEncoding.isEmpty() && !requestSpec.getHeaders().hasHeaderWithName("Accept-Encoding")) {
+            requestSpec.header("Accept-Encoding", acceptEncoding);
+        }
+        if (requestSpec.getBody() != null) {
+            prepareBody(requestSpec);
+        }
+
+        Response response = ctx.next(requestSpec, responseSpec);
+        String coding = response.getHeader("Content-Encoding");
+        if (coding == null || coding.isBlank() || coding.trim().equalsIgnoreCase("identity")) {
+            return countPlain(response);
+        }
+        coding = coding.trim().toLowerCase(Locale.ROOT);
+        if (!coding.equals("gzip") && !coding.equals("x-gzip") && !coding.equals("deflate")
+                && !(coding.equals("zstd") && ZSTD_AVAILABLE)) {
+            logger.debug("Leaving response of service '{}' with unsupported Content-Encoding '{}' as is", serviceName, coding);
+            return countPlain(response);
+        }
+        return decode(requestSpec, response, coding);
+    }
+
+    /**
+     * Counts a response that is passed on without decoding
+     * The body has already been read by the connection permit filter, except for streamed
+     * responses, whose size is not known here and is left out of the byte count
+     */
+    private Response countPlain(Response response) {
+        plainResponses.increment();
+        if (!StreamedResponses.isActive()) {
+            byte[] body = response.asByteArray();
+            plainResponseBytes.add(body == null ? 0 : body.length);
+        }
+        return response;
+    }
+
+    @Override
+    public int getOrder() {
+        // Before retries, connection permits and the transport, after logging and latency recording
+        return LOWEST_PRECEDENCE - 3;
+    }
+
+    /**
+     * Gets a snapshot of the compression statistics
+     * 
+     * @return Current compression statistics
+     */
+    public Stats getStats() {
+        return new Stats(compressedRequests.sum(), requestBytes.sum(), requestWireBytes.sum(),
+            plainRequests.sum(), plainRequestBytes.sum(),
+            decodedResponses.sum(), responseBytes.sum(), responseWireBytes.sum(),
+            plainResponses.sum(), plainResponseBytes.sum());
+    }
+
+    /**
+     * Compresses the request body when it is large enough, and counts it either way
+     */
+    private void prepareBody(FilterableRequestSpecification requestSpec) {
+        Object body = requestSpec.getBody();
+        byte[] content = body instanceof byte[] bytes
+            ? bytes
+            : body.toString().getBytes(JdkHttpTransport.charset(requestSpec.getContentType()));
+        if (!compressRequests || content.length < requestMinBytes
+                || requestSpec.getHeaders().hasHeaderWithName("Content-Encoding")) {
+            plainRequests.increment();
+            plainRequestBytes.add(content.length);
+            return;
+        }
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(content.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(content);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to compress request body", e);
+        }
+        requestSpec.body(compressed.toByteArray());
+        requestSpec.header("Content-Encoding", "gzip");
+        compressedRequests.increment();
+        requestBytes.add(content.length);
+        requestWireBytes.add(compressed.size());
+        logger.debug("{} {} of service '{}': request body {} -> {} bytes (gzip)", requestSpec.getMethod(),
+            requestSpec.getUserDefinedPath(), serviceName, content.length, compressed.size());
+    }
+
+    private Response decode(FilterableRequestSpecification requestSpec, Response response, String coding) {
+        InputStream raw = response.asInputStream();
+        CountingInputStream wire = new CountingInputStream(raw != null ? raw : InputStream.nullInputStream(), responseWireBytes);
+        InputStream decoded;
+        try {
+            // HEAD, 204 and 304 responses may carry Content-Encoding without a body
+            PushbackInputStream body = new PushbackInputStream(wire, 1);
+            int first = body.read();
+            if (first < 0) {
+                decoded = InputStream.nullInputStream();
+                plainResponses.increment();
+            } else {
+                body.unread(first);
+                decoded = new CountingInputStream(decoder(coding, body), responseBytes);
+                decodedResponses.increment();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to decode " + coding + " response of service '" + serviceName + "'", e);
+        }
+
+        List<Header> headers = new ArrayList<>();
+        for (Header header : response.getHeaders()) {
+            // The body is no longer encoded; Content-Type is set below
+            if (!header.getName().equalsIgnoreCase("Content-Encoding")
+                    && !header.getName().equalsIgnoreCase("Content-Length")
+                    && !header.getName().equalsIgnoreCase("Content-Type")) {
+                headers.add(header);
+            }
+        }
+        ResponseBuilder builder = new ResponseBuilder()
+            .setStatusCode(response.getStatusCode())
+            .setStatusLine(response.getStatusLine())
+            .setHeaders(new Headers(headers))
+            .setCookies(response.getDetailedCookies())
+            .setContentType(response.getContentType());
+        if (StreamedResponses.isActive()) {
+            // Counted while the caller reads
+            return builder.setBody(decoded).build();
+        }
+        byte[] body;
+        try (InputStream in = decoded) {
+            body = in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to decode " + coding + " response of service '" + serviceName + "'", e);
+        }
+        logger.debug("{} {} of service '{}': response body {} -> {} bytes ({})", requestSpec.getMethod(),
+            requestSpec.getUserDefinedPath(), serviceName, wire.getCount(), body.length, coding);
+        return builder.setBody(body).build();
+    }
+
+    private static InputStream decoder(String coding, InputStream in) throws IOException {
+        return switch (coding) {
+            case "zstd" -> new ZstdInputStream(in);
+            case "deflate" -> inflater(in);
+            default -> new GZIPInputStream(in, 8192);
+        };
+    }
+
+    /**
+     * Decodes "deflate", which is meant to be zlib-wrapped but is sent raw by some servers
+     */
+    private static InputStream inflater(InputStream in) throws IOException {
+        PushbackInputStream pushback = new PushbackInputStream(in, 2);
+        int cmf = pushback.read();
+        int flg = pushback.read();
+        if (flg >= 0) {
+            pushback.unread(flg);
+        }
+        if (cmf >= 0) {
+            pushback.unread(cmf);
+        }
+        boolean zlib = cmf >= 0 && flg >= 0 && (cmf & 0x0F) == 8 && ((cmf << 8) | flg) % 31 == 0;
+        return new InflaterInputStream(pushback, new Inflater(!zlib), 8192);
+    }
+
+    /**
+     * Keeps only the codings this filter can decode
+     */
+    private static String supportedCodings(String accept) {
+        List<String> codings = new ArrayList<>();
+        for (String coding : accept.split(",")) {
+            String name = coding.trim().toLowerCase(Locale.ROOT);
+            if (name.equals("gzip") || name.equals("deflate") || (name.equals("zstd") && ZSTD_AVAILABLE)) {
+                codings.add(name);
+            } else if (!name.isEmpty() && !name.equals("zstd")) {
+                logger.warn("Ignoring unsupported compression coding '{}'", name);
+            }
+        }
+        return String.join(", ", codings);
+    }
+
+    private static boolean loadZstd() {
+        try {
+            Native.load();
+            return true;
+        } catch (LinkageError e) {
+            logger.info("zstd is not available on this platform, responses are requested with gzip and deflate only");
+            return false;
+        }
+    }
+
+    /**
+     * Adds the number of bytes read through it to a counter
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+        private final LongAdder total;
+        private long count;
+
+        CountingInputStream(InputStream in, LongAdder total) {
+            super(in);
+            this.total = total;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+                total.increment();
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0) {
+                count += n;
+                total.add(n);
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            total.add(skipped);
+            return skipped;
+        }
+
+        long getCount() {
+            return count;
+        }
+    }
+
+    /**
+     * Snapshot of compression statistics
+     * 
+     * @param compressedRequests Request bodies sent compressed
+     * @param requestBytes Size of those bodies before compression
+     * @param requestWireBytes Size of those bodies as sent
+     * @param plainRequests Request bodies sent uncompressed
+     * @param plainRequestBytes Size of those bodies
+     * @param decodedResponses Compressed responses decoded
+     * @param responseBytes Size of those bodies after decoding (as far as read, for streamed responses)
+     * @param responseWireBytes Size of those bodies as received
+     * @param plainResponses Responses received uncompressed (or in a coding this filter does not decode)
+     * @param plainResponseBytes Size of those bodies, except for streamed responses
+     */
+    public record Stats(long compressedRequests, long requestBytes, long requestWireBytes,
+                        long plainRequests, long plainRequestBytes,
+                        long decodedResponses, long responseBytes, long responseWireBytes,
+                        long plainResponses, long plainResponseBytes) {
+
+        /**
+         * Gets the share of body bytes compression kept off the network, over compressed exchanges only
+         * 
+         * @return Savings between 0.0 and 1.0 (0.0 before any compressed exchange)
+         */
+        public double savings() {
+            long uncompressed = requestBytes + responseBytes;
+            return uncompressed == 0 ? 0.0 : 1.0 - (double) (requestWireBytes + responseWireBytes) / uncompressed;
+        }
+
+        /**
+         * Gets the share of request bodies and responses that went over the wire compressed
+         * 
+         * @return Share between 0.0 and 1.0 (0.0 before any exchange)
+         */
+        public double compressedShare() {
+            long compressed = compressedRequests + decodedResponses;
+            long all = compressed + plainRequests + plainResponses;
+            return all == 0 ? 0.0 : (double) compressed / all;
+        }
+
+        /**
+         * Gets the ratio of body bytes before compression to body bytes on the wire, over all exchanges
+         * 
+         * @return Compression ratio, 1.0 without compression (and before any exchange)
+         */
+        public double compressionRatio() {
+            long wire = requestWireBytes + responseWireBytes + plainRequestBytes + plainResponseBytes;
+            long uncompressed = requestBytes + responseBytes + plainRequestBytes + plainResponseBytes;
+            return wire == 0 ? 1.0 : (double) uncompressed / wire;
+        }
+    }
+}
@@ -0,0 +1,294 @@
+package tests.clients;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.http.HeaderElement;
+import org.apache.http.HeaderElementIterator;
+import org.apache.http.conn.ClientConnectionOperator;
+import org.apache.http.conn.OperatedClientConnection;
+import org.apache.http.conn.scheme.SchemeRegistry;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.DefaultClientConnectionOperator;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.impl.conn.SchemeRegistryFactory;
+import org.apache.http.message.BasicHeaderElementIterator;
+import org.apache.http.params.HttpConnectionParams;
+import org.apache.http.params.HttpParams;
+import org.apache.http.protocol.HTTP;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.restassured.config.HttpClientConfig;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * Pooled keep-alive HTTP connection manager for a single service
+ * 
+ * RestAssured creates a new HTTP client for every request by default, which means a new
+ * socket (and TLS handshake) per call. A ConnectionPool owns one shared Apache HttpClient
+ * backed by a pooling connection manager, so connections to the service are kept alive
+ * and reused across requests and threads.
+ * 
+ * Callers wait for a free connection on a j.u.c. semaphore (see {@link #permitFilter()})
+ * instead of inside HttpClient's synchronized pool lease, which would pin virtual threads
+ * used by the async client methods. A permit is held per request on the wire: the permit
+ * filter runs right before the transport, and retried or hedged attempts sent by
+ * {@link ResilienceFilter} take one of their own, so waiting between attempts holds none.
+ * The response body is read before the permit is released, so the connection is back in the
+ * pool by then and the next permit holder never waits inside the lease. Streamed responses
+ * give their connection back when the caller closes the stream.
+ * 
+ * Instances are created and owned by {@link ClientFactory#getConnectionPool(String)}.
+ */
+public class ConnectionPool {
+    private static final Logger logger = LoggerFactory.getLogger(ConnectionPool.class);
+
+    // Used when the server does not send a Keep-Alive timeout of its own
+    private static final long DEFAULT_KEEP_ALIVE_MILLIS = 30_000;
+
+    private final String serviceName;
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder connectionsOpened = new LongAdder();
+    // RestAssured 5 builds on Apache HttpClient 4's deprecated connection manager and params API:
+    // its HttpClientConfig only accepts an AbstractHttpClient, so the replacements cannot be used
+    @SuppressWarnings("deprecation")
+    private final PoolingClientConnectionManager connectionManager;
+    @SuppressWarnings("deprecation")
+    private final HttpParams params;
+    private final HttpClientConfig httpClientConfig;
+    private final ResizableSemaphore permits = new ResizableSemaphore();
+    private int permitCount;
+    private final OrderedFilter permitFilter;
+
+    /**
+     * Creates a connection pool for a service
+     * 
+     * @param serviceName The name of the service
+     * @param maxTotal Maximum number of connections in the pool
+     * @param maxPerRoute Maximum number of connections per route (host)
+     * @param timeoutMillis Connect and socket timeout in milliseconds
+     */
+    @SuppressWarnings("deprecation")
+    ConnectionPool(String serviceName, int maxTotal, int maxPerRoute, int timeoutMillis) {
+        this.serviceName = serviceName;
+        this.connectionManager = new PoolingClientConnectionManager(SchemeRegistryFactory.createDefault()) {
+            @Override
+            protected ClientConnectionOperator createConnectionOperator(SchemeRegistry schemeRegistry) {
+                return new DefaultClientConnectionOperator(schemeRegistry) {
+                    @Override
+                    public OperatedClientConnection createConnection() {
+                        connectionsOpened.increment();
+                        return super.createConnection();
+                    }
+                };
+            }
+        };
+        resize(maxTotal, maxPerRoute);
+
+        DefaultHttpClient httpClient = new DefaultHttpClient(connectionManager);
+        this.params = httpClient.getParams();
+        setTimeout(timeoutMillis);
+        HttpConnectionParams.setStaleCheckingEnabled(params, true);
+        httpClient.setKeepAliveStrategy((response, context) -> {
+            HeaderElementIterator it = new BasicHeaderElementIterator(response.headerIterator(HTTP.CONN_KEEP_ALIVE));
+            while (it.hasNext()) {
+                HeaderElement element = it.nextElement();
+                if ("timeout".equalsIgnoreCase(element.getName()) && element.getValue() != null) {
+                    try {
+                        return Long.parseLong(element.getValue()) * 1000;
+                    } catch (NumberFormatException ignored) {
+                        // Fall back to the default below
+                    }
+                }
+            }
+            return DEFAULT_KEEP_ALIVE_MILLIS;
+        });
+        httpClient.addRequestInterceptor((request, context) -> requests.increment());
+
+        this.httpClientConfig = HttpClientConfig.httpClientConfig()
+            .httpClientFactory(() -> httpClient)
+            .reuseHttpClientInstance();
+        this.permitFilter = new OrderedFilter() {
+            @Override
+            public Response filter(FilterableRequestSpecification requestSpec,
+                                   FilterableResponseSpecification responseSpec,
+                                   FilterContext ctx) {
+                acquirePermit();
+                try {
+                    return consumed(ctx.next(requestSpec, responseSpec));
+                } finally {
+                    releasePermit();
+                }
+            }
+
+            @Override
+            public int getOrder() {
+                // Right before the transport, after retries and hedging
+                return LOWEST_PRECEDENCE - 1;
+            }
+        };
+
+        logger.info("Created connection pool for service '{}' (max: {}, per route: {})",
+            serviceName, maxTotal, maxPerRoute);
+    }
+
+    /**
+     * Gets the RestAssured HTTP client configuration that uses this pool
+     * 
+     * @return HttpClientConfig reusing the pooled client instance
+     */
+    public HttpClientConfig httpClientConfig() {
+        return httpClientConfig;
+    }
+
+    /**
+     * Gets the filter that limits in-flight requests to the pool capacity
+     * 
+     * @return Filter waiting for a free connection before sending the request
+     */
+    public OrderedFilter permitFilter() {
+        return permitFilter;
+    }
+
+    /**
+     * Waits for a free connection, for a request sent outside the filter chain
+     * Every call must be followed by {@link #releasePermit()} once the response has been
+     * received and passed through {@link #consumed(Response)}.
+     */
+    public void acquirePermit() {
+        permits.acquireUninterruptibly();
+    }
+
+    /**
+     * Takes a free connection if there is one, without waiting
+     * 
+     * @return true if a permit was taken and must be released with {@link #releasePermit()}
+     */
+    public boolean tryAcquirePermit() {
+        return permits.tryAcquire();
+    }
+
+    /**
+     * Reads the body of a response, which returns its connection to the pool
+     * Streamed responses are left unread for the caller.
+     * 
+     * @param response The response, read at most once
+     * @return The same response
+     */
+    static Response consumed(Response response) {
+        if (response != null && !StreamedResponses.isActive()) {
+            response.asByteArray();
+        }
+        return response;
+    }
+
+    /**
+     * Gives back a permit taken with {@link #acquirePermit()} or {@link #tryAcquirePermit()}
+     */
+    public void releasePermit() {
+        permits.release();
+    }
+
+    /**
+     * Changes the pool limits without dropping existing connections
+     * 
+     * @param maxTotal Maximum number of connections in the pool
+     * @param maxPerRoute Maximum number of connections per route (host)
+     */
+    public synchronized void resize(int maxTotal, int maxPerRoute) {
+        int newPermitCount = Math.min(maxPerRoute, maxTotal);
+        connectionManager.setMaxTotal(maxTotal);
+        connectionManager.setDefaultMaxPerRoute(newPermitCount);
+        if (newPermitCount > permitCount) {
+            permits.release(newPermitCount - permitCount);
+        } else {
+            permits.reducePermits(permitCount - newPermitCount);
+        }
+        permitCount = newPermitCount;
+    }
+
+    /**
+     * Changes the connect and socket timeout for subsequent requests
+     * 
+     * @param timeoutMillis Connect and socket timeout in milliseconds
+     */
+    @SuppressWarnings("deprecation")
+    public void setTimeout(int timeoutMillis) {
+        HttpConnectionParams.setConnectionTimeout(params, timeoutMillis);
+        HttpConnectionParams.setSoTimeout(params, timeoutMillis);
+    }
+
+    /**
+     * Gets a snapshot of the pool statistics
+     * 
+     * @return Current pool statistics
+     */
+    public Stats getStats() {
+        org.apache.http.pool.PoolStats total = connectionManager.getTotalStats();
+        return new Stats(total.getLeased(), total.getAvailable(), permits.getQueueLength(), total.getMax(),
+            requests.sum(), connectionsOpened.sum());
+    }
+
+    /**
+     * Closes connections that have been idle for longer than the given time
+     * 
+     * @param idleMillis Idle time in milliseconds
+     */
+    public void closeIdleConnections(long idleMillis) {
+        connectionManager.closeExpiredConnections();
+        connectionManager.closeIdleConnections(idleMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Gets the service name this pool belongs to
+     * 
+     * @return The service name
+     */
+    public String getServiceName() {
+        return serviceName;
+    }
+
+    /**
+     * Semaphore whose permit count can be lowered at runtime
+     */
+    private static class ResizableSemaphore extends Semaphore {
+        private static final long serialVersionUID = 1L;
+
+        ResizableSemaphore() {
+            super(0, true);
+        }
+
+        @Override
+        protected void reducePermits(int reduction) {
+            super.reducePermits(reduction);
+        }
+    }
+
+    /**
+     * Snapshot of connection pool statistics
+     * 
+     * @param leased Connections currently in use
+     * @param available Idle connections ready to be reused
+     * @param pending Requests waiting for a connection permit
+     * @param max Maximum number of connections in the pool
+     * @param requests Total requests sent through the pool
+     * @param connectionsOpened Total connections opened by the pool
+     */
+    public record Stats(int leased, int available, int pending, int max, long requests, long connectionsOpened) {
+
+        /**
+         * Gets the share of requests that were served on an already open connection
+         * 
+         * @return Reuse ratio between 0.0 and 1.0
+         */
+        public double reuseRatio() {
+            return requests == 0 ? 0.0 : Math.max(0.0, 1.0 - (double) connectionsOpened / requests);
+        }
+    }
+}
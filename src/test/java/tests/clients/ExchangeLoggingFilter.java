@@ -0,0 +1,207 @@
+package tests.clients;
+
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.http.Header;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * Request/response logging filter with configurable modes
+ * 
+ * Replaces the always-on RestAssured RequestLoggingFilter/ResponseLoggingFilter pair,
+ * which formats and prints every exchange on the request thread. Supported modes:
+ * - off: nothing is logged
+ * - on-failure: the exchange is only buffered (by reference, nothing is formatted)
+ *   and printed by {@link #logFailure()} when the client's response check fails
+ * - sampled:N: every N-th exchange is printed
+ * - always: every exchange is printed
+ * 
+ * Bodies longer than the configured size are truncated in the output.
+ */
+public class ExchangeLoggingFilter implements Filter {
+
+    /**
+     * Logging mode of a filter
+     */
+    public enum Mode {
+        OFF, ON_FAILURE, SAMPLED, ALWAYS
+    }
+
+    // Last exchange seen on this thread, kept for on-failure logging
+    private static final ThreadLocal<Exchange> lastExchange = new ThreadLocal<>();
+
+    private final Mode mode;
+    private final int sampleRate;
+    private final int maxBodySize;
+    private final PrintStream out;
+    private final AtomicLong exchangeCounter = new AtomicLong();
+
+    /**
+     * Creates a logging filter
+     * 
+     * @param mode The logging mode
+     * @param sampleRate For sampled mode, log one in every sampleRate exchanges
+     * @param maxBodySize Maximum number of body bytes to print
+     * @param out The stream to print to
+     */
+    public ExchangeLoggingFilter(Mode mode, int sampleRate, int maxBodySize, PrintStream out) {
+        if (sampleRate < 1) {
+            throw new IllegalArgumentException("Sample rate must be at least 1, was: " + sampleRate);
+        }
+        this.mode = mode;
+        this.sampleRate = sampleRate;
+        this.maxBodySize = maxBodySize;
+        this.out = out;
+    }
+
+    /**
+     * Creates a logging filter from a mode setting such as "off", "on-failure", "sampled:100" or "always"
+     * 
+     * @param setting The mode setting
+     * @param maxBodySize Maximum number of body bytes to print
+     * @return The configured filter
+     */
+    public static ExchangeLoggingFilter fromSetting(String setting, int maxBodySize) {
+        return fromSetting(setting, maxBodySize, System.out);
+    }
+
+    /**
+     * Creates a logging filter from a mode setting, printing to the given stream
+     * 
+     * @param setting The mode setting
+     * @param maxBodySize Maximum number of body bytes to print
+     * @param out The stream to print to
+     * @return The configured filter
+     */
+    public static ExchangeLoggingFilter fromSetting(String setting, int maxBodySize, PrintStream out) {
+        String value = setting.trim().toLowerCase(Locale.ROOT);
+        if (value.startsWith("sampled:")) {
+            return new ExchangeLoggingFilter(Mode.SAMPLED, Integer.parseInt(value.substring("sampled:".length())),
+                maxBodySize, out);
+        }
+        Mode mode = switch (value) {
+            case "off" -> Mode.OFF;
+            case "on-failure" -> Mode.ON_FAILURE;
+            case "always" -> Mode.ALWAYS;
+            default -> throw new IllegalArgumentException("Unknown logging mode: " + setting);
+        };
+        return new ExchangeLoggingFilter(mode, 1, maxBodySize, out);
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        Response response = ctx.next(requestSpec, responseSpec);
+        boolean streamed = StreamedResponses.isActive();
+        switch (mode) {
+            case ALWAYS -> print(requestSpec, response, streamed);
+            case SAMPLED -> {
+                if (exchangeCounter.getAndIncrement() % sampleRate == 0) {
+                    print(requestSpec, response, streamed);
+                }
+            }
+            case ON_FAILURE -> lastExchange.set(new Exchange(requestSpec, response, streamed));
+            case OFF -> {
+                // Nothing to log
+            }
+        }
+        return response;
+    }
+
+    /**
+     * Prints the exchange buffered on the current thread, if any
+     * Called by the client when the response check fails
+     */
+    public void logFailure() {
+        Exchange exchange = lastExchange.get();
+        if (exchange != null) {
+            print(exchange.request(), exchange.response(), exchange.streamed());
+        }
+        clear();
+    }
+
+    /**
+     * Drops the exchange buffered on the current thread
+     */
+    public void clear() {
+        lastExchange.remove();
+    }
+
+    /**
+     * Gets the logging mode of this filter
+     * 
+     * @return The logging mode
+     */
+    public Mode getMode() {
+        return mode;
+    }
+
+    private void print(FilterableRequestSpecification request, Response response, boolean streamed) {
+        StringBuilder sb = new StringBuilder(512);
+        sb.append("Request method:\t").append(request.getMethod()).append('\n');
+        sb.append("Request URI:\t").append(request.getURI()).append('\n');
+        sb.append("Headers:\t");
+        appendHeaders(sb, request.getHeaders(), "\t\t");
+        sb.append("Body:\t\t");
+        Object body = request.getBody();
+        if (body == null) {
+            sb.append("<none>");
+        } else if (body instanceof byte[] bytes) {
+            appendBody(sb, bytes);
+        } else {
+            appendBody(sb, body.toString());
+        }
+        sb.append("\n\n").append(response.getStatusLine()).append('\n');
+        appendHeaders(sb, response.getHeaders(), "");
+        sb.append('\n');
+        if (streamed) {
+            // Reading the body here would buffer it - it belongs to the caller's stream
+            sb.append("<streamed, not logged>");
+        } else {
+            appendBody(sb, response.asByteArray());
+        }
+        out.println(sb);
+    }
+
+    private void appendHeaders(StringBuilder sb, Iterable<Header> headers, String indent) {
+        boolean first = true;
+        for (Header header : headers) {
+            if (!first) {
+                sb.append(indent);
+            }
+            sb.append(header.getName()).append('=').append(header.getValue()).append('\n');
+            first = false;
+        }
+        if (first) {
+            sb.append("<none>\n");
+        }
+    }
+
+    private void appendBody(StringBuilder sb, byte[] body) {
+        int length = Math.min(body.length, maxBodySize);
+        sb.append(new String(body, 0, length, StandardCharsets.UTF_8));
+        appendTruncation(sb, body.length);
+    }
+
+    private void appendBody(StringBuilder sb, String body) {
+        sb.append(body, 0, Math.min(body.length(), maxBodySize));
+        appendTruncation(sb, body.length());
+    }
+
+    private void appendTruncation(StringBuilder sb, int length) {
+        if (length > maxBodySize) {
+            sb.append("... [truncated, ").append(length).append(" total]");
+        }
+    }
+
+    private record Exchange(FilterableRequestSpecification request, Response response, boolean streamed) {
+    }
+}
@@ -0,0 +1,368 @@
+package tests.clients;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.security.cert.X509Certificate;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.X509ExtendedTrustManager;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.restassured.authentication.ExplicitNoAuthScheme;
+import io.restassured.authentication.NoAuthScheme;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.filter.FilterContext;
+import io.restassured.http.Cookie;
+import io.restassured.http.Cookies;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import tests.utils.ConfigManager;
+import tests.utils.ServiceConfig;
+
+/**
+ * Transport built on java.net.http.HttpClient, preferring HTTP/2
+ * 
+ * One HttpClient is shared by all clients of a service. Over HTTPS it negotiates HTTP/2
+ * with ALPN and multiplexes concurrent requests as streams over a few connections, instead
+ * of holding one socket per in-flight request like the Apache pool does. Servers that only
+ * speak HTTP/1.1 are served over the client's own keep-alive pool. I/O is non-blocking
+ * inside the client; callers block only until their response arrives, which is cheap on
+ * the virtual threads of the async client methods.
+ * 
+ * Like the default transport, certificates are not validated (relaxed HTTPS validation):
+ * any certificate is trusted, whatever host name it was issued for.
+ * Requests this transport cannot express - form parameters, multipart bodies, RestAssured
+ * authentication schemes or a proxy - are handed on to RestAssured's own stack.
+ * 
+ * Selected with service.<name>.transport=jdk. The request timeout follows service.<name>.timeout.
+ */
+public class JdkHttpTransport implements Transport {
+    static final String NAME = "jdk";
+
+    private static final Logger logger = LoggerFactory.getLogger(JdkHttpTransport.class);
+
+    // Set by HttpClient itself, it rejects requests that carry them
+    private static final Set<String> RESTRICTED_HEADERS = Set.of("connection", "content-length", "expect", "host", "upgrade");
+
+    private final String serviceName;
+    private final HttpClient httpClient;
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder http2Responses = new LongAdder();
+    private final LongAdder delegated = new LongAdder();
+
+    /**
+     * Creates a transport for a service
+     * 
+     * @param serviceName The name of the service
+     * @param connectTimeout Timeout for opening connections
+     */
+    public JdkHttpTransport(String serviceName, Duration connectTimeout) {
+        this.serviceName = serviceName;
+        this.httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .connectTimeout(connectTimeout)
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .sslContext(trustAllContext())
+            .build();
+        logger.info("Created JDK HttpClient transport for service '{}'", serviceName);
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        if (!supports(requestSpec)) {
+            delegated.increment();
+            return ctx.next(requestSpec, responseSpec);
+        }
+        return exchange(requestSpec);
+    }
+
+    @Override
+    public Response send(FilterableRequestSpecification requestSpec) {
+        if (!supports(requestSpec)) {
+            delegated.increment();
+            return RestAssuredTransport.sendAgain(requestSpec);
+        }
+        return exchange(requestSpec);
+    }
+
+    /**
+     * Gets a snapshot of the transport statistics
+     * 
+     * @return Current transport statistics
+     */
+    public Stats getStats() {
+        return new Stats(requests.sum(), http2Responses.sum(), delegated.sum());
+    }
+
+    @Override
+    public void close() {
+        httpClient.shutdownNow();
+        logger.info("Shut down JDK HttpClient transport for service '{}'", serviceName);
+    }
+
+    private Response exchange(FilterableRequestSpecification requestSpec) {
+        HttpRequest request = toHttpRequest(requestSpec);
+        requests.increment();
+        try {
+            if (StreamedResponses.isActive()) {
+                HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+                return responseBuilder(response).setBody(response.body()).build();
+            }
+            HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            return responseBuilder(response).setBody(response.body()).build();
+        } catch (IOException e) {
+            throw new UncheckedIOException(request.method() + " " + request.uri() + " failed: " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UncheckedIOException(new InterruptedIOException(request.method() + " " + request.uri() + " interrupted"));
+        }
+    }
+
+    private static boolean supports(FilterableRequestSpecification requestSpec) {
+        return requestSpec.getFormParams().isEmpty()
+            && requestSpec.getMultiPartParams().isEmpty()
+            && (requestSpec.getRequestParams().isEmpty() || "GET".equals(requestSpec.getMethod()))
+            && requestSpec.getProxySpecification() == null
+            && (requestSpec.getAuthenticationScheme() instanceof NoAuthScheme
+                || requestSpec.getAuthenticationScheme() instanceof ExplicitNoAuthScheme);
+    }
+
+    private HttpRequest toHttpRequest(FilterableRequestSpecification requestSpec) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(requestSpec.getURI()))
+            .timeout(Duration.ofMillis(ConfigManager.getServiceConfig(serviceName).timeout()));
+        boolean hasContentType = false;
+        for (Header header : requestSpec.getHeaders()) {
+            if (!RESTRICTED_HEADERS.contains(header.getName().toLowerCase(Locale.ROOT))) {
+                builder.header(header.getName(), header.getValue());
+                hasContentType |= header.getName().equalsIgnoreCase("Content-Type");
+            }
+        }
+        if (requestSpec.getCookies().exist()) {
+            List<String> cookies = new ArrayList<>();
+            for (Cookie cookie : requestSpec.getCookies()) {
+                cookies.add(cookie.getName() + "=" + cookie.getValue());
+            }
+            builder.header("Cookie", String.join("; ", cookies));
+        }
+
+        Object body = requestSpec.getBody();
+        if (body == null) {
+            return builder.method(requestSpec.getMethod(), HttpRequest.BodyPublishers.noBody()).build();
+        }
+        String contentType = requestSpec.getContentType();
+        if (!hasContentType && contentType != null) {
+            builder.header("Content-Type", contentType);
+        }
+        byte[] content = body instanceof byte[] bytes ? bytes : body.toString().getBytes(charset(contentType));
+        return builder.method(requestSpec.getMethod(), HttpRequest.BodyPublishers.ofByteArray(content)).build();
+    }
+
+    private ResponseBuilder responseBuilder(HttpResponse<?> response) {
+        if (response.version() == HttpClient.Version.HTTP_2) {
+            http2Responses.increment();
+        }
+        List<Header> headers = new ArrayList<>();
+        response.headers().map().forEach((name, values) -> {
+            // HTTP/2 pseudo-headers such as :status are not response headers; Content-Type is set below
+            if (!name.startsWith(":") && !name.equalsIgnoreCase("Content-Type")) {
+                values.forEach(value -> headers.add(new Header(name, value)));
+            }
+        });
+        String version = response.version() == HttpClient.Version.HTTP_2 ? "HTTP/2" : "HTTP/1.1";
+        return new ResponseBuilder()
+            .setStatusCode(response.statusCode())
+            .setStatusLine(version + " " + response.statusCode())
+            .setHeaders(new Headers(headers))
+            // So that getCookie() sees Set-Cookie, as on RestAssured's own responses
+            .setCookies(parseCookies(response.headers().allValues("Set-Cookie")))
+            .setContentType(response.headers().firstValue("Content-Type").orElse(""));
+    }
+
+    /**
+     * Parses Set-Cookie header values (name=value followed by attributes)
+     * Values without a name=value pair are skipped
+     * 
+     * @param setCookieHeaders The header values
+     * @return The cookies
+     */
+    static Cookies parseCookies(List<String> setCookieHeaders) {
+        List<Cookie> cookies = new ArrayList<>();
+        for (String header : setCookieHeaders) {
+            String[] parts = header.split(";");
+            int separator = parts[0].indexOf('=');
+            if (separator <= 0) {
+                continue;
+            }
+            Cookie.Builder cookie = new Cookie.Builder(parts[0].substring(0, separator).trim(),
+                parts[0].substring(separator + 1).trim());
+            for (int i = 1; i < parts.length; i++) {
+                String attribute = parts[i].trim();
+                int equals = attribute.indexOf('=');
+                String name = (equals < 0 ? attribute : attribute.substring(0, equals)).trim().toLowerCase(Locale.ROOT);
+                String value = equals < 0 ? "" : attribute.substring(equals + 1).trim();
+                switch (name) {
+                    case "path" -> cookie.setPath(value);
+                    case "domain" -> cookie.setDomain(value);
+                    case "comment" -> cookie.setComment(value);
+                    case "samesite" -> cookie.setSameSite(value);
+                    case "secure" -> cookie.setSecured(true);
+                    case "httponly" -> cookie.setHttpOnly(true);
+                    case "max-age" -> parseLong(value).ifPresent(cookie::setMaxAge);
+                    case "expires" -> parseDate(value).ifPresent(cookie::setExpiryDate);
+                    case "version" -> parseLong(value).ifPresent(version -> cookie.setVersion(version.intValue()));
+                    default -> {
+                        // Unknown attributes are ignored, as browsers do
+                    }
+                }
+            }
+            cookies.add(cookie.build());
+        }
+        return new Cookies(cookies);
+    }
+
+    private static Optional<Long> parseLong(String value) {
+        try {
+            return Optional.of(Long.parseLong(value));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static Optional<Date> parseDate(String value) {
+        try {
+            return Optional.of(Date.from(ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant()));
+        } catch (DateTimeParseException e) {
+            return Optional.empty();
+        }
+    }
+
+    static Charset charset(String contentType) {
+        if (contentType != null) {
+            for (String parameter : contentType.split(";")) {
+                String trimmed = parameter.trim();
+                if (trimmed.regionMatches(true, 0, "charset=", 0, 8)) {
+                    return Charset.forName(trimmed.substring(8).replace("\"", ""));
+                }
+            }
+        }
+        return StandardCharsets.UTF_8;
+    }
+
+    private static SSLContext trustAllContext() {
+        // An extended trust manager also takes over the host name check, which the JDK otherwise
+        // adds around plain X509TrustManagers even when they trust every certificate
+        TrustManager trustAll = new X509ExtendedTrustManager() {
+            @Override
+            public void checkClientTrusted(X509Certificate[] chain, String authType) {
+                // Relaxed validation, see class comment
+            }
+
+            @Override
+            public void checkServerTrusted(X509Certificate[] chain, String authType) {
+                // Relaxed validation, see class comment
+            }
+
+            @Override
+            public void checkClientTrusted(X509Certificate[] chain, String authType, Socket socket) {
+                // Relaxed validation, see class comment
+            }
+
+            @Override
+            public void checkServerTrusted(X509Certificate[] chain, String authType, Socket socket) {
+                // Relaxed validation, see class comment
+            }
+
+            @Override
+            public void checkClientTrusted(X509Certificate[] chain, String authType, SSLEngine engine) {
+                // Relaxed validation, see class comment
+            }
+
+            @Override
+            public void checkServerTrusted(X509Certificate[] chain, String authType, SSLEngine engine) {
+                // Relaxed validation, see class comment
+            }
+
+            @Override
+            public X509Certificate[] getAcceptedIssuers() {
+                return new X509Certificate[0];
+            }
+        };
+        try {
+            SSLContext context = SSLContext.getInstance("TLS");
+            context.init(null, new TrustManager[] {trustAll}, new SecureRandom());
+            return context;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to create SSL context", e);
+        }
+    }
+
+    /**
+     * Registers this transport with ClientFactory (see META-INF/services/tests.clients.TransportProvider)
+     */
+    public static class Provider implements TransportProvider {
+        @Override
+        public String name() {
+            return NAME;
+        }
+
+        @Override
+        public Transport create(ServiceConfig config) {
+            return new JdkHttpTransport(config.name(), Duration.ofMillis(config.timeout()));
+        }
+    }
+
+    /**
+     * Snapshot of transport statistics
+     * 
+     * @param requests Requests sent by this transport
+     * @param http2Responses Responses received over HTTP/2
+     * @param delegated Requests handed on to RestAssured's stack
+     */
+    public record Stats(long requests, long http2Responses, long delegated) {
+
+        /**
+         * Gets the share of requests that were multiplexed over HTTP/2
+         * 
+         * @return HTTP/2 ratio between 0.0 and 1.0
+         */
+        public double http2Ratio() {
+            return requests == 0 ? 0.0 : (double) http2Responses / requests;
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package tests.clients;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
 import io.restassured.response.Response;
 import tests.models.PostData;
 import tests.utils.ConfigManager;
@@ -29,6 +32,35 @@ public class JsonPlaceholderClient extends BaseApiClient {
         super(SERVICE_NAME, ConfigManager.getServiceBaseUrl(SERVICE_NAME));
     }
 
+    /**
+     * Creates a JsonPlaceholderClient for another deployment of the API, e.g. a stub
+     * 
+     * @param baseUri The base URI of the deployment
+     */
+    public JsonPlaceholderClient(String baseUri) {
+        super(SERVICE_NAME, baseUri);
+    }
+
+    /**
+     * Registers this client with ClientFactory (see META-INF/services/tests.clients.ApiClientProvider)
+     */
+    public static class Provider implements ApiClientProvider {
+        @Override
+        public String serviceName() {
+            return SERVICE_NAME;
+        }
+
+        @Override
+        public Class<? extends BaseApiClient> clientType() {
+            return JsonPlaceholderClient.class;
+        }
+
+        @Override
+        public BaseApiClient create() {
+            return new JsonPlaceholderClient();
+        }
+    }
+
     // === Posts endpoints ===
     
     /**
@@ -50,6 +82,17 @@ public class JsonPlaceholderClient extends BaseApiClient {
         return get("/posts/" + postId);
     }
     
+    /**
+     * Gets a specific post by ID with its body bound to the given type
+     * 
+     * @param postId The ID of the post to retrieve
+     * @param bodyType The type to bind the post to (e.g. PostData)
+     * @return Typed response containing the post
+     */
+    public <T> ApiResponse<T> getPost(int postId, Class<T> bodyType) {
+        return get("/posts/" + postId, bodyType);
+    }
+    
     /**
      * Creates a new post
      * 
@@ -60,6 +103,16 @@ public class JsonPlaceholderClient extends BaseApiClient {
         return post("/posts", postData);
     }
     
+    /**
+     * Creates a new post from a body serialized in advance, e.g. one sent many times by a load test
+     * 
+     * @param postData The post data to create
+     * @return Response containing the created post
+     */
+    public Response createPost(PreparedBody postData) {
+        return post("/posts", postData);
+    }
+    
     /**
      * Updates an existing post
      * 
@@ -71,6 +124,17 @@ public class JsonPlaceholderClient extends BaseApiClient {
         return put("/posts/" + postId, postData);
     }
     
+    /**
+     * Updates an existing post with a body serialized in advance
+     * 
+     * @param postId The ID of the post to update
+     * @param postData The updated post data
+     * @return Response containing the updated post
+     */
+    public Response updatePost(int postId, PreparedBody postData) {
+        return put("/posts/" + postId, postData);
+    }
+    
     /**
      * Deletes a post
      * 
@@ -92,6 +156,17 @@ public class JsonPlaceholderClient extends BaseApiClient {
         return get("/comments");
     }
     
+    /**
+     * Streams all comments without buffering the response body
+     * The returned stream must be closed to release the connection
+     * 
+     * @param elementType The type to bind each comment to
+     * @return Stream of comments
+     */
+    public <T> Stream<T> streamAllComments(Class<T> elementType) {
+        return getStream("/comments", elementType);
+    }
+    
     /**
      * Gets comments for a specific post
      * 
@@ -144,6 +219,17 @@ public class JsonPlaceholderClient extends BaseApiClient {
         return get("/todos");
     }
     
+    /**
+     * Streams all todos without buffering the response body
+     * The returned stream must be closed to release the connection
+     * 
+     * @param elementType The type to bind each todo to
+     * @return Stream of todos
+     */
+    public <T> Stream<T> streamAllTodos(Class<T> elementType) {
+        return getStream("/todos", elementType);
+    }
+    
     /**
      * Gets todos for a specific user
      * 
@@ -174,4 +260,91 @@ public class JsonPlaceholderClient extends BaseApiClient {
     public Response getUserAlbums(int userId) {
         return get("/users/" + userId + "/albums");
     }
-} 
\ No newline at end of file
+
+    // === Async variants ===
+    
+    /**
+     * Async variant of {@link #getAllPosts()}
+     * 
+     * @return Future completed with the response containing all posts
+     */
+    public CompletableFuture<Response> getAllPostsAsync() {
+        return async(() -> getAllPosts());
+    }
+    
+    /**
+     * Async variant of {@link #getPost(int)}
+     * 
+     * @param postId The ID of the post to retrieve
+     * @return Future completed with the response containing the post
+     */
+    public CompletableFuture<Response> getPostAsync(int postId) {
+        return async(() -> getPost(postId));
+    }
+    
+    /**
+     * Async variant of {@link #createPost(PostData)}
+     * 
+     * @param postData The post data to create
+     * @return Future completed with the response containing the created post
+     */
+    public CompletableFuture<Response> createPostAsync(PostData postData) {
+        return async(() -> createPost(postData));
+    }
+    
+    /**
+     * Async variant of {@link #createPost(PreparedBody)}
+     * 
+     * @param postData The post data to create
+     * @return Future completed with the response containing the created post
+     */
+    public CompletableFuture<Response> createPostAsync(PreparedBody postData) {
+        return async(() -> createPost(postData));
+    }
+    
+    /**
+     * Async variant of {@link #getAllComments()}
+     * 
+     * @return Future completed with the response containing all comments
+     */
+    public CompletableFuture<Response> getAllCommentsAsync() {
+        return async(() -> getAllComments());
+    }
+    
+    /**
+     * Async variant of {@link #getAllUsers()}
+     * 
+     * @return Future completed with the response containing all users
+     */
+    public CompletableFuture<Response> getAllUsersAsync() {
+        return async(() -> getAllUsers());
+    }
+    
+    /**
+     * Async variant of {@link #getUser(int)}
+     * 
+     * @param userId The ID of the user to retrieve
+     * @return Future completed with the response containing the user
+     */
+    public CompletableFuture<Response> getUserAsync(int userId) {
+        return async(() -> getUser(userId));
+    }
+    
+    /**
+     * Async variant of {@link #getAllTodos()}
+     * 
+     * @return Future completed with the response containing all todos
+     */
+    public CompletableFuture<Response> getAllTodosAsync() {
+        return async(() -> getAllTodos());
+    }
+    
+    /**
+     * Async variant of {@link #getAllAlbums()}
+     * 
+     * @return Future completed with the response containing all albums
+     */
+    public CompletableFuture<Response> getAllAlbumsAsync() {
+        return async(() -> getAllAlbums());
+    }
+}
@@ -1,7 +1,14 @@
 package tests.clients;
 
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
 import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
 import tests.utils.ConfigManager;
+import tests.utils.ServiceConfig;
 
 /**
  * Client for Notification API
@@ -20,6 +27,8 @@ public class NotificationApiClient extends BaseApiClient {
     
     private static final String SERVICE_NAME = "notification";
     
+    private volatile NotificationBatcher batcher;
+    
     /**
      * Creates a new NotificationApiClient instance
      */
@@ -27,6 +36,37 @@ public class NotificationApiClient extends BaseApiClient {
         super(SERVICE_NAME, ConfigManager.getServiceBaseUrl(SERVICE_NAME));
     }
 
+    /**
+     * Adds the bearer token of this service to every request
+     * The token source is configured with service.notification.auth.source (see ClientFactory#getAuthFilter)
+     * 
+     * @return RequestSpecification with the authentication filter
+     */
+    @Override
+    protected RequestSpecification createRequestSpecification() {
+        return super.createRequestSpecification().filter(ClientFactory.getAuthFilter(SERVICE_NAME));
+    }
+
+    /**
+     * Registers this client with ClientFactory (see META-INF/services/tests.clients.ApiClientProvider)
+     */
+    public static class Provider implements ApiClientProvider {
+        @Override
+        public String serviceName() {
+            return SERVICE_NAME;
+        }
+
+        @Override
+        public Class<? extends BaseApiClient> clientType() {
+            return NotificationApiClient.class;
+        }
+
+        @Override
+        public BaseApiClient create() {
+            return new NotificationApiClient();
+        }
+    }
+
     // === Notification endpoints ===
     
     /**
@@ -36,11 +76,8 @@ public class NotificationApiClient extends BaseApiClient {
      * @return Response containing the notification result
      */
     public Response sendNotification(Object notificationData) {
-        return customRequest()
-            .header("Authorization", "Bearer " + ConfigManager.getServiceAuthToken(SERVICE_NAME))
-            .header("Content-Type", "application/json")
-            .body(notificationData)
-            .post("/notifications");
+        return completeExchange(withBody(customRequest(), notificationData)
+            .post("/notifications"));
     }
     
     /**
@@ -50,9 +87,8 @@ public class NotificationApiClient extends BaseApiClient {
      * @return Response containing the notification details
      */
     public Response getNotification(String notificationId) {
-        return customRequest()
-            .header("Authorization", "Bearer " + ConfigManager.getServiceAuthToken(SERVICE_NAME))
-            .get("/notifications/" + notificationId);
+        return completeExchange(customRequest()
+            .get("/notifications/" + notificationId));
     }
     
     /**
@@ -62,9 +98,8 @@ public class NotificationApiClient extends BaseApiClient {
      * @return Response containing the user's notifications
      */
     public Response getUserNotifications(int userId) {
-        return customRequest()
-            .header("Authorization", "Bearer " + ConfigManager.getServiceAuthToken(SERVICE_NAME))
-            .get("/notifications?userId=" + userId);
+        return completeExchange(customRequest()
+            .get("/notifications?userId=" + userId));
     }
     
     /**
@@ -74,9 +109,8 @@ public class NotificationApiClient extends BaseApiClient {
      * @return Response from the mark as read operation
      */
     public Response markAsRead(String notificationId) {
-        return customRequest()
-            .header("Authorization", "Bearer " + ConfigManager.getServiceAuthToken(SERVICE_NAME))
-            .post("/notifications/" + notificationId + "/read", "");
+        return completeExchange(customRequest()
+            .post("/notifications/" + notificationId + "/read", ""));
     }
     
     /**
@@ -86,9 +120,8 @@ public class NotificationApiClient extends BaseApiClient {
      * @return Response from the delete operation
      */
     public Response deleteNotification(String notificationId) {
-        return customRequest()
-            .header("Authorization", "Bearer " + ConfigManager.getServiceAuthToken(SERVICE_NAME))
-            .delete("/notifications/" + notificationId);
+        return completeExchange(customRequest()
+            .delete("/notifications/" + notificationId));
     }
     
     // === Bulk operations ===
@@ -100,11 +133,44 @@ public class NotificationApiClient extends BaseApiClient {
      * @return Response containing the bulk operation result
      */
     public Response sendBulkNotifications(Object bulkNotificationData) {
-        return customRequest()
-            .header("Authorization", "Bearer " + ConfigManager.getServiceAuthToken(SERVICE_NAME))
-            .header("Content-Type", "application/json")
-            .body(bulkNotificationData)
-            .post("/notifications/bulk");
+        return completeExchange(withBody(customRequest(), bulkNotificationData)
+            .post("/notifications/bulk"));
+    }
+    
+    /**
+     * Sends a notification through the bulk endpoint together with other queued notifications
+     * See {@link #batcher()} for when the bulk request is sent
+     * 
+     * @param notificationData The notification data
+     * @return Future completed with this notification's entry of the bulk result
+     */
+    public CompletableFuture<JsonNode> sendNotificationBatched(Object notificationData) {
+        return batcher().send(notificationData);
+    }
+    
+    /**
+     * Gets the batcher of this client, creating it on first use
+     * A bulk request is sent once service.notification.batch.maxSize notifications are queued
+     * (default 100) or service.notification.batch.maxDelayMs has passed (default 20)
+     * The batcher lives as long as the client; once it is closed, batched sends are rejected
+     * 
+     * @return The notification batcher
+     */
+    public NotificationBatcher batcher() {
+        NotificationBatcher current = batcher;
+        if (current == null) {
+            synchronized (this) {
+                current = batcher;
+                if (current == null) {
+                    ServiceConfig config = ConfigManager.getServiceConfig(SERVICE_NAME);
+                    current = new NotificationBatcher(this,
+                        Integer.parseInt(config.get("batch.maxSize", "100")),
+                        Duration.ofMillis(Long.parseLong(config.get("batch.maxDelayMs", "20"))));
+                    batcher = current;
+                }
+            }
+        }
+        return current;
     }
     
     /**
@@ -114,9 +180,8 @@ public class NotificationApiClient extends BaseApiClient {
      * @return Response from the mark all as read operation
      */
     public Response markAllAsRead(int userId) {
-        return customRequest()
-            .header("Authorization", "Bearer " + ConfigManager.getServiceAuthToken(SERVICE_NAME))
-            .post("/notifications/mark-all-read?userId=" + userId, "");
+        return completeExchange(customRequest()
+            .post("/notifications/mark-all-read?userId=" + userId, ""));
     }
     
     // === Template endpoints ===
@@ -127,9 +192,8 @@ public class NotificationApiClient extends BaseApiClient {
      * @return Response containing all notification templates
      */
     public Response getAllTemplates() {
-        return customRequest()
-            .header("Authorization", "Bearer " + ConfigManager.getServiceAuthToken(SERVICE_NAME))
-            .get("/templates");
+        return completeExchange(customRequest()
+            .get("/templates"));
     }
     
     /**
@@ -139,9 +203,8 @@ public class NotificationApiClient extends BaseApiClient {
      * @return Response containing the template
      */
     public Response getTemplate(String templateId) {
-        return customRequest()
-            .header("Authorization", "Bearer " + ConfigManager.getServiceAuthToken(SERVICE_NAME))
-            .get("/templates/" + templateId);
+        return completeExchange(customRequest()
+            .get("/templates/" + templateId));
     }
     
     /**
@@ -151,11 +214,8 @@ public class NotificationApiClient extends BaseApiClient {
      * @return Response containing the created template
      */
     public Response createTemplate(Object templateData) {
-        return customRequest()
-            .header("Authorization", "Bearer " + ConfigManager.getServiceAuthToken(SERVICE_NAME))
-            .header("Content-Type", "application/json")
-            .body(templateData)
-            .post("/templates");
+        return completeExchange(withBody(customRequest(), templateData)
+            .post("/templates"));
     }
     
     /**
@@ -166,11 +226,8 @@ public class NotificationApiClient extends BaseApiClient {
      * @return Response containing the updated template
      */
     public Response updateTemplate(String templateId, Object templateData) {
-        return customRequest()
-            .header("Authorization", "Bearer " + ConfigManager.getServiceAuthToken(SERVICE_NAME))
-            .header("Content-Type", "application/json")
-            .body(templateData)
-            .put("/templates/" + templateId);
+        return completeExchange(withBody(customRequest(), templateData)
+            .put("/templates/" + templateId));
     }
     
     // === Preferences endpoints ===
@@ -182,9 +239,8 @@ public class NotificationApiClient extends BaseApiClient {
      * @return Response containing the user's notification preferences
      */
     public Response getUserPreferences(int userId) {
-        return customRequest()
-            .header("Authorization", "Bearer " + ConfigManager.getServiceAuthToken(SERVICE_NAME))
-            .get("/preferences?userId=" + userId);
+        return completeExchange(customRequest()
+            .get("/preferences?userId=" + userId));
     }
     
     /**
@@ -195,11 +251,8 @@ public class NotificationApiClient extends BaseApiClient {
      * @return Response containing the updated preferences
      */
     public Response updateUserPreferences(int userId, Object preferencesData) {
-        return customRequest()
-            .header("Authorization", "Bearer " + ConfigManager.getServiceAuthToken(SERVICE_NAME))
-            .header("Content-Type", "application/json")
-            .body(preferencesData)
-            .put("/preferences?userId=" + userId);
+        return completeExchange(withBody(customRequest(), preferencesData)
+            .put("/preferences?userId=" + userId));
     }
     
     // === History endpoints ===
@@ -211,9 +264,8 @@ public class NotificationApiClient extends BaseApiClient {
      * @return Response containing the user's notification history
      */
     public Response getUserHistory(int userId) {
-        return customRequest()
-            .header("Authorization", "Bearer " + ConfigManager.getServiceAuthToken(SERVICE_NAME))
-            .get("/history?userId=" + userId);
+        return completeExchange(customRequest()
+            .get("/history?userId=" + userId));
     }
     
     /**
@@ -225,8 +277,58 @@ public class NotificationApiClient extends BaseApiClient {
      * @return Response containing the notification history
      */
     public Response getUserHistoryByDateRange(int userId, String startDate, String endDate) {
-        return customRequest()
-            .header("Authorization", "Bearer " + ConfigManager.getServiceAuthToken(SERVICE_NAME))
-            .get("/history?userId=" + userId + "&startDate=" + startDate + "&endDate=" + endDate);
+        return completeExchange(customRequest()
+            .get("/history?userId=" + userId + "&startDate=" + startDate + "&endDate=" + endDate));
+    }
+
+    // === Async variants ===
+    
+    /**
+     * Async variant of {@link #sendNotification(Object)}
+     * 
+     * @param notificationData The notification data
+     * @return Future completed with the response containing the notification result
+     */
+    public CompletableFuture<Response> sendNotificationAsync(Object notificationData) {
+        return async(() -> sendNotification(notificationData));
+    }
+    
+    /**
+     * Async variant of {@link #getNotification(String)}
+     * 
+     * @param notificationId The ID of the notification
+     * @return Future completed with the response containing the notification details
+     */
+    public CompletableFuture<Response> getNotificationAsync(String notificationId) {
+        return async(() -> getNotification(notificationId));
+    }
+    
+    /**
+     * Async variant of {@link #getUserNotifications(int)}
+     * 
+     * @param userId The ID of the user
+     * @return Future completed with the response containing the user's notifications
+     */
+    public CompletableFuture<Response> getUserNotificationsAsync(int userId) {
+        return async(() -> getUserNotifications(userId));
+    }
+    
+    /**
+     * Async variant of {@link #sendBulkNotifications(Object)}
+     * 
+     * @param bulkNotificationData The bulk notification data
+     * @return Future completed with the response containing the bulk operation result
+     */
+    public CompletableFuture<Response> sendBulkNotificationsAsync(Object bulkNotificationData) {
+        return async(() -> sendBulkNotifications(bulkNotificationData));
+    }
+    
+    /**
+     * Async variant of {@link #getAllTemplates()}
+     * 
+     * @return Future completed with the response containing all notification templates
+     */
+    public CompletableFuture<Response> getAllTemplatesAsync() {
+        return async(() -> getAllTemplates());
     }
-} 
\ No newline at end of file
+}
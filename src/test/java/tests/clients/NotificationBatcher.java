@@ -0,0 +1,222 @@
+package tests.clients;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import io.restassured.response.Response;
+
+/**
+ * Collects single notifications and sends them through the bulk endpoint
+ * 
+ * Notifications passed to {@link #send(Object)} are queued and sent together with
+ * sendBulkNotifications as {"notifications": [...]} when maxBatchSize notifications are
+ * queued or maxDelay has passed since the first one, whichever comes first. Each call gets
+ * its own future, completed with its entry of the bulk result: the element at the same index
+ * of the "results" array (or of a top-level array) in the bulk response. If the bulk call
+ * fails, all futures of the batch fail.
+ * 
+ * Bulk calls run on the client's async executor, so callers never block on the network.
+ * Each batcher has a timer thread of its own, stopped by {@link #close()}; a closed batcher
+ * rejects further notifications. Thread-safe. Obtain the configured instance with
+ * {@link NotificationApiClient#batcher()}.
+ */
+public class NotificationBatcher implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(NotificationBatcher.class);
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "notification-batcher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Function<Object, CompletableFuture<Response>> sendBulk;
+    private final int maxBatchSize;
+    private final Duration maxDelay;
+    private final LongAdder bulkRequests = new LongAdder();
+    private final LongAdder notifications = new LongAdder();
+    private Batch pending;
+    private boolean closed;
+
+    /**
+     * Creates a batcher
+     * 
+     * @param client The client sending the bulk requests
+     * @param maxBatchSize Number of notifications that triggers a bulk request
+     * @param maxDelay Longest time a notification waits for its batch to fill up
+     */
+    public NotificationBatcher(NotificationApiClient client, int maxBatchSize, Duration maxDelay) {
+        this(client::sendBulkNotificationsAsync, maxBatchSize, maxDelay);
+    }
+
+    /**
+     * Creates a batcher with a bulk request of its own
+     * 
+     * @param sendBulk Sends a bulk request body ({"notifications": [...]}) asynchronously
+     * @param maxBatchSize Number of notifications that triggers a bulk request
+     * @param maxDelay Longest time a notification waits for its batch to fill up
+     */
+    public NotificationBatcher(Function<Object, CompletableFuture<Response>> sendBulk,
+                               int maxBatchSize, Duration maxDelay) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1, was: " + maxBatchSize);
+        }
+        this.sendBulk = sendBulk;
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelay = maxDelay;
+    }
+
+    /**
+     * Queues a notification for the next bulk request
+     * 
+     * @param notificationData The notification data
+     * @return Future completed with this notification's entry of the bulk result
+     * @throws IllegalStateException If the batcher was closed
+     */
+    public CompletableFuture<JsonNode> send(Object notificationData) {
+        CompletableFuture<JsonNode> result = new CompletableFuture<>();
+        Batch full = null;
+        synchronized (this) {
+            if (closed) {
+                throw new IllegalStateException("Notification batcher is closed");
+            }
+            if (pending == null) {
+                Batch batch = new Batch();
+                batch.timer = scheduler.schedule(() -> flush(batch), maxDelay.toNanos(), TimeUnit.NANOSECONDS);
+                pending = batch;
+            }
+            pending.items.add(notificationData);
+            pending.results.add(result);
+            if (pending.items.size() >= maxBatchSize) {
+                full = pending;
+                pending = null;
+            }
+        }
+        if (full != null) {
+            full.timer.cancel(false);
+            dispatch(full);
+        }
+        return result;
+    }
+
+    /**
+     * Sends the queued notifications now
+     */
+    public void flush() {
+        Batch batch;
+        synchronized (this) {
+            batch = pending;
+            pending = null;
+        }
+        if (batch != null) {
+            batch.timer.cancel(false);
+            dispatch(batch);
+        }
+    }
+
+    /**
+     * Sends the queued notifications and stops the timer thread
+     * Notifications sent after this are rejected
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            closed = true;
+        }
+        flush();
+        scheduler.shutdown();
+    }
+
+    /**
+     * Gets the number of bulk requests sent
+     * 
+     * @return The bulk request count
+     */
+    public long getBulkRequests() {
+        return bulkRequests.sum();
+    }
+
+    /**
+     * Gets the number of notifications sent through bulk requests
+     * 
+     * @return The notification count
+     */
+    public long getNotifications() {
+        return notifications.sum();
+    }
+
+    /**
+     * Sends a batch when its delay has passed, unless it was already sent because it filled up
+     */
+    private void flush(Batch batch) {
+        synchronized (this) {
+            if (pending != batch) {
+                return;
+            }
+            pending = null;
+        }
+        dispatch(batch);
+    }
+
+    private void dispatch(Batch batch) {
+        bulkRequests.increment();
+        notifications.add(batch.items.size());
+        sendBulk.apply(Map.of("notifications", batch.items))
+            .whenComplete((response, failure) -> {
+                if (failure != null) {
+                    batch.results.forEach(result -> result.completeExceptionally(failure));
+                } else {
+                    try {
+                        complete(batch, response);
+                    } catch (RuntimeException e) {
+                        // e.g. a body that is not JSON - no future may be left pending
+                        batch.results.forEach(result -> result.completeExceptionally(e));
+                    }
+                }
+            });
+    }
+
+    private void complete(Batch batch, Response response) {
+        int status = response.getStatusCode();
+        if (status < 200 || status >= 300) {
+            IllegalStateException failure = new IllegalStateException(
+                "Bulk notification request failed with status " + status);
+            batch.results.forEach(result -> result.completeExceptionally(failure));
+            return;
+        }
+        JsonNode body = ApiResponse.of(response).getJson();
+        JsonNode entries = body.isArray() ? body : body.path("results");
+        if (!entries.isArray() || entries.size() != batch.items.size()) {
+            logger.warn("Bulk response has {} results for {} notifications", entries.size(), batch.items.size());
+            IllegalStateException failure = new IllegalStateException(
+                "Bulk response does not contain one result per notification");
+            batch.results.forEach(result -> result.completeExceptionally(failure));
+            return;
+        }
+        for (int i = 0; i < batch.results.size(); i++) {
+            batch.results.get(i).complete(entries.get(i));
+        }
+    }
+
+    /**
+     * Notifications queued for one bulk request, with their futures at the same index
+     */
+    private static final class Batch {
+        private final List<Object> items = new ArrayList<>();
+        private final List<CompletableFuture<JsonNode>> results = new ArrayList<>();
+        private ScheduledFuture<?> timer;
+    }
+}
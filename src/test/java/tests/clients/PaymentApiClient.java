@@ -1,6 +1,10 @@
 package tests.clients;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
 import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
 import tests.utils.ConfigManager;
 
 /**
@@ -26,6 +30,47 @@ public class PaymentApiClient extends BaseApiClient {
         super(SERVICE_NAME, ConfigManager.getServiceBaseUrl(SERVICE_NAME));
     }
 
+    /**
+     * Creates a PaymentApiClient for another deployment of the API, e.g. a stub
+     * 
+     * @param baseUri The base URI of the deployment
+     * @param loggingFilter The request/response logging filter to use instead of the configured one
+     */
+    public PaymentApiClient(String baseUri, ExchangeLoggingFilter loggingFilter) {
+        super(SERVICE_NAME, baseUri, loggingFilter);
+    }
+
+    /**
+     * Adds the bearer token of this service to every request
+     * The token source is configured with service.payment.auth.source (see ClientFactory#getAuthFilter)
+     * 
+     * @return RequestSpecification with the authentication filter
+     */
+    @Override
+    protected RequestSpecification createRequestSpecification() {
+        return super.createRequestSpecification().filter(ClientFactory.getAuthFilter(SERVICE_NAME));
+    }
+
+    /**
+     * Registers this client with ClientFactory (see META-INF/services/tests.clients.ApiClientProvider)
+     */
+    public static class Provider implements ApiClientProvider {
+        @Override
+        public String serviceName() {
+            return SERVICE_NAME;
+        }
+
+        @Override
+        public Class<? extends BaseApiClient> clientType() {
+            return PaymentApiClient.class;
+        }
+
+        @Override
+        public BaseApiClient create() {
+            return new PaymentApiClient();
+        }
+    }
+
     // === Payment endpoints ===
     
     /**
@@ -35,11 +80,8 @@ public class PaymentApiClient extends BaseApiClient {
      * @return Response containing the payment result
      */
     public Response processPayment(Object paymentData) {
-        return customRequest()
-            .header("Authorization", "Bearer " + ConfigManager.getServiceAuthToken(SERVICE_NAME))
-            .header("Content-Type", "application/json")
-            .body(paymentData)
-            .post("/payments");
+        return completeExchange(withBody(customRequest(), paymentData)
+            .post("/payments"));
     }
     
     /**
@@ -49,9 +91,8 @@ public class PaymentApiClient extends BaseApiClient {
      * @return Response containing the payment details
      */
     public Response getPayment(String paymentId) {
-        return customRequest()
-            .header("Authorization", "Bearer " + ConfigManager.getServiceAuthToken(SERVICE_NAME))
-            .get("/payments/" + paymentId);
+        return completeExchange(customRequest()
+            .get("/payments/" + paymentId));
     }
     
     /**
@@ -61,9 +102,8 @@ public class PaymentApiClient extends BaseApiClient {
      * @return Response containing the user's payments
      */
     public Response getUserPayments(int userId) {
-        return customRequest()
-            .header("Authorization", "Bearer " + ConfigManager.getServiceAuthToken(SERVICE_NAME))
-            .get("/payments?userId=" + userId);
+        return completeExchange(customRequest()
+            .get("/payments?userId=" + userId));
     }
     
     /**
@@ -73,9 +113,8 @@ public class PaymentApiClient extends BaseApiClient {
      * @return Response from the cancel operation
      */
     public Response cancelPayment(String paymentId) {
-        return customRequest()
-            .header("Authorization", "Bearer " + ConfigManager.getServiceAuthToken(SERVICE_NAME))
-            .post("/payments/" + paymentId + "/cancel", "");
+        return completeExchange(customRequest()
+            .post("/payments/" + paymentId + "/cancel", ""));
     }
     
     // === Transaction endpoints ===
@@ -87,9 +126,8 @@ public class PaymentApiClient extends BaseApiClient {
      * @return Response containing the transaction details
      */
     public Response getTransaction(String transactionId) {
-        return customRequest()
-            .header("Authorization", "Bearer " + ConfigManager.getServiceAuthToken(SERVICE_NAME))
-            .get("/transactions/" + transactionId);
+        return completeExchange(customRequest()
+            .get("/transactions/" + transactionId));
     }
     
     /**
@@ -99,9 +137,20 @@ public class PaymentApiClient extends BaseApiClient {
      * @return Response containing the user's transactions
      */
     public Response getUserTransactions(int userId) {
-        return customRequest()
-            .header("Authorization", "Bearer " + ConfigManager.getServiceAuthToken(SERVICE_NAME))
-            .get("/transactions?userId=" + userId);
+        return completeExchange(customRequest()
+            .get("/transactions?userId=" + userId));
+    }
+    
+    /**
+     * Streams all transactions for a user without buffering the response body
+     * The returned stream must be closed to release the connection
+     * 
+     * @param userId The ID of the user
+     * @param elementType The type to bind each transaction to
+     * @return Stream of the user's transactions
+     */
+    public <T> Stream<T> streamUserTransactions(int userId, Class<T> elementType) {
+        return getStream("/transactions?userId=" + userId, elementType);
     }
     
     /**
@@ -112,9 +161,8 @@ public class PaymentApiClient extends BaseApiClient {
      * @return Response containing the transactions
      */
     public Response getTransactionsByDateRange(String startDate, String endDate) {
-        return customRequest()
-            .header("Authorization", "Bearer " + ConfigManager.getServiceAuthToken(SERVICE_NAME))
-            .get("/transactions?startDate=" + startDate + "&endDate=" + endDate);
+        return completeExchange(customRequest()
+            .get("/transactions?startDate=" + startDate + "&endDate=" + endDate));
     }
     
     // === Refund endpoints ===
@@ -126,11 +174,8 @@ public class PaymentApiClient extends BaseApiClient {
      * @return Response containing the refund result
      */
     public Response processRefund(Object refundData) {
-        return customRequest()
-            .header("Authorization", "Bearer " + ConfigManager.getServiceAuthToken(SERVICE_NAME))
-            .header("Content-Type", "application/json")
-            .body(refundData)
-            .post("/refunds");
+        return completeExchange(withBody(customRequest(), refundData)
+            .post("/refunds"));
     }
     
     /**
@@ -140,9 +185,8 @@ public class PaymentApiClient extends BaseApiClient {
      * @return Response containing the refund details
      */
     public Response getRefund(String refundId) {
-        return customRequest()
-            .header("Authorization", "Bearer " + ConfigManager.getServiceAuthToken(SERVICE_NAME))
-            .get("/refunds/" + refundId);
+        return completeExchange(customRequest()
+            .get("/refunds/" + refundId));
     }
     
     /**
@@ -152,9 +196,8 @@ public class PaymentApiClient extends BaseApiClient {
      * @return Response containing the payment's refunds
      */
     public Response getPaymentRefunds(String paymentId) {
-        return customRequest()
-            .header("Authorization", "Bearer " + ConfigManager.getServiceAuthToken(SERVICE_NAME))
-            .get("/refunds?paymentId=" + paymentId);
+        return completeExchange(customRequest()
+            .get("/refunds?paymentId=" + paymentId));
     }
     
     // === Payment Methods endpoints ===
@@ -166,9 +209,8 @@ public class PaymentApiClient extends BaseApiClient {
      * @return Response containing the user's payment methods
      */
     public Response getUserPaymentMethods(int userId) {
-        return customRequest()
-            .header("Authorization", "Bearer " + ConfigManager.getServiceAuthToken(SERVICE_NAME))
-            .get("/payment-methods?userId=" + userId);
+        return completeExchange(customRequest()
+            .get("/payment-methods?userId=" + userId));
     }
     
     /**
@@ -178,11 +220,8 @@ public class PaymentApiClient extends BaseApiClient {
      * @return Response containing the added payment method
      */
     public Response addPaymentMethod(Object paymentMethodData) {
-        return customRequest()
-            .header("Authorization", "Bearer " + ConfigManager.getServiceAuthToken(SERVICE_NAME))
-            .header("Content-Type", "application/json")
-            .body(paymentMethodData)
-            .post("/payment-methods");
+        return completeExchange(withBody(customRequest(), paymentMethodData)
+            .post("/payment-methods"));
     }
     
     /**
@@ -192,8 +231,59 @@ public class PaymentApiClient extends BaseApiClient {
      * @return Response from the delete operation
      */
     public Response deletePaymentMethod(String paymentMethodId) {
-        return customRequest()
-            .header("Authorization", "Bearer " + ConfigManager.getServiceAuthToken(SERVICE_NAME))
-            .delete("/payment-methods/" + paymentMethodId);
+        return completeExchange(customRequest()
+            .delete("/payment-methods/" + paymentMethodId));
+    }
+
+    // === Async variants ===
+    
+    /**
+     * Async variant of {@link #processPayment(Object)}
+     * 
+     * @param paymentData The payment data
+     * @return Future completed with the response containing the payment result
+     */
+    public CompletableFuture<Response> processPaymentAsync(Object paymentData) {
+        return async(() -> processPayment(paymentData));
+    }
+    
+    /**
+     * Async variant of {@link #getPayment(String)}
+     * 
+     * @param paymentId The ID of the payment
+     * @return Future completed with the response containing the payment details
+     */
+    public CompletableFuture<Response> getPaymentAsync(String paymentId) {
+        return async(() -> getPayment(paymentId));
+    }
+    
+    /**
+     * Async variant of {@link #getUserPayments(int)}
+     * 
+     * @param userId The ID of the user
+     * @return Future completed with the response containing the user's payments
+     */
+    public CompletableFuture<Response> getUserPaymentsAsync(int userId) {
+        return async(() -> getUserPayments(userId));
+    }
+    
+    /**
+     * Async variant of {@link #getTransaction(String)}
+     * 
+     * @param transactionId The ID of the transaction
+     * @return Future completed with the response containing the transaction details
+     */
+    public CompletableFuture<Response> getTransactionAsync(String transactionId) {
+        return async(() -> getTransaction(transactionId));
+    }
+    
+    /**
+     * Async variant of {@link #getUserTransactions(int)}
+     * 
+     * @param userId The ID of the user
+     * @return Future completed with the response containing the user's transactions
+     */
+    public CompletableFuture<Response> getUserTransactionsAsync(int userId) {
+        return async(() -> getUserTransactions(userId));
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,144 @@
+package tests.clients;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+
+/**
+ * A request body serialized once and sent as is by every request that uses it
+ * 
+ * Passing an object to post or put makes RestAssured serialize it with Jackson on each
+ * call. A data-driven or load test that sends the same payload thousands of times can
+ * prepare it once instead; the client methods taking an Object body accept a PreparedBody
+ * and send its bytes with its content type, without encoding them again.
+ * 
+ * Instances are immutable and thread-safe, so one body can be shared by all virtual users.
+ * A JSON body nested in another object (e.g. a notification queued by
+ * {@link NotificationBatcher}) is written into the enclosing JSON verbatim; it is copied
+ * as text while the enclosing object is serialized, so only bodies sent on their own skip
+ * encoding entirely.
+ * 
+ * Usage:
+ * PreparedBody post = PreparedBody.json(new PostData("title", "body", 1));
+ * jsonPlaceholderClient.createPost(post);
+ */
+public final class PreparedBody implements JsonSerializable {
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static final String JSON = "application/json";
+
+    private final byte[] content;
+    private final String contentType;
+
+    private PreparedBody(byte[] content, String contentType) {
+        this.content = content;
+        this.contentType = contentType;
+    }
+
+    /**
+     * Serializes an object to JSON
+     * 
+     * @param body The object to serialize
+     * @return The prepared body, with content type application/json
+     * @throws IllegalArgumentException if the object cannot be serialized
+     */
+    public static PreparedBody json(Object body) {
+        try {
+            return new PreparedBody(objectMapper.writeValueAsBytes(body), JSON);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Failed to serialize " + body.getClass().getName(), e);
+        }
+    }
+
+    /**
+     * Wraps content that is already encoded
+     * 
+     * @param content The encoded body; copied, so later changes to the array are not sent
+     * @param contentType The content type of the body; text types should name their charset,
+     *                    otherwise RestAssured labels them with its default, ISO-8859-1
+     * @return The prepared body
+     */
+    public static PreparedBody of(byte[] content, String contentType) {
+        return new PreparedBody(content.clone(), contentType);
+    }
+
+    /**
+     * Gets the content type the body is sent with
+     * 
+     * @return The content type
+     */
+    public String contentType() {
+        return contentType;
+    }
+
+    /**
+     * Gets the size of the encoded body
+     * 
+     * @return The size in bytes
+     */
+    public int size() {
+        return content.length;
+    }
+
+    /**
+     * Gets a copy of the encoded body
+     * 
+     * @return The body bytes
+     */
+    public byte[] toByteArray() {
+        return content.clone();
+    }
+
+    /**
+     * Gets the encoded body without copying it, for the client to send; must not be modified
+     */
+    byte[] content() {
+        return content;
+    }
+
+    @Override
+    public void serialize(JsonGenerator generator, SerializerProvider serializers) throws IOException {
+        if (!isJson()) {
+            throw new IllegalStateException("Cannot embed a " + contentType + " body in JSON");
+        }
+        generator.writeRawValue(toString());
+    }
+
+    @Override
+    public void serializeWithType(JsonGenerator generator, SerializerProvider serializers,
+                                  TypeSerializer typeSerializer) throws IOException {
+        serialize(generator, serializers);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof PreparedBody body
+            && contentType.equals(body.contentType) && Arrays.equals(content, body.content);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * contentType.hashCode() + Arrays.hashCode(content);
+    }
+
+    /**
+     * Gets the body as text, decoded with the charset of its content type
+     * 
+     * @return The body text
+     */
+    @Override
+    public String toString() {
+        return new String(content, JdkHttpTransport.charset(contentType));
+    }
+
+    private boolean isJson() {
+        String mediaType = contentType.split(";")[0].trim();
+        return mediaType.equalsIgnoreCase(JSON) || mediaType.regionMatches(true, mediaType.length() - 5, "+json", 0, 5);
+    }
+}
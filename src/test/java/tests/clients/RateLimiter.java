@@ -0,0 +1,359 @@
+package tests.clients;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import tests.utils.ServiceConfig;
+
+/**
+ * Client-side rate limiter for the requests of a single service, applied as a RestAssured filter
+ * 
+ * A token bucket of rate.burst tokens, refilled at rate.limit tokens per second. It is kept as
+ * the time the next token becomes free (GCRA) in a single AtomicLong, so taking a token is one
+ * compare-and-set and never locks. Requests are spaced evenly at the configured rate instead of
+ * being sent in bursts the provider would throttle.
+ * 
+ * Acquire modes:
+ * - blocking ({@link #acquire()}): waits for the next token; used by the filter with rate.mode=block (default)
+ * - fail-fast ({@link #tryAcquire()}): takes a token only if one is free; with rate.mode=fail the filter
+ *   rejects calls over the limit with a {@link CallRejectedException}
+ * - async ({@link #acquireAsync()}): a future completed when the token is free; the async client methods
+ *   use it so that no thread waits for the limiter
+ * 
+ * On a 429 Too Many Requests response the limiter adapts: no token is handed out before the time
+ * given by Retry-After (seconds or an HTTP date), and the rate drops by 20% (once per second at most,
+ * down to a tenth of rate.limit). It then climbs back by 5% of rate.limit per second, so it settles
+ * just below the rate the provider accepts.
+ * 
+ * Runs after the response cache and before the {@link CircuitBreaker} and {@link Bulkhead}: cached
+ * responses take no token, and time spent waiting for one is neither a slow call nor a call in flight.
+ * Retries and hedged requests sent by the {@link ResilienceFilter} are covered by its retry budget.
+ * 
+ * Configured per service with service.<name>.rate.limit (requests per second), rate.burst (default 1)
+ * and rate.mode, see {@link ClientFactory#getRateLimiter(String)}.
+ */
+public class RateLimiter implements OrderedFilter {
+    private static final Logger logger = LoggerFactory.getLogger(RateLimiter.class);
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    // After a 429 the rate drops by this factor, at most once per second...
+    private static final double THROTTLE_FACTOR = 0.8;
+    // ...and recovers by this share of rate.limit per second
+    private static final double RECOVERY_PER_SECOND = 0.05;
+
+    private final String serviceName;
+    private final double permitsPerSecond;
+    private final int burst;
+    private final boolean failFast;
+    private final long minIntervalNanos;
+    private final AtomicLong nextFreeNanos;
+    // Rate lowered by the last 429, null while the full rate applies
+    private final AtomicReference<Throttle> throttle = new AtomicReference<>();
+    private final LongAdder permits = new LongAdder();
+    // Set while an async call that already holds this limiter's token runs on this thread;
+    // per limiter, so a nested call to another service is charged by its own limiter
+    private final ThreadLocal<Boolean> prepaid = ThreadLocal.withInitial(() -> false);
+    private final LongAdder waitedNanos = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder throttled = new LongAdder();
+
+    /**
+     * Creates the limiter of a service
+     * 
+     * @param config The configuration of the service
+     */
+    public RateLimiter(ServiceConfig config) {
+        this(config.name(),
+            Double.parseDouble(config.get("rate.limit", "0")),
+            Integer.parseInt(config.get("rate.burst", "1")),
+            "fail".equalsIgnoreCase(config.get("rate.mode", "block").trim()));
+    }
+
+    /**
+     * Creates a limiter
+     * 
+     * @param serviceName The name of the service
+     * @param permitsPerSecond Requests allowed per second (0 or less for no limit)
+     * @param burst Requests that may be sent at once after an idle period
+     * @param failFast Whether the filter rejects calls over the limit instead of waiting
+     */
+    public RateLimiter(String serviceName, double permitsPerSecond, int burst, boolean failFast) {
+        if (burst < 1) {
+            throw new IllegalArgumentException("Rate limit burst must be at least 1, was: " + burst);
+        }
+        this.serviceName = serviceName;
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = burst;
+        this.failFast = failFast;
+        this.minIntervalNanos = permitsPerSecond > 0 ? Math.max(1, (long) (NANOS_PER_SECOND / permitsPerSecond)) : 0;
+        this.nextFreeNanos = new AtomicLong(System.nanoTime() - (burst - 1) * minIntervalNanos);
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        if (!isLimited()) {
+            return ctx.next(requestSpec, responseSpec);
+        }
+        if (prepaid.get()) {
+            // Taken by acquireAsync() - one token per call
+            prepaid.set(false);
+        } else if (failFast) {
+            if (!tryAcquire()) {
+                throw new CallRejectedException(serviceName, "rate limit of " + permitsPerSecond + "/s reached");
+            }
+        } else {
+            acquire();
+        }
+        Response response = ctx.next(requestSpec, responseSpec);
+        if (response.getStatusCode() == 429) {
+            onThrottled(response.getHeader("Retry-After"));
+        }
+        return response;
+    }
+
+    @Override
+    public int getOrder() {
+        // After the response cache, before the circuit breaker and bulkhead: waiting for a token
+        // neither counts as a slow call nor holds a bulkhead slot
+        return HIGHEST_PRECEDENCE + 2;
+    }
+
+    /**
+     * Checks if the limiter limits anything
+     * 
+     * @return true if rate.limit is set
+     */
+    public boolean isLimited() {
+        return minIntervalNanos > 0;
+    }
+
+    /**
+     * Checks if the filter rejects calls over the limit instead of waiting
+     * 
+     * @return true with rate.mode=fail
+     */
+    public boolean isFailFast() {
+        return failFast;
+    }
+
+    /**
+     * Takes a token, waiting until one is free
+     */
+    public void acquire() {
+        while (true) {
+            Throttle before = throttle.get();
+            long wait = reserve(false);
+            if (wait <= 0) {
+                return;
+            }
+            try {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for the rate limit of service '"
+                    + serviceName + "'", e);
+            }
+            if (!throttledSince(before)) {
+                return;
+            }
+            permits.decrement();
+        }
+    }
+
+    /**
+     * Takes a token if one is free now
+     * 
+     * @return true if a token was taken
+     */
+    public boolean tryAcquire() {
+        return reserve(true) >= 0;
+    }
+
+    /**
+     * Takes a token without blocking the calling thread
+     * 
+     * @return Future completed when the token is free
+     */
+    public CompletableFuture<Void> acquireAsync() {
+        Throttle before = throttle.get();
+        long wait = reserve(false);
+        if (wait <= 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return CompletableFuture.runAsync(() -> { }, CompletableFuture.delayedExecutor(wait, TimeUnit.NANOSECONDS))
+            .thenCompose(ignored -> {
+                if (!throttledSince(before)) {
+                    return CompletableFuture.completedFuture(null);
+                }
+                permits.decrement();
+                return acquireAsync();
+            });
+    }
+
+    /**
+     * Runs a call whose token was already taken with {@link #acquireAsync()}
+     * The first request the call sends on this thread takes no further token
+     * 
+     * @param call The call to run
+     * @return The call result
+     */
+    public <T> T withPermit(Supplier<T> call) {
+        prepaid.set(true);
+        try {
+            return call.get();
+        } finally {
+            prepaid.remove();
+        }
+    }
+
+    /**
+     * Gets a snapshot of the limiter statistics
+     * 
+     * @return Current limiter statistics
+     */
+    public Stats getStats() {
+        return new Stats(permitsPerSecond, isLimited() ? currentRate(System.nanoTime()) : 0.0,
+            permits.sum(), TimeUnit.NANOSECONDS.toMillis(waitedNanos.sum()), rejected.sum(), throttled.sum());
+    }
+
+    /**
+     * Takes the next token
+     * 
+     * @param failFast Whether to give up if the token is not free now
+     * @return Nanoseconds until the token is free (0 if it is), or -1 if failFast gave up
+     */
+    private long reserve(boolean failFast) {
+        if (!isLimited()) {
+            return 0;
+        }
+        long now = System.nanoTime();
+        long interval = throttle.get() == null ? minIntervalNanos : (long) (NANOS_PER_SECOND / currentRate(now));
+        while (true) {
+            long next = nextFreeNanos.get();
+            // An idle bucket holds at most burst tokens
+            long start = Math.max(next, now - (burst - 1) * interval);
+            long wait = start - now;
+            if (wait > 0 && failFast) {
+                rejected.increment();
+                return -1;
+            }
+            if (nextFreeNanos.compareAndSet(next, start + interval)) {
+                permits.increment();
+                if (wait > 0) {
+                    waitedNanos.add(wait);
+                    return wait;
+                }
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Checks if the rate was lowered by a 429 while a caller waited for its token
+     * Such callers take a new token, so they wait for Retry-After and the lower rate as well
+     */
+    private boolean throttledSince(Throttle before) {
+        Throttle current = throttle.get();
+        return current != null && current != before;
+    }
+
+    /**
+     * Pauses the limiter until Retry-After and lowers the rate
+     */
+    private void onThrottled(String retryAfter) {
+        throttled.increment();
+        long now = System.nanoTime();
+        long resumeNanos = now + parseRetryAfter(retryAfter);
+        Throttle last = throttle.get();
+        if (last != null && now - last.sinceNanos() < NANOS_PER_SECOND) {
+            // Part of the same burst of 429s - the rate is lowered already
+            nextFreeNanos.accumulateAndGet(resumeNanos, Math::max);
+            return;
+        }
+        double rate = Math.max(permitsPerSecond / 10, currentRate(now) * THROTTLE_FACTOR);
+        if (throttle.compareAndSet(last, new Throttle(rate, now))) {
+            // Waiting callers take new tokens (see throttledSince), so their reservations are dropped
+            nextFreeNanos.set(resumeNanos);
+            logger.warn("Service '{}' answered 429 Too Many Requests (Retry-After: {}), limiting to {} requests/s",
+                serviceName, retryAfter, String.format("%.1f", rate));
+        } else {
+            nextFreeNanos.accumulateAndGet(resumeNanos, Math::max);
+        }
+    }
+
+    /**
+     * Gets the rate currently allowed: the rate set by the last 429, raised linearly back to rate.limit
+     */
+    private double currentRate(long now) {
+        Throttle last = throttle.get();
+        if (last == null) {
+            return permitsPerSecond;
+        }
+        double rate = last.rate() + permitsPerSecond * RECOVERY_PER_SECOND * (now - last.sinceNanos()) / NANOS_PER_SECOND;
+        if (rate >= permitsPerSecond) {
+            throttle.compareAndSet(last, null);
+            return permitsPerSecond;
+        }
+        return rate;
+    }
+
+    /**
+     * Parses a Retry-After value: delay in seconds or an HTTP date
+     * 
+     * @param retryAfter The header value, may be null
+     * @return The delay in nanoseconds, or 0 if absent, invalid or in the past
+     */
+    public static long parseRetryAfter(String retryAfter) {
+        if (retryAfter == null || retryAfter.isBlank()) {
+            return 0;
+        }
+        String value = retryAfter.trim();
+        try {
+            return TimeUnit.SECONDS.toNanos(Math.max(0, Long.parseLong(value)));
+        } catch (NumberFormatException e) {
+            // Not delta-seconds, try an HTTP date below
+        }
+        try {
+            ZonedDateTime until = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME);
+            return Math.max(0, Duration.between(ZonedDateTime.now(until.getZone()), until).toNanos());
+        } catch (DateTimeParseException e) {
+            logger.debug("Ignoring invalid Retry-After header: {}", value);
+            return 0;
+        }
+    }
+
+    private record Throttle(double rate, long sinceNanos) {
+    }
+
+    /**
+     * Snapshot of rate limiter statistics
+     * 
+     * @param limit Configured requests per second
+     * @param currentRate Requests per second currently allowed (lower than limit after 429 responses)
+     * @param permits Tokens handed out
+     * @param waitedMillis Total time callers waited for tokens
+     * @param rejected Calls rejected in fail-fast mode
+     * @param throttled 429 responses received
+     */
+    public record Stats(double limit, double currentRate, long permits, long waitedMillis, long rejected, long throttled) {
+    }
+}
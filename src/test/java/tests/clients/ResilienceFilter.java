@@ -0,0 +1,335 @@
+package tests.clients;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import tests.metrics.EndpointMetrics;
+import tests.utils.ServiceConfig;
+
+/**
+ * Retries and hedged requests for the requests of a single service, applied as a RestAssured filter
+ * 
+ * Retries: idempotent requests (GET, HEAD, OPTIONS, PUT, DELETE) that fail with an I/O error
+ * or a 500, 502, 503 or 504 response are sent again, up to retry.maxAttempts attempts in total.
+ * Attempts are spaced by exponential backoff with full jitter: a random delay between zero and
+ * min(retry.maxDelayMs, retry.baseDelayMs * 2^n), so clients failing together do not retry together.
+ * 
+ * Hedged requests: with hedge=true, a GET that has not been answered after the endpoint's
+ * observed p95 latency (see {@link EndpointMetrics}) is sent a second time, and whichever
+ * response arrives first is used. Until hedge.minSamples exchanges have been recorded,
+ * hedge.delayMs is used instead of the p95. The slower attempt is left to finish in the
+ * background, so its connection is released normally. A hedged request needs a free
+ * {@link Bulkhead} slot and connection permit of its own; when either is taken, no hedge
+ * is sent and the call waits for the original request.
+ * 
+ * Every retry and hedged request is paid from the service's {@link RetryBudget}
+ * (retry.budget.ratio, retry.budget.minPerSecond); when it is used up, the last
+ * response or failure is returned as is.
+ * 
+ * Runs right before the connection permits and the transport: authentication, caching, latency
+ * recording and logging see one exchange with its final response. The first attempt goes down
+ * the filter chain (on a virtual thread when it may be hedged, so the caller can take whichever
+ * response comes first); further attempts are sent with {@link Transport#send} and take a
+ * connection permit each, so no permit is held during backoff. POST and PATCH requests and
+ * streamed responses are passed through unchanged.
+ * 
+ * Configured per service with service.<name>.retry.* and service.<name>.hedge.*,
+ * see {@link ClientFactory#getResilienceFilter(String)}.
+ */
+public class ResilienceFilter implements OrderedFilter {
+    private static final Logger logger = LoggerFactory.getLogger(ResilienceFilter.class);
+
+    private static final Set<String> IDEMPOTENT_METHODS = Set.of("GET", "HEAD", "OPTIONS", "PUT", "DELETE");
+    private static final Set<Integer> RETRYABLE_STATUSES = Set.of(500, 502, 503, 504);
+
+    // How long a computed hedge delay is used before the endpoint's p95 is read again
+    private static final long HEDGE_DELAY_REFRESH_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    // Hedged attempts block on the network, one virtual thread each
+    private static final ExecutorService attempts = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final String serviceName;
+    private final Transport transport;
+    private final ConnectionPool connectionPool;
+    private final Bulkhead bulkhead;
+    private final int maxAttempts;
+    private final long baseDelayNanos;
+    private final long maxDelayNanos;
+    private final boolean hedging;
+    private final long hedgeDelayNanos;
+    private final int hedgeMinSamples;
+    private final RetryBudget budget;
+    private final Map<String, HedgeDelay> hedgeDelays = new ConcurrentHashMap<>();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder hedges = new LongAdder();
+    private final LongAdder hedgeWins = new LongAdder();
+
+    /**
+     * Creates the filter of a service
+     * 
+     * @param config The configuration of the service
+     * @param transport The transport further attempts are sent with
+     * @param connectionPool The pool further attempts take a connection permit from
+     * @param bulkhead The bulkhead hedged requests take a slot from
+     */
+    public ResilienceFilter(ServiceConfig config, Transport transport, ConnectionPool connectionPool, Bulkhead bulkhead) {
+        this.serviceName = config.name();
+        this.transport = transport;
+        this.connectionPool = connectionPool;
+        this.bulkhead = bulkhead;
+        this.maxAttempts = Math.max(1, Integer.parseInt(config.get("retry.maxAttempts", "1")));
+        this.baseDelayNanos = TimeUnit.MILLISECONDS.toNanos(Long.parseLong(config.get("retry.baseDelayMs", "50")));
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(Long.parseLong(config.get("retry.maxDelayMs", "1000")));
+        this.hedging = Boolean.parseBoolean(config.get("hedge", "false"));
+        this.hedgeDelayNanos = TimeUnit.MILLISECONDS.toNanos(Long.parseLong(config.get("hedge.delayMs", "50")));
+        this.hedgeMinSamples = Integer.parseInt(config.get("hedge.minSamples", "20"));
+        this.budget = new RetryBudget(
+            Double.parseDouble(config.get("retry.budget.ratio", "0.1")),
+            Double.parseDouble(config.get("retry.budget.minPerSecond", "10")));
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        budget.onRequest();
+        if (!IDEMPOTENT_METHODS.contains(requestSpec.getMethod()) || StreamedResponses.isActive()
+                || (maxAttempts == 1 && !hedging)) {
+            return ctx.next(requestSpec, responseSpec);
+        }
+        boolean hedged = hedging && "GET".equals(requestSpec.getMethod());
+        for (int attempt = 1; ; attempt++) {
+            Supplier<Response> send = attempt == 1
+                ? () -> ctx.next(requestSpec, responseSpec)
+                : () -> sendAgain(requestSpec);
+            Response response;
+            try {
+                response = hedged ? sendHedged(requestSpec, send) : send.get();
+            } catch (Exception e) {
+                // RestAssured rethrows I/O errors without wrapping them
+                if (!isTransient(e) || !retry(requestSpec, attempt, e.toString())) {
+                    throw e;
+                }
+                continue;
+            }
+            if (!RETRYABLE_STATUSES.contains(response.getStatusCode())
+                    || !retry(requestSpec, attempt, "status " + response.getStatusCode())) {
+                return response;
+            }
+            discard(response);
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        // Right before connection permits and the transport, after logging and latency recording
+        return LOWEST_PRECEDENCE - 2;
+    }
+
+    /**
+     * Gets a snapshot of the retry and hedging statistics
+     * 
+     * @return Current statistics
+     */
+    public Stats getStats() {
+        return new Stats(retries.sum(), hedges.sum(), hedgeWins.sum(), budget.getRejected());
+    }
+
+    /**
+     * Waits before the next attempt if attempts and budget are left
+     * 
+     * @return true if the request should be sent again
+     */
+    private boolean retry(FilterableRequestSpecification requestSpec, int attempt, String reason) {
+        if (attempt >= maxAttempts || !budget.tryAcquire()) {
+            return false;
+        }
+        retries.increment();
+        long ceiling = Math.min(maxDelayNanos, baseDelayNanos << Math.min(attempt - 1, 30));
+        long delay = ceiling > 0 ? ThreadLocalRandom.current().nextLong(ceiling) : 0;
+        logger.debug("Retrying {} {} of service '{}' in {} ms after {}", requestSpec.getMethod(),
+            requestSpec.getUserDefinedPath(), serviceName, TimeUnit.NANOSECONDS.toMillis(delay), reason);
+        try {
+            TimeUnit.NANOSECONDS.sleep(delay);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Sends a request outside the filter chain, holding a connection permit until the response arrives
+     */
+    private Response sendAgain(FilterableRequestSpecification requestSpec) {
+        connectionPool.acquirePermit();
+        try {
+            return ConnectionPool.consumed(transport.send(requestSpec));
+        } finally {
+            connectionPool.releasePermit();
+        }
+    }
+
+    /**
+     * Sends a GET, and a second one if the first is slower than the hedge delay
+     * 
+     * @param send Sends the first request
+     * @return The first response that is not retryable, or the last one if both are
+     */
+    private Response sendHedged(FilterableRequestSpecification requestSpec, Supplier<Response> send) {
+        CompletableFuture<Response> primary = CompletableFuture.supplyAsync(send, attempts);
+        try {
+            return primary.get(hedgeDelay(requestSpec), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // Slower than usual - hedge below
+        } catch (ExecutionException e) {
+            throw rethrow(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            primary.cancel(false);
+            throw new IllegalStateException("Interrupted while waiting for " + requestSpec.getURI(), e);
+        }
+        if (!bulkhead.tryAcquire()) {
+            logger.debug("Not hedging GET {} of service '{}': bulkhead full", requestSpec.getUserDefinedPath(), serviceName);
+            return join(primary);
+        }
+        if (!connectionPool.tryAcquirePermit()) {
+            bulkhead.release();
+            logger.debug("Not hedging GET {} of service '{}': no free connection", requestSpec.getUserDefinedPath(), serviceName);
+            return join(primary);
+        }
+        if (!budget.tryAcquire()) {
+            connectionPool.releasePermit();
+            bulkhead.release();
+            return join(primary);
+        }
+        hedges.increment();
+        CompletableFuture<Response> hedge = CompletableFuture.supplyAsync(() -> {
+            try {
+                return ConnectionPool.consumed(transport.send(requestSpec));
+            } finally {
+                connectionPool.releasePermit();
+                bulkhead.release();
+            }
+        }, attempts);
+
+        CompletableFuture<Response> first = new CompletableFuture<>();
+        AtomicInteger pending = new AtomicInteger(2);
+        primary.whenComplete((response, failure) -> complete(first, pending, response, failure, false));
+        hedge.whenComplete((response, failure) -> complete(first, pending, response, failure, true));
+        return join(first);
+    }
+
+    private void complete(CompletableFuture<Response> first, AtomicInteger pending,
+                          Response response, Throwable failure, boolean isHedge) {
+        boolean used = false;
+        if (failure == null && !RETRYABLE_STATUSES.contains(response.getStatusCode())) {
+            used = first.complete(response);
+            if (used && isHedge) {
+                hedgeWins.increment();
+            }
+        } else if (pending.decrementAndGet() == 0) {
+            // Both attempts failed - report the one that finished last
+            used = failure != null ? first.completeExceptionally(failure) : first.complete(response);
+        }
+        if (!used && response != null) {
+            discard(response);
+        }
+    }
+
+    /**
+     * Gets the delay after which a GET is hedged: the endpoint's p95, read at most once a second
+     */
+    private long hedgeDelay(FilterableRequestSpecification requestSpec) {
+        String endpoint = "GET " + EndpointMetrics.toTemplate(requestSpec.getUserDefinedPath());
+        long now = System.nanoTime();
+        HedgeDelay cached = hedgeDelays.get(endpoint);
+        if (cached != null && now - cached.computedNanos() < HEDGE_DELAY_REFRESH_NANOS) {
+            return cached.delayNanos();
+        }
+        EndpointMetrics.EndpointStats stats = EndpointMetrics.getStats(serviceName, endpoint);
+        long delay = stats.count() >= hedgeMinSamples
+            ? (long) (stats.percentileMillis(95) * 1_000_000)
+            : hedgeDelayNanos;
+        hedgeDelays.put(endpoint, new HedgeDelay(delay, now));
+        return delay;
+    }
+
+    /**
+     * Reads the body of a response that is not returned, so that its connection goes back to the pool
+     * RestAssured reads response bodies lazily
+     */
+    private static void discard(Response response) {
+        try {
+            response.asByteArray();
+        } catch (RuntimeException e) {
+            logger.debug("Failed to read discarded response: {}", e.toString());
+        }
+    }
+
+    private static Response join(CompletableFuture<Response> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw rethrow(e.getCause());
+        }
+    }
+
+    private static RuntimeException rethrow(Throwable failure) {
+        if (failure instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        }
+        if (failure instanceof Error error) {
+            throw error;
+        }
+        if (failure instanceof IOException ioException) {
+            throw new UncheckedIOException(ioException);
+        }
+        throw new IllegalStateException(failure);
+    }
+
+    private static boolean isTransient(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof IOException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private record HedgeDelay(long delayNanos, long computedNanos) {
+    }
+
+    /**
+     * Snapshot of retry and hedging statistics
+     * 
+     * @param retries Requests sent again after a failure
+     * @param hedges Hedged requests sent
+     * @param hedgeWins Hedged requests that answered before the original request
+     * @param budgetRejections Retries and hedges refused by the retry budget
+     */
+    public record Stats(long retries, long hedges, long hedgeWins, long budgetRejections) {
+    }
+}
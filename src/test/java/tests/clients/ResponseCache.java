@@ -0,0 +1,384 @@
+package tests.clients;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * Size-bounded LRU cache for GET responses of a single service, applied as a RestAssured filter
+ *
+ * Follows HTTP caching rules for a private client cache:
+ * - Responses are fresh for Cache-Control max-age (minus Age) or until Expires
+ * - Fresh responses are served without a request
+ * - Stale responses with an ETag or Last-Modified are revalidated with If-None-Match /
+ *   If-Modified-Since; a 304 answer refreshes the entry and serves the cached body
+ * - no-store responses are never stored; no-cache responses are always revalidated
+ * - Only 200 responses are stored; responses without freshness or validators are not
+ * - Responses with Vary are only served to requests that send the same values for the headers
+ *   it names; Vary: * responses are never stored
+ * - Streamed responses bypass the cache
+ *
+ * Entries hold the status line, headers and body bytes rather than Response objects, so the
+ * memory used is known and bounded by maxBytes. Requests with different Authorization
+ * headers are cached separately. Otherwise one response is kept per URI: a request that
+ * does not match the Vary headers of the cached response is sent on, and its response
+ * replaces the cached one.
+ *
+ * Enabled per service with service.<name>.cache=true, see {@link ClientFactory#getResponseCache(String)}.
+ */
+public class ResponseCache implements OrderedFilter {
+    // Rough per-entry overhead (key, entry object, header objects) added to the byte count
+    private static final int ENTRY_OVERHEAD_BYTES = 256;
+
+    private final String serviceName;
+    private final int maxEntries;
+    private final long maxBytes;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder revalidations = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Creates a response cache
+     *
+     * @param serviceName The name of the service
+     * @param maxEntries Maximum number of cached responses
+     * @param maxBytes Maximum total size of cached bodies and headers
+     */
+    public ResponseCache(String serviceName, int maxEntries, long maxBytes) {
+        this.serviceName = serviceName;
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        if (!"GET".equals(requestSpec.getMethod()) || StreamedResponses.isActive()) {
+            return ctx.next(requestSpec, responseSpec);
+        }
+        String key = requestSpec.getURI() + "\n" + requestSpec.getHeaders().getValue("Authorization");
+        // Taken before validators are added, and before filters further down add headers of their own
+        Headers requestHeaders = requestSpec.getHeaders();
+        Entry entry = get(key);
+        if (entry != null && !entry.matches(requestHeaders)) {
+            entry = null;
+        }
+
+        if (entry != null && entry.isFresh()) {
+            hits.increment();
+            return entry.toResponse();
+        }
+        if (entry != null && entry.etag != null) {
+            requestSpec.replaceHeader("If-None-Match", entry.etag);
+        }
+        if (entry != null && entry.lastModified != null) {
+            requestSpec.replaceHeader("If-Modified-Since", entry.lastModified);
+        }
+
+        Response response = ctx.next(requestSpec, responseSpec);
+        if (entry != null && response.getStatusCode() == 304) {
+            revalidations.increment();
+            Entry refreshed = entry.revalidated(response);
+            put(key, refreshed);
+            return refreshed.toResponse();
+        }
+
+        misses.increment();
+        if (response.getStatusCode() == 200) {
+            Entry created = Entry.from(response, requestHeaders);
+            if (created != null) {
+                put(key, created);
+            } else {
+                remove(key);
+            }
+        }
+        return response;
+    }
+
+    @Override
+    public int getOrder() {
+        // Right after authentication, so the Authorization header is part of the key
+        // and cache hits skip latency recording, connection permits and logging
+        return HIGHEST_PRECEDENCE + 1;
+    }
+
+    /**
+     * Removes all cached responses
+     */
+    public synchronized void clear() {
+        entries.clear();
+        bytes = 0;
+    }
+
+    /**
+     * Gets a snapshot of the cache statistics
+     *
+     * @return Current cache statistics
+     */
+    public synchronized Stats getStats() {
+        return new Stats(hits.sum(), misses.sum(), revalidations.sum(), evictions.sum(), entries.size(), bytes);
+    }
+
+    /**
+     * Gets the service name this cache belongs to
+     *
+     * @return The service name
+     */
+    public String getServiceName() {
+        return serviceName;
+    }
+
+    private synchronized Entry get(String key) {
+        return entries.get(key);
+    }
+
+    private synchronized void put(String key, Entry entry) {
+        if (entry.size > maxBytes) {
+            remove(key);
+            return;
+        }
+        Entry previous = entries.put(key, entry);
+        bytes += entry.size - (previous != null ? previous.size : 0);
+        Iterator<Entry> eldest = entries.values().iterator();
+        while ((entries.size() > maxEntries || bytes > maxBytes) && eldest.hasNext()) {
+            bytes -= eldest.next().size;
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+
+    private synchronized void remove(String key) {
+        Entry removed = entries.remove(key);
+        if (removed != null) {
+            bytes -= removed.size;
+        }
+    }
+
+    /**
+     * A stored response
+     */
+    private static final class Entry {
+        private final String statusLine;
+        private final List<Header> headers;
+        private final String contentType;
+        private final byte[] body;
+        private final String etag;
+        private final String lastModified;
+        private final boolean noCache;
+        private final long expiresAtNanos;
+        // Request header values the response varies on, by lower-case header name
+        private final Map<String, List<String>> varyValues;
+        private final long size;
+
+        private Entry(String statusLine, List<Header> headers, String contentType, byte[] body,
+                      Freshness freshness, Map<String, List<String>> varyValues) {
+            this.statusLine = statusLine;
+            this.headers = headers;
+            this.contentType = contentType;
+            this.body = body;
+            this.varyValues = varyValues;
+            this.etag = value(headers, "ETag");
+            this.lastModified = value(headers, "Last-Modified");
+            this.noCache = freshness.noCache();
+            this.expiresAtNanos = System.nanoTime() + freshness.lifetime().toNanos();
+            long headerBytes = 0;
+            for (Header header : headers) {
+                headerBytes += 2L * (header.getName().length() + header.getValue().length());
+            }
+            this.size = body.length + headerBytes + ENTRY_OVERHEAD_BYTES;
+        }
+
+        /**
+         * Creates an entry from a 200 response
+         *
+         * @param requestHeaders Headers of the request, for the values named by Vary
+         * @return The entry, or null if the response must not or cannot usefully be stored
+         */
+        static Entry from(Response response, Headers requestHeaders) {
+            Freshness freshness = Freshness.of(response.getHeaders());
+            if (freshness == null) {
+                return null;
+            }
+            Map<String, List<String>> varyValues = new LinkedHashMap<>();
+            for (String vary : response.getHeaders().getValues("Vary")) {
+                for (String name : vary.split(",")) {
+                    String header = name.trim().toLowerCase(Locale.ROOT);
+                    if (header.equals("*")) {
+                        // Varies on something other than request headers
+                        return null;
+                    }
+                    if (!header.isEmpty()) {
+                        varyValues.put(header, requestHeaders.getValues(header));
+                    }
+                }
+            }
+            List<Header> headers = new ArrayList<>(response.getHeaders().asList());
+            boolean hasValidator = value(headers, "ETag") != null || value(headers, "Last-Modified") != null;
+            if (freshness.lifetime().isZero() && !hasValidator) {
+                return null;
+            }
+            return new Entry(response.getStatusLine(), headers, response.getContentType(),
+                response.asByteArray(), freshness, varyValues);
+        }
+
+        /**
+         * Creates the refreshed entry after a 304, taking updated headers from it
+         */
+        Entry revalidated(Response notModified) {
+            Map<String, Header> updates = new LinkedHashMap<>();
+            for (Header header : notModified.getHeaders()) {
+                updates.put(header.getName().toLowerCase(Locale.ROOT), header);
+            }
+            List<Header> merged = new ArrayList<>(headers.size());
+            for (Header header : headers) {
+                Header update = updates.remove(header.getName().toLowerCase(Locale.ROOT));
+                merged.add(update != null ? update : header);
+            }
+            Freshness freshness = Freshness.of(new Headers(merged));
+            return new Entry(statusLine, merged, contentType, body,
+                freshness != null ? freshness : new Freshness(Duration.ZERO, true), varyValues);
+        }
+
+        /**
+         * Checks if a request sends the same values for the headers the response varies on
+         */
+        boolean matches(Headers requestHeaders) {
+            for (Map.Entry<String, List<String>> vary : varyValues.entrySet()) {
+                if (!vary.getValue().equals(requestHeaders.getValues(vary.getKey()))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        boolean isFresh() {
+            return !noCache && System.nanoTime() - expiresAtNanos < 0;
+        }
+
+        Response toResponse() {
+            return new ResponseBuilder()
+                .setStatusCode(200)
+                .setStatusLine(statusLine)
+                .setHeaders(new Headers(headers))
+                .setContentType(contentType)
+                .setBody(body)
+                .build();
+        }
+
+        private static String value(List<Header> headers, String name) {
+            for (Header header : headers) {
+                if (header.getName().equalsIgnoreCase(name)) {
+                    return header.getValue();
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * How long a response may be served without revalidation
+     *
+     * @param lifetime Remaining freshness lifetime
+     * @param noCache Whether every use must be revalidated
+     */
+    private record Freshness(Duration lifetime, boolean noCache) {
+
+        /**
+         * Reads the freshness of a response from its headers
+         *
+         * @return The freshness, or null if the response must not be stored (no-store)
+         */
+        static Freshness of(Headers headers) {
+            String cacheControl = headers.getValue("Cache-Control");
+            boolean noCache = false;
+            Long maxAge = null;
+            if (cacheControl != null) {
+                for (String directive : cacheControl.toLowerCase(Locale.ROOT).split(",")) {
+                    String d = directive.trim();
+                    if (d.equals("no-store")) {
+                        return null;
+                    } else if (d.equals("no-cache")) {
+                        noCache = true;
+                    } else if (d.startsWith("max-age=")) {
+                        maxAge = parseSeconds(d.substring("max-age=".length()));
+                    }
+                }
+            }
+            Duration lifetime = Duration.ZERO;
+            if (maxAge != null) {
+                String age = headers.getValue("Age");
+                Long ageSeconds = age != null ? parseSeconds(age.trim()) : null;
+                lifetime = Duration.ofSeconds(Math.max(0, maxAge - (ageSeconds != null ? ageSeconds : 0)));
+            } else if (headers.hasHeaderWithName("Expires")) {
+                lifetime = untilExpires(headers.getValue("Expires"), headers.getValue("Date"));
+            }
+            return new Freshness(lifetime, noCache);
+        }
+
+        private static Long parseSeconds(String value) {
+            try {
+                return Long.parseLong(value.replace("\"", ""));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+
+        private static Duration untilExpires(String expires, String date) {
+            try {
+                ZonedDateTime expiresAt = ZonedDateTime.parse(expires, DateTimeFormatter.RFC_1123_DATE_TIME);
+                ZonedDateTime now = date != null
+                    ? ZonedDateTime.parse(date, DateTimeFormatter.RFC_1123_DATE_TIME)
+                    : ZonedDateTime.now();
+                Duration lifetime = Duration.between(now, expiresAt);
+                return lifetime.isNegative() ? Duration.ZERO : lifetime;
+            } catch (DateTimeParseException e) {
+                // Invalid Expires values mean "already expired"
+                return Duration.ZERO;
+            }
+        }
+    }
+
+    /**
+     * Snapshot of response cache statistics
+     *
+     * @param hits Requests served from the cache without contacting the service
+     * @param misses Requests that were sent to the service and not answered with 304
+     * @param revalidations Stale entries confirmed by the service with 304 Not Modified
+     * @param evictions Entries removed to stay within the size limits
+     * @param entries Number of cached responses
+     * @param bytes Approximate memory held by cached responses
+     */
+    public record Stats(long hits, long misses, long revalidations, long evictions, int entries, long bytes) {
+
+        /**
+         * Gets the share of requests answered without transferring the body again
+         *
+         * @return Ratio of hits and revalidations to all requests, between 0.0 and 1.0
+         */
+        public double hitRatio() {
+            long total = hits + misses + revalidations;
+            return total == 0 ? 0.0 : (double) (hits + revalidations) / total;
+        }
+    }
+}
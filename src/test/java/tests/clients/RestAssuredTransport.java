@@ -0,0 +1,90 @@
+package tests.clients;
+
+import static io.restassured.RestAssured.given;
+
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.filter.FilterContext;
+import io.restassured.http.Header;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import tests.utils.ServiceConfig;
+
+/**
+ * Default transport: RestAssured's blocking HTTP/1.1 stack
+ * 
+ * Requests are sent by RestAssured over the service's pooled Apache HttpClient
+ * (see {@link ConnectionPool}), one keep-alive connection per in-flight request.
+ * Requests sent again with {@link #send(FilterableRequestSpecification)} are copied into a new
+ * RestAssured request on the same pool.
+ */
+public class RestAssuredTransport implements Transport {
+    static final String NAME = "restassured";
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        return ctx.next(requestSpec, responseSpec);
+    }
+
+    @Override
+    public Response send(FilterableRequestSpecification requestSpec) {
+        return sendAgain(requestSpec);
+    }
+
+    /**
+     * Sends a copy of a request as a new RestAssured request without filters
+     * The copy uses the same configuration, so it goes through the same connection pool.
+     * Multipart requests cannot be copied.
+     * 
+     * @param requestSpec The request to copy
+     * @return The response
+     */
+    static Response sendAgain(FilterableRequestSpecification requestSpec) {
+        if (!requestSpec.getMultiPartParams().isEmpty()) {
+            throw new UnsupportedOperationException("Multipart requests cannot be sent again");
+        }
+        RequestSpecBuilder builder = new RequestSpecBuilder()
+            .setConfig(requestSpec.getConfig())
+            // The URI is already encoded
+            .setUrlEncodingEnabled(false)
+            .setAuth(requestSpec.getAuthenticationScheme())
+            .addCookies(requestSpec.getCookies())
+            .addFormParams(requestSpec.getFormParams());
+        for (Header header : requestSpec.getHeaders()) {
+            builder.addHeader(header.getName(), header.getValue());
+        }
+        if (requestSpec.getProxySpecification() != null) {
+            builder.setProxy(requestSpec.getProxySpecification());
+        }
+        // The body of a form request is encoded from its parameters again
+        Object body = requestSpec.getFormParams().isEmpty() ? requestSpec.getBody() : null;
+        if (body instanceof byte[] bytes) {
+            builder.setBody(bytes);
+        } else if (body != null) {
+            builder.setBody(body.toString());
+        }
+        return given(builder.build()).request(requestSpec.getMethod(), requestSpec.getURI());
+    }
+
+    /**
+     * Registers this transport with ClientFactory (see META-INF/services/tests.clients.TransportProvider)
+     */
+    public static class Provider implements TransportProvider {
+        @Override
+        public String name() {
+            return NAME;
+        }
+
+        @Override
+        public Transport create(ServiceConfig config) {
+            return new RestAssuredTransport();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package tests.clients;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limits the retries of a service to a share of its requests
+ * 
+ * Every request deposits ratio tokens and every retry (or hedged request) withdraws one, so
+ * with a ratio of 0.1 retries add at most 10% to the load on the service - during an outage,
+ * when every request fails, they cannot multiply the traffic. minPerSecond tokens are added
+ * over time as well, so services with little traffic can still retry. The balance is capped
+ * at ten seconds of the minimum rate, so a quiet period does not save up a retry storm.
+ * 
+ * Thread-safe; shared by all requests of a service.
+ */
+public class RetryBudget {
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final double ratio;
+    private final double minPerSecond;
+    private final double maxBalance;
+    private final LongAdder rejected = new LongAdder();
+    private double balance;
+    private long lastRefillNanos = System.nanoTime();
+
+    /**
+     * Creates a budget
+     * 
+     * @param ratio Retries allowed per request (e.g. 0.1)
+     * @param minPerSecond Retries allowed per second regardless of the request count
+     */
+    public RetryBudget(double ratio, double minPerSecond) {
+        if (ratio < 0 || minPerSecond < 0) {
+            throw new IllegalArgumentException("Retry budget must not be negative: " + ratio + ", " + minPerSecond);
+        }
+        this.ratio = ratio;
+        this.minPerSecond = minPerSecond;
+        this.maxBalance = Math.max(1.0, 10 * minPerSecond);
+        this.balance = maxBalance;
+    }
+
+    /**
+     * Deposits the share of a request
+     */
+    public synchronized void onRequest() {
+        balance = Math.min(maxBalance, balance + ratio);
+    }
+
+    /**
+     * Withdraws one retry if the budget allows it
+     * 
+     * @return true if the retry may be sent
+     */
+    public boolean tryAcquire() {
+        synchronized (this) {
+            long now = System.nanoTime();
+            balance = Math.min(maxBalance, balance + (now - lastRefillNanos) * minPerSecond / NANOS_PER_SECOND);
+            lastRefillNanos = now;
+            if (balance >= 1.0) {
+                balance -= 1.0;
+                return true;
+            }
+        }
+        rejected.increment();
+        return false;
+    }
+
+    /**
+     * Gets the number of retries the budget refused
+     * 
+     * @return The rejection count
+     */
+    public long getRejected() {
+        return rejected.sum();
+    }
+}
@@ -0,0 +1,44 @@
+package tests.clients;
+
+import java.util.function.Supplier;
+
+import io.restassured.response.Response;
+
+/**
+ * Marks requests whose response body is streamed to the caller instead of being read by RestAssured
+ * 
+ * Filters check {@link #isActive()} and leave the body untouched for such requests
+ * (logging prints headers only, the response cache does not store them), so the body
+ * is never buffered in memory.
+ */
+final class StreamedResponses {
+    private static final ThreadLocal<Boolean> active = ThreadLocal.withInitial(() -> false);
+
+    private StreamedResponses() {
+        // Static helper
+    }
+
+    /**
+     * Sends a request with streaming marked on the current thread
+     * 
+     * @param request Sends the request (filters run synchronously on this thread)
+     * @return The response, with the body not yet read
+     */
+    static Response send(Supplier<Response> request) {
+        active.set(true);
+        try {
+            return request.get();
+        } finally {
+            active.remove();
+        }
+    }
+
+    /**
+     * Checks if the request being filtered on this thread has a streamed response
+     * 
+     * @return true while {@link #send(Supplier)} is running on this thread
+     */
+    static boolean isActive() {
+        return active.get();
+    }
+}
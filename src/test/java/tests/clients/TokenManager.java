@@ -0,0 +1,243 @@
+package tests.clients;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.restassured.response.Response;
+
+/**
+ * Caches an access token and renews it before it expires
+ * 
+ * Tokens are obtained with a login call and renewed with the refresh token when the service
+ * issued one (falling back to a new login if the refresh fails). Renewal is single-flight:
+ * however many threads find the token missing or expired, only one of them calls the service
+ * and the others wait for its result. In addition, every token schedules a background refresh
+ * shortly before it expires, so callers normally never wait at all.
+ * 
+ * Usage:
+ * TokenManager tokens = TokenManager.forUserApi(userApiClient, "user", "secret",
+ *     Duration.ofMinutes(5), Duration.ofSeconds(30));
+ * String accessToken = tokens.getToken();
+ */
+public class TokenManager implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(TokenManager.class);
+
+    // Tokens this close to expiry are not handed out any more
+    private static final Duration EXPIRY_MARGIN = Duration.ofSeconds(5);
+
+    private static final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "token-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Supplier<Response> login;
+    private final Function<String, Response> refresh;
+    private final Duration defaultLifetime;
+    private final Duration refreshAhead;
+    private final AtomicReference<CompletableFuture<AuthToken>> inFlight = new AtomicReference<>();
+    private final LongAdder logins = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+    private volatile AuthToken current;
+    private ScheduledFuture<?> scheduledRefresh;
+    private boolean closed;
+
+    /**
+     * Creates a token manager
+     * 
+     * @param login Performs a login and returns the response containing the token
+     * @param refresh Exchanges a refresh token for a new token response
+     * @param defaultLifetime Token lifetime assumed when a response has no expiry
+     * @param refreshAhead How long before expiry the background refresh runs
+     */
+    public TokenManager(Supplier<Response> login, Function<String, Response> refresh,
+                        Duration defaultLifetime, Duration refreshAhead) {
+        this.login = login;
+        this.refresh = refresh;
+        this.defaultLifetime = defaultLifetime;
+        this.refreshAhead = refreshAhead;
+    }
+
+    /**
+     * Creates a token manager that authenticates through the User API
+     * 
+     * @param userApiClient The client used for /auth/login and /auth/refresh
+     * @param username The username
+     * @param password The password
+     * @param defaultLifetime Token lifetime assumed when a response has no expiry
+     * @param refreshAhead How long before expiry the background refresh runs
+     * @return The token manager
+     */
+    public static TokenManager forUserApi(UserApiClient userApiClient, String username, String password,
+                                          Duration defaultLifetime, Duration refreshAhead) {
+        return new TokenManager(() -> userApiClient.login(username, password), userApiClient::refreshToken,
+            defaultLifetime, refreshAhead);
+    }
+
+    /**
+     * Gets a valid access token, obtaining or renewing it if necessary
+     * 
+     * @return The access token
+     */
+    public String getToken() {
+        AuthToken token = current;
+        if (token != null && !token.expiresWithin(EXPIRY_MARGIN)) {
+            return token.accessToken();
+        }
+        try {
+            return renew(token).join().accessToken();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Renews the token, or joins the renewal another thread already started
+     * 
+     * @return Future completed with the new token
+     */
+    public CompletableFuture<AuthToken> renew() {
+        return renew(current);
+    }
+
+    /**
+     * Renews the token unless another renewal replaced the given one since it was read
+     * Callers that found the same expired token while a renewal was finishing then take its result
+     * instead of calling the service again.
+     * 
+     * @param seen The token the caller found (null if there was none)
+     * @return Future completed with the current token
+     */
+    private CompletableFuture<AuthToken> renew(AuthToken seen) {
+        while (true) {
+            CompletableFuture<AuthToken> existing = inFlight.get();
+            if (existing != null) {
+                return existing;
+            }
+            CompletableFuture<AuthToken> renewal = new CompletableFuture<>();
+            if (inFlight.compareAndSet(null, renewal)) {
+                try {
+                    AuthToken latest = current;
+                    if (latest != seen && latest != null && !latest.expiresWithin(EXPIRY_MARGIN)) {
+                        renewal.complete(latest);
+                        return renewal;
+                    }
+                    AuthToken token = obtain();
+                    current = token;
+                    scheduleRefresh(token);
+                    renewal.complete(token);
+                } catch (RuntimeException | AssertionError e) {
+                    renewal.completeExceptionally(e);
+                } finally {
+                    inFlight.set(null);
+                }
+                return renewal;
+            }
+        }
+    }
+
+    /**
+     * Discards the current token if it is the given one, e.g. after the service rejected it
+     * The next {@link #getToken()} call obtains a new token
+     * 
+     * @param accessToken The rejected access token
+     */
+    public void invalidate(String accessToken) {
+        AuthToken token = current;
+        if (token != null && token.accessToken().equals(accessToken)) {
+            current = null;
+            logger.info("Access token rejected by the service - it will be renewed on next use");
+        }
+    }
+
+    /**
+     * Gets the number of logins performed
+     * 
+     * @return Login count
+     */
+    public long getLoginCount() {
+        return logins.sum();
+    }
+
+    /**
+     * Gets the number of successful refresh-token exchanges
+     * 
+     * @return Refresh count
+     */
+    public long getRefreshCount() {
+        return refreshes.sum();
+    }
+
+    /**
+     * Stops the background refresh, including one scheduled by a renewal still in progress
+     * Tokens are still renewed on demand by {@link #getToken()}
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        if (scheduledRefresh != null) {
+            scheduledRefresh.cancel(false);
+            scheduledRefresh = null;
+        }
+    }
+
+    private AuthToken obtain() {
+        AuthToken token = current;
+        if (token != null && token.refreshToken() != null) {
+            try {
+                AuthToken refreshed = AuthToken.from(refresh.apply(token.refreshToken()), defaultLifetime);
+                if (refreshed.refreshToken() == null) {
+                    // The refresh token stays valid unless the service rotates it
+                    refreshed = new AuthToken(refreshed.accessToken(), token.refreshToken(), refreshed.expiresAt());
+                }
+                refreshes.increment();
+                logger.info("Access token refreshed, valid until {}", refreshed.expiresAt());
+                return refreshed;
+            } catch (RuntimeException | AssertionError e) {
+                logger.warn("Token refresh failed, logging in again: {}", e.getMessage());
+            }
+        }
+        AuthToken loggedIn = AuthToken.from(login.get(), defaultLifetime);
+        logins.increment();
+        logger.info("Logged in, access token valid until {}", loggedIn.expiresAt());
+        return loggedIn;
+    }
+
+    private synchronized void scheduleRefresh(AuthToken token) {
+        if (scheduledRefresh != null) {
+            scheduledRefresh.cancel(false);
+        }
+        if (closed) {
+            return;
+        }
+        Duration lifetime = Duration.between(Instant.now(), token.expiresAt());
+        // Short-lived tokens are refreshed halfway through their lifetime
+        Duration ahead = lifetime.compareTo(refreshAhead.multipliedBy(2)) < 0 ? lifetime.dividedBy(2) : refreshAhead;
+        scheduledRefresh = scheduler.schedule(() -> {
+            try {
+                renew(token).join();
+            } catch (RuntimeException e) {
+                logger.warn("Background token refresh failed: {}", e.getMessage());
+            }
+        }, Math.max(0, lifetime.minus(ahead).toMillis()), TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,53 @@
+package tests.clients;
+
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+
+/**
+ * Sends the HTTP requests of a service
+ * 
+ * A transport is the last filter of a client's request specification: all other filters
+ * (authentication, response cache, latency recording, connection permits, logging) run
+ * before it and see the response it returns, so client method signatures and filters do
+ * not depend on how the request goes over the wire. A transport either sends the request
+ * itself and builds the response, or hands it on with ctx.next() to RestAssured's own
+ * Apache HttpClient stack.
+ * 
+ * Transports are thread-safe and shared by all clients of a service. They are created
+ * through {@link TransportProvider} implementations and selected per service with
+ * service.<name>.transport, see {@link ClientFactory#getTransport(String)}.
+ */
+public interface Transport extends OrderedFilter {
+
+    /**
+     * Gets the name this transport is selected by
+     * 
+     * @return The transport name (e.g. "restassured" or "jdk")
+     */
+    String name();
+
+    /**
+     * Sends a request again, outside the filter chain
+     * RestAssured runs the filter chain of a request only once, so further attempts of the same
+     * request (retries and hedged requests, see {@link ResilienceFilter}) are sent through this
+     * method. Safe to call concurrently for the same request.
+     * 
+     * @param requestSpec The request as seen by the filters
+     * @return The response
+     */
+    Response send(FilterableRequestSpecification requestSpec);
+
+    @Override
+    default int getOrder() {
+        // After every other filter, right before RestAssured's own request sending
+        return LOWEST_PRECEDENCE;
+    }
+
+    /**
+     * Releases the connections held by this transport
+     */
+    default void close() {
+        // Nothing to release by default
+    }
+}
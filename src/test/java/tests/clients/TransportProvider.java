@@ -0,0 +1,36 @@
+package tests.clients;
+
+import tests.utils.ServiceConfig;
+
+/**
+ * Service provider interface for transports
+ * 
+ * ClientFactory discovers providers with {@link java.util.ServiceLoader}, so a new transport
+ * plugs in by implementing this interface and listing the implementation in
+ * META-INF/services/tests.clients.TransportProvider. Services select it by name with
+ * service.<name>.transport.
+ * 
+ * Example:
+ * public static class Provider implements TransportProvider {
+ *     public String name() { return "okhttp"; }
+ *     public Transport create(ServiceConfig config) { return new OkHttpTransport(config); }
+ * }
+ */
+public interface TransportProvider {
+
+    /**
+     * Gets the name services select the transport by
+     * 
+     * @return The transport name
+     */
+    String name();
+
+    /**
+     * Creates the transport of a service
+     * Called once per service until the factory's transports are shut down
+     * 
+     * @param config The configuration of the service
+     * @return The transport
+     */
+    Transport create(ServiceConfig config);
+}
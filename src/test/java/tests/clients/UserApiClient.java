@@ -1,5 +1,7 @@
 package tests.clients;
 
+import java.util.concurrent.CompletableFuture;
+
 import io.restassured.response.Response;
 import tests.utils.ConfigManager;
 
@@ -26,6 +28,26 @@ public class UserApiClient extends BaseApiClient {
         super(SERVICE_NAME, ConfigManager.getServiceBaseUrl(SERVICE_NAME));
     }
 
+    /**
+     * Registers this client with ClientFactory (see META-INF/services/tests.clients.ApiClientProvider)
+     */
+    public static class Provider implements ApiClientProvider {
+        @Override
+        public String serviceName() {
+            return SERVICE_NAME;
+        }
+
+        @Override
+        public Class<? extends BaseApiClient> clientType() {
+            return UserApiClient.class;
+        }
+
+        @Override
+        public BaseApiClient create() {
+            return new UserApiClient();
+        }
+    }
+
     // === Authentication endpoints ===
     
     /**
@@ -68,9 +90,9 @@ public class UserApiClient extends BaseApiClient {
      * @return Response containing the user profile
      */
     public Response getProfile() {
-        return customRequest()
+        return completeExchange(customRequest()
             .header("Authorization", "Bearer " + ConfigManager.getServiceAuthToken(SERVICE_NAME))
-            .get("/profile");
+            .get("/profile"));
     }
     
     /**
@@ -80,11 +102,9 @@ public class UserApiClient extends BaseApiClient {
      * @return Response containing the updated profile
      */
     public Response updateProfile(Object profileData) {
-        return customRequest()
+        return completeExchange(withBody(customRequest(), profileData)
             .header("Authorization", "Bearer " + ConfigManager.getServiceAuthToken(SERVICE_NAME))
-            .header("Content-Type", "application/json")
-            .body(profileData)
-            .put("/profile");
+            .put("/profile"));
     }
     
     // === Users endpoints ===
@@ -95,9 +115,9 @@ public class UserApiClient extends BaseApiClient {
      * @return Response containing all users
      */
     public Response getAllUsers() {
-        return customRequest()
+        return completeExchange(customRequest()
             .header("Authorization", "Bearer " + ConfigManager.getServiceAuthToken(SERVICE_NAME))
-            .get("/users");
+            .get("/users"));
     }
     
     /**
@@ -107,9 +127,9 @@ public class UserApiClient extends BaseApiClient {
      * @return Response containing the user
      */
     public Response getUser(int userId) {
-        return customRequest()
+        return completeExchange(customRequest()
             .header("Authorization", "Bearer " + ConfigManager.getServiceAuthToken(SERVICE_NAME))
-            .get("/users/" + userId);
+            .get("/users/" + userId));
     }
     
     /**
@@ -119,11 +139,9 @@ public class UserApiClient extends BaseApiClient {
      * @return Response containing the created user
      */
     public Response createUser(Object userData) {
-        return customRequest()
+        return completeExchange(withBody(customRequest(), userData)
             .header("Authorization", "Bearer " + ConfigManager.getServiceAuthToken(SERVICE_NAME))
-            .header("Content-Type", "application/json")
-            .body(userData)
-            .post("/users");
+            .post("/users"));
     }
     
     /**
@@ -134,11 +152,9 @@ public class UserApiClient extends BaseApiClient {
      * @return Response containing the updated user
      */
     public Response updateUser(int userId, Object userData) {
-        return customRequest()
+        return completeExchange(withBody(customRequest(), userData)
             .header("Authorization", "Bearer " + ConfigManager.getServiceAuthToken(SERVICE_NAME))
-            .header("Content-Type", "application/json")
-            .body(userData)
-            .put("/users/" + userId);
+            .put("/users/" + userId));
     }
     
     /**
@@ -148,9 +164,9 @@ public class UserApiClient extends BaseApiClient {
      * @return Response from the delete operation
      */
     public Response deleteUser(int userId) {
-        return customRequest()
+        return completeExchange(customRequest()
             .header("Authorization", "Bearer " + ConfigManager.getServiceAuthToken(SERVICE_NAME))
-            .delete("/users/" + userId);
+            .delete("/users/" + userId));
     }
     
     // === Preferences endpoints ===
@@ -161,9 +177,9 @@ public class UserApiClient extends BaseApiClient {
      * @return Response containing user preferences
      */
     public Response getPreferences() {
-        return customRequest()
+        return completeExchange(customRequest()
             .header("Authorization", "Bearer " + ConfigManager.getServiceAuthToken(SERVICE_NAME))
-            .get("/preferences");
+            .get("/preferences"));
     }
     
     /**
@@ -173,10 +189,58 @@ public class UserApiClient extends BaseApiClient {
      * @return Response containing the updated preferences
      */
     public Response updatePreferences(Object preferences) {
-        return customRequest()
+        return completeExchange(withBody(customRequest(), preferences)
             .header("Authorization", "Bearer " + ConfigManager.getServiceAuthToken(SERVICE_NAME))
-            .header("Content-Type", "application/json")
-            .body(preferences)
-            .put("/preferences");
+            .put("/preferences"));
+    }
+
+    // === Async variants ===
+    
+    /**
+     * Async variant of {@link #login(String,String)}
+     * 
+     * @param username The username
+     * @param password The password
+     * @return Future completed with the response containing authentication result
+     */
+    public CompletableFuture<Response> loginAsync(String username, String password) {
+        return async(() -> login(username, password));
+    }
+    
+    /**
+     * Async variant of {@link #getProfile()}
+     * 
+     * @return Future completed with the response containing the user profile
+     */
+    public CompletableFuture<Response> getProfileAsync() {
+        return async(() -> getProfile());
+    }
+    
+    /**
+     * Async variant of {@link #getAllUsers()}
+     * 
+     * @return Future completed with the response containing all users
+     */
+    public CompletableFuture<Response> getAllUsersAsync() {
+        return async(() -> getAllUsers());
+    }
+    
+    /**
+     * Async variant of {@link #getUser(int)}
+     * 
+     * @param userId The ID of the user to retrieve
+     * @return Future completed with the response containing the user
+     */
+    public CompletableFuture<Response> getUserAsync(int userId) {
+        return async(() -> getUser(userId));
+    }
+    
+    /**
+     * Async variant of {@link #getPreferences()}
+     * 
+     * @return Future completed with the response containing user preferences
+     */
+    public CompletableFuture<Response> getPreferencesAsync() {
+        return async(() -> getPreferences());
     }
-} 
\ No newline at end of file
+}
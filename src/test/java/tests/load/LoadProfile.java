@@ -0,0 +1,89 @@
+package tests.load;
+
+import java.time.Duration;
+
+/**
+ * Target arrival rate over time for open-model load runs
+ * 
+ * A profile returns the number of requests per second that should be started
+ * at a given point of the run. Available shapes:
+ * - constant: fixed rate
+ * - ramp: linear change from one rate to another
+ * - step: rate increased by a fixed amount at regular intervals
+ * - spike: base rate with a short burst at a higher rate
+ */
+@FunctionalInterface
+public interface LoadProfile {
+
+    /**
+     * Gets the target arrival rate at a point of the run
+     * 
+     * @param elapsedNanos Time since the start of the run in nanoseconds
+     * @return Arrivals per second (values of zero or less pause arrivals)
+     */
+    double ratePerSecond(long elapsedNanos);
+
+    /**
+     * Constant arrival rate
+     * 
+     * @param ratePerSecond Arrivals per second
+     * @return The profile
+     */
+    static LoadProfile constant(double ratePerSecond) {
+        return elapsedNanos -> ratePerSecond;
+    }
+
+    /**
+     * Linear ramp between two rates, holding the final rate afterwards
+     * 
+     * @param fromRate Arrivals per second at the start
+     * @param toRate Arrivals per second at the end of the ramp
+     * @param rampDuration Duration of the ramp
+     * @return The profile
+     */
+    static LoadProfile ramp(double fromRate, double toRate, Duration rampDuration) {
+        long rampNanos = rampDuration.toNanos();
+        return elapsedNanos -> {
+            if (elapsedNanos >= rampNanos) {
+                return toRate;
+            }
+            return fromRate + (toRate - fromRate) * elapsedNanos / rampNanos;
+        };
+    }
+
+    /**
+     * Staircase profile: the rate grows by a fixed amount after every step
+     * 
+     * @param startRate Arrivals per second during the first step
+     * @param increment Rate added at the start of every following step
+     * @param stepDuration Duration of each step
+     * @param steps Number of steps (the last rate is held afterwards)
+     * @return The profile
+     * @throws IllegalArgumentException If steps is less than 1 or stepDuration is not positive
+     */
+    static LoadProfile step(double startRate, double increment, Duration stepDuration, int steps) {
+        if (steps < 1) {
+            throw new IllegalArgumentException("Step count must be at least 1, was: " + steps);
+        }
+        if (stepDuration.isNegative() || stepDuration.isZero()) {
+            throw new IllegalArgumentException("Step duration must be positive, was: " + stepDuration);
+        }
+        long stepNanos = stepDuration.toNanos();
+        return elapsedNanos -> startRate + increment * Math.min(elapsedNanos / stepNanos, steps - 1);
+    }
+
+    /**
+     * Base rate with a single burst
+     * 
+     * @param baseRate Arrivals per second outside the spike
+     * @param spikeRate Arrivals per second during the spike
+     * @param spikeStart Time from the start of the run until the spike
+     * @param spikeDuration Duration of the spike
+     * @return The profile
+     */
+    static LoadProfile spike(double baseRate, double spikeRate, Duration spikeStart, Duration spikeDuration) {
+        long startNanos = spikeStart.toNanos();
+        long endNanos = startNanos + spikeDuration.toNanos();
+        return elapsedNanos -> elapsedNanos >= startNanos && elapsedNanos < endNanos ? spikeRate : baseRate;
+    }
+}
@@ -0,0 +1,149 @@
+package tests.load;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.HdrHistogram.Histogram;
+
+/**
+ * Results of a {@link LoadRunner} run
+ * 
+ * Latencies are recorded per operation in HdrHistograms with microsecond resolution.
+ * For paced and open-model runs they are measured from the intended start time of each
+ * request, so queueing caused by a slow system is included (coordinated omission correction).
+ */
+public class LoadResult {
+    private final Duration duration;
+    private final Map<String, OperationResult> operations;
+    private final Histogram total;
+
+    LoadResult(Duration duration, Map<String, OperationResult> operations) {
+        this.duration = duration;
+        this.operations = Collections.unmodifiableMap(operations);
+        this.total = new Histogram(3);
+        operations.values().forEach(result -> total.add(result.latencies()));
+    }
+
+    /**
+     * Gets the wall-clock duration of the run, including draining in-flight requests
+     * 
+     * @return The run duration
+     */
+    public Duration getDuration() {
+        return duration;
+    }
+
+    /**
+     * Gets the names of all operations that were executed
+     * 
+     * @return Operation names
+     */
+    public Set<String> getOperationNames() {
+        return operations.keySet();
+    }
+
+    /**
+     * Gets the number of completed requests across all operations
+     * 
+     * @return Total request count
+     */
+    public long getTotalRequests() {
+        return total.getTotalCount();
+    }
+
+    /**
+     * Gets the number of failed requests (exceptions or 4xx/5xx) across all operations
+     * 
+     * @return Total failure count
+     */
+    public long getTotalFailures() {
+        return operations.values().stream().mapToLong(OperationResult::failures).sum();
+    }
+
+    /**
+     * Gets the achieved throughput across all operations
+     * 
+     * @return Completed requests per second
+     */
+    public double getThroughput() {
+        return getTotalRequests() / seconds();
+    }
+
+    /**
+     * Gets a latency percentile across all operations
+     * 
+     * @param percentile Percentile between 0 and 100 (e.g. 99.9)
+     * @return Latency in milliseconds
+     */
+    public double getLatencyMillis(double percentile) {
+        return toMillis(total.getValueAtPercentile(percentile));
+    }
+
+    /**
+     * Gets a latency percentile for one operation
+     * 
+     * @param operation The operation name
+     * @param percentile Percentile between 0 and 100 (e.g. 99.9)
+     * @return Latency in milliseconds
+     */
+    public double getLatencyMillis(String operation, double percentile) {
+        return toMillis(get(operation).latencies().getValueAtPercentile(percentile));
+    }
+
+    /**
+     * Gets the result of a single operation
+     * 
+     * @param operation The operation name
+     * @return The operation result
+     */
+    public OperationResult get(String operation) {
+        OperationResult result = operations.get(operation);
+        if (result == null) {
+            throw new IllegalArgumentException("No results for operation: " + operation);
+        }
+        return result;
+    }
+
+    /**
+     * Formats a per-operation summary table
+     * 
+     * @return Human readable summary
+     */
+    public String summary() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-24s %10s %8s %10s %10s %10s %10s %10s%n",
+            "operation", "requests", "failed", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms"));
+        operations.forEach((name, result) -> appendRow(sb, name, result.latencies(), result.failures()));
+        appendRow(sb, "TOTAL", total, getTotalFailures());
+        return sb.toString();
+    }
+
+    private void appendRow(StringBuilder sb, String name, Histogram histogram, long failures) {
+        sb.append(String.format("%-24s %10d %8d %10.1f %10.2f %10.2f %10.2f %10.2f%n",
+            name, histogram.getTotalCount(), failures, histogram.getTotalCount() / seconds(),
+            toMillis(histogram.getValueAtPercentile(50)),
+            toMillis(histogram.getValueAtPercentile(99)),
+            toMillis(histogram.getValueAtPercentile(99.9)),
+            toMillis(histogram.getMaxValue())));
+    }
+
+    private double seconds() {
+        return Math.max(duration.toNanos(), 1) / (double) TimeUnit.SECONDS.toNanos(1);
+    }
+
+    private static double toMillis(long micros) {
+        return micros / 1000.0;
+    }
+
+    /**
+     * Results of a single operation
+     * 
+     * @param latencies Latency histogram in microseconds
+     * @param failures Number of failed requests
+     */
+    public record OperationResult(Histogram latencies, long failures) {
+    }
+}
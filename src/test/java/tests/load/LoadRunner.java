@@ -0,0 +1,235 @@
+package tests.load;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.HdrHistogram.Recorder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.restassured.response.Response;
+
+/**
+ * Load generator that drives API client methods as operations
+ * 
+ * Two workload models are supported:
+ * - Closed model ({@link #runClosed}): a fixed number of virtual users, each sending its next
+ *   request after the previous one completed, optionally paced at a fixed interval
+ * - Open model ({@link #runOpen}): requests are started at the arrival rate given by a
+ *   {@link LoadProfile}, regardless of how many are still in flight
+ * 
+ * Every request has an intended start time. Paced and open-model latencies are measured
+ * from that time rather than from the actual send, so a stalled system cannot hide its
+ * queueing delay by delaying the requests that would have measured it.
+ * 
+ * Each request runs on its own virtual thread; operations are picked by weight.
+ * 
+ * Usage:
+ * LoadResult result = new LoadRunner(
+ *         Operation.of("getPost", () -> client.getPost(1)),
+ *         Operation.of("getAllUsers", client::getAllUsers))
+ *     .runOpen(LoadProfile.ramp(10, 200, Duration.ofSeconds(30)), Duration.ofMinutes(1));
+ */
+public class LoadRunner {
+    private static final Logger logger = LoggerFactory.getLogger(LoadRunner.class);
+
+    // Below this remaining wait the open-model scheduler spins instead of parking
+    private static final long SPIN_THRESHOLD_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+    // Poll interval while a profile reports a rate of zero
+    private static final long PAUSE_POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final List<Operation> operations;
+    private final int totalWeight;
+
+    /**
+     * Creates a load runner for a mix of operations
+     * 
+     * @param operations The operations to execute
+     */
+    public LoadRunner(List<Operation> operations) {
+        if (operations.isEmpty()) {
+            throw new IllegalArgumentException("At least one operation is required");
+        }
+        this.operations = List.copyOf(operations);
+        this.totalWeight = operations.stream().mapToInt(Operation::weight).sum();
+    }
+
+    /**
+     * Creates a load runner for a mix of operations
+     * 
+     * @param operations The operations to execute
+     */
+    public LoadRunner(Operation... operations) {
+        this(List.of(operations));
+    }
+
+    /**
+     * Runs a closed-model workload without pacing: each virtual user sends requests back to back
+     * 
+     * @param virtualUsers Number of concurrent virtual users
+     * @param duration How long new requests are started
+     * @return The run results
+     */
+    public LoadResult runClosed(int virtualUsers, Duration duration) {
+        return runClosed(virtualUsers, duration, Duration.ZERO);
+    }
+
+    /**
+     * Runs a closed-model workload
+     * 
+     * With a non-zero pacing each virtual user starts a request every pacing interval.
+     * When a request takes longer than the interval, the following requests start late
+     * and their latency includes the time they spent waiting.
+     * 
+     * @param virtualUsers Number of concurrent virtual users
+     * @param duration How long new requests are started
+     * @param pacing Interval between request starts per virtual user (zero for no pacing)
+     * @return The run results
+     */
+    public LoadResult runClosed(int virtualUsers, Duration duration, Duration pacing) {
+        long pacingNanos = pacing.toNanos();
+        Collector collector = new Collector();
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        logger.info("Starting closed-model run: {} virtual users, duration {}, pacing {}", virtualUsers, duration, pacing);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int user = 0; user < virtualUsers; user++) {
+                // Spread paced users evenly over the first interval
+                long firstStart = start + (pacingNanos > 0 ? pacingNanos * user / virtualUsers : 0);
+                executor.execute(() -> runVirtualUser(firstStart, end, pacingNanos, collector));
+            }
+        }
+        return collector.result(System.nanoTime() - start);
+    }
+
+    /**
+     * Runs an open-model workload
+     * 
+     * Requests are started at the arrival rate of the profile, each on its own virtual thread,
+     * independently of how many earlier requests are still in flight.
+     * 
+     * @param profile Target arrival rate over time
+     * @param duration How long new requests are started
+     * @return The run results (after all in-flight requests completed)
+     */
+    public LoadResult runOpen(LoadProfile profile, Duration duration) {
+        Collector collector = new Collector();
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        logger.info("Starting open-model run: duration {}", duration);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            long next = start;
+            while (next < end) {
+                double rate = profile.ratePerSecond(next - start);
+                if (rate <= 0) {
+                    next += PAUSE_POLL_NANOS;
+                    continue;
+                }
+                sleepUntil(next, true);
+                long intendedStart = next;
+                executor.execute(() -> execute(pickOperation(), intendedStart, collector));
+                next += (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+            }
+        }
+        return collector.result(System.nanoTime() - start);
+    }
+
+    private void runVirtualUser(long firstStart, long end, long pacingNanos, Collector collector) {
+        long intendedStart = firstStart;
+        while (intendedStart < end) {
+            sleepUntil(intendedStart, false);
+            long actualStart = pacingNanos > 0 ? intendedStart : System.nanoTime();
+            long finished = execute(pickOperation(), actualStart, collector);
+            intendedStart = pacingNanos > 0 ? intendedStart + pacingNanos : finished;
+        }
+    }
+
+    private long execute(Operation operation, long intendedStart, Collector collector) {
+        boolean failed;
+        try {
+            Response response = operation.call().get();
+            failed = response.getStatusCode() >= 400;
+        } catch (Exception | AssertionError e) {
+            // RestAssured rethrows checked I/O exceptions without declaring them
+            failed = true;
+        }
+        long finished = System.nanoTime();
+        collector.record(operation.name(), finished - intendedStart, failed);
+        return finished;
+    }
+
+    private Operation pickOperation() {
+        if (operations.size() == 1) {
+            return operations.get(0);
+        }
+        int pick = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Operation operation : operations) {
+            pick -= operation.weight();
+            if (pick < 0) {
+                return operation;
+            }
+        }
+        return operations.get(operations.size() - 1);
+    }
+
+    /**
+     * Waits until the given System.nanoTime() deadline
+     * Parks for most of the wait and optionally spins for the last few microseconds
+     */
+    private static void sleepUntil(long deadline, boolean spin) {
+        while (true) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return;
+            }
+            if (!spin) {
+                LockSupport.parkNanos(remaining);
+            } else if (remaining > SPIN_THRESHOLD_NANOS) {
+                LockSupport.parkNanos(remaining - SPIN_THRESHOLD_NANOS);
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    /**
+     * Thread-safe per-operation latency and failure recording
+     */
+    private class Collector {
+        private final Map<String, Recorder> recorders = new LinkedHashMap<>();
+        private final Map<String, LongAdder> failures = new LinkedHashMap<>();
+
+        Collector() {
+            for (Operation operation : operations) {
+                recorders.putIfAbsent(operation.name(), new Recorder(3));
+                failures.putIfAbsent(operation.name(), new LongAdder());
+            }
+        }
+
+        void record(String operation, long latencyNanos, boolean failed) {
+            recorders.get(operation).recordValue(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+            if (failed) {
+                failures.get(operation).increment();
+            }
+        }
+
+        LoadResult result(long elapsedNanos) {
+            Map<String, LoadResult.OperationResult> results = new LinkedHashMap<>();
+            recorders.forEach((name, recorder) -> results.put(name,
+                new LoadResult.OperationResult(recorder.getIntervalHistogram(), failures.get(name).sum())));
+            LoadResult result = new LoadResult(Duration.ofNanos(elapsedNanos), results);
+            logger.info("Load run finished:\n{}", result.summary());
+            return result;
+        }
+    }
+}
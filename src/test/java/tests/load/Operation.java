@@ -0,0 +1,50 @@
+package tests.load;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+import io.restassured.response.Response;
+
+/**
+ * A named, weighted call executed by the {@link LoadRunner}
+ * 
+ * Operations wrap existing client methods, for example:
+ * Operation.of("getPost", () -> jsonPlaceholderClient.getPost(1))
+ * 
+ * @param name The name used to group results
+ * @param weight Relative weight of this operation in the mix (higher means more frequent)
+ * @param call The call to execute
+ */
+public record Operation(String name, int weight, Supplier<Response> call) {
+
+    public Operation {
+        Objects.requireNonNull(name, "name");
+        Objects.requireNonNull(call, "call");
+        if (weight < 1) {
+            throw new IllegalArgumentException("Operation weight must be at least 1, was: " + weight);
+        }
+    }
+
+    /**
+     * Creates an operation with weight 1
+     * 
+     * @param name The name used to group results
+     * @param call The call to execute
+     * @return The operation
+     */
+    public static Operation of(String name, Supplier<Response> call) {
+        return new Operation(name, 1, call);
+    }
+
+    /**
+     * Creates a weighted operation
+     * 
+     * @param name The name used to group results
+     * @param weight Relative weight of this operation in the mix
+     * @param call The call to execute
+     * @return The operation
+     */
+    public static Operation of(String name, int weight, Supplier<Response> call) {
+        return new Operation(name, weight, call);
+    }
+}
@@ -0,0 +1,188 @@
+package tests.metrics;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * Registry of per-endpoint latency histograms
+ * 
+ * Exchanges are grouped by service, HTTP method and path template. Concrete IDs in
+ * paths are replaced with {id}, so /posts/1 and /posts/2 are both recorded as
+ * GET /posts/{id}. Query strings are ignored.
+ * 
+ * Recording goes into HdrHistogram Recorders, which are wait-free for writers.
+ * Readers take the recorded interval and fold it into an accumulated histogram,
+ * so statistics can be read at any time (e.g. at the end of a test class or suite)
+ * without blocking the threads that are still recording.
+ * 
+ * Exchanges are recorded by {@link LatencyRecordingFilter}, which every API client adds
+ * to its request specification.
+ */
+public final class EndpointMetrics {
+    private static final Map<Key, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    // Path segments that look like identifiers: numbers, UUIDs, or long tokens containing digits
+    private static final Pattern ID_SEGMENT = Pattern.compile(
+        "\\d+|[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}|(?=.*\\d)[\\w-]{16,}");
+
+    private EndpointMetrics() {
+        // Static registry
+    }
+
+    /**
+     * Records one exchange
+     * 
+     * @param service The service name
+     * @param method The HTTP method
+     * @param path The request path (concrete or template, query string allowed)
+     * @param latencyNanos The exchange latency in nanoseconds
+     */
+    public static void record(String service, String method, String path, long latencyNanos) {
+        Key key = new Key(service.toLowerCase(), method.toUpperCase(), toTemplate(path));
+        endpoints.computeIfAbsent(key, k -> new Endpoint()).record(latencyNanos);
+    }
+
+    /**
+     * Gets the statistics of an endpoint
+     * 
+     * The endpoint is given as "METHOD /path" (e.g. "GET /posts/{id}") or just "/path" to
+     * combine all methods. Concrete paths such as "/posts/1" are converted to their template.
+     * 
+     * @param service The service name
+     * @param endpoint The endpoint
+     * @return Snapshot of the endpoint statistics (empty if nothing was recorded)
+     */
+    public static EndpointStats getStats(String service, String endpoint) {
+        String method = null;
+        String path = endpoint.trim();
+        int space = path.indexOf(' ');
+        if (space > 0) {
+            method = path.substring(0, space).toUpperCase();
+            path = path.substring(space + 1).trim();
+        }
+        String serviceName = service.toLowerCase();
+        String template = toTemplate(path);
+
+        Histogram histogram = new Histogram(3);
+        long first = Long.MAX_VALUE;
+        long last = Long.MIN_VALUE;
+        for (Map.Entry<Key, Endpoint> entry : endpoints.entrySet()) {
+            Key key = entry.getKey();
+            if (key.service().equals(serviceName) && key.template().equals(template)
+                    && (method == null || key.method().equals(method))) {
+                Endpoint metrics = entry.getValue();
+                histogram.add(metrics.snapshot());
+                first = Math.min(first, metrics.firstNanos.get());
+                last = Math.max(last, metrics.lastNanos.get());
+            }
+        }
+        long windowNanos = histogram.getTotalCount() > 0 ? last - first : 0;
+        return new EndpointStats(service, endpoint, histogram, windowNanos);
+    }
+
+    /**
+     * Discards everything recorded so far
+     */
+    public static void reset() {
+        endpoints.clear();
+    }
+
+    /**
+     * Converts a request path to its template by replacing identifier segments with {id}
+     * 
+     * @param path The request path (query string allowed)
+     * @return The path template
+     */
+    public static String toTemplate(String path) {
+        int query = path.indexOf('?');
+        String withoutQuery = query >= 0 ? path.substring(0, query) : path;
+        String[] segments = withoutQuery.split("/", -1);
+        for (int i = 0; i < segments.length; i++) {
+            if (ID_SEGMENT.matcher(segments[i]).matches()) {
+                segments[i] = "{id}";
+            }
+        }
+        return String.join("/", segments);
+    }
+
+    private record Key(String service, String method, String template) {
+    }
+
+    /**
+     * Recording state of one endpoint
+     */
+    private static final class Endpoint {
+        private final Recorder recorder = new Recorder(3);
+        private final Histogram accumulated = new Histogram(3);
+        private final AtomicLong firstNanos = new AtomicLong(Long.MAX_VALUE);
+        private final AtomicLong lastNanos = new AtomicLong(Long.MIN_VALUE);
+
+        void record(long latencyNanos) {
+            long now = System.nanoTime();
+            recorder.recordValue(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+            long start = now - latencyNanos;
+            if (start < firstNanos.get()) {
+                firstNanos.accumulateAndGet(start, Math::min);
+            }
+            lastNanos.accumulateAndGet(now, Math::max);
+        }
+
+        synchronized Histogram snapshot() {
+            accumulated.add(recorder.getIntervalHistogram());
+            return accumulated.copy();
+        }
+    }
+
+    /**
+     * Statistics of an endpoint at the time they were read
+     * 
+     * @param service The service name
+     * @param endpoint The endpoint as requested
+     * @param latencies Latency histogram in microseconds
+     * @param windowNanos Time between the start of the first and the end of the last exchange
+     */
+    public record EndpointStats(String service, String endpoint, Histogram latencies, long windowNanos) {
+
+        public EndpointStats {
+            Objects.requireNonNull(latencies, "latencies");
+        }
+
+        /**
+         * Gets the number of recorded exchanges
+         * 
+         * @return The exchange count
+         */
+        public long count() {
+            return latencies.getTotalCount();
+        }
+
+        /**
+         * Gets a latency percentile
+         * 
+         * @param percentile Percentile between 0 and 100
+         * @return Latency in milliseconds
+         */
+        public double percentileMillis(double percentile) {
+            return latencies.getValueAtPercentile(percentile) / 1000.0;
+        }
+
+        /**
+         * Gets the throughput over the recording window
+         * 
+         * @return Exchanges per second (0 if fewer than two exchanges were recorded)
+         */
+        public double throughput() {
+            if (count() < 2 || windowNanos <= 0) {
+                return 0.0;
+            }
+            return count() * (double) TimeUnit.SECONDS.toNanos(1) / windowNanos;
+        }
+    }
+}
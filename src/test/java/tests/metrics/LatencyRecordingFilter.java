@@ -0,0 +1,38 @@
+package tests.metrics;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * RestAssured filter that records the latency of every exchange in {@link EndpointMetrics}
+ * 
+ * Exchanges that fail with an exception are recorded too, so timeouts show up in the tail.
+ */
+public class LatencyRecordingFilter implements Filter {
+    private final String serviceName;
+
+    /**
+     * Creates a recording filter for a service
+     * 
+     * @param serviceName The service name the exchanges are recorded under
+     */
+    public LatencyRecordingFilter(String serviceName) {
+        this.serviceName = serviceName;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        long start = System.nanoTime();
+        try {
+            return ctx.next(requestSpec, responseSpec);
+        } finally {
+            EndpointMetrics.record(serviceName, requestSpec.getMethod(), requestSpec.getUserDefinedPath(),
+                System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,434 @@
+package tests.stub;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Embedded HTTP server that implements the JSONPlaceholder resources used by JsonPlaceholderClient
+ * 
+ * Resources and routes:
+ * - /posts, /comments, /users, /todos, /albums - collections (GET, POST)
+ * - /{resource}/{id} - single items (GET, PUT, PATCH, DELETE)
+ * - /posts/{id}/comments, /users/{id}/posts, /users/{id}/todos, /users/{id}/albums - nested collections
+ * - /posts?userId=1, /comments?postId=1, /todos?userId=1, /albums?userId=1 - filtered collections
+ * 
+ * Like the real service, writes are answered as if they succeeded but nothing is persisted:
+ * POST echoes the body with the next free id and status 201, PUT/PATCH echo the body with the
+ * requested id and DELETE returns an empty object.
+ * 
+ * GET results carry Cache-Control and ETag headers, and conditional requests with a matching
+ * If-None-Match are answered with 304 Not Modified.
+ * 
+ * The dataset is sized by the number of posts and keeps the real service's ratios
+ * (per 100 posts: 500 comments, 10 users, 200 todos and 100 albums). Items are generated
+ * deterministically from their id, so starting the server takes milliseconds regardless of
+ * the dataset size. Collection payloads are serialized on first request and cached.
+ * 
+ * Usage:
+ * try (JsonPlaceholderStubServer stub = JsonPlaceholderStubServer.start(100_000)) {
+ *     ConfigManager.setServiceBaseUrl("jsonplaceholder", stub.getBaseUri());
+ *     ...
+ * }
+ */
+public class JsonPlaceholderStubServer implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(JsonPlaceholderStubServer.class);
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final byte[] EMPTY_OBJECT = "{}".getBytes(StandardCharsets.UTF_8);
+    // Same freshness lifetime as the real service
+    private static final int MAX_AGE_SECONDS = 43_200;
+
+    private static final String[] WORDS = {
+        "lorem", "ipsum", "dolor", "sit", "amet", "consectetur", "adipiscing", "elit", "sed", "do",
+        "eiusmod", "tempor", "incididunt", "ut", "labore", "et", "dolore", "magna", "aliqua", "enim",
+        "ad", "minim", "veniam", "quis", "nostrud", "exercitation", "ullamco", "laboris", "nisi", "aliquip",
+        "ex", "ea", "commodo", "consequat", "duis", "aute", "irure", "in", "reprehenderit", "voluptate"
+    };
+
+    private final HttpServer server;
+    // Platform threads: the JDK server blocks inside synchronized writes, which would pin virtual
+    // threads and stall the whole server while a client is slow to read a large body
+    private final ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "jsonplaceholder-stub");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Map<String, Resource> resources;
+    private final Map<String, byte[]> collectionCache = new ConcurrentHashMap<>();
+    private final int postCount;
+
+    private JsonPlaceholderStubServer(int postCount) throws IOException {
+        this.postCount = postCount;
+        this.resources = Map.of(
+            "posts", new Resource("posts", postCount, "userId", 10, this::writePost),
+            "comments", new Resource("comments", postCount * 5, "postId", 5, this::writeComment),
+            "users", new Resource("users", Math.max(1, (postCount + 9) / 10), null, 0, this::writeUser),
+            "todos", new Resource("todos", postCount * 2, "userId", 20, this::writeTodo),
+            "albums", new Resource("albums", postCount, "userId", 10, this::writeAlbum));
+
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        this.server.setExecutor(executor);
+        this.server.createContext("/", this::handle);
+        this.server.start();
+    }
+
+    /**
+     * Starts a stub server with the real service's dataset size (100 posts)
+     * 
+     * @return The running server
+     */
+    public static JsonPlaceholderStubServer start() {
+        return start(100);
+    }
+
+    /**
+     * Starts a stub server on an ephemeral loopback port
+     * 
+     * @param postCount Number of posts; the other resources are sized relative to it
+     * @return The running server
+     */
+    public static JsonPlaceholderStubServer start(int postCount) {
+        if (postCount < 1) {
+            throw new IllegalArgumentException("Post count must be at least 1, was: " + postCount);
+        }
+        try {
+            JsonPlaceholderStubServer stub = new JsonPlaceholderStubServer(postCount);
+            logger.info("JSONPlaceholder stub with {} posts started at {}", postCount, stub.getBaseUri());
+            return stub;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to start JSONPlaceholder stub", e);
+        }
+    }
+
+    /**
+     * Gets the base URI of the running server
+     * 
+     * @return Base URI such as http://127.0.0.1:54321
+     */
+    public String getBaseUri() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    /**
+     * Gets the number of posts in the dataset
+     * 
+     * @return The post count
+     */
+    public int getPostCount() {
+        return postCount;
+    }
+
+    /**
+     * Gets the number of items of a resource
+     * 
+     * @param resource The resource name (e.g. "comments")
+     * @return The item count
+     */
+    public int getCount(String resource) {
+        Resource r = resources.get(resource);
+        if (r == null) {
+            throw new IllegalArgumentException("Unknown resource: " + resource);
+        }
+        return r.count();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    // === Routing ===
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange; InputStream in = exchange.getRequestBody()) {
+            byte[] requestBody = in.readAllBytes();
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            String[] segments = exchange.getRequestURI().getPath().replaceAll("^/+|/+$", "").split("/");
+            Resource resource = resources.get(segments[0]);
+            if (resource == null || segments.length > 3) {
+                send(exchange, 404, EMPTY_OBJECT);
+                return;
+            }
+            String method = exchange.getRequestMethod();
+            switch (segments.length) {
+                case 1 -> handleCollection(exchange, method, resource, requestBody);
+                case 2 -> handleItem(exchange, method, resource, segments[1], requestBody);
+                default -> handleNested(exchange, method, resource, segments[1], segments[2]);
+            }
+        }
+    }
+
+    private void handleCollection(HttpExchange exchange, String method, Resource resource, byte[] requestBody)
+            throws IOException {
+        switch (method) {
+            case "GET" -> {
+                String parentId = queryParameter(exchange, resource.parentField());
+                if (parentId == null) {
+                    sendCacheable(exchange, collectionCache.computeIfAbsent(resource.name(),
+                        name -> writeArray(resource, 1, resource.count())));
+                } else {
+                    sendChildren(exchange, resource, parseId(parentId));
+                }
+            }
+            case "POST" -> send(exchange, 201, echo(requestBody, resource.count() + 1, null));
+            default -> send(exchange, 405, EMPTY_OBJECT);
+        }
+    }
+
+    private void handleItem(HttpExchange exchange, String method, Resource resource, String idSegment,
+                            byte[] requestBody) throws IOException {
+        int id = parseId(idSegment);
+        if (id < 1 || id > resource.count()) {
+            send(exchange, 404, EMPTY_OBJECT);
+            return;
+        }
+        switch (method) {
+            case "GET" -> sendCacheable(exchange, writeItem(resource, id));
+            case "PUT" -> send(exchange, 200, echo(requestBody, id, null));
+            case "PATCH" -> send(exchange, 200, echo(requestBody, id, writeItem(resource, id)));
+            case "DELETE" -> send(exchange, 200, EMPTY_OBJECT);
+            default -> send(exchange, 405, EMPTY_OBJECT);
+        }
+    }
+
+    private void handleNested(HttpExchange exchange, String method, Resource parent, String idSegment,
+                              String childName) throws IOException {
+        Resource child = resources.get(childName);
+        int parentId = parseId(idSegment);
+        if (child == null || !parent.name().equals(child.parentResource()) || parentId < 1 || parentId > parent.count()) {
+            send(exchange, 404, EMPTY_OBJECT);
+        } else if (!"GET".equals(method)) {
+            send(exchange, 405, EMPTY_OBJECT);
+        } else {
+            sendChildren(exchange, child, parentId);
+        }
+    }
+
+    private void sendChildren(HttpExchange exchange, Resource child, int parentId) throws IOException {
+        int from = (parentId - 1) * child.perParent() + 1;
+        int to = Math.min(child.count(), parentId * child.perParent());
+        sendCacheable(exchange, parentId < 1 ? writeArray(child, 1, 0) : writeArray(child, from, to));
+    }
+
+    private static String queryParameter(HttpExchange exchange, String name) {
+        String query = exchange.getRequestURI().getRawQuery();
+        if (name == null || query == null) {
+            return null;
+        }
+        for (String pair : query.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0 && name.equals(pair.substring(0, eq))) {
+                return URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+            }
+        }
+        return null;
+    }
+
+    private static int parseId(String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Sends a GET result with the real service's caching headers (max-age and a weak ETag)
+     * Answers 304 without a body when the client already has the current representation
+     */
+    private static void sendCacheable(HttpExchange exchange, byte[] body) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        String etag = "W/\"" + Integer.toHexString(body.length) + "-" + Long.toHexString(crc.getValue()) + "\"";
+        exchange.getResponseHeaders().set("Cache-Control", "max-age=" + MAX_AGE_SECONDS);
+        exchange.getResponseHeaders().set("ETag", etag);
+        if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+            exchange.sendResponseHeaders(304, -1);
+        } else {
+            send(exchange, 200, body);
+        }
+    }
+
+    private static void send(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.sendResponseHeaders(status, body.length);
+        exchange.getResponseBody().write(body);
+    }
+
+    /**
+     * Builds a write response: the request body (or the existing item for PATCH) with the given id
+     * Non-JSON bodies are ignored, as the real service does
+     */
+    private static byte[] echo(byte[] requestBody, int id, byte[] existing) {
+        try {
+            ObjectNode result = existing != null
+                ? (ObjectNode) objectMapper.readTree(existing)
+                : objectMapper.createObjectNode();
+            try {
+                JsonNode body = objectMapper.readTree(requestBody);
+                if (body instanceof ObjectNode fields) {
+                    result.setAll(fields);
+                }
+            } catch (JsonProcessingException e) {
+                // Not a JSON object - answered with the id only
+            }
+            result.put("id", id);
+            return objectMapper.writeValueAsBytes(result);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // === Serialization ===
+
+    private byte[] writeArray(Resource resource, int from, int to) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(16, (to - from + 1) * 256));
+        try (JsonGenerator gen = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            gen.writeStartArray();
+            for (int id = from; id <= to; id++) {
+                resource.writer().write(gen, id);
+            }
+            gen.writeEndArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private byte[] writeItem(Resource resource, int id) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(512);
+        try (JsonGenerator gen = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            resource.writer().write(gen, id);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private void writePost(JsonGenerator gen, int id) throws IOException {
+        gen.writeStartObject();
+        gen.writeNumberField("userId", (id - 1) / 10 + 1);
+        gen.writeNumberField("id", id);
+        gen.writeStringField("title", words(id, 6));
+        gen.writeStringField("body", words(id * 7, 30));
+        gen.writeEndObject();
+    }
+
+    private void writeComment(JsonGenerator gen, int id) throws IOException {
+        gen.writeStartObject();
+        gen.writeNumberField("postId", (id - 1) / 5 + 1);
+        gen.writeNumberField("id", id);
+        gen.writeStringField("name", words(id, 5));
+        gen.writeStringField("email", WORDS[id % WORDS.length] + "." + id + "@example.com");
+        gen.writeStringField("body", words(id * 11, 25));
+        gen.writeEndObject();
+    }
+
+    private void writeUser(JsonGenerator gen, int id) throws IOException {
+        String username = WORDS[id % WORDS.length] + id;
+        gen.writeStartObject();
+        gen.writeNumberField("id", id);
+        gen.writeStringField("name", capitalize(WORDS[id % WORDS.length]) + " " + capitalize(WORDS[(id * 3) % WORDS.length]));
+        gen.writeStringField("username", username);
+        gen.writeStringField("email", username + "@example.com");
+        gen.writeObjectFieldStart("address");
+        gen.writeStringField("street", capitalize(WORDS[(id * 5) % WORDS.length]) + " Street");
+        gen.writeStringField("suite", "Apt. " + (100 + id % 900));
+        gen.writeStringField("city", capitalize(WORDS[(id * 7) % WORDS.length]) + "ville");
+        gen.writeStringField("zipcode", String.format("%05d", id % 100_000));
+        gen.writeObjectFieldStart("geo");
+        gen.writeStringField("lat", String.format("%.4f", (id * 37 % 18_000) / 100.0 - 90));
+        gen.writeStringField("lng", String.format("%.4f", (id * 53 % 36_000) / 100.0 - 180));
+        gen.writeEndObject();
+        gen.writeEndObject();
+        gen.writeStringField("phone", String.format("1-770-%03d-%04d", id % 1000, id % 10_000));
+        gen.writeStringField("website", username + ".org");
+        gen.writeObjectFieldStart("company");
+        gen.writeStringField("name", capitalize(WORDS[(id * 9) % WORDS.length]) + " Group");
+        gen.writeStringField("catchPhrase", words(id * 13, 4));
+        gen.writeStringField("bs", words(id * 17, 3));
+        gen.writeEndObject();
+        gen.writeEndObject();
+    }
+
+    private void writeTodo(JsonGenerator gen, int id) throws IOException {
+        gen.writeStartObject();
+        gen.writeNumberField("userId", (id - 1) / 20 + 1);
+        gen.writeNumberField("id", id);
+        gen.writeStringField("title", words(id * 3, 5));
+        gen.writeBooleanField("completed", id % 3 != 0);
+        gen.writeEndObject();
+    }
+
+    private void writeAlbum(JsonGenerator gen, int id) throws IOException {
+        gen.writeStartObject();
+        gen.writeNumberField("userId", (id - 1) / 10 + 1);
+        gen.writeNumberField("id", id);
+        gen.writeStringField("title", words(id * 5, 4));
+        gen.writeEndObject();
+    }
+
+    /**
+     * Generates deterministic lorem ipsum text for a seed
+     */
+    private static String words(int seed, int count) {
+        StringBuilder sb = new StringBuilder(count * 8);
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                sb.append(' ');
+            }
+            sb.append(WORDS[Math.floorMod(seed * 31 + i * 17 + i * i, WORDS.length)]);
+        }
+        return sb.toString();
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+
+    @FunctionalInterface
+    private interface ItemWriter {
+        void write(JsonGenerator gen, int id) throws IOException;
+    }
+
+    /**
+     * A resource of the dataset
+     * 
+     * @param name The collection name (path segment)
+     * @param count Number of items
+     * @param parentField Field referencing the parent item (null for top-level resources)
+     * @param perParent Number of items per parent item
+     * @param writer Serializes the item with a given id
+     */
+    private record Resource(String name, int count, String parentField, int perParent, ItemWriter writer) {
+
+        String parentResource() {
+            if (parentField == null) {
+                return null;
+            }
+            return parentField.equals("userId") ? "users" : "posts";
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package tests.stub;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Embedded HTTP server whose routes are scripted by the test using it
+ * 
+ * The JSONPlaceholder stub always answers the same way; tests of client-side behavior
+ * (retries, hedging, circuit breaking, caching, compression, token refresh) need failures,
+ * delays and headers on demand. Each route is an exact path answered by a {@link Handler},
+ * and every request is recorded with its method, URI, headers and body. Unknown routes
+ * are answered with 404.
+ * 
+ * Usage:
+ * try (MockHttpServer server = MockHttpServer.start()) {
+ *     server.route("/flaky", (request, exchange) -> MockHttpServer.send(exchange,
+ *         request.index() == 0 ? 503 : 200, "{}"));
+ *     ...
+ *     assertEquals(2, server.count("/flaky"));
+ * }
+ */
+public class MockHttpServer implements AutoCloseable {
+    private static final byte[] EMPTY_OBJECT = "{}".getBytes(StandardCharsets.UTF_8);
+
+    private final HttpServer server;
+    // Platform threads, as in JsonPlaceholderStubServer: handlers that sleep to simulate a slow
+    // service must not hold up the other requests
+    private final ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "mock-http-server");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Map<String, Handler> handlers = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> counters = new ConcurrentHashMap<>();
+    private final List<RecordedRequest> requests = new CopyOnWriteArrayList<>();
+
+    private MockHttpServer() throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        this.server.setExecutor(executor);
+        this.server.createContext("/", this::handle);
+        this.server.start();
+    }
+
+    /**
+     * Starts a server without routes on an ephemeral loopback port
+     * 
+     * @return The running server
+     */
+    public static MockHttpServer start() {
+        try {
+            return new MockHttpServer();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to start mock HTTP server", e);
+        }
+    }
+
+    /**
+     * Sets the handler of a path, replacing an earlier one
+     * 
+     * @param path The exact request path, without query (e.g. "/items")
+     * @param handler Answers the requests to the path
+     * @return This server
+     */
+    public MockHttpServer route(String path, Handler handler) {
+        handlers.put(path, handler);
+        return this;
+    }
+
+    /**
+     * Gets the base URI of the running server
+     * 
+     * @return Base URI such as http://127.0.0.1:54321
+     */
+    public String getBaseUri() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    /**
+     * Gets the requests received for a path, in the order they arrived
+     * 
+     * @param path The request path, without query
+     * @return The recorded requests
+     */
+    public List<RecordedRequest> requests(String path) {
+        return requests.stream().filter(request -> request.path().equals(path)).toList();
+    }
+
+    /**
+     * Gets the number of requests received for a path
+     * 
+     * @param path The request path, without query
+     * @return The request count
+     */
+    public int count(String path) {
+        AtomicInteger counter = counters.get(path);
+        return counter == null ? 0 : counter.get();
+    }
+
+    /**
+     * Sends a response with a JSON body
+     * 
+     * @param exchange The exchange to answer
+     * @param status The status code
+     * @param json The response body
+     * @throws IOException if the response cannot be written
+     */
+    public static void send(HttpExchange exchange, int status, String json) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        send(exchange, status, json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Sends a response with the given body and the headers already set on the exchange
+     * Statuses without a body (204, 304) and empty bodies are sent without Content-Length
+     * 
+     * @param exchange The exchange to answer
+     * @param status The status code
+     * @param body The response body
+     * @throws IOException if the response cannot be written
+     */
+    public static void send(HttpExchange exchange, int status, byte[] body) throws IOException {
+        if (body.length == 0 || status == 204 || status == 304 || "HEAD".equals(exchange.getRequestMethod())) {
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        exchange.sendResponseHeaders(status, body.length);
+        exchange.getResponseBody().write(body);
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange; InputStream in = exchange.getRequestBody()) {
+            String path = exchange.getRequestURI().getPath();
+            int index = counters.computeIfAbsent(path, p -> new AtomicInteger()).getAndIncrement();
+            RecordedRequest request = new RecordedRequest(exchange.getRequestMethod(),
+                exchange.getRequestURI().toString(), path, new Headers(exchange.getRequestHeaders()),
+                in.readAllBytes(), index);
+            requests.add(request);
+
+            Handler handler = handlers.get(path);
+            if (handler == null) {
+                exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+                send(exchange, 404, EMPTY_OBJECT);
+                return;
+            }
+            try {
+                handler.handle(request, exchange);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Answers the requests to a route
+     */
+    @FunctionalInterface
+    public interface Handler {
+
+        /**
+         * Answers a request
+         * 
+         * @param request The recorded request
+         * @param exchange The exchange to send the response with
+         * @throws IOException if the response cannot be written
+         * @throws InterruptedException if the handler is interrupted while simulating a delay
+         */
+        void handle(RecordedRequest request, HttpExchange exchange) throws IOException, InterruptedException;
+    }
+
+    /**
+     * A request received by the server
+     * 
+     * @param method The request method
+     * @param uri The request URI with query
+     * @param path The request path
+     * @param headers The request headers
+     * @param body The request body, as sent on the wire
+     * @param index Position of the request among those received for its path, from 0
+     */
+    public record RecordedRequest(String method, String uri, String path, Headers headers, byte[] body, int index) {
+
+        /**
+         * Gets the first value of a request header
+         * 
+         * @param name The header name, in any case
+         * @return The header value, or null if the header was not sent
+         */
+        public String header(String name) {
+            return headers.getFirst(name);
+        }
+
+        /**
+         * Gets the request body as UTF-8 text
+         * 
+         * @return The body text
+         */
+        public String bodyAsString() {
+            return new String(body, StandardCharsets.UTF_8);
+        }
+    }
+}
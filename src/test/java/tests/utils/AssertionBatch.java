@@ -0,0 +1,241 @@
+package tests.utils;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.hamcrest.Matcher;
+import org.hamcrest.StringDescription;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.fge.jsonschema.core.report.ProcessingReport;
+
+import io.restassured.response.Response;
+import tests.clients.ApiResponse;
+
+/**
+ * A compiled set of JSON path assertions checked together
+ * 
+ * Each response.then().body(path, matcher) call evaluates its own GPath expression. A batch
+ * compiles its paths to JSON pointers once, when built, and checks all of them against a
+ * single parse of the body. Every failing check is reported in one AssertionError instead of
+ * stopping at the first.
+ * 
+ * A built batch is immutable and thread-safe, so one instance can check any number of
+ * responses (e.g. in data-driven or load tests).
+ * 
+ * Values are passed to the matchers as RestAssured's JsonPath would return them: Integer,
+ * Long or BigInteger for integral numbers, Float for decimals, String, Boolean, List, Map
+ * or null.
+ * 
+ * Usage:
+ * AssertionBatch postChecks = AssertionBatch.builder()
+ *     .size("$", greaterThan(0))
+ *     .field("[0].id", notNullValue())
+ *     .field("[0].title", not(emptyOrNullString()))
+ *     .build();
+ * postChecks.check(response);
+ */
+public final class AssertionBatch {
+    private final List<Check> checks;
+    private final List<String> schemaPaths;
+
+    private AssertionBatch(List<Check> checks, List<String> schemaPaths) {
+        this.checks = List.copyOf(checks);
+        this.schemaPaths = List.copyOf(schemaPaths);
+    }
+
+    /**
+     * Creates a builder for a new batch
+     * 
+     * @return Empty builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Checks all assertions against a response body
+     * 
+     * @param response The response to check
+     * @throws AssertionError listing every failed assertion
+     */
+    public void check(Response response) {
+        check(ApiResponse.of(response).getJson());
+    }
+
+    /**
+     * Checks all assertions against a typed response, reusing its parsed body
+     * 
+     * @param response The response to check
+     * @throws AssertionError listing every failed assertion
+     */
+    public void check(ApiResponse<?> response) {
+        check(response.getJson());
+    }
+
+    /**
+     * Checks all assertions against a parsed document
+     * 
+     * @param document The root node of the document
+     * @throws AssertionError listing every failed assertion
+     */
+    public void check(JsonNode document) {
+        List<String> failures = null;
+        for (Check check : checks) {
+            String failure = check.evaluate(document);
+            if (failure != null) {
+                if (failures == null) {
+                    failures = new ArrayList<>();
+                }
+                failures.add(failure);
+            }
+        }
+        for (String schemaPath : schemaPaths) {
+            ProcessingReport report = JsonSchemaRegistry.validate(schemaPath, document);
+            if (!report.isSuccess()) {
+                if (failures == null) {
+                    failures = new ArrayList<>();
+                }
+                failures.add("schema " + schemaPath + ": " + JsonSchemaRegistry.describe(report).replace("\n", "; "));
+            }
+        }
+        if (failures != null) {
+            throw new AssertionError(failures.size() + " of " + size() + " assertions failed:\n  "
+                + String.join("\n  ", failures));
+        }
+    }
+
+    /**
+     * Gets the number of assertions in this batch
+     * 
+     * @return The assertion count
+     */
+    public int size() {
+        return checks.size() + schemaPaths.size();
+    }
+
+    /**
+     * Builder for assertion batches
+     */
+    public static final class Builder {
+        private final List<Check> checks = new ArrayList<>();
+        private final List<String> schemaPaths = new ArrayList<>();
+
+        private Builder() {
+            // Created via AssertionBatch.builder()
+        }
+
+        /**
+         * Adds an assertion on the value at a path
+         * 
+         * @param path Dotted JSON path (e.g. "title" or "[0].userId")
+         * @param matcher The matcher for the value
+         * @return This builder
+         */
+        public Builder field(String path, Matcher<?> matcher) {
+            checks.add(new Check(path, ApiResponse.pointer(path), matcher, false));
+            return this;
+        }
+
+        /**
+         * Adds an assertion on the size of the array (or object) at a path
+         * 
+         * @param path Dotted JSON path, "$" for the root
+         * @param sizeMatcher The matcher for the size
+         * @return This builder
+         */
+        public Builder size(String path, Matcher<?> sizeMatcher) {
+            checks.add(new Check(path, ApiResponse.pointer(path), sizeMatcher, true));
+            return this;
+        }
+
+        /**
+         * Adds validation of the whole document against a JSON schema
+         * The schema is compiled now, once, by the {@link JsonSchemaRegistry}
+         * 
+         * @param schemaPath The classpath location of the schema (e.g. "schemas/post_schema.json")
+         * @return This builder
+         */
+        public Builder schema(String schemaPath) {
+            JsonSchemaRegistry.get(schemaPath);
+            schemaPaths.add(schemaPath);
+            return this;
+        }
+
+        /**
+         * Compiles the added assertions into a batch
+         * 
+         * @return The batch
+         */
+        public AssertionBatch build() {
+            return new AssertionBatch(checks, schemaPaths);
+        }
+    }
+
+    /**
+     * A single compiled assertion
+     */
+    private record Check(String path, JsonPointer pointer, Matcher<?> matcher, boolean size) {
+
+        /**
+         * Evaluates the assertion against a document
+         * 
+         * @return null if the assertion holds, otherwise the failure description
+         */
+        String evaluate(JsonNode document) {
+            JsonNode node = document.at(pointer);
+            Object actual;
+            if (size) {
+                if (node.isMissingNode() || node.isNull()) {
+                    return path + ".size(): no value at path";
+                }
+                actual = node.size();
+            } else {
+                actual = toValue(node);
+            }
+            if (matcher.matches(actual)) {
+                return null;
+            }
+            StringDescription description = new StringDescription();
+            description.appendText(size ? path + ".size()" : path).appendText(": expected ")
+                .appendDescriptionOf(matcher).appendText(" but ");
+            matcher.describeMismatch(actual, description);
+            return description.toString();
+        }
+
+        private static Object toValue(JsonNode node) {
+            if (node.isMissingNode() || node.isNull()) {
+                return null;
+            } else if (node.isTextual()) {
+                return node.textValue();
+            } else if (node.isBoolean()) {
+                return node.booleanValue();
+            } else if (node.isIntegralNumber()) {
+                if (node.canConvertToInt()) {
+                    return node.intValue();
+                }
+                return node.canConvertToLong() ? (Object) node.longValue() : node.bigIntegerValue();
+            } else if (node.isNumber()) {
+                return node.floatValue();
+            } else if (node.isArray()) {
+                List<Object> list = new ArrayList<>(node.size());
+                for (JsonNode element : node) {
+                    list.add(toValue(element));
+                }
+                return list;
+            } else if (node.isObject()) {
+                Map<String, Object> map = new LinkedHashMap<>();
+                for (Iterator<Map.Entry<String, JsonNode>> it = node.fields(); it.hasNext(); ) {
+                    Map.Entry<String, JsonNode> field = it.next();
+                    map.put(field.getKey(), toValue(field.getValue()));
+                }
+                return map;
+            }
+            return node.asText();
+        }
+    }
+}
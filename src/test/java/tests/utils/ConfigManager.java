@@ -2,25 +2,107 @@ package tests.utils;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Configuration access for tests and API clients
+ *
+ * config.properties is compiled into an immutable snapshot: a flat map of all settings plus one
+ * {@link ServiceConfig} record per service with defaults already applied. Reading a value is a
+ * volatile read and a map lookup, without parsing or locking.
+ *
+ * Sources, from lowest to highest precedence:
+ * - config.properties from the classpath, or the file named by -Dconfig.file or passed to
+ *   {@link #setConfigFile(Path)}
+ * - Environment variables named after existing keys in upper case with dots replaced by
+ *   underscores (e.g. SERVICE_PAYMENT_TIMEOUT for service.payment.timeout)
+ * - System properties with the same name as an existing key, or any service.* key
+ * - Runtime overrides (e.g. {@link #setServiceBaseUrl(String, String)})
+ *
+ * Runtime overrides only recompile the service they belong to: the rest of the snapshot is kept
+ * as it is, the file is not read again, and only service listeners are told about the change, so
+ * tests configuring services of their own can run in parallel without disturbing each other.
+ *
+ * With -Dconfig.hotReload=true (or {@link #startHotReload()}) the configuration file is watched
+ * and the snapshot is swapped atomically when it changes. Reload listeners apply the new values
+ * to long-lived objects, e.g. ClientFactory resizes connection pools and updates timeouts.
+ * Without -Dconfig.file the watched file is the classpath copy, which Maven places in
+ * target/test-classes; edits to src/test/resources/config.properties only reach it when the
+ * resources are copied again, so run with -Dconfig.file=src/test/resources/config.properties
+ * to reload the source file directly.
+ */
 public class ConfigManager {
     private static final Logger logger = LoggerFactory.getLogger(ConfigManager.class);
-    private static final Properties properties = new Properties();
     private static final String CONFIG_FILE = "config.properties";
+    private static final String CONFIG_FILE_PROPERTY = "config.file";
+    private static final String HOT_RELOAD_PROPERTY = "config.hotReload";
+    private static final String SERVICE_PREFIX = "service.";
+
+    private static final Map<String, String> runtimeOverrides = new ConcurrentHashMap<>();
+    private static final List<Runnable> reloadListeners = new CopyOnWriteArrayList<>();
+    private static final List<Consumer<String>> serviceListeners = new CopyOnWriteArrayList<>();
+    private static volatile Path configPath = resolveConfigPath();
+    private static volatile Snapshot snapshot = compile(loadProperties());
+    private static WatchService watchService;
 
     static {
-        loadProperties();
+        if (Boolean.parseBoolean(getProperty(HOT_RELOAD_PROPERTY, "false"))) {
+            startHotReload();
+        }
+    }
+
+    /**
+     * Finds the configuration file on disk, if there is one
+     * @return Path of -Dconfig.file or of the classpath resource, null if it is not a plain file
+     */
+    private static Path resolveConfigPath() {
+        String configFile = System.getProperty(CONFIG_FILE_PROPERTY);
+        if (configFile != null) {
+            return Paths.get(configFile);
+        }
+        URL resource = ConfigManager.class.getClassLoader().getResource(CONFIG_FILE);
+        if (resource == null || !"file".equals(resource.getProtocol())) {
+            return null;
+        }
+        try {
+            return Paths.get(resource.toURI());
+        } catch (URISyntaxException e) {
+            return null;
+        }
     }
 
     /**
-     * Loads the configuration file from the classpath
+     * Loads the configuration file from disk or from the classpath
+     * @return The loaded properties
      */
-    private static void loadProperties() {
-        try (InputStream input = ConfigManager.class.getClassLoader().getResourceAsStream(CONFIG_FILE)) {
+    private static Properties loadProperties() {
+        Properties properties = new Properties();
+        Path path = configPath;
+        try (InputStream input = path != null
+                ? Files.newInputStream(path)
+                : ConfigManager.class.getClassLoader().getResourceAsStream(CONFIG_FILE)) {
             if (input == null) {
                 logger.error("Unable to find {}", CONFIG_FILE);
                 throw new RuntimeException("Configuration file not found");
@@ -31,23 +113,122 @@ public class ConfigManager {
             logger.error("Error loading configuration: {}", e.getMessage());
             throw new RuntimeException("Failed to load configuration", e);
         }
+        return properties;
+    }
+
+    /**
+     * Merges the configuration sources and builds the per-service records
+     * @param fileProperties The properties loaded from the configuration file
+     * @return The compiled snapshot
+     */
+    private static Snapshot compile(Properties fileProperties) {
+        Map<String, String> values = new HashMap<>();
+        for (String key : fileProperties.stringPropertyNames()) {
+            values.put(key, fileProperties.getProperty(key));
+        }
+
+        Map<String, String> environment = System.getenv();
+        for (String key : fileProperties.stringPropertyNames()) {
+            String value = environment.get(key.toUpperCase(Locale.ROOT).replace('.', '_'));
+            if (value != null) {
+                values.put(key, value);
+            }
+        }
+
+        Properties systemProperties = System.getProperties();
+        for (String key : systemProperties.stringPropertyNames()) {
+            if (values.containsKey(key) || key.startsWith(SERVICE_PREFIX)) {
+                values.put(key, systemProperties.getProperty(key));
+            }
+        }
+
+        values.putAll(runtimeOverrides);
+
+        Map<String, ServiceConfig> services = new HashMap<>();
+        for (String key : values.keySet()) {
+            int end = key.indexOf('.', SERVICE_PREFIX.length());
+            if (key.startsWith(SERVICE_PREFIX) && end > 0) {
+                services.computeIfAbsent(key.substring(SERVICE_PREFIX.length(), end).toLowerCase(Locale.ROOT),
+                    name -> buildServiceConfig(name, values));
+            }
+        }
+        return new Snapshot(Map.copyOf(values), Map.copyOf(services));
+    }
+
+    /**
+     * Builds the configuration record of a service, falling back to global settings
+     * @param name The lower-case service name
+     * @param values All settings
+     * @return The service configuration
+     */
+    private static ServiceConfig buildServiceConfig(String name, Map<String, String> values) {
+        String prefix = SERVICE_PREFIX + name + ".";
+        Map<String, String> settings = new HashMap<>();
+        values.forEach((key, value) -> {
+            if (key.startsWith(prefix)) {
+                settings.put(key.substring(prefix.length()), value);
+            }
+        });
+        return new ServiceConfig(
+            name,
+            settings.get("baseurl"),
+            settings.get("auth.token"),
+            settings.get("auth.username"),
+            settings.get("auth.password"),
+            Integer.parseInt(settings.getOrDefault("timeout", values.getOrDefault("connection.timeout", "5000"))),
+            Integer.parseInt(settings.getOrDefault("pool.max", values.getOrDefault("pool.max", "50"))),
+            Integer.parseInt(settings.getOrDefault("pool.perRoute", values.getOrDefault("pool.perRoute", "20"))),
+            settings.getOrDefault("logging", values.getOrDefault("logging.mode", "always")),
+            Integer.parseInt(settings.getOrDefault("logging.maxBody", values.getOrDefault("logging.maxBody", "4096"))),
+            Boolean.parseBoolean(settings.get("stub")),
+            Integer.parseInt(settings.getOrDefault("stub.size", "100")),
+            settings);
+    }
+
+    /**
+     * Gets the compiled configuration of a service
+     * Services without any service.<name>.* setting get a record with the global defaults
+     * @param serviceName The name of the service
+     * @return The service configuration
+     */
+    public static ServiceConfig getServiceConfig(String serviceName) {
+        Snapshot current = snapshot;
+        ServiceConfig config = current.services().get(serviceName);
+        if (config == null) {
+            String name = serviceName.toLowerCase(Locale.ROOT);
+            config = current.services().get(name);
+            if (config == null) {
+                config = buildServiceConfig(name, current.values());
+            }
+        }
+        return config;
+    }
+
+    /**
+     * Gets a setting by its full key
+     * @param key The key (e.g. "connection.timeout")
+     * @param defaultValue Value returned when the setting is absent
+     * @return The setting value or the default
+     */
+    public static String getProperty(String key, String defaultValue) {
+        return snapshot.values().getOrDefault(key, defaultValue);
     }
 
     /**
      * Gets the base URL for the given environment
      * @param environment The environment to get the base URL for
      * @return The base URL for the given environment
-     */ 
+     */
     public static String getBaseUrl(String environment) {
-        return properties.getProperty("base.url." + environment.toLowerCase());
+        return snapshot.values().get("base.url." + environment.toLowerCase());
     }
 
     /**
      * Gets the authentication username
      * @return The authentication username
-     */ 
+     */
     public static String getAuthUsername() {
-        return properties.getProperty("auth.username");
+        return snapshot.values().get("auth.username");
     }
 
     /**
@@ -55,7 +236,7 @@ public class ConfigManager {
      * @return The authentication password
      */
     public static String getAuthPassword() {
-        return properties.getProperty("auth.password");
+        return snapshot.values().get("auth.password");
     }
 
     /**
@@ -63,7 +244,7 @@ public class ConfigManager {
      * @return The authentication token
      */
     public static String getAuthToken() {
-        return properties.getProperty("auth.token");
+        return snapshot.values().get("auth.token");
     }
 
     /**
@@ -71,7 +252,7 @@ public class ConfigManager {
      * @return The connection timeout
      */
     public static int getConnectionTimeout() {
-        return Integer.parseInt(properties.getProperty("connection.timeout"));
+        return Integer.parseInt(snapshot.values().get("connection.timeout"));
     }
 
     /**
@@ -79,7 +260,7 @@ public class ConfigManager {
      * @return The read timeout
      */
     public static int getReadTimeout() {
-        return Integer.parseInt(properties.getProperty("read.timeout"));
+        return Integer.parseInt(snapshot.values().get("read.timeout"));
     }
 
     /**
@@ -87,7 +268,7 @@ public class ConfigManager {
      * @return The test data path
      */
     public static String getTestDataPath() {
-        return properties.getProperty("test.data.path");
+        return snapshot.values().get("test.data.path");
     }
 
     /**
@@ -96,7 +277,57 @@ public class ConfigManager {
      * @return The base URL for the specified service
      */
     public static String getServiceBaseUrl(String serviceName) {
-        return properties.getProperty("service." + serviceName.toLowerCase() + ".baseurl");
+        return getServiceConfig(serviceName).baseUrl();
+    }
+
+    /**
+     * Overrides the base URL for a specific service
+     * Used to point a service at an embedded stub; clients created afterwards use the new URL
+     * @param serviceName The name of the service
+     * @param baseUrl The new base URL
+     */
+    public static void setServiceBaseUrl(String serviceName, String baseUrl) {
+        runtimeOverrides.put(SERVICE_PREFIX + serviceName.toLowerCase() + ".baseurl", baseUrl);
+        updateService(serviceName.toLowerCase());
+    }
+
+    /**
+     * Overrides settings of a specific service
+     * Used by tests to configure a service of their own; clients and per-service components
+     * created afterwards use the new values
+     * @param serviceName The name of the service
+     * @param settings Values by key relative to the service (e.g. "retry.maxAttempts")
+     */
+    public static void setServiceSettings(String serviceName, Map<String, String> settings) {
+        String prefix = SERVICE_PREFIX + serviceName.toLowerCase() + ".";
+        settings.forEach((key, value) -> runtimeOverrides.put(prefix + key, value));
+        updateService(serviceName.toLowerCase());
+    }
+
+    /**
+     * Applies the runtime overrides of one service to the current snapshot
+     * Other services and the file-based settings are left as they are
+     * @param name The lower-case service name
+     */
+    private static synchronized void updateService(String name) {
+        String prefix = SERVICE_PREFIX + name + ".";
+        Snapshot current = snapshot;
+        Map<String, String> values = new HashMap<>(current.values());
+        runtimeOverrides.forEach((key, value) -> {
+            if (key.startsWith(prefix)) {
+                values.put(key, value);
+            }
+        });
+        Map<String, ServiceConfig> services = new HashMap<>(current.services());
+        services.put(name, buildServiceConfig(name, values));
+        snapshot = new Snapshot(Map.copyOf(values), Map.copyOf(services));
+        for (Consumer<String> listener : serviceListeners) {
+            try {
+                listener.accept(name);
+            } catch (RuntimeException e) {
+                logger.error("Configuration listener of service '{}' failed: {}", name, e.getMessage(), e);
+            }
+        }
     }
 
     /**
@@ -105,7 +336,7 @@ public class ConfigManager {
      * @return The authentication token for the specified service
      */
     public static String getServiceAuthToken(String serviceName) {
-        return properties.getProperty("service." + serviceName.toLowerCase() + ".auth.token");
+        return getServiceConfig(serviceName).authToken();
     }
 
     /**
@@ -114,7 +345,7 @@ public class ConfigManager {
      * @return The authentication username for the specified service
      */
     public static String getServiceAuthUsername(String serviceName) {
-        return properties.getProperty("service." + serviceName.toLowerCase() + ".auth.username");
+        return getServiceConfig(serviceName).authUsername();
     }
 
     /**
@@ -123,7 +354,7 @@ public class ConfigManager {
      * @return The authentication password for the specified service
      */
     public static String getServiceAuthPassword(String serviceName) {
-        return properties.getProperty("service." + serviceName.toLowerCase() + ".auth.password");
+        return getServiceConfig(serviceName).authPassword();
     }
 
     /**
@@ -132,8 +363,61 @@ public class ConfigManager {
      * @return The timeout for the specified service, or default timeout if not found
      */
     public static int getServiceTimeout(String serviceName) {
-        String timeout = properties.getProperty("service." + serviceName.toLowerCase() + ".timeout");
-        return timeout != null ? Integer.parseInt(timeout) : getConnectionTimeout();
+        return getServiceConfig(serviceName).timeout();
+    }
+
+    /**
+     * Gets the maximum number of pooled connections for a specific service
+     * @param serviceName The name of the service
+     * @return The pool size for the specified service, or the default pool size if not found
+     */
+    public static int getServicePoolMax(String serviceName) {
+        return getServiceConfig(serviceName).poolMax();
+    }
+
+    /**
+     * Gets the maximum number of pooled connections per route for a specific service
+     * @param serviceName The name of the service
+     * @return The per-route pool size for the specified service, or the default if not found
+     */
+    public static int getServicePoolPerRoute(String serviceName) {
+        return getServiceConfig(serviceName).poolPerRoute();
+    }
+
+    /**
+     * Gets the request/response logging mode for a specific service
+     * @param serviceName The name of the service
+     * @return One of "off", "on-failure", "sampled:N" or "always" (the default)
+     */
+    public static String getServiceLoggingMode(String serviceName) {
+        return getServiceConfig(serviceName).loggingMode();
+    }
+
+    /**
+     * Gets the maximum number of body bytes printed by request/response logging for a specific service
+     * @param serviceName The name of the service
+     * @return The maximum logged body size for the specified service, or the default if not found
+     */
+    public static int getServiceLoggingMaxBodySize(String serviceName) {
+        return getServiceConfig(serviceName).loggingMaxBodySize();
+    }
+
+    /**
+     * Checks if a service should be served by its embedded stub instead of the real endpoint
+     * @param serviceName The name of the service
+     * @return true if service.<name>.stub is set to true
+     */
+    public static boolean isServiceStubbed(String serviceName) {
+        return getServiceConfig(serviceName).stubbed();
+    }
+
+    /**
+     * Gets the dataset size of the embedded stub for a specific service
+     * @param serviceName The name of the service
+     * @return The number of top-level items (e.g. posts) served by the stub, 100 if not configured
+     */
+    public static int getServiceStubSize(String serviceName) {
+        return getServiceConfig(serviceName).stubSize();
     }
 
     /**
@@ -142,6 +426,148 @@ public class ConfigManager {
      * @return true if the service has a base URL configured, false otherwise
      */
     public static boolean isServiceConfigured(String serviceName) {
-        return getServiceBaseUrl(serviceName) != null;
+        return getServiceConfig(serviceName).isConfigured();
+    }
+
+    /**
+     * Reloads the configuration from all sources and swaps the snapshot
+     * If the file cannot be read or parsed, the previous snapshot stays in effect
+     */
+    public static synchronized void reload() {
+        try {
+            snapshot = compile(loadProperties());
+        } catch (RuntimeException e) {
+            logger.error("Keeping previous configuration - reload failed: {}", e.getMessage());
+            return;
+        }
+        for (Runnable listener : reloadListeners) {
+            try {
+                listener.run();
+            } catch (RuntimeException e) {
+                logger.error("Configuration reload listener failed: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Registers a listener that is called after every configuration reload
+     * @param listener The listener
+     */
+    public static void addReloadListener(Runnable listener) {
+        reloadListeners.add(listener);
+    }
+
+    /**
+     * Removes a reload listener
+     * @param listener The listener to remove
+     */
+    public static void removeReloadListener(Runnable listener) {
+        reloadListeners.remove(listener);
+    }
+
+    /**
+     * Registers a listener that is called with the service name after runtime overrides
+     * changed the settings of a single service
+     * @param listener The listener
+     */
+    public static void addServiceListener(Consumer<String> listener) {
+        serviceListeners.add(listener);
+    }
+
+    /**
+     * Removes a service listener
+     * @param listener The listener to remove
+     */
+    public static void removeServiceListener(Consumer<String> listener) {
+        serviceListeners.remove(listener);
+    }
+
+    /**
+     * Switches to another configuration file and reloads it
+     * A running hot reload watches the new file from then on. If the file cannot be read, the
+     * previous settings stay in effect until it can.
+     * @param path The file to read, or null to go back to -Dconfig.file or the classpath copy
+     */
+    public static synchronized void setConfigFile(Path path) {
+        boolean watching = watchService != null;
+        stopHotReload();
+        configPath = path != null ? path : resolveConfigPath();
+        reload();
+        if (watching) {
+            startHotReload();
+        }
+    }
+
+    /**
+     * Starts watching the configuration file and reloads it whenever it changes
+     * The file is the one named by -Dconfig.file, or else the classpath copy (see the class comment)
+     * @return true if the file is being watched, false if it is not a file on disk (e.g. inside a jar)
+     */
+    public static synchronized boolean startHotReload() {
+        if (watchService != null) {
+            return true;
+        }
+        Path path = configPath;
+        if (path == null) {
+            logger.warn("Hot reload not available - {} is not a file on disk", CONFIG_FILE);
+            return false;
+        }
+        WatchService service;
+        try {
+            service = FileSystems.getDefault().newWatchService();
+            path.toAbsolutePath().getParent().register(service,
+                StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_CREATE);
+            watchService = service;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to watch " + path, e);
+        }
+        Thread watcher = new Thread(() -> watch(service, path.getFileName()), "config-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+        logger.info("Watching {} for configuration changes", path);
+        return true;
+    }
+
+    /**
+     * Stops watching the configuration file
+     */
+    public static synchronized void stopHotReload() {
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                logger.warn("Failed to close configuration watcher: {}", e.getMessage());
+            }
+            watchService = null;
+        }
+    }
+
+    private static void watch(WatchService service, Path fileName) {
+        try {
+            while (true) {
+                WatchKey key = service.take();
+                boolean changed = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    changed |= fileName.equals(event.context());
+                }
+                key.reset();
+                if (changed) {
+                    // Editors often write in several steps - let them finish before reading
+                    Thread.sleep(100);
+                    logger.info("Configuration file changed - reloading");
+                    reload();
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Watcher stopped
+        }
+    }
+
+    /**
+     * Immutable compiled configuration
+     * @param values All settings after overrides
+     * @param services Per-service configuration by lower-case service name
+     */
+    private record Snapshot(Map<String, String> values, Map<String, ServiceConfig> services) {
     }
-} 
\ No newline at end of file
+}
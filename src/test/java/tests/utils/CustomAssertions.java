@@ -4,7 +4,13 @@ import io.restassured.response.Response;
 import org.hamcrest.Matcher;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
-import static io.restassured.module.jsv.JsonSchemaValidator.matchesJsonSchemaInClasspath;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.fge.jsonschema.core.report.ProcessingReport;
+
+import tests.clients.ApiResponse;
+import tests.metrics.EndpointMetrics;
+import tests.metrics.EndpointMetrics.EndpointStats;
 
 public class CustomAssertions {
     
@@ -37,11 +43,34 @@ public class CustomAssertions {
 
     /**
      * Validates that the response body matches a JSON schema
+     * The schema is compiled once per JVM by the {@link JsonSchemaRegistry}
      * @param response The response to validate
      * @param schemaPath The classpath location of the JSON schema file
      */
     public static void assertJsonSchema(Response response, String schemaPath) {
-        response.then().body(matchesJsonSchemaInClasspath(schemaPath));
+        assertJsonSchema(ApiResponse.of(response).getJson(), schemaPath);
+    }
+
+    /**
+     * Validates that the body of a typed response matches a JSON schema, reusing its parsed body
+     * @param response The response to validate
+     * @param schemaPath The classpath location of the JSON schema file
+     */
+    public static void assertJsonSchema(ApiResponse<?> response, String schemaPath) {
+        assertJsonSchema(response.getJson(), schemaPath);
+    }
+
+    /**
+     * Validates that a parsed document matches a JSON schema
+     * @param document The document to validate
+     * @param schemaPath The classpath location of the JSON schema file
+     */
+    public static void assertJsonSchema(JsonNode document, String schemaPath) {
+        ProcessingReport report = JsonSchemaRegistry.validate(schemaPath, document);
+        if (!report.isSuccess()) {
+            throw new AssertionError("Document does not match schema " + schemaPath + ":\n"
+                + JsonSchemaRegistry.describe(report));
+        }
     }
 
     /**
@@ -83,4 +112,58 @@ public class CustomAssertions {
     public static void assertFieldValue(Response response, String jsonPath, Object expectedValue) {
         response.then().body(jsonPath, equalTo(expectedValue));
     }
-} 
\ No newline at end of file
+
+    /**
+     * Starts a batch of JSON path assertions that are compiled once and checked together
+     * against a single parse of the body, reporting every failure at once.
+     * Build the batch once and reuse it for all responses of the same shape
+     * @return Builder for an AssertionBatch
+     */
+    public static AssertionBatch.Builder batch() {
+        return AssertionBatch.builder();
+    }
+
+    /**
+     * Asserts that the 99th percentile latency of an endpoint is below a limit
+     * Reads the histograms recorded by the API clients, so call it after the calls were made
+     * (e.g. in an @AfterAll method)
+     * @param serviceName The service name
+     * @param endpoint The endpoint as "METHOD /path" (e.g. "GET /posts/{id}") or "/path" for all methods
+     * @param maxMillis The maximum allowed p99 latency in milliseconds
+     */
+    public static void assertP99Below(String serviceName, String endpoint, double maxMillis) {
+        assertPercentileBelow(serviceName, endpoint, 99.0, maxMillis);
+    }
+
+    /**
+     * Asserts that a latency percentile of an endpoint is below a limit
+     * @param serviceName The service name
+     * @param endpoint The endpoint as "METHOD /path" (e.g. "GET /posts/{id}") or "/path" for all methods
+     * @param percentile The percentile between 0 and 100 (e.g. 99.9)
+     * @param maxMillis The maximum allowed latency in milliseconds
+     */
+    public static void assertPercentileBelow(String serviceName, String endpoint, double percentile, double maxMillis) {
+        EndpointStats stats = recordedStats(serviceName, endpoint);
+        assertThat("p" + percentile + " latency (ms) of " + serviceName + " " + endpoint
+            + " over " + stats.count() + " calls", stats.percentileMillis(percentile), lessThan(maxMillis));
+    }
+
+    /**
+     * Asserts that the throughput of an endpoint is above a minimum
+     * Throughput is measured from the start of the first to the end of the last recorded call
+     * @param serviceName The service name
+     * @param endpoint The endpoint as "METHOD /path" (e.g. "GET /posts/{id}") or "/path" for all methods
+     * @param minPerSecond The minimum required calls per second
+     */
+    public static void assertThroughputAbove(String serviceName, String endpoint, double minPerSecond) {
+        EndpointStats stats = recordedStats(serviceName, endpoint);
+        assertThat("Throughput (calls/s) of " + serviceName + " " + endpoint
+            + " over " + stats.count() + " calls", stats.throughput(), greaterThan(minPerSecond));
+    }
+
+    private static EndpointStats recordedStats(String serviceName, String endpoint) {
+        EndpointStats stats = EndpointMetrics.getStats(serviceName, endpoint);
+        assertThat("Recorded calls of " + serviceName + " " + endpoint, stats.count(), greaterThan(0L));
+        return stats;
+    }
+}
@@ -0,0 +1,442 @@
+package tests.utils;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Feeds typed records from an NDJSON or CSV file for data-driven and load tests
+ * 
+ * Records are read and bound lazily, one line at a time, so memory use does not depend on
+ * the file size: feeding from a multi-gigabyte file needs a read buffer, not a heap of that size.
+ * RANDOM feeders are the exception: they keep a sparse index of line positions, 8 bytes per
+ * 32 records, built in one pass over the file when it is opened.
+ * 
+ * Access modes:
+ * - CIRCULAR: records in file order, starting over at the end
+ * - RANDOM: records in random order, every record equally likely whatever the length of its line
+ * - UNIQUE: records in file order, each handed out exactly once across all threads, so no two
+ *   virtual users get the same record; {@link #next()} throws when the file is exhausted
+ * 
+ * NDJSON files (.ndjson, .jsonl) hold one JSON document per line. CSV files have a header row naming the fields;
+ * values are bound to the record type with Jackson's usual coercions (e.g. "3" to an int field).
+ * Quoted CSV values may contain commas and doubled quotes but not line breaks.
+ * 
+ * Feeders are thread-safe. Usage:
+ * try (DataFeeder<PostData> posts = DataFeeder.open("posts.ndjson", PostData.class, DataFeeder.Mode.CIRCULAR)) {
+ *     Operation.of("createPost", () -> jsonPlaceholderClient.createPost(posts.next()));
+ * }
+ */
+public final class DataFeeder<T> implements Supplier<T>, AutoCloseable {
+    private static final ObjectMapper objectMapper = new ObjectMapper()
+        .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    private static final int BLOCK_SIZE = 8192;
+    private static final int INDEX_STRIDE = 32;
+
+    /**
+     * Order in which records are handed out
+     */
+    public enum Mode {
+        CIRCULAR,
+        RANDOM,
+        UNIQUE
+    }
+
+    private final Path file;
+    private final Mode mode;
+    private final boolean csv;
+    private final ObjectReader reader;
+    private final FileChannel channel;
+    private final List<String> columns;
+    private final long dataStart;
+    private final LineIndex index;
+    private BufferedReader lines;
+    private boolean exhausted;
+
+    private DataFeeder(Path file, Class<T> type, Mode mode) throws IOException {
+        this.file = file;
+        this.mode = mode;
+        this.csv = file.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".csv");
+        this.reader = objectMapper.readerFor(type);
+        this.channel = FileChannel.open(file);
+        if (csv) {
+            String header = readLineAt(0);
+            if (header == null) {
+                channel.close();
+                throw new IllegalArgumentException("CSV file has no header row: " + file);
+            }
+            this.columns = parseCsvLine(header);
+            long newline = indexOfNewline(0);
+            this.dataStart = newline < 0 ? channel.size() : newline + 1;
+        } else {
+            this.columns = List.of();
+            this.dataStart = 0;
+        }
+        try {
+            this.index = mode == Mode.RANDOM ? indexRecords() : null;
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Positions of every {@link #INDEX_STRIDE}th record line, and the number of records
+     */
+    private record LineIndex(long[] checkpoints, long records) {
+    }
+
+    /**
+     * Opens a feeder on a file in the testdata directory
+     * 
+     * @param fileName The file name (.ndjson or .csv), resolved like {@link TestDataLoader} files
+     * @param type The record type
+     * @param mode The access mode
+     * @return The feeder
+     */
+    public static <T> DataFeeder<T> open(String fileName, Class<T> type, Mode mode) {
+        return open(TestDataLoader.resolve(fileName), type, mode);
+    }
+
+    /**
+     * Opens a feeder on a file
+     * 
+     * @param file The file (.ndjson or .csv)
+     * @param type The record type
+     * @param mode The access mode
+     * @return The feeder
+     */
+    public static <T> DataFeeder<T> open(Path file, Class<T> type, Mode mode) {
+        try {
+            return new DataFeeder<>(file, type, mode);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open data file " + file, e);
+        }
+    }
+
+    /**
+     * Checks if a file is a record file this feeder reads
+     * 
+     * @param file The file
+     * @return true for .ndjson, .jsonl and .csv files
+     */
+    static boolean isRecordFile(Path file) {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        return name.endsWith(".ndjson") || name.endsWith(".jsonl") || name.endsWith(".csv");
+    }
+
+    /**
+     * Gets the next record according to the access mode
+     * 
+     * @return The record
+     * @throws NoSuchElementException if a UNIQUE feeder is exhausted or the file has no records
+     */
+    public T next() {
+        T record = nextOrNull();
+        if (record == null) {
+            throw new NoSuchElementException(mode == Mode.UNIQUE
+                ? "All records of " + file + " have been used"
+                : "No records in " + file);
+        }
+        return record;
+    }
+
+    @Override
+    public T get() {
+        return next();
+    }
+
+    /**
+     * Streams the records according to the access mode
+     * The stream is endless for CIRCULAR and RANDOM feeders; closing it closes the feeder
+     * 
+     * @return Lazy stream of records
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(
+                new Spliterators.AbstractSpliterator<T>(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+                    @Override
+                    public boolean tryAdvance(Consumer<? super T> action) {
+                        T record = nextOrNull();
+                        if (record == null) {
+                            return false;
+                        }
+                        action.accept(record);
+                        return true;
+                    }
+                }, false)
+            .onClose(this::close);
+    }
+
+    @Override
+    public void close() {
+        try {
+            synchronized (this) {
+                if (lines != null) {
+                    lines.close();
+                }
+            }
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to close data file " + file, e);
+        }
+    }
+
+    private T nextOrNull() {
+        String line = mode == Mode.RANDOM ? randomLine() : sequentialLine();
+        if (line == null) {
+            return null;
+        }
+        try {
+            return csv ? reader.readValue(toObject(parseCsvLine(line))) : reader.readValue(line);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Invalid record in " + file + ": " + line, e);
+        }
+    }
+
+    /**
+     * Reads the next non-blank line, starting over at the end in CIRCULAR mode
+     * Only reading happens under the lock; records are bound by the calling threads in parallel
+     */
+    private synchronized String sequentialLine() {
+        try {
+            boolean restarted = false;
+            while (!exhausted) {
+                if (lines == null) {
+                    lines = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+                    if (csv) {
+                        lines.readLine();
+                    }
+                }
+                String line = lines.readLine();
+                if (line != null) {
+                    if (!isBlank(line)) {
+                        return line;
+                    }
+                    continue;
+                }
+                lines.close();
+                lines = null;
+                if (mode != Mode.CIRCULAR || restarted) {
+                    // End of a UNIQUE feeder, or a circular pass without a single record
+                    exhausted = true;
+                } else {
+                    restarted = true;
+                }
+            }
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read " + file, e);
+        }
+    }
+
+    /**
+     * Picks a record number uniformly and reads its line, walking from the nearest checkpoint
+     */
+    private String randomLine() {
+        if (index.records() == 0) {
+            return null;
+        }
+        long record = ThreadLocalRandom.current().nextLong(index.records());
+        long position = index.checkpoints()[(int) (record / INDEX_STRIDE)];
+        long skip = record % INDEX_STRIDE;
+        try {
+            while (true) {
+                String line = readLineAt(position);
+                if (line == null) {
+                    throw new IllegalStateException("Data file changed since it was opened: " + file);
+                }
+                if (!isBlank(line)) {
+                    if (skip == 0) {
+                        return line;
+                    }
+                    skip--;
+                }
+                long newline = indexOfNewline(position);
+                if (newline < 0) {
+                    throw new IllegalStateException("Data file changed since it was opened: " + file);
+                }
+                position = newline + 1;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read " + file, e);
+        }
+    }
+
+    /**
+     * Reads the file once, counting the non-blank lines after the header and remembering
+     * where every {@link #INDEX_STRIDE}th one starts
+     */
+    private LineIndex indexRecords() throws IOException {
+        long[] checkpoints = new long[16];
+        int checkpointCount = 0;
+        long records = 0;
+        ByteBuffer block = ByteBuffer.allocate(BLOCK_SIZE);
+        long position = dataStart;
+        long lineStart = dataStart;
+        boolean blank = true;
+        while (true) {
+            block.clear();
+            int read = channel.read(block, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                byte b = block.get(i);
+                if (b == '\n') {
+                    if (!blank) {
+                        if (records % INDEX_STRIDE == 0) {
+                            if (checkpointCount == checkpoints.length) {
+                                checkpoints = Arrays.copyOf(checkpoints, checkpointCount * 2);
+                            }
+                            checkpoints[checkpointCount++] = lineStart;
+                        }
+                        records++;
+                    }
+                    lineStart = position + i + 1;
+                    blank = true;
+                } else if (blank && !isBlank(b)) {
+                    blank = false;
+                }
+            }
+            position += read;
+        }
+        if (!blank) {
+            // Last line without a line break
+            if (records % INDEX_STRIDE == 0) {
+                checkpoints = Arrays.copyOf(checkpoints, checkpointCount + 1);
+                checkpoints[checkpointCount++] = lineStart;
+            }
+            records++;
+        }
+        return new LineIndex(Arrays.copyOf(checkpoints, checkpointCount), records);
+    }
+
+    /**
+     * Checks if a line holds no record: nothing but ASCII whitespace, the same test as the index uses
+     */
+    private static boolean isBlank(String line) {
+        return line.chars().allMatch(c -> c < 128 && isBlank((byte) c));
+    }
+
+    private static boolean isBlank(byte b) {
+        return b >= 0 && Character.isWhitespace(b);
+    }
+
+    /**
+     * Finds the first line break at or after a position, using positional reads (thread-safe)
+     * 
+     * @return The position of the line break, or -1 if there is none
+     */
+    private long indexOfNewline(long from) throws IOException {
+        ByteBuffer block = ByteBuffer.allocate(BLOCK_SIZE);
+        long position = from;
+        while (true) {
+            block.clear();
+            int read = channel.read(block, position);
+            if (read <= 0) {
+                return -1;
+            }
+            for (int i = 0; i < read; i++) {
+                if (block.get(i) == '\n') {
+                    return position + i;
+                }
+            }
+            position += read;
+        }
+    }
+
+    /**
+     * Reads the line starting at a position
+     * 
+     * @return The line without its line break, or null at the end of the file
+     */
+    private String readLineAt(long start) throws IOException {
+        if (start >= channel.size()) {
+            return null;
+        }
+        ByteBuffer block = ByteBuffer.allocate(BLOCK_SIZE);
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        long position = start;
+        while (true) {
+            block.clear();
+            int read = channel.read(block, position);
+            if (read <= 0) {
+                break;
+            }
+            int end = 0;
+            while (end < read && block.get(end) != '\n') {
+                end++;
+            }
+            line.write(block.array(), 0, end);
+            if (end < read) {
+                break;
+            }
+            position += read;
+        }
+        String text = line.toString(StandardCharsets.UTF_8);
+        return text.endsWith("\r") ? text.substring(0, text.length() - 1) : text;
+    }
+
+    private ObjectNode toObject(List<String> values) {
+        ObjectNode record = objectMapper.createObjectNode();
+        for (int i = 0; i < columns.size() && i < values.size(); i++) {
+            record.put(columns.get(i), values.get(i));
+        }
+        return record;
+    }
+
+    /**
+     * Splits a CSV line into values, honoring quoted values with commas and doubled quotes
+     */
+    private static List<String> parseCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    value.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        values.add(value.toString());
+        return values;
+    }
+}
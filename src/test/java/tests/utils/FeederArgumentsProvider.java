@@ -0,0 +1,30 @@
+package tests.utils;
+
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.ArgumentsProvider;
+import org.junit.jupiter.params.support.AnnotationConsumer;
+
+/**
+ * Provides the arguments of {@link FeederSource} tests from a {@link DataFeeder}
+ * 
+ * The returned stream is lazy; JUnit closes it after the last invocation, which closes the feeder.
+ */
+class FeederArgumentsProvider implements ArgumentsProvider, AnnotationConsumer<FeederSource> {
+    private FeederSource source;
+
+    @Override
+    public void accept(FeederSource source) {
+        this.source = source;
+    }
+
+    @Override
+    public Stream<? extends Arguments> provideArguments(ExtensionContext context) {
+        DataFeeder<?> feeder = DataFeeder.open(source.value(), source.type(), source.mode());
+        return feeder.stream()
+            .limit(source.limit())
+            .map(Arguments::of);
+    }
+}
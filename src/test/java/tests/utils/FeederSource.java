@@ -0,0 +1,46 @@
+package tests.utils;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.junit.jupiter.params.provider.ArgumentsSource;
+
+/**
+ * Supplies the records of an NDJSON or CSV test data file to a @ParameterizedTest
+ * 
+ * Records are read lazily through a {@link DataFeeder}, one invocation per record, so large
+ * files do not have to fit in memory. Example:
+ * 
+ * @ParameterizedTest
+ * @FeederSource(value = "posts.ndjson", type = PostData.class)
+ * void testCreatePost(PostData post) { ... }
+ */
+@Target({ElementType.ANNOTATION_TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@ArgumentsSource(FeederArgumentsProvider.class)
+public @interface FeederSource {
+
+    /**
+     * The file name in the testdata directory (.ndjson, .jsonl or .csv)
+     */
+    String value();
+
+    /**
+     * The type each record is bound to
+     */
+    Class<?> type();
+
+    /**
+     * The access mode; UNIQUE passes every record once, in file order
+     */
+    DataFeeder.Mode mode() default DataFeeder.Mode.UNIQUE;
+
+    /**
+     * The maximum number of invocations (required to end CIRCULAR and RANDOM feeds)
+     */
+    long limit() default Long.MAX_VALUE;
+}
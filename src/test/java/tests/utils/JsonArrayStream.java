@@ -0,0 +1,105 @@
+package tests.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+/**
+ * Incremental reader for JSON arrays
+ * 
+ * Elements are parsed one at a time with Jackson's streaming parser directly from an input
+ * stream, so memory use depends on the size of a single element rather than of the whole
+ * array. Used for large collection responses where building the full body (as jsonPath()
+ * or GPath do) would be too expensive.
+ * 
+ * Usage:
+ * try (Stream<Comment> comments = JsonArrayStream.stream(in, Comment.class)) {
+ *     long count = comments.filter(c -> c.getPostId() == 1).count();
+ * }
+ */
+public class JsonArrayStream {
+    private static final ObjectMapper objectMapper = new ObjectMapper()
+        .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private JsonArrayStream() {
+        // Static helper
+    }
+
+    /**
+     * Streams the elements of a top-level JSON array
+     * The input stream is closed when the returned stream is closed
+     * 
+     * @param in The input containing a JSON array
+     * @param elementType The type to bind each element to (e.g. a model class, Map or JsonNode)
+     * @return Sequential stream of the elements
+     */
+    public static <T> Stream<T> stream(InputStream in, Class<T> elementType) {
+        MappingIterator<T> iterator = iterator(in, elementType);
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+            .onClose(() -> {
+                try {
+                    iterator.close();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+    }
+
+    /**
+     * Iterates over the elements of a top-level JSON array
+     * Closing the iterator closes the input stream
+     * 
+     * @param in The input containing a JSON array
+     * @param elementType The type to bind each element to
+     * @return Iterator over the elements
+     */
+    public static <T> MappingIterator<T> iterator(InputStream in, Class<T> elementType) {
+        ObjectReader reader = objectMapper.readerFor(elementType);
+        try {
+            JsonParser parser = objectMapper.getFactory().createParser(in);
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                parser.close();
+                throw new IllegalArgumentException("Expected a JSON array but found " + parser.currentToken());
+            }
+            // Positioned inside the array: readValues binds one element per call to next()
+            parser.nextToken();
+            return reader.readValues(parser);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read JSON array", e);
+        }
+    }
+
+    /**
+     * Counts the elements of a top-level JSON array without binding them
+     * 
+     * @param in The input containing a JSON array (closed when done)
+     * @return The number of elements
+     */
+    public static long count(InputStream in) {
+        try (JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("Expected a JSON array but found " + parser.currentToken());
+            }
+            long count = 0;
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                parser.skipChildren();
+                count++;
+            }
+            return count;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read JSON array", e);
+        }
+    }
+}
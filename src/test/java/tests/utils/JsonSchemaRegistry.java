@@ -0,0 +1,93 @@
+package tests.utils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.fge.jsonschema.core.exceptions.ProcessingException;
+import com.github.fge.jsonschema.core.report.LogLevel;
+import com.github.fge.jsonschema.core.report.ProcessingMessage;
+import com.github.fge.jsonschema.core.report.ProcessingReport;
+import com.github.fge.jsonschema.main.JsonSchema;
+import com.github.fge.jsonschema.main.JsonSchemaFactory;
+
+/**
+ * Loads and compiles JSON schemas from the classpath once per JVM
+ * 
+ * matchesJsonSchemaInClasspath() reads and compiles the schema again on every call. The
+ * registry keeps one compiled, immutable JsonSchema per classpath location and validates
+ * already-parsed documents against it, so repeated validation only walks the document.
+ * Compiled schemas are thread-safe and shared by all callers.
+ * 
+ * Schemas are loaded as resource: URIs, so relative $refs resolve the same way as with
+ * RestAssured's matchers.
+ */
+public class JsonSchemaRegistry {
+    private static final JsonSchemaFactory factory = JsonSchemaFactory.byDefault();
+    private static final Map<String, JsonSchema> schemas = new ConcurrentHashMap<>();
+
+    private JsonSchemaRegistry() {
+        // Static helper
+    }
+
+    /**
+     * Gets the compiled schema at a classpath location, compiling it on first use
+     * 
+     * @param schemaPath The classpath location (e.g. "schemas/post_schema.json"), with or without a leading slash
+     * @return The compiled schema
+     */
+    public static JsonSchema get(String schemaPath) {
+        String location = schemaPath.startsWith("/") ? schemaPath : "/" + schemaPath;
+        return schemas.computeIfAbsent(location, JsonSchemaRegistry::compile);
+    }
+
+    /**
+     * Validates a document against a schema
+     * 
+     * @param schemaPath The classpath location of the schema
+     * @param document The parsed document
+     * @return The validation report
+     */
+    public static ProcessingReport validate(String schemaPath, JsonNode document) {
+        try {
+            return get(schemaPath).validate(document);
+        } catch (ProcessingException e) {
+            throw new IllegalStateException("Failed to validate against schema " + schemaPath, e);
+        }
+    }
+
+    /**
+     * Describes the errors of a failed validation, one per line with the failing location
+     * 
+     * @param report The validation report
+     * @return The error messages
+     */
+    public static String describe(ProcessingReport report) {
+        StringBuilder sb = new StringBuilder();
+        for (ProcessingMessage message : report) {
+            if (message.getLogLevel().compareTo(LogLevel.ERROR) < 0) {
+                // Warnings (e.g. an unsupported $schema draft) do not fail the validation
+                continue;
+            }
+            if (sb.length() > 0) {
+                sb.append('\n');
+            }
+            JsonNode pointer = message.asJson().path("instance").path("pointer");
+            sb.append(pointer.isMissingNode() || pointer.asText().isEmpty() ? "/" : pointer.asText())
+                .append(": ").append(message.getMessage());
+        }
+        return sb.toString();
+    }
+
+    private static JsonSchema compile(String location) {
+        String schemaPath = location.substring(1);
+        if (JsonSchemaRegistry.class.getResource(location) == null) {
+            throw new IllegalArgumentException("Schema not found on the classpath: " + schemaPath);
+        }
+        try {
+            return factory.getJsonSchema("resource:" + location);
+        } catch (ProcessingException e) {
+            throw new IllegalArgumentException("Invalid JSON schema: " + schemaPath, e);
+        }
+    }
+}
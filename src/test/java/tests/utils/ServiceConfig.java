@@ -0,0 +1,64 @@
+package tests.utils;
+
+import java.util.Map;
+
+/**
+ * Immutable, fully resolved configuration of a single service
+ *
+ * Built by {@link ConfigManager} from config.properties, environment variables and system
+ * properties, with global defaults already applied, so reading a value is a field access.
+ * A new instance replaces the old one when the configuration is reloaded.
+ *
+ * @param name The service name (lower case)
+ * @param baseUrl Base URL (null if the service is not configured)
+ * @param authToken Authentication token
+ * @param authUsername Authentication username
+ * @param authPassword Authentication password
+ * @param timeout Connect and socket timeout in milliseconds
+ * @param poolMax Maximum number of pooled connections
+ * @param poolPerRoute Maximum number of pooled connections per route
+ * @param loggingMode Request/response logging mode ("off", "on-failure", "sampled:N" or "always")
+ * @param loggingMaxBodySize Maximum number of body bytes printed by logging
+ * @param stubbed Whether the service is served by its embedded stub
+ * @param stubSize Dataset size of the embedded stub
+ * @param settings All service.<name>.* settings with the prefix removed
+ */
+public record ServiceConfig(
+        String name,
+        String baseUrl,
+        String authToken,
+        String authUsername,
+        String authPassword,
+        int timeout,
+        int poolMax,
+        int poolPerRoute,
+        String loggingMode,
+        int loggingMaxBodySize,
+        boolean stubbed,
+        int stubSize,
+        Map<String, String> settings) {
+
+    public ServiceConfig {
+        settings = Map.copyOf(settings);
+    }
+
+    /**
+     * Checks if the service has a base URL configured
+     *
+     * @return true if the service is configured
+     */
+    public boolean isConfigured() {
+        return baseUrl != null;
+    }
+
+    /**
+     * Gets a service setting that has no dedicated accessor
+     *
+     * @param key The key without the service.<name>. prefix (e.g. "rate.limit")
+     * @param defaultValue Value returned when the setting is absent
+     * @return The setting value or the default
+     */
+    public String get(String key, String defaultValue) {
+        return settings.getOrDefault(key, defaultValue);
+    }
+}
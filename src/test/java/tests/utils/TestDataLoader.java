@@ -1,34 +1,72 @@
 package tests.utils;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+/**
+ * Loads test data files from the testdata directory
+ * 
+ * Files are resolved on the classpath (testdata/<fileName>), falling back to
+ * src/test/resources/testdata in the working directory. Every file is read once per JVM:
+ * raw content, text and parsed JSON trees are cached. Files of 1 MB or more are memory-mapped
+ * instead of copied onto the heap.
+ * 
+ * Objects of other types are bound from the cached tree on every call, so each caller gets an
+ * instance of its own. Cached trees are shared between callers and must not be modified.
+ * {@link #preload()} reads and parses the whole directory in parallel up front.
+ */
 public class TestDataLoader {
     private static final Logger logger = LoggerFactory.getLogger(TestDataLoader.class);
     private static final ObjectMapper objectMapper = new ObjectMapper();
     private static final String TEST_DATA_DIR = "src/test/resources/testdata";
+    private static final String TEST_DATA_RESOURCE = "testdata";
+    private static final long MMAP_THRESHOLD_BYTES = 1024 * 1024;
+
+    private static final Map<String, ByteBuffer> rawCache = new ConcurrentHashMap<>();
+    private static final Map<String, String> textCache = new ConcurrentHashMap<>();
+    private static final Map<String, JsonNode> treeCache = new ConcurrentHashMap<>();
 
     /**
      * Loads JSON data from a file and converts it to the specified type
+     * The file is parsed once; a JsonNode is the shared cached tree, other types are
+     * bound from that tree to a new instance on every call
      * @param fileName The name of the file in the testdata directory
      * @param clazz The class type to convert the JSON to
      * @return The converted object
      */
     public static <T> T loadJsonData(String fileName, Class<T> clazz) {
         try {
-            String filePath = Paths.get(TEST_DATA_DIR, fileName).toString();
-            logger.info("Loading test data from: {}", filePath);
-            return objectMapper.readValue(new File(filePath), clazz);
+            JsonNode tree = treeCache.computeIfAbsent(fileName, TestDataLoader::parse);
+            if (JsonNode.class.isAssignableFrom(clazz)) {
+                return clazz.cast(tree);
+            }
+            return objectMapper.treeToValue(tree, clazz);
         } catch (IOException e) {
             logger.error("Error loading test data from file: {}", fileName, e);
             throw new RuntimeException("Failed to load test data", e);
+        } catch (UncheckedIOException e) {
+            logger.error("Error loading test data from file: {}", fileName, e);
+            throw new RuntimeException("Failed to load test data", e);
         }
     }
 
@@ -39,12 +77,128 @@ public class TestDataLoader {
      */
     public static String loadFileContent(String fileName) {
         try {
-            String filePath = Paths.get(TEST_DATA_DIR, fileName).toString();
-            logger.info("Loading file content from: {}", filePath);
-            return Files.readString(Path.of(filePath));
-        } catch (IOException e) {
+            return textCache.computeIfAbsent(fileName,
+                name -> StandardCharsets.UTF_8.decode(buffer(name)).toString());
+        } catch (UncheckedIOException e) {
+            logger.error("Error loading file content from: {}", fileName, e);
+            throw new RuntimeException("Failed to load file content", e);
+        }
+    }
+
+    /**
+     * Loads raw file content as bytes
+     * @param fileName The name of the file in the testdata directory
+     * @return A new array with the file content
+     */
+    public static byte[] loadBytes(String fileName) {
+        try {
+            ByteBuffer content = buffer(fileName);
+            byte[] bytes = new byte[content.remaining()];
+            content.get(bytes);
+            return bytes;
+        } catch (UncheckedIOException e) {
             logger.error("Error loading file content from: {}", fileName, e);
             throw new RuntimeException("Failed to load file content", e);
         }
     }
-} 
\ No newline at end of file
+
+    /**
+     * Reads every file of the testdata directory in parallel and parses the JSON files
+     * Later loads are served from the cache; JSON files bound to a type are converted
+     * from the pre-parsed tree without reading or parsing the file again
+     * @return The number of preloaded files
+     */
+    public static int preload() {
+        Path directory = resolveDirectory();
+        if (directory == null) {
+            logger.warn("Test data directory not found - nothing to preload");
+            return 0;
+        }
+        List<String> fileNames;
+        try (Stream<Path> files = Files.walk(directory)) {
+            // Record files (.ndjson, .csv) can be huge and are streamed by DataFeeder instead
+            fileNames = files.filter(Files::isRegularFile)
+                .filter(file -> !DataFeeder.isRecordFile(file))
+                .map(file -> directory.relativize(file).toString().replace('\\', '/'))
+                .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to list test data in " + directory, e);
+        }
+        long start = System.nanoTime();
+        fileNames.parallelStream().forEach(fileName -> {
+            if (fileName.endsWith(".json")) {
+                loadJsonData(fileName, JsonNode.class);
+            } else {
+                loadFileContent(fileName);
+            }
+        });
+        logger.info("Preloaded {} test data files in {} ms", fileNames.size(), (System.nanoTime() - start) / 1_000_000);
+        return fileNames.size();
+    }
+
+    /**
+     * Clears all cached test data
+     */
+    public static void clearCache() {
+        rawCache.clear();
+        textCache.clear();
+        treeCache.clear();
+    }
+
+    private static JsonNode parse(String fileName) {
+        try (InputStream in = new ByteBufferBackedInputStream(buffer(fileName))) {
+            return objectMapper.readTree(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Gets the cached content of a file, reading it on first use
+     * @return A read-only view positioned at the start of the content
+     */
+    private static ByteBuffer buffer(String fileName) {
+        return rawCache.computeIfAbsent(fileName, TestDataLoader::read).asReadOnlyBuffer();
+    }
+
+    private static ByteBuffer read(String fileName) {
+        Path path = resolve(fileName);
+        logger.info("Loading test data from: {}", path);
+        try (FileChannel channel = FileChannel.open(path)) {
+            long size = channel.size();
+            if (size >= MMAP_THRESHOLD_BYTES) {
+                // Backed by the page cache, stays valid after the channel is closed
+                return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            }
+            ByteBuffer content = ByteBuffer.allocate((int) size);
+            while (content.hasRemaining() && channel.read(content) >= 0) {
+                // Read until full or end of file
+            }
+            return content.flip();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Resolves a file of the testdata directory
+     * @param fileName The name of the file in the testdata directory
+     * @return Path of the file on the classpath, or in src/test/resources/testdata if it is not there
+     */
+    static Path resolve(String fileName) {
+        URL resource = TestDataLoader.class.getClassLoader().getResource(TEST_DATA_RESOURCE + "/" + fileName);
+        if (resource != null && "file".equals(resource.getProtocol())) {
+            try {
+                return Paths.get(resource.toURI());
+            } catch (URISyntaxException e) {
+                throw new IllegalStateException("Invalid test data URL: " + resource, e);
+            }
+        }
+        return Paths.get(TEST_DATA_DIR, fileName);
+    }
+
+    private static Path resolveDirectory() {
+        Path directory = resolve("");
+        return Files.isDirectory(directory) ? directory : null;
+    }
+}